@@ -0,0 +1,13 @@
+package com.studymate.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs (counter reconciliation, cleanup tasks).
+ * Intervals are configured per job under the {@code app.*} properties.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,138 @@
+package com.studymate.backend.controller;
+
+import com.studymate.backend.dto.BookingResponse;
+import com.studymate.backend.dto.CreateBookingRequest;
+import com.studymate.backend.dto.CreateSeatHoldRequest;
+import com.studymate.backend.dto.SeatHoldResponse;
+import com.studymate.backend.model.User;
+import com.studymate.backend.service.BookingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for student seat bookings and checkout holds.
+ */
+@RestController
+@RequestMapping("/bookings")
+@RequiredArgsConstructor
+@Tag(name = "Bookings", description = "Book study hall seats")
+@Slf4j
+public class BookingController {
+
+    private final BookingService bookingService;
+
+    /**
+     * Book a seat for a period of time.
+     *
+     * @param currentUser the authenticated student from JWT
+     * @param request seat and period to book
+     * @return ResponseEntity containing the created booking
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(summary = "Book a seat", description = "Book a seat for a period that doesn't overlap its confirmed bookings or other students' holds")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Booking created successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid period, period doesn't match the hold, or seat or hall not bookable"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - user role is not STUDENT"),
+        @ApiResponse(responseCode = "404", description = "Seat not found"),
+        @ApiResponse(responseCode = "409", description = "Conflict - seat already booked or held for an overlapping period, or hold expired")
+    })
+    public ResponseEntity<BookingResponse> createBooking(
+            @AuthenticationPrincipal User currentUser,
+            @Valid @RequestBody CreateBookingRequest request) {
+
+        log.debug("POST /bookings - User ID: {}, Seat ID: {}", currentUser.getId(), request.getSeatId());
+
+        BookingResponse response = bookingService.createBooking(request, currentUser);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * Get the check-in pass of a confirmed booking.
+     *
+     * @param currentUser the authenticated student from JWT
+     * @param bookingId the booking ID
+     * @return ResponseEntity containing the booking and its check-in pass
+     */
+    @GetMapping("/{bookingId}/pass")
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(summary = "Get check-in pass", description = "Get the signed pass to show as a QR code at the hall's gate")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Pass retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Booking is not confirmed"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - booking belongs to another student"),
+        @ApiResponse(responseCode = "404", description = "Booking not found")
+    })
+    public ResponseEntity<BookingResponse> getCheckInPass(
+            @AuthenticationPrincipal User currentUser,
+            @PathVariable Long bookingId) {
+
+        log.debug("GET /bookings/{}/pass - User ID: {}", bookingId, currentUser.getId());
+
+        BookingResponse response = bookingService.getCheckInPass(bookingId, currentUser);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Lock a seat's period while the student checks out.
+     *
+     * @param currentUser the authenticated student from JWT
+     * @param request seat and period to hold
+     * @return ResponseEntity containing the hold and when it expires
+     */
+    @PostMapping("/holds")
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(summary = "Hold a seat", description = "Lock a seat's period for a few minutes so it can be paid for and booked")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Hold taken successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid period, seat or hall not bookable, or too many holds"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - user role is not STUDENT"),
+        @ApiResponse(responseCode = "404", description = "Seat not found"),
+        @ApiResponse(responseCode = "409", description = "Conflict - seat already booked or held for an overlapping period")
+    })
+    public ResponseEntity<SeatHoldResponse> holdSeat(
+            @AuthenticationPrincipal User currentUser,
+            @Valid @RequestBody CreateSeatHoldRequest request) {
+
+        log.debug("POST /bookings/holds - User ID: {}, Seat ID: {}", currentUser.getId(), request.getSeatId());
+
+        SeatHoldResponse response = bookingService.holdSeat(request, currentUser);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * Release a hold before it expires.
+     *
+     * @param currentUser the authenticated student from JWT
+     * @param holdId the hold ID
+     * @return empty ResponseEntity
+     */
+    @DeleteMapping("/holds/{holdId}")
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(summary = "Release a seat hold", description = "Unlock a held seat period before the hold expires")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Hold released successfully"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - hold belongs to another student"),
+        @ApiResponse(responseCode = "404", description = "Hold not found or already ended")
+    })
+    public ResponseEntity<Void> releaseHold(
+            @AuthenticationPrincipal User currentUser,
+            @PathVariable Long holdId) {
+
+        log.debug("DELETE /bookings/holds/{} - User ID: {}", holdId, currentUser.getId());
+
+        bookingService.releaseHold(holdId, currentUser);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.studymate.backend.controller;
+
+import com.studymate.backend.dto.BookingImportResponse;
+import com.studymate.backend.model.User;
+import com.studymate.backend.service.BookingImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * REST controller for bulk-loading a study hall's bookings.
+ * The request body is the upload itself and is read as it arrives.
+ */
+@RestController
+@RequestMapping("/owner/halls/{hallId}/bookings")
+@RequiredArgsConstructor
+@Tag(name = "Booking Import", description = "Bulk-load historical bookings from CSV or NDJSON")
+@Slf4j
+public class BookingImportController {
+
+    private final BookingImportService bookingImportService;
+
+    /**
+     * Import bookings into a hall.
+     *
+     * @param currentUser the authenticated owner from JWT
+     * @param hallId the hall ID
+     * @param request the request whose body is the CSV or NDJSON upload
+     * @return ResponseEntity containing imported and rejected counts and the rejected rows
+     * @throws IOException if the request body can't be opened
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('OWNER')")
+    @Operation(summary = "Import bookings",
+               description = "Load bookings from a CSV file with a header row, or from NDJSON. "
+                   + "Invalid, unresolvable and overlapping rows are skipped and reported by line number")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import finished; see the rejected rows"),
+        @ApiResponse(responseCode = "400", description = "Unsupported content type, incomplete CSV header or unreadable upload"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - user doesn't own this hall"),
+        @ApiResponse(responseCode = "404", description = "Hall not found")
+    })
+    public ResponseEntity<BookingImportResponse> importBookings(
+            @AuthenticationPrincipal User currentUser,
+            @PathVariable Long hallId,
+            HttpServletRequest request) throws IOException {
+
+        log.debug("POST /owner/halls/{}/bookings/import - User ID: {}", hallId, currentUser.getId());
+
+        BookingImportResponse response = bookingImportService.importBookings(
+            hallId, request.getInputStream(), request.getContentType(), currentUser);
+        return ResponseEntity.ok(response);
+    }
+}
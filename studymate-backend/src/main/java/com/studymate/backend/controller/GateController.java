@@ -0,0 +1,87 @@
+package com.studymate.backend.controller;
+
+import com.studymate.backend.dto.CheckInResponse;
+import com.studymate.backend.dto.GateScanRequest;
+import com.studymate.backend.model.User;
+import com.studymate.backend.service.CheckInService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the gate scanner of a study hall.
+ * Accepts students' check-in passes on entry and exit.
+ */
+@RestController
+@RequestMapping("/owner/halls/{hallId}/gate")
+@RequiredArgsConstructor
+@Tag(name = "Gate", description = "Check students in and out with their passes")
+@Slf4j
+public class GateController {
+
+    private final CheckInService checkInService;
+
+    /**
+     * Check a student in.
+     *
+     * @param currentUser the authenticated owner from JWT
+     * @param hallId the hall ID
+     * @param request the scanned pass
+     * @return ResponseEntity containing the booking and its check-in time
+     */
+    @PostMapping("/check-in")
+    @PreAuthorize("hasRole('OWNER')")
+    @Operation(summary = "Check in", description = "Verify a scanned check-in pass and record the student's entry")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Student checked in"),
+        @ApiResponse(responseCode = "400", description = "Invalid pass, pass for another hall or booking, or outside the check-in window"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - user doesn't own this hall"),
+        @ApiResponse(responseCode = "404", description = "Hall not found")
+    })
+    public ResponseEntity<CheckInResponse> checkIn(
+            @AuthenticationPrincipal User currentUser,
+            @PathVariable Long hallId,
+            @Valid @RequestBody GateScanRequest request) {
+
+        log.debug("POST /owner/halls/{}/gate/check-in - User ID: {}", hallId, currentUser.getId());
+
+        CheckInResponse response = checkInService.checkIn(hallId, request.getPass(), currentUser);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Check a student out.
+     *
+     * @param currentUser the authenticated owner from JWT
+     * @param hallId the hall ID
+     * @param request the scanned pass
+     * @return ResponseEntity containing the booking and its check-in and check-out times
+     */
+    @PostMapping("/check-out")
+    @PreAuthorize("hasRole('OWNER')")
+    @Operation(summary = "Check out", description = "Verify a scanned check-in pass and record the student's exit")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Student checked out"),
+        @ApiResponse(responseCode = "400", description = "Invalid pass, pass for another hall or booking, or outside the check-out window"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - user doesn't own this hall"),
+        @ApiResponse(responseCode = "404", description = "Hall not found")
+    })
+    public ResponseEntity<CheckInResponse> checkOut(
+            @AuthenticationPrincipal User currentUser,
+            @PathVariable Long hallId,
+            @Valid @RequestBody GateScanRequest request) {
+
+        log.debug("POST /owner/halls/{}/gate/check-out - User ID: {}", hallId, currentUser.getId());
+
+        CheckInResponse response = checkInService.checkOut(hallId, request.getPass(), currentUser);
+        return ResponseEntity.ok(response);
+    }
+}
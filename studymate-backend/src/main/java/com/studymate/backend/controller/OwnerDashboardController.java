@@ -1,13 +1,18 @@
 package com.studymate.backend.controller;
 
+import com.studymate.backend.dto.CompactDashboardResponse;
 import com.studymate.backend.dto.DashboardResponse;
+import com.studymate.backend.dto.PortfolioResponse;
 import com.studymate.backend.model.User;
 import com.studymate.backend.service.DashboardService;
+import com.studymate.backend.service.seatmap.SeatMapStreamHub;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * REST controller for owner dashboard operations.
@@ -19,28 +24,100 @@ import org.springframework.web.bind.annotation.*;
 public class OwnerDashboardController {
 
     private final DashboardService dashboardService;
+    private final SeatMapStreamHub seatMapStreamHub;
 
-    public OwnerDashboardController(DashboardService dashboardService) {
+    public OwnerDashboardController(DashboardService dashboardService, SeatMapStreamHub seatMapStreamHub) {
         this.dashboardService = dashboardService;
+        this.seatMapStreamHub = seatMapStreamHub;
+    }
+
+    /**
+     * Get portfolio metrics across all halls of the authenticated owner.
+     * Requires OWNER role.
+     *
+     * @param currentUser the authenticated user
+     * @return totals across all halls and the metrics of each hall
+     */
+    @GetMapping("/portfolio")
+    @PreAuthorize("hasRole('OWNER')")
+    public ResponseEntity<PortfolioResponse> getPortfolio(@AuthenticationPrincipal User currentUser) {
+
+        log.debug("Fetching portfolio for user: {}", currentUser.getEmail());
+
+        return ResponseEntity.ok(dashboardService.getPortfolioMetrics(currentUser));
     }
 
     /**
      * Get dashboard metrics for a study hall.
      * Requires OWNER role and user must own the specified hall.
+     * With {@code since}, the seat map only contains seats changed after that
+     * version unless the version is too old, in which case it is complete.
      *
      * @param hallId the ID of the study hall
+     * @param since seat-state version the client already has (optional)
      * @param currentUser the authenticated user
-     * @return dashboard response with metrics and seat map
+     * @return dashboard response with metrics, seat map and current version
      */
     @GetMapping("/{hallId}")
     @PreAuthorize("hasRole('OWNER')")
     public ResponseEntity<DashboardResponse> getDashboard(
             @PathVariable Long hallId,
+            @RequestParam(required = false) Long since,
             @AuthenticationPrincipal User currentUser) {
 
-        log.debug("Fetching dashboard for hall: {}, user: {}", hallId, currentUser.getEmail());
+        log.debug("Fetching dashboard for hall: {}, since: {}, user: {}", hallId, since, currentUser.getEmail());
 
-        DashboardResponse response = dashboardService.getDashboardMetrics(hallId, currentUser);
+        DashboardResponse response = since == null
+            ? dashboardService.getDashboardMetrics(hallId, currentUser)
+            : dashboardService.getDashboardMetrics(hallId, since, currentUser);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Get dashboard metrics with the seat map in columnar form.
+     * Selected through the Accept header ({@value CompactDashboardResponse#MEDIA_TYPE_VALUE}
+     * or {@code application/cbor}); clients asking for plain JSON keep receiving
+     * {@link DashboardResponse}.
+     *
+     * @param hallId the ID of the study hall
+     * @param since seat-state version the client already has (optional)
+     * @param currentUser the authenticated user
+     * @return compact dashboard response
+     */
+    @GetMapping(value = "/{hallId}",
+                produces = {CompactDashboardResponse.MEDIA_TYPE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    @PreAuthorize("hasRole('OWNER')")
+    public ResponseEntity<CompactDashboardResponse> getCompactDashboard(
+            @PathVariable Long hallId,
+            @RequestParam(required = false) Long since,
+            @AuthenticationPrincipal User currentUser) {
+
+        log.debug("Fetching compact dashboard for hall: {}, since: {}, user: {}", hallId, since, currentUser.getEmail());
+
+        DashboardResponse response = since == null
+            ? dashboardService.getDashboardMetrics(hallId, currentUser)
+            : dashboardService.getDashboardMetrics(hallId, since, currentUser);
+        return ResponseEntity.ok(CompactDashboardResponse.from(response));
+    }
+
+    /**
+     * Stream live seat-map changes for a study hall as Server-Sent Events.
+     * Sends a {@code snapshot} event with the full seat map on connect, then
+     * {@code seats} events containing only the seats whose status changed.
+     * Requires OWNER role and user must own the specified hall.
+     *
+     * @param hallId the ID of the study hall
+     * @param currentUser the authenticated user
+     * @return event stream of seat-map changes
+     */
+    @GetMapping(value = "/{hallId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('OWNER')")
+    public SseEmitter streamSeatMap(
+            @PathVariable Long hallId,
+            @AuthenticationPrincipal User currentUser) {
+
+        log.debug("Opening seat-map stream for hall: {}, user: {}", hallId, currentUser.getEmail());
+
+        return seatMapStreamHub.subscribe(hallId, currentUser);
+    }
 }
@@ -1,12 +1,19 @@
 package com.studymate.backend.controller;
 
 import com.studymate.backend.dto.ReportData;
+import com.studymate.backend.dto.ReportJobResponse;
 import com.studymate.backend.exception.InvalidRequestException;
+import com.studymate.backend.service.ReportJobService;
 import com.studymate.backend.service.ReportService;
+import com.studymate.backend.service.report.ReportCache;
 import com.studymate.backend.service.report.ReportGenerator;
+import com.studymate.backend.service.report.ReportJob;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -15,15 +22,18 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * REST controller for report generation.
- * Provides endpoints for downloading performance reports in various formats.
+ * Provides endpoints for downloading performance reports in various formats,
+ * either directly or through a background job that is polled and then downloaded.
  */
 @RestController
 @RequestMapping("/api/v1/owner/reports")
@@ -31,22 +41,31 @@ import java.util.stream.Collectors;
 public class ReportController {
 
     private final ReportService reportService;
+    private final ReportJobService reportJobService;
+    private final ReportCache reportCache;
     private final Map<String, ReportGenerator> reportGenerators;
 
     public ReportController(ReportService reportService,
+                           ReportJobService reportJobService,
+                           ReportCache reportCache,
                            List<ReportGenerator> generators) {
         this.reportService = reportService;
+        this.reportJobService = reportJobService;
+        this.reportCache = reportCache;
         this.reportGenerators = generators.stream()
             .collect(Collectors.toMap(ReportGenerator::getFormat, Function.identity()));
     }
 
     /**
-     * Generate and download a performance report for a study hall.
+     * Generate and download a performance report for a study hall. A report
+     * whose data hasn't changed since it was last generated is served from
+     * the {@link ReportCache}, or answered with 304 if the client already has it.
      *
      * @param hallId the ID of the study hall
      * @param format the report format (pdf or excel)
      * @param startDate the start date of the report period
      * @param endDate the end date of the report period
+     * @param ifNoneMatch ETag of the copy the client holds, if any
      * @param userDetails the authenticated user
      * @return streaming response with the generated report
      */
@@ -57,6 +76,7 @@ public class ReportController {
             @RequestParam(defaultValue = "pdf") String format,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @AuthenticationPrincipal UserDetails userDetails) {
 
         log.info("Generating {} report for hall: {}, period: {} to {}, user: {}",
@@ -74,43 +94,118 @@ public class ReportController {
                 ". Supported formats: " + reportGenerators.keySet());
         }
 
+        // Build filename
+        String filename = generator.getFileName(hallId, startDate, endDate);
+
+        // Serve an unchanged report from the cache
+        Optional<ReportCache.CachedReport> cached =
+            reportCache.get(hallId, startDate, endDate, generator.getFormat());
+        if (cached.isPresent()) {
+            reportService.verifyOwnership(hallId, userDetails);
+            ReportCache.CachedReport report = cached.get();
+            if (report.etag().equals(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(report.etag()).build();
+            }
+            log.info("Serving cached report for hall: {}, format: {}", hallId, format);
+            return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(generator.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .eTag(report.etag())
+                .body(outputStream -> outputStream.write(report.content()));
+        }
+
         // Aggregate report data
+        long version = reportCache.dataVersion(hallId, startDate, endDate);
         ReportData reportData = reportService.aggregateData(hallId, startDate, endDate, userDetails);
 
-        // Create streaming response
+        // Create streaming response, keeping a copy for the cache
         StreamingResponseBody stream = outputStream -> {
             try {
-                generator.generate(reportData, outputStream);
-                outputStream.flush();
+                ReportCache.Capture capture = reportCache.capture(outputStream);
+                generator.generate(reportData, capture);
+                capture.flush();
+                reportCache.put(hallId, startDate, endDate, generator.getFormat(), version, capture);
             } catch (Exception e) {
                 log.error("Error streaming report", e);
                 throw new RuntimeException("Failed to generate report", e);
             }
         };
 
-        // Determine content type and file extension
-        String contentType;
-        String fileExtension;
-        if ("pdf".equalsIgnoreCase(format)) {
-            contentType = "application/pdf";
-            fileExtension = "pdf";
-        } else {
-            contentType = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
-            fileExtension = "xlsx";
-        }
-
-        // Build filename
-        String filename = String.format("hall-%d-report-%s-to-%s.%s",
-            hallId,
-            startDate.toString(),
-            endDate.toString(),
-            fileExtension);
-
         log.info("Report generated successfully for hall: {}, format: {}", hallId, format);
 
         return ResponseEntity.ok()
-            .contentType(MediaType.parseMediaType(contentType))
+            .contentType(MediaType.parseMediaType(generator.getContentType()))
             .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
             .body(stream);
     }
+
+    /**
+     * Queue a performance report for generation in the background.
+     *
+     * @param hallId the ID of the study hall
+     * @param format the report format (pdf or excel)
+     * @param startDate the start date of the report period
+     * @param endDate the end date of the report period
+     * @param userDetails the authenticated user
+     * @return 202 with the job to poll, or 200 with an identical job that is still kept
+     */
+    @PostMapping("/{hallId}/jobs")
+    @PreAuthorize("hasRole('OWNER')")
+    public ResponseEntity<ReportJobResponse> submitReportJob(
+            @PathVariable Long hallId,
+            @RequestParam(defaultValue = "pdf") String format,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        log.info("Submitting {} report job for hall: {}, period: {} to {}, user: {}",
+            format, hallId, startDate, endDate, userDetails.getUsername());
+
+        ReportJobResponse job = reportJobService.submit(hallId, format, startDate, endDate, userDetails);
+        if (!ReportJob.Status.QUEUED.name().equals(job.getStatus())) {
+            return ResponseEntity.ok(job);
+        }
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/v1/owner/reports/jobs/" + job.getJobId()))
+            .body(job);
+    }
+
+    /**
+     * Get the state of a report job.
+     *
+     * @param jobId the job ID
+     * @param userDetails the authenticated user
+     * @return the job, with a download URL once it is READY
+     */
+    @GetMapping("/jobs/{jobId}")
+    @PreAuthorize("hasRole('OWNER')")
+    public ResponseEntity<ReportJobResponse> getReportJob(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        return ResponseEntity.ok(reportJobService.getJob(jobId, userDetails));
+    }
+
+    /**
+     * Download the file of a finished report job. The file is served from
+     * the spool, so downloading it again costs no regeneration.
+     *
+     * @param jobId the job ID
+     * @param userDetails the authenticated user
+     * @return the report file
+     */
+    @GetMapping("/jobs/{jobId}/file")
+    @PreAuthorize("hasRole('OWNER')")
+    public ResponseEntity<Resource> downloadReportJob(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        ReportJob job = reportJobService.getReadyJob(jobId, userDetails);
+        ReportGenerator generator = reportGenerators.get(job.getFormat());
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(generator.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.getFileName() + "\"")
+            .body(new FileSystemResource(job.getFile()));
+    }
 }
@@ -0,0 +1,80 @@
+package com.studymate.backend.controller;
+
+import com.studymate.backend.dto.SeatAvailabilityResponse;
+import com.studymate.backend.dto.ShiftAvailabilityResponse;
+import com.studymate.backend.service.SeatAvailabilityService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * REST controller for searching free seats of a study hall.
+ */
+@RestController
+@RequestMapping("/halls/{hallId}/availability")
+@RequiredArgsConstructor
+@Tag(name = "Seat Availability", description = "Search free seats of a study hall")
+@Slf4j
+public class SeatAvailabilityController {
+
+    private final SeatAvailabilityService seatAvailabilityService;
+
+    /**
+     * Find the seats that are free for the whole of a period.
+     *
+     * @param hallId the hall ID
+     * @param date the day
+     * @param startTime start of the period
+     * @param endTime end of the period (exclusive)
+     * @return ResponseEntity containing the free seats
+     */
+    @GetMapping
+    @Operation(summary = "Find free seats", description = "Seats with no booking or maintenance during the period, within opening hours")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Free seats retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid day or period, or hall not accepting bookings"),
+        @ApiResponse(responseCode = "404", description = "Hall not found")
+    })
+    public ResponseEntity<SeatAvailabilityResponse> findFreeSeats(
+            @PathVariable Long hallId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam @DateTimeFormat(pattern = "HH:mm") LocalTime startTime,
+            @RequestParam @DateTimeFormat(pattern = "HH:mm") LocalTime endTime) {
+
+        log.debug("GET /halls/{}/availability - date: {}, {} to {}", hallId, date, startTime, endTime);
+
+        return ResponseEntity.ok(seatAvailabilityService.findFreeSeats(hallId, date, startTime, endTime));
+    }
+
+    /**
+     * Count the free seats of each shift of a day.
+     *
+     * @param hallId the hall ID
+     * @param date the day
+     * @return ResponseEntity containing the free-seat count per shift
+     */
+    @GetMapping("/shifts")
+    @Operation(summary = "Count free seats per shift", description = "Seats free for the whole of each configured shift of the day")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Shift availability retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid day, or hall not accepting bookings"),
+        @ApiResponse(responseCode = "404", description = "Hall not found")
+    })
+    public ResponseEntity<ShiftAvailabilityResponse> findShiftAvailability(
+            @PathVariable Long hallId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+        log.debug("GET /halls/{}/availability/shifts - date: {}", hallId, date);
+
+        return ResponseEntity.ok(seatAvailabilityService.findShiftAvailability(hallId, date));
+    }
+}
@@ -54,24 +54,24 @@ public class SeatConfigurationController {
     /**
      * Get seats for a study hall (for seat map visualization).
      * Requires OWNER role and user must own the specified hall.
+     * With {@code since}, only seats changed after that version are returned
+     * unless the version is too old, in which case all seats are returned.
      *
      * @param hallId the ID of the study hall
+     * @param since seat-state version the client already has (optional)
      * @param currentUser the authenticated user details
-     * @return response with seats array
+     * @return response with seats array and current version
      */
     @GetMapping("/{hallId}")
     @PreAuthorize("hasRole('OWNER')")
     public ResponseEntity<SeatConfigResponse> getSeats(
             @PathVariable Long hallId,
+            @RequestParam(required = false) Long since,
             @AuthenticationPrincipal User currentUser) {
 
-        log.debug("Fetching seats for hall: {}, user: {}", hallId, currentUser.getEmail());
+        log.debug("Fetching seats for hall: {}, since: {}, user: {}", hallId, since, currentUser.getEmail());
 
-        List<SeatDTO> seats = seatConfigurationService.getSeatConfiguration(hallId, currentUser);
-        SeatConfigResponse response = new SeatConfigResponse();
-        response.setSuccess(true);
-        response.setSeats(seats);
-        response.setSeatCount(seats.size());
+        SeatConfigResponse response = seatConfigurationService.getSeats(hallId, since, currentUser);
         return ResponseEntity.ok(response);
     }
 
@@ -0,0 +1,21 @@
+package com.studymate.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A seat that is free for a searched period.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailableSeatDTO {
+
+    @JsonProperty("seatId")
+    private Long seatId;
+
+    @JsonProperty("seatNumber")
+    private String seatNumber;
+}
@@ -0,0 +1,41 @@
+package com.studymate.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a bulk booking import.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingImportResponse {
+
+    private long rowsRead;
+    private long importedCount;
+    private long rejectedCount;
+    private long durationMillis;
+
+    /**
+     * Rejected rows, up to {@code app.import.max-errors}; {@code errorsTruncated} is set when more were rejected.
+     */
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+
+    /**
+     * A rejected row of the upload.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        private long line;
+        private String message;
+    }
+}
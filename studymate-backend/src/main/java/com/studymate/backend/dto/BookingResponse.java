@@ -0,0 +1,29 @@
+package com.studymate.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for a created booking.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingResponse {
+
+    private Long id;
+    private Long seatId;
+    private String seatNumber;
+    private Long hallId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String status;
+    private BigDecimal amount;
+    private String checkInPass;
+}
@@ -0,0 +1,27 @@
+package com.studymate.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for a gate check-in or check-out.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInResponse {
+
+    private Long bookingId;
+    private Long seatId;
+    private Long hallId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private LocalDateTime checkInTime;
+    private LocalDateTime checkOutTime;
+    private String status;
+}
@@ -0,0 +1,66 @@
+package com.studymate.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Dashboard response with the seat map in columnar form.
+ * Served instead of {@link DashboardResponse} when the client asks for
+ * {@value #MEDIA_TYPE_VALUE} (JSON) or {@code application/cbor} (binary).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompactDashboardResponse {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.studymate.compact+json";
+
+    @JsonProperty("totalSeats")
+    private int totalSeats;
+
+    @JsonProperty("occupancyPercentage")
+    private double occupancyPercentage;
+
+    @JsonProperty("currentRevenue")
+    private BigDecimal currentRevenue;
+
+    @JsonProperty("seatMap")
+    private CompactSeatMap seatMap;
+
+    @JsonProperty("version")
+    private Long version;
+
+    @JsonProperty("delta")
+    private boolean delta;
+
+    @JsonProperty("stale")
+    private boolean stale;
+
+    @JsonProperty("ageMs")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long ageMillis;
+
+    /**
+     * Convert a dashboard response to its compact form.
+     *
+     * @param response the dashboard response
+     * @return the same data with a columnar seat map
+     */
+    public static CompactDashboardResponse from(DashboardResponse response) {
+        return new CompactDashboardResponse(
+            response.getTotalSeats(),
+            response.getOccupancyPercentage(),
+            response.getCurrentRevenue(),
+            CompactSeatMap.from(response.getSeatMap()),
+            response.getVersion(),
+            response.isDelta(),
+            response.isStale(),
+            response.getAgeMillis()
+        );
+    }
+}
@@ -0,0 +1,86 @@
+package com.studymate.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar encoding of a seat map: one array per field instead of one object
+ * per seat, so keys are written once per map rather than once per seat.
+ * Index {@code i} of every array describes the same seat. Statuses are one-byte
+ * codes into {@code statusTable}, written as a byte string (base64 in JSON);
+ * missing coordinates are encoded as -1.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompactSeatMap {
+
+    @JsonProperty("ids")
+    private long[] ids;
+
+    @JsonProperty("seatNumbers")
+    private String[] seatNumbers;
+
+    @JsonProperty("x")
+    private int[] x;
+
+    @JsonProperty("y")
+    private int[] y;
+
+    @JsonProperty("status")
+    private byte[] status;
+
+    @JsonProperty("statusTable")
+    private List<String> statusTable;
+
+    /**
+     * Encode a seat map.
+     *
+     * @param seats seats in display order
+     * @return columnar seat map
+     */
+    public static CompactSeatMap from(List<SeatStatusDTO> seats) {
+        int size = seats.size();
+        long[] ids = new long[size];
+        String[] seatNumbers = new String[size];
+        int[] x = new int[size];
+        int[] y = new int[size];
+        byte[] status = new byte[size];
+        Map<String, Byte> codes = new LinkedHashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            SeatStatusDTO seat = seats.get(i);
+            ids[i] = seat.getId();
+            seatNumbers[i] = seat.getSeatNumber();
+            x[i] = seat.getXCoord() != null ? seat.getXCoord() : -1;
+            y[i] = seat.getYCoord() != null ? seat.getYCoord() : -1;
+            status[i] = codes.computeIfAbsent(seat.getStatus(), key -> (byte) codes.size());
+        }
+        return new CompactSeatMap(ids, seatNumbers, x, y, status, new ArrayList<>(codes.keySet()));
+    }
+
+    /**
+     * Decode back into one DTO per seat.
+     *
+     * @return seats in the encoded order
+     */
+    public List<SeatStatusDTO> toSeats() {
+        List<SeatStatusDTO> seats = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            seats.add(new SeatStatusDTO(
+                ids[i],
+                seatNumbers[i],
+                x[i] >= 0 ? x[i] : null,
+                y[i] >= 0 ? y[i] : null,
+                statusTable.get(status[i])));
+        }
+        return seats;
+    }
+}
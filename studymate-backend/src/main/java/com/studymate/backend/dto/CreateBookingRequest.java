@@ -0,0 +1,34 @@
+package com.studymate.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for booking a seat for a period of time.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to book a seat")
+public class CreateBookingRequest {
+
+    @NotNull(message = "Seat ID is required")
+    @Schema(description = "Seat to book", example = "42")
+    private Long seatId;
+
+    @NotNull(message = "Start time is required")
+    @Schema(description = "Start of the booking", example = "2025-10-20T09:00:00")
+    private LocalDateTime startTime;
+
+    @NotNull(message = "End time is required")
+    @Schema(description = "End of the booking (exclusive)", example = "2025-10-20T13:00:00")
+    private LocalDateTime endTime;
+
+    @Schema(description = "Hold taken on this seat and period during checkout, if any", example = "7")
+    private Long holdId;
+}
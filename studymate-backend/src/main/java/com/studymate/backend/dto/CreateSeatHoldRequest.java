@@ -0,0 +1,31 @@
+package com.studymate.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for holding a seat's period while checking out.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to hold a seat during checkout")
+public class CreateSeatHoldRequest {
+
+    @NotNull(message = "Seat ID is required")
+    @Schema(description = "Seat to hold", example = "42")
+    private Long seatId;
+
+    @NotNull(message = "Start time is required")
+    @Schema(description = "Start of the period to hold", example = "2025-10-20T09:00:00")
+    private LocalDateTime startTime;
+
+    @NotNull(message = "End time is required")
+    @Schema(description = "End of the period to hold (exclusive)", example = "2025-10-20T13:00:00")
+    private LocalDateTime endTime;
+}
@@ -1,5 +1,6 @@
 package com.studymate.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -30,4 +31,30 @@ public class DashboardResponse {
 
     @JsonProperty("seatMap")
     private List<SeatStatusDTO> seatMap;
+
+    /**
+     * Seat-state version of the hall; pass it back as {@code since} to receive only later changes.
+     */
+    @JsonProperty("version")
+    private Long version;
+
+    /**
+     * True if {@code seatMap} only contains seats changed since the requested version.
+     */
+    @JsonProperty("delta")
+    private boolean delta;
+
+    /**
+     * True if the seat map was served from the hall's last good copy while the
+     * database was under pressure; metrics are always current.
+     */
+    @JsonProperty("stale")
+    private boolean stale;
+
+    /**
+     * Age of a stale seat map in milliseconds; absent when the seat map is fresh.
+     */
+    @JsonProperty("ageMs")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long ageMillis;
 }
@@ -0,0 +1,21 @@
+package com.studymate.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a check-in pass scanned at a hall's gate.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Check-in pass scanned at the gate")
+public class GateScanRequest {
+
+    @NotBlank(message = "Pass is required")
+    @Schema(description = "Signed pass read from the student's QR code")
+    private String pass;
+}
@@ -0,0 +1,41 @@
+package com.studymate.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.studymate.backend.model.HallStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Metrics of a single hall within an owner's portfolio dashboard.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HallPortfolioEntry {
+
+    @JsonProperty("hallId")
+    private Long hallId;
+
+    @JsonProperty("hallName")
+    private String hallName;
+
+    @JsonProperty("status")
+    private HallStatus status;
+
+    @JsonProperty("totalSeats")
+    private int totalSeats;
+
+    @JsonProperty("activeBookings")
+    private int activeBookings;
+
+    @JsonProperty("occupancyPercentage")
+    private double occupancyPercentage;
+
+    @JsonProperty("currentRevenue")
+    private BigDecimal currentRevenue;
+}
@@ -0,0 +1,39 @@
+package com.studymate.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Response DTO for the owner portfolio dashboard.
+ * Contains totals across all of the owner's halls and the metrics of each hall.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioResponse {
+
+    @JsonProperty("totalHalls")
+    private int totalHalls;
+
+    @JsonProperty("totalSeats")
+    private int totalSeats;
+
+    @JsonProperty("activeBookings")
+    private int activeBookings;
+
+    @JsonProperty("occupancyPercentage")
+    private double occupancyPercentage;
+
+    @JsonProperty("currentRevenue")
+    private BigDecimal currentRevenue;
+
+    @JsonProperty("halls")
+    private List<HallPortfolioEntry> halls;
+}
@@ -0,0 +1,59 @@
+package com.studymate.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for the state of an asynchronous report job.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobResponse {
+
+    /**
+     * ID to poll and download the job with
+     */
+    private String jobId;
+
+    /**
+     * QUEUED, RUNNING, READY or FAILED
+     */
+    private String status;
+
+    private Long hallId;
+
+    private String format;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private LocalDateTime submittedAt;
+
+    /**
+     * When the report finished or failed, null until then
+     */
+    private LocalDateTime completedAt;
+
+    /**
+     * When the job and its file are discarded, null until it finishes
+     */
+    private LocalDateTime expiresAt;
+
+    /**
+     * Why the job failed, null otherwise
+     */
+    private String error;
+
+    /**
+     * Where to download the report once READY, null otherwise
+     */
+    private String downloadUrl;
+}
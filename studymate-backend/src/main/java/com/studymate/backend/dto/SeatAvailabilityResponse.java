@@ -0,0 +1,39 @@
+package com.studymate.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Seats of a hall that are free for the whole of a period on one day.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatAvailabilityResponse {
+
+    @JsonProperty("hallId")
+    private Long hallId;
+
+    @JsonProperty("date")
+    private LocalDate date;
+
+    @JsonProperty("startTime")
+    private LocalTime startTime;
+
+    @JsonProperty("endTime")
+    private LocalTime endTime;
+
+    @JsonProperty("freeSeatCount")
+    private int freeSeatCount;
+
+    @JsonProperty("freeSeats")
+    private List<AvailableSeatDTO> freeSeats;
+}
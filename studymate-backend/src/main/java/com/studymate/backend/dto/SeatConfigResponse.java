@@ -1,5 +1,6 @@
 package com.studymate.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -23,8 +24,27 @@ public class SeatConfigResponse {
 
     private Integer seatCount;
 
+    /**
+     * Seat-state version of the hall; pass it back as {@code since} to receive only later changes.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long version;
+
+    /**
+     * True if {@code seats} only contains seats changed since the requested version.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean delta;
+
     public SeatConfigResponse(boolean success, String message) {
         this.success = success;
         this.message = message;
     }
+
+    public SeatConfigResponse(boolean success, String message, List<SeatDTO> seats, Integer seatCount) {
+        this.success = success;
+        this.message = message;
+        this.seats = seats;
+        this.seatCount = seatCount;
+    }
 }
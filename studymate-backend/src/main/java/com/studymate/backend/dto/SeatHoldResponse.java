@@ -0,0 +1,27 @@
+package com.studymate.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A seat period locked for the student until it is booked or the hold expires.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHoldResponse {
+
+    private Long holdId;
+    private Long seatId;
+    private String seatNumber;
+    private Long hallId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String status;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,32 @@
+package com.studymate.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Free-seat counts of each shift of a hall on one day.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShiftAvailabilityResponse {
+
+    @JsonProperty("hallId")
+    private Long hallId;
+
+    @JsonProperty("date")
+    private LocalDate date;
+
+    @JsonProperty("totalSeats")
+    private int totalSeats;
+
+    @JsonProperty("shifts")
+    private List<ShiftAvailabilityDTO> shifts;
+}
@@ -0,0 +1,61 @@
+package com.studymate.backend.event;
+
+import com.studymate.backend.model.BookingSnapshot;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Application event published whenever a booking is created, updated or deleted.
+ * {@code previous} is null for a new booking and {@code current} is null for a
+ * deleted one. Listeners that keep derived state (counters, caches, seat maps)
+ * should consume it with {@code @TransactionalEventListener} so that rolled-back
+ * writes are never observed.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class BookingChangedEvent {
+
+    private final Long bookingId;
+
+    private final Long seatId;
+
+    /**
+     * Hall of the booked seat, or null when it could not be resolved without
+     * initializing a lazy association. Use {@code SeatHallLookup} to resolve it.
+     */
+    private final Long hallId;
+
+    private final BookingSnapshot previous;
+
+    private final BookingSnapshot current;
+
+    /**
+     * @return true if the booking counted as confirmed before this change
+     */
+    public boolean wasConfirmed() {
+        return previous != null && previous.isConfirmed();
+    }
+
+    /**
+     * @return true if the booking counts as confirmed after this change
+     */
+    public boolean isConfirmed() {
+        return current != null && current.isConfirmed();
+    }
+
+    /**
+     * @return true if the booking counted towards revenue before this change
+     */
+    public boolean wasBillable() {
+        return previous != null && previous.isBillable();
+    }
+
+    /**
+     * @return true if the booking counts towards revenue after this change
+     */
+    public boolean isBillable() {
+        return current != null && current.isBillable();
+    }
+}
@@ -0,0 +1,67 @@
+package com.studymate.backend.event;
+
+import com.studymate.backend.model.Booking;
+import com.studymate.backend.model.BookingSnapshot;
+import com.studymate.backend.model.Seat;
+import com.studymate.backend.model.StudyHall;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA entity listener that turns booking writes into {@link BookingChangedEvent}s.
+ * Instantiated by Hibernate through Spring's bean container, so every write path
+ * (services, repositories, tests) feeds the same event stream.
+ *
+ * <p>Lifecycle callbacks run during flush, so this listener never touches the
+ * EntityManager or initializes lazy associations; the hall ID is read from the
+ * booking's hall reference, whose proxy knows its ID without being loaded.</p>
+ */
+public class BookingEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BookingEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostLoad
+    void onLoad(Booking booking) {
+        booking.setPersistedState(BookingSnapshot.of(booking));
+    }
+
+    @PostPersist
+    void onPersist(Booking booking) {
+        BookingSnapshot current = BookingSnapshot.of(booking);
+        publish(booking, null, current);
+        booking.setPersistedState(current);
+    }
+
+    @PostUpdate
+    void onUpdate(Booking booking) {
+        BookingSnapshot previous = booking.getPersistedState();
+        BookingSnapshot current = BookingSnapshot.of(booking);
+        if (!current.equals(previous)) {
+            publish(booking, previous, current);
+        }
+        booking.setPersistedState(current);
+    }
+
+    @PostRemove
+    void onRemove(Booking booking) {
+        BookingSnapshot previous = booking.getPersistedState() != null
+            ? booking.getPersistedState()
+            : BookingSnapshot.of(booking);
+        publish(booking, previous, null);
+    }
+
+    private void publish(Booking booking, BookingSnapshot previous, BookingSnapshot current) {
+        Seat seat = booking.getSeat();
+        Long seatId = seat != null ? seat.getId() : null;
+        StudyHall hall = booking.getHall();
+        Long hallId = hall != null ? hall.getId() : null;
+        eventPublisher.publishEvent(new BookingChangedEvent(booking.getId(), seatId, hallId, previous, current));
+    }
+}
@@ -0,0 +1,17 @@
+package com.studymate.backend.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Application event published when an owner saves the opening hours and
+ * shifts of a hall.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class OpeningHoursChangedEvent {
+
+    private final Long hallId;
+}
@@ -0,0 +1,33 @@
+package com.studymate.backend.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Application event published synchronously when a seat hold is taken, and
+ * when it ends because it was released, expired or turned into a booking.
+ * Holds are not transactional, so listeners use a plain {@code @EventListener}.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class SeatHoldChangedEvent {
+
+    private final Long holdId;
+
+    private final Long seatId;
+
+    private final Long hallId;
+
+    private final LocalDateTime startTime;
+
+    private final LocalDateTime endTime;
+
+    /**
+     * True when the hold was taken, false when it ended.
+     */
+    private final boolean held;
+}
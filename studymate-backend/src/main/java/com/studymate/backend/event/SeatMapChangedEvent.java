@@ -0,0 +1,44 @@
+package com.studymate.backend.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Application event published when an owner changes seats outside the booking
+ * flow: maintenance status updates change individual seats, while a seat
+ * reconfiguration replaces the whole layout of a hall.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class SeatMapChangedEvent {
+
+    private final Long hallId;
+
+    /**
+     * Seats whose status changed; empty when {@code layoutChanged} is true.
+     */
+    private final List<Long> seatIds;
+
+    private final boolean layoutChanged;
+
+    /**
+     * @param hallId the hall of the seats
+     * @param seatIds the seats whose status changed
+     * @return event describing individual seat changes
+     */
+    public static SeatMapChangedEvent seatsUpdated(Long hallId, List<Long> seatIds) {
+        return new SeatMapChangedEvent(hallId, List.copyOf(seatIds), false);
+    }
+
+    /**
+     * @param hallId the hall whose seats were added, removed or recreated
+     * @return event describing a layout change
+     */
+    public static SeatMapChangedEvent layoutChanged(Long hallId) {
+        return new SeatMapChangedEvent(hallId, List.of(), true);
+    }
+}
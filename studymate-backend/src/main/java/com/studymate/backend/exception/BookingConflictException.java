@@ -0,0 +1,16 @@
+package com.studymate.backend.exception;
+
+/**
+ * Exception thrown when a booking overlaps an existing confirmed booking of the same seat.
+ * Results in HTTP 409 Conflict response.
+ */
+public class BookingConflictException extends RuntimeException {
+
+    public BookingConflictException(String message) {
+        super(message);
+    }
+
+    public BookingConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
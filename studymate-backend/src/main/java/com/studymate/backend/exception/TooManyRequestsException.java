@@ -0,0 +1,12 @@
+package com.studymate.backend.exception;
+
+/**
+ * Exception thrown when a request can't be accepted until earlier work finishes.
+ * Results in HTTP 429 Too Many Requests response.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package com.studymate.backend.model;
 
+import com.studymate.backend.event.BookingEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -13,6 +14,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "bookings")
+@EntityListeners(BookingEntityListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -33,6 +35,14 @@ public class Booking {
     @JoinColumn(name = "seat_id", nullable = false)
     private Seat seat;
 
+    /**
+     * Hall of the booked seat, denormalized so hall queries don't join seats.
+     * Taken from {@link #seat} on insert; a database trigger keeps it in step.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "hall_id", nullable = false)
+    private StudyHall hall;
+
     @NotNull(message = "Start time is required")
     @Column(name = "start_time", nullable = false)
     private LocalDateTime startTime;
@@ -66,10 +76,18 @@ public class Booking {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * State as last read from or written to the database.
+     * Maintained by {@link BookingEntityListener} to describe changes as before/after pairs.
+     */
+    @Transient
+    private BookingSnapshot persistedState;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        hall = seat != null ? seat.getHall() : hall;
         if (status == null) {
             status = "PENDING";
         }
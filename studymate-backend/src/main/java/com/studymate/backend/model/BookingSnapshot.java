@@ -0,0 +1,50 @@
+package com.studymate.backend.model;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of the booking fields that drive occupancy and revenue.
+ * Captured when a booking is loaded or written so that a later change can be
+ * described as a before/after pair without re-reading the database.
+ */
+@Value
+public class BookingSnapshot {
+
+    String status;
+    LocalDateTime startTime;
+    LocalDateTime endTime;
+    BigDecimal amount;
+
+    /**
+     * Capture the current state of a booking.
+     *
+     * @param booking the booking entity
+     * @return snapshot of status, period and amount
+     */
+    public static BookingSnapshot of(Booking booking) {
+        return new BookingSnapshot(
+            booking.getStatus(),
+            booking.getStartTime(),
+            booking.getEndTime(),
+            booking.getAmount()
+        );
+    }
+
+    /**
+     * @return true if the booking holds its seat and counts towards occupancy
+     */
+    public boolean isConfirmed() {
+        return "CONFIRMED".equals(status);
+    }
+
+    /**
+     * @return true if the booking counts towards revenue: confirmed, or
+     *         finished as completed or no-show
+     */
+    public boolean isBillable() {
+        return "CONFIRMED".equals(status) || "COMPLETED".equals(status) || "NO_SHOW".equals(status);
+    }
+}
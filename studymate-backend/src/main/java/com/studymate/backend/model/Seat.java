@@ -59,6 +59,19 @@ public class Seat {
     @Column(name = "maintenance_until")
     private LocalDateTime maintenanceUntil;
 
+    /**
+     * Confirmed booking with the latest future end time, maintained by
+     * {@code SeatOccupancyMaterializer}; never written through the entity.
+     */
+    @Column(name = "current_booking_id", insertable = false, updatable = false)
+    private Long currentBookingId;
+
+    /**
+     * End of the current booking; the seat is occupied while this is in the future.
+     */
+    @Column(name = "occupied_until", insertable = false, updatable = false)
+    private LocalDateTime occupiedUntil;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
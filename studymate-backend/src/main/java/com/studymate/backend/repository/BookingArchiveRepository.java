@@ -0,0 +1,135 @@
+package com.studymate.backend.repository;
+
+import com.studymate.backend.model.Booking;
+import com.studymate.backend.repository.projection.BookingArchiveRow;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Repository for moving finished bookings out of the bookings table into
+ * archive files. Only bookings that can no longer change are archived:
+ * completed, cancelled and no-shows.
+ */
+@Repository
+public interface BookingArchiveRepository extends org.springframework.data.repository.Repository<Booking, Long> {
+
+    /**
+     * @param before end of the range (exclusive)
+     * @return start time of the oldest finished booking starting before the given instant
+     */
+    @Query(value = "SELECT MIN(b.start_time) FROM bookings b " +
+                   "WHERE b.status IN ('COMPLETED', 'CANCELLED', 'NO_SHOW') " +
+                   "AND b.start_time < :before",
+           nativeQuery = true)
+    Optional<LocalDateTime> findOldestFinishedStartTime(@Param("before") LocalDateTime before);
+
+    /**
+     * Find the halls with finished bookings starting within [from, to).
+     *
+     * @param from start of the month
+     * @param to start of the next month
+     * @return hall IDs in ascending order
+     */
+    @Query(value = "SELECT DISTINCT b.hall_id FROM bookings b " +
+                   "WHERE b.status IN ('COMPLETED', 'CANCELLED', 'NO_SHOW') " +
+                   "AND b.start_time >= :from " +
+                   "AND b.start_time < :to " +
+                   "ORDER BY b.hall_id",
+           nativeQuery = true)
+    List<Long> findHallIdsWithFinishedBookings(@Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to);
+
+    /**
+     * Find the IDs of a hall's finished bookings starting within [from, to)
+     * that are still in the table. Between an archive file's commit and the
+     * delete of its bookings, these are in both places; readers merging the
+     * archive skip them.
+     *
+     * @param hallId the hall ID
+     * @param from start of the month
+     * @param to start of the next month
+     * @return booking IDs
+     */
+    @Query(value = "SELECT b.id FROM bookings b " +
+                   "WHERE b.hall_id = :hallId " +
+                   "AND b.status IN ('COMPLETED', 'CANCELLED', 'NO_SHOW') " +
+                   "AND b.start_time >= :from " +
+                   "AND b.start_time < :to",
+           nativeQuery = true)
+    Set<Long> findFinishedBookingIds(@Param("hallId") Long hallId,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to);
+
+    /**
+     * Read the next batch of a hall's finished bookings starting within
+     * [from, to), in keyset order of (start_time, id) after the given cursor.
+     *
+     * @param hallId the hall ID
+     * @param from start of the month
+     * @param to start of the next month
+     * @param afterTime start time of the last booking read
+     * @param afterId ID of the last booking read
+     * @param limit maximum bookings to read
+     * @return the bookings, ordered by start time and ID
+     */
+    @Query(value = "SELECT b.id AS \"bookingId\", b.user_id AS \"userId\", b.seat_id AS \"seatId\", " +
+                   "b.payment_id AS \"paymentId\", b.start_time AS \"startTime\", b.end_time AS \"endTime\", " +
+                   "b.check_in_time AS \"checkInTime\", b.check_out_time AS \"checkOutTime\", " +
+                   "b.status AS \"status\", b.amount AS \"amount\", b.created_at AS \"createdAt\" " +
+                   "FROM bookings b " +
+                   "WHERE b.hall_id = :hallId " +
+                   "AND b.status IN ('COMPLETED', 'CANCELLED', 'NO_SHOW') " +
+                   "AND b.start_time >= :from " +
+                   "AND b.start_time < :to " +
+                   "AND (b.start_time, b.id) > (:afterTime, :afterId) " +
+                   "ORDER BY b.start_time, b.id " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<BookingArchiveRow> findFinishedBookings(@Param("hallId") Long hallId,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to,
+                                                 @Param("afterTime") LocalDateTime afterTime,
+                                                 @Param("afterId") long afterId,
+                                                 @Param("limit") int limit);
+
+    /**
+     * Delete archived bookings of a hall-month and add their count and
+     * billable revenue to its booking_archives row, in one statement.
+     * Bookings that are no longer finished are left in place.
+     *
+     * @param hallId the hall ID
+     * @param month first day of the month
+     * @param bookingIds IDs of the bookings written to the archive file
+     * @return number of bookings deleted
+     */
+    @Query(value = "WITH deleted AS ( " +
+                   "  DELETE FROM bookings b " +
+                   "  WHERE b.hall_id = :hallId " +
+                   "  AND b.status IN ('COMPLETED', 'CANCELLED', 'NO_SHOW') " +
+                   "  AND b.start_time >= CAST(:month AS date) " +
+                   "  AND b.start_time < CAST(:month AS date) + INTERVAL '1 month' " +
+                   "  AND b.id = ANY(CAST(:bookingIds AS bigint[])) " +
+                   "  RETURNING b.status, b.amount " +
+                   "), recorded AS ( " +
+                   "  INSERT INTO booking_archives (hall_id, month, booking_count, revenue) " +
+                   "  SELECT :hallId, :month, COUNT(*), " +
+                   "         COALESCE(SUM(d.amount) FILTER (WHERE d.status IN ('COMPLETED', 'NO_SHOW')), 0) " +
+                   "  FROM deleted d " +
+                   "  ON CONFLICT (hall_id, month) DO UPDATE " +
+                   "  SET booking_count = booking_archives.booking_count + EXCLUDED.booking_count, " +
+                   "      revenue = booking_archives.revenue + EXCLUDED.revenue, " +
+                   "      archived_at = CURRENT_TIMESTAMP " +
+                   ") " +
+                   "SELECT COUNT(*) FROM deleted",
+           nativeQuery = true)
+    long deleteArchivedBookings(@Param("hallId") Long hallId,
+                                @Param("month") LocalDate month,
+                                @Param("bookingIds") Long[] bookingIds);
+}
@@ -0,0 +1,47 @@
+package com.studymate.backend.repository;
+
+import com.studymate.backend.model.Booking;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for the monthly partitions of the bookings table.
+ * Partitions are named {@code bookings_YYYY_MM}; the DDL lives in SQL
+ * functions created by the V23 migration.
+ */
+@Repository
+public interface BookingPartitionRepository extends org.springframework.data.repository.Repository<Booking, Long> {
+
+    /**
+     * Create the partition for a month if it doesn't exist.
+     *
+     * @param month any day of the month
+     * @return name of the month's partition
+     */
+    @Query(value = "SELECT create_booking_partition(:month)", nativeQuery = true)
+    String createPartition(@Param("month") LocalDate month);
+
+    /**
+     * Detach and drop a partition, unless it still holds bookings. Writes to
+     * bookings are blocked from the check until the transaction ends.
+     *
+     * @param partitionName name of the partition
+     * @return whether the partition was empty and dropped
+     */
+    @Query(value = "SELECT retire_booking_partition(:partitionName)", nativeQuery = true)
+    boolean retirePartition(@Param("partitionName") String partitionName);
+
+    /**
+     * @return names of the partitions currently attached to bookings, oldest month first
+     */
+    @Query(value = "SELECT c.relname FROM pg_inherits i " +
+                   "JOIN pg_class c ON c.oid = i.inhrelid " +
+                   "WHERE i.inhparent = 'bookings'::regclass " +
+                   "ORDER BY c.relname",
+           nativeQuery = true)
+    List<String> findPartitionNames();
+}
@@ -1,14 +1,30 @@
 package com.studymate.backend.repository;
 
 import com.studymate.backend.model.Booking;
+import com.studymate.backend.repository.projection.ActiveBookingRow;
+import com.studymate.backend.repository.projection.BookingIntervalRow;
+import com.studymate.backend.repository.projection.BookingLifecycleRow;
+import com.studymate.backend.repository.projection.BookingReportRow;
+import com.studymate.backend.repository.projection.BookingTransitionRow;
+import com.studymate.backend.repository.projection.HallOccupancyRow;
+import com.studymate.backend.repository.projection.HallRevenueRow;
+import com.studymate.backend.repository.projection.IssuedPassRow;
+import com.studymate.backend.repository.projection.ReportAggregateRow;
+import com.studymate.backend.repository.projection.SeatBookingIntervalRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository for Booking entity.
@@ -19,85 +35,205 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     /**
      * Count active bookings in a hall.
-     * Active bookings are those with CONFIRMED status and end time in the future.
+     * Active bookings are those with CONFIRMED status and end time in the future,
+     * i.e. whose period overlaps [now, infinity).
      *
      * @param hallId the ID of the study hall
      * @return number of active bookings
      */
-    @Query("SELECT COUNT(b) FROM Booking b " +
-           "WHERE b.seat.hall.id = :hallId " +
-           "AND b.status = 'CONFIRMED' " +
-           "AND b.endTime > CURRENT_TIMESTAMP")
+    @Query(value = "SELECT COUNT(*) FROM bookings b " +
+                   "WHERE b.hall_id = :hallId " +
+                   "AND b.status = 'CONFIRMED' " +
+                   "AND b.period && tsrange(LOCALTIMESTAMP, NULL)",
+           nativeQuery = true)
     int countActiveBookingsByHallId(@Param("hallId") Long hallId);
 
     /**
-     * Calculate total revenue from all confirmed bookings in a hall.
+     * Calculate total revenue from all billable bookings in a hall
+     * (confirmed, completed or no-show), including archived months.
      *
      * @param hallId the ID of the study hall
      * @return total revenue, or 0 if no bookings exist
      */
-    @Query("SELECT COALESCE(SUM(b.amount), 0) FROM Booking b " +
-           "WHERE b.seat.hall.id = :hallId " +
-           "AND b.status = 'CONFIRMED'")
+    @Query(value = "SELECT COALESCE((SELECT SUM(b.amount) FROM bookings b " +
+                   "WHERE b.hall_id = :hallId " +
+                   "AND b.status IN ('CONFIRMED', 'COMPLETED', 'NO_SHOW')), 0) " +
+                   "+ COALESCE((SELECT SUM(a.revenue) FROM booking_archives a " +
+                   "WHERE a.hall_id = :hallId), 0)",
+           nativeQuery = true)
     BigDecimal sumRevenueByHallId(@Param("hallId") Long hallId);
 
     /**
-     * Calculate total revenue from confirmed bookings in a hall within a date range.
+     * Calculate total revenue from billable bookings in a hall that start
+     * within [from, to). Served by the (hall_id, status, start_time) index.
      *
      * @param hallId the ID of the study hall
-     * @param startDate the start date (inclusive)
-     * @param endDate the end date (inclusive)
+     * @param from start of the period (inclusive)
+     * @param to end of the period (exclusive)
      * @return total revenue, or 0 if no bookings exist
      */
     @Query("SELECT COALESCE(SUM(b.amount), 0) FROM Booking b " +
-           "WHERE b.seat.hall.id = :hallId " +
-           "AND b.status = 'CONFIRMED' " +
-           "AND CAST(b.startTime AS LocalDate) >= :startDate " +
-           "AND CAST(b.startTime AS LocalDate) <= :endDate")
-    BigDecimal sumRevenueByHallAndDateRange(
+           "WHERE b.hall.id = :hallId " +
+           "AND b.status IN ('CONFIRMED', 'COMPLETED', 'NO_SHOW') " +
+           "AND b.startTime >= :from " +
+           "AND b.startTime < :to")
+    BigDecimal sumRevenueByHallAndPeriod(
             @Param("hallId") Long hallId,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate);
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
 
     /**
-     * Find busiest hours by booking count for a hall within a date range.
+     * Calculate total revenue from billable bookings in a hall within a date range.
      *
      * @param hallId the ID of the study hall
      * @param startDate the start date (inclusive)
      * @param endDate the end date (inclusive)
+     * @return total revenue, or 0 if no bookings exist
+     */
+    default BigDecimal sumRevenueByHallAndDateRange(Long hallId, LocalDate startDate, LocalDate endDate) {
+        return sumRevenueByHallAndPeriod(hallId, startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Find busiest hours by booking count for a hall, over bookings that start
+     * within [from, to). Served by the (hall_id, status, start_time) index.
+     *
+     * @param hallId the ID of the study hall
+     * @param from start of the period (inclusive)
+     * @param to end of the period (exclusive)
      * @return list of objects containing hour and count
      */
     @Query("SELECT HOUR(b.startTime) as hour, COUNT(b) as count " +
            "FROM Booking b " +
-           "WHERE b.seat.hall.id = :hallId " +
-           "AND b.status = 'CONFIRMED' " +
-           "AND CAST(b.startTime AS LocalDate) >= :startDate " +
-           "AND CAST(b.startTime AS LocalDate) <= :endDate " +
+           "WHERE b.hall.id = :hallId " +
+           "AND b.status IN ('CONFIRMED', 'COMPLETED', 'NO_SHOW') " +
+           "AND b.startTime >= :from " +
+           "AND b.startTime < :to " +
            "GROUP BY HOUR(b.startTime) " +
            "ORDER BY count DESC")
-    List<Object[]> findBusiestHoursByHall(
+    List<Object[]> findBusiestHoursByHallAndPeriod(
             @Param("hallId") Long hallId,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate);
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
 
     /**
-     * Find all confirmed bookings for a hall within a date range.
+     * Find busiest hours by booking count for a hall within a date range.
      *
      * @param hallId the ID of the study hall
      * @param startDate the start date (inclusive)
      * @param endDate the end date (inclusive)
+     * @return list of objects containing hour and count
+     */
+    default List<Object[]> findBusiestHoursByHall(Long hallId, LocalDate startDate, LocalDate endDate) {
+        return findBusiestHoursByHallAndPeriod(hallId, startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Aggregate the billable bookings of a hall for a report, without loading
+     * any entity. Returns one row per hour of the day with the count and
+     * revenue of the bookings starting within [from, to), read over the
+     * (hall_id, status, start_time) index, and one row per run of each seat's
+     * booked periods overlapping [from, runsTo), read over the (hall_id, period)
+     * index. {@code runsTo} reaches past {@code to} when the last day's opening
+     * hours cross midnight. Runs are merged with {@code range_agg}, so back-to-back and
+     * overlapping bookings of a seat come back as one run; a run can reach
+     * outside the period and is clipped by the caller.
+     *
+     * @param hallId the ID of the study hall
+     * @param from start of the period (inclusive)
+     * @param to end of the period (exclusive)
+     * @param runsTo end of the period for seat runs (exclusive)
+     * @return hour rows and seat run rows
+     */
+    @Query(value = "SELECT CAST(NULL AS BIGINT) AS \"seatId\", h.hour AS \"hour\", h.bookings AS \"bookings\", " +
+                   "h.revenue AS \"revenue\", CAST(NULL AS TIMESTAMP) AS \"runStart\", " +
+                   "CAST(NULL AS TIMESTAMP) AS \"runEnd\" " +
+                   "FROM (SELECT CAST(EXTRACT(HOUR FROM b.start_time) AS INTEGER) AS hour, " +
+                   "             COUNT(*) AS bookings, COALESCE(SUM(b.amount), 0) AS revenue " +
+                   "      FROM bookings b " +
+                   "      WHERE b.hall_id = :hallId " +
+                   "      AND b.status IN ('CONFIRMED', 'COMPLETED', 'NO_SHOW') " +
+                   "      AND b.start_time >= :from " +
+                   "      AND b.start_time < :to " +
+                   "      GROUP BY CAST(EXTRACT(HOUR FROM b.start_time) AS INTEGER)) h " +
+                   "UNION ALL " +
+                   "SELECT s.seat_id, NULL, NULL, NULL, lower(r.run), upper(r.run) " +
+                   "FROM (SELECT b.seat_id, range_agg(b.period) AS runs " +
+                   "      FROM bookings b " +
+                   "      WHERE b.hall_id = :hallId " +
+                   "      AND b.status IN ('CONFIRMED', 'COMPLETED', 'NO_SHOW') " +
+                   "      AND b.period && tsrange(:from, :runsTo, '[)') " +
+                   "      AND b.start_time < :runsTo " +
+                   "      GROUP BY b.seat_id) s " +
+                   "CROSS JOIN LATERAL unnest(s.runs) AS r(run)",
+           nativeQuery = true)
+    List<ReportAggregateRow> findReportAggregateRows(
+            @Param("hallId") Long hallId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("runsTo") LocalDateTime runsTo);
+
+    /**
+     * Find all billable bookings of a hall that start within [from, to),
+     * ordered by start time. Served by the (hall_id, status, start_time) index.
+     *
+     * @param hallId the ID of the study hall
+     * @param from start of the period (inclusive)
+     * @param to end of the period (exclusive)
      * @return list of bookings
      */
     @Query("SELECT b FROM Booking b " +
-           "WHERE b.seat.hall.id = :hallId " +
-           "AND b.status = 'CONFIRMED' " +
-           "AND CAST(b.startTime AS LocalDate) >= :startDate " +
-           "AND CAST(b.startTime AS LocalDate) <= :endDate " +
+           "WHERE b.hall.id = :hallId " +
+           "AND b.status IN ('CONFIRMED', 'COMPLETED', 'NO_SHOW') " +
+           "AND b.startTime >= :from " +
+           "AND b.startTime < :to " +
            "ORDER BY b.startTime")
-    List<Booking> findByHallAndDateRange(
+    List<Booking> findByHallAndPeriod(
             @Param("hallId") Long hallId,
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate);
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    /**
+     * Find all billable bookings for a hall within a date range.
+     *
+     * @param hallId the ID of the study hall
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @return list of bookings
+     */
+    default List<Booking> findByHallAndDateRange(Long hallId, LocalDate startDate, LocalDate endDate) {
+        return findByHallAndPeriod(hallId, startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Stream the billable bookings of a hall that start within [from, to) as
+     * report rows with seat number and student email, ordered by start time
+     * and ID. Rows are fetched from a server-side cursor in batches of 1000,
+     * so the stream must be consumed and closed inside a transaction.
+     *
+     * @param hallId the ID of the study hall
+     * @param from start of the period (inclusive)
+     * @param to end of the period (exclusive)
+     * @return stream of report rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "SELECT b.id AS \"bookingId\", s.seat_number AS \"seatNumber\", u.email AS \"userEmail\", " +
+                   "b.start_time AS \"startTime\", b.end_time AS \"endTime\", b.status AS \"status\", " +
+                   "b.amount AS \"amount\", b.check_in_time AS \"checkInTime\", " +
+                   "b.check_out_time AS \"checkOutTime\" " +
+                   "FROM bookings b " +
+                   "JOIN seats s ON s.id = b.seat_id " +
+                   "JOIN users u ON u.id = b.user_id " +
+                   "WHERE b.hall_id = :hallId " +
+                   "AND b.status IN ('CONFIRMED', 'COMPLETED', 'NO_SHOW') " +
+                   "AND b.start_time >= :from " +
+                   "AND b.start_time < :to " +
+                   "ORDER BY b.start_time, b.id",
+           nativeQuery = true)
+    Stream<BookingReportRow> streamReportRowsByHallAndPeriod(
+            @Param("hallId") Long hallId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
 
     /**
      * Find recent bookings for a user, ordered by start time descending.
@@ -110,4 +246,288 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
            "ORDER BY b.startTime DESC " +
            "LIMIT 10")
     List<Booking> findRecentBookingsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Find every confirmed booking that has not yet ended, across all halls.
+     * Used to seed and reconcile the in-memory occupancy counters.
+     *
+     * @return hall ID, booking ID and end time of each active booking
+     */
+    @Query("SELECT b.hall.id AS hallId, b.id AS bookingId, b.endTime AS endTime " +
+           "FROM Booking b " +
+           "WHERE b.status = 'CONFIRMED' " +
+           "AND b.endTime > CURRENT_TIMESTAMP")
+    List<ActiveBookingRow> findAllActiveBookings();
+
+    /**
+     * Calculate billable revenue, including archived months, for every hall
+     * that has billable or archived bookings.
+     *
+     * @return hall ID and total billable revenue per hall
+     */
+    @Query(value = "SELECT r.hall_id AS \"hallId\", COALESCE(SUM(r.revenue), 0) AS \"revenue\" " +
+                   "FROM (SELECT b.hall_id, b.amount AS revenue FROM bookings b " +
+                   "      WHERE b.status IN ('CONFIRMED', 'COMPLETED', 'NO_SHOW') " +
+                   "      UNION ALL " +
+                   "      SELECT a.hall_id, a.revenue FROM booking_archives a) r " +
+                   "GROUP BY r.hall_id",
+           nativeQuery = true)
+    List<HallRevenueRow> sumRevenueGroupByHall();
+
+    /**
+     * Count active bookings and sum billable revenue, including archived
+     * months, for every hall of an owner in one grouped query. Halls without
+     * billable or archived bookings are absent.
+     *
+     * @param ownerId the owner's user ID
+     * @return hall ID, active bookings and billable revenue per hall
+     */
+    @Query(value = "SELECT r.hall_id AS \"hallId\", " +
+                   "CAST(SUM(r.active) AS bigint) AS \"activeBookings\", " +
+                   "COALESCE(SUM(r.revenue), 0) AS \"revenue\" " +
+                   "FROM (SELECT b.hall_id, " +
+                   "             CASE WHEN b.status = 'CONFIRMED' AND b.end_time > CURRENT_TIMESTAMP THEN 1 ELSE 0 END AS active, " +
+                   "             b.amount AS revenue " +
+                   "      FROM bookings b JOIN study_halls h ON h.id = b.hall_id " +
+                   "      WHERE b.status IN ('CONFIRMED', 'COMPLETED', 'NO_SHOW') " +
+                   "      AND h.owner_id = :ownerId " +
+                   "      UNION ALL " +
+                   "      SELECT a.hall_id, 0, a.revenue " +
+                   "      FROM booking_archives a JOIN study_halls h ON h.id = a.hall_id " +
+                   "      WHERE h.owner_id = :ownerId) r " +
+                   "GROUP BY r.hall_id",
+           nativeQuery = true)
+    List<HallOccupancyRow> findOccupancyRowsByOwnerId(@Param("ownerId") Long ownerId);
+
+    /**
+     * Find confirmed bookings that have not ended and start before the given
+     * instant, i.e. every booking with a start or end transition still ahead
+     * inside the scheduling horizon.
+     *
+     * @param until end of the scheduling horizon
+     * @return booking, seat and hall IDs with the booking period
+     */
+    @Query("SELECT b.id AS bookingId, b.seat.id AS seatId, b.hall.id AS hallId, " +
+           "b.startTime AS startTime, b.endTime AS endTime " +
+           "FROM Booking b " +
+           "WHERE b.status = 'CONFIRMED' " +
+           "AND b.endTime > CURRENT_TIMESTAMP " +
+           "AND b.startTime <= :until")
+    List<BookingTransitionRow> findUpcomingTransitions(@Param("until") LocalDateTime until);
+
+    /**
+     * Find the confirmed bookings of a seat that have not ended, ordered by start time.
+     * Served by the (seat_id, period) GiST index idx_bookings_seat_period.
+     *
+     * @param seatId the seat ID
+     * @return booking ID and period of each unfinished confirmed booking
+     */
+    @Query(value = "SELECT b.id AS \"bookingId\", b.start_time AS \"startTime\", b.end_time AS \"endTime\" " +
+                   "FROM bookings b " +
+                   "WHERE b.seat_id = :seatId " +
+                   "AND b.status = 'CONFIRMED' " +
+                   "AND b.period && tsrange(LOCALTIMESTAMP, NULL) " +
+                   "ORDER BY b.start_time",
+           nativeQuery = true)
+    List<BookingIntervalRow> findUnfinishedIntervalsBySeatId(@Param("seatId") Long seatId);
+
+    /**
+     * Find the confirmed bookings of a seat whose period overlaps [from, to),
+     * ordered by start time. Served by the (seat_id, period) GiST index
+     * idx_bookings_seat_period.
+     *
+     * @param seatId the seat ID
+     * @param from start of the window
+     * @param to end of the window (exclusive)
+     * @return booking ID and period of each overlapping confirmed booking
+     */
+    @Query(value = "SELECT b.id AS \"bookingId\", b.start_time AS \"startTime\", b.end_time AS \"endTime\" " +
+                   "FROM bookings b " +
+                   "WHERE b.seat_id = :seatId " +
+                   "AND b.status = 'CONFIRMED' " +
+                   "AND b.period && tsrange(:from, :to, '[)') " +
+                   "ORDER BY b.start_time",
+           nativeQuery = true)
+    List<BookingIntervalRow> findOverlappingIntervalsBySeatId(@Param("seatId") Long seatId,
+                                                             @Param("from") LocalDateTime from,
+                                                             @Param("to") LocalDateTime to);
+
+    /**
+     * Find the confirmed bookings of every seat of a hall whose period overlaps
+     * [from, to). Served by the (seat_id, period) GiST index
+     * idx_bookings_seat_period, one probe per seat.
+     *
+     * @param hallId the hall ID
+     * @param from start of the window
+     * @param to end of the window (exclusive)
+     * @return seat ID and period of each overlapping confirmed booking
+     */
+    @Query(value = "SELECT b.seat_id AS \"seatId\", b.start_time AS \"startTime\", b.end_time AS \"endTime\" " +
+                   "FROM seats s " +
+                   "JOIN bookings b ON b.seat_id = s.id " +
+                   "WHERE s.hall_id = :hallId " +
+                   "AND b.status = 'CONFIRMED' " +
+                   "AND b.period && tsrange(:from, :to, '[)')",
+           nativeQuery = true)
+    List<SeatBookingIntervalRow> findOverlappingIntervalsByHallId(@Param("hallId") Long hallId,
+                                                                  @Param("from") LocalDateTime from,
+                                                                  @Param("to") LocalDateTime to);
+
+    /**
+     * Find the bookings with an issued check-in pass that end after the given
+     * time, so passes of bookings cancelled or moved before a restart can be
+     * rejected again.
+     *
+     * @param since bookings ending at or before this time are skipped
+     * @return bookings with their current period, status and pass fingerprint
+     */
+    @Query(value = "SELECT b.id AS \"bookingId\", b.seat_id AS \"seatId\", b.hall_id AS \"hallId\", " +
+                   "b.start_time AS \"startTime\", b.end_time AS \"endTime\", b.status AS \"status\", " +
+                   "b.qr_code_hash AS \"qrCodeHash\" " +
+                   "FROM bookings b " +
+                   "WHERE b.qr_code_hash IS NOT NULL " +
+                   "AND b.end_time > :since",
+           nativeQuery = true)
+    List<IssuedPassRow> findIssuedPassesEndingAfter(@Param("since") LocalDateTime since);
+
+    /**
+     * Record gate check-ins in one statement. A booking keeps its first
+     * check-in time, so replayed or repeated scans are harmless. Bookings that
+     * were cancelled or marked as no-shows in the meantime are left alone;
+     * completed ones still take a check-in that was buffered before they ended.
+     *
+     * @param bookingIds booking IDs, each at most once
+     * @param checkInTimes check-in time of each booking, in the same order
+     * @return number of bookings updated
+     */
+    @Modifying
+    @Query(value = "UPDATE bookings b " +
+                   "SET check_in_time = COALESCE(b.check_in_time, v.check_in_time) " +
+                   "FROM unnest(CAST(:bookingIds AS bigint[]), CAST(:checkInTimes AS timestamp[])) " +
+                   "AS v(booking_id, check_in_time) " +
+                   "WHERE b.id = v.booking_id " +
+                   "AND b.status IN ('CONFIRMED', 'COMPLETED')",
+           nativeQuery = true)
+    int recordCheckIns(@Param("bookingIds") Long[] bookingIds,
+                       @Param("checkInTimes") LocalDateTime[] checkInTimes);
+
+    /**
+     * Record gate check-outs in one statement. A booking keeps its latest
+     * check-out time. Check-outs land on confirmed bookings and on those
+     * completed at their end time, never on cancelled ones.
+     *
+     * @param bookingIds booking IDs, each at most once
+     * @param checkOutTimes check-out time of each booking, in the same order
+     * @return number of bookings updated
+     */
+    @Modifying
+    @Query(value = "UPDATE bookings b " +
+                   "SET check_out_time = GREATEST(b.check_out_time, v.check_out_time) " +
+                   "FROM unnest(CAST(:bookingIds AS bigint[]), CAST(:checkOutTimes AS timestamp[])) " +
+                   "AS v(booking_id, check_out_time) " +
+                   "WHERE b.id = v.booking_id " +
+                   "AND b.status IN ('CONFIRMED', 'COMPLETED')",
+           nativeQuery = true)
+    int recordCheckOuts(@Param("bookingIds") Long[] bookingIds,
+                        @Param("checkOutTimes") LocalDateTime[] checkOutTimes);
+
+    /**
+     * Cancel up to {@code limit} PENDING bookings created at or before
+     * {@code createdBefore}, scanning (created_at, id) after the given keyset
+     * cursor. Rows locked by another writer are skipped until the next run.
+     *
+     * @param createdBefore latest creation time to expire
+     * @param now time written to updated_at
+     * @param afterTime created_at of the cursor
+     * @param afterId booking ID of the cursor
+     * @param limit maximum bookings to update
+     * @return the cancelled bookings, with created_at as cursor time
+     */
+    @Query(value = "WITH due AS (" +
+                   "SELECT b.id FROM bookings b " +
+                   "WHERE b.status = 'PENDING' " +
+                   "AND b.created_at <= :createdBefore " +
+                   "AND (b.created_at, b.id) > (:afterTime, :afterId) " +
+                   "ORDER BY b.created_at, b.id " +
+                   "LIMIT :limit " +
+                   "FOR UPDATE SKIP LOCKED) " +
+                   "UPDATE bookings b SET status = 'CANCELLED', updated_at = :now " +
+                   "FROM due " +
+                   "WHERE b.id = due.id " +
+                   "RETURNING b.id AS \"bookingId\", b.seat_id AS \"seatId\", b.hall_id AS \"hallId\", " +
+                   "b.start_time AS \"startTime\", b.end_time AS \"endTime\", b.amount AS \"amount\", " +
+                   "b.created_at AS \"cursorTime\"",
+           nativeQuery = true)
+    List<BookingLifecycleRow> expirePendingBookings(@Param("createdBefore") LocalDateTime createdBefore,
+                                                    @Param("now") LocalDateTime now,
+                                                    @Param("afterTime") LocalDateTime afterTime,
+                                                    @Param("afterId") long afterId,
+                                                    @Param("limit") int limit);
+
+    /**
+     * Release up to {@code limit} confirmed bookings that started at or before
+     * {@code startedBefore} without a check-in, as NO_SHOW. Only bookings that
+     * were issued a check-in pass are considered. Scans (start_time, id) after
+     * the given keyset cursor, skipping rows locked by another writer.
+     *
+     * @param startedBefore latest start time to release
+     * @param now time written to updated_at
+     * @param afterTime start_time of the cursor
+     * @param afterId booking ID of the cursor
+     * @param limit maximum bookings to update
+     * @return the released bookings, with start_time as cursor time
+     */
+    @Query(value = "WITH due AS (" +
+                   "SELECT b.id FROM bookings b " +
+                   "WHERE b.status = 'CONFIRMED' " +
+                   "AND b.check_in_time IS NULL " +
+                   "AND b.qr_code_hash IS NOT NULL " +
+                   "AND b.start_time <= :startedBefore " +
+                   "AND (b.start_time, b.id) > (:afterTime, :afterId) " +
+                   "ORDER BY b.start_time, b.id " +
+                   "LIMIT :limit " +
+                   "FOR UPDATE SKIP LOCKED) " +
+                   "UPDATE bookings b SET status = 'NO_SHOW', updated_at = :now " +
+                   "FROM due " +
+                   "WHERE b.id = due.id " +
+                   "RETURNING b.id AS \"bookingId\", b.seat_id AS \"seatId\", b.hall_id AS \"hallId\", " +
+                   "b.start_time AS \"startTime\", b.end_time AS \"endTime\", b.amount AS \"amount\", " +
+                   "b.start_time AS \"cursorTime\"",
+           nativeQuery = true)
+    List<BookingLifecycleRow> releaseNoShows(@Param("startedBefore") LocalDateTime startedBefore,
+                                             @Param("now") LocalDateTime now,
+                                             @Param("afterTime") LocalDateTime afterTime,
+                                             @Param("afterId") long afterId,
+                                             @Param("limit") int limit);
+
+    /**
+     * Complete up to {@code limit} confirmed bookings that ended at or before
+     * {@code now}, scanning (end_time, id) after the given keyset cursor and
+     * skipping rows locked by another writer.
+     *
+     * @param now latest end time to complete, also written to updated_at
+     * @param afterTime end_time of the cursor
+     * @param afterId booking ID of the cursor
+     * @param limit maximum bookings to update
+     * @return the completed bookings, with end_time as cursor time
+     */
+    @Query(value = "WITH due AS (" +
+                   "SELECT b.id FROM bookings b " +
+                   "WHERE b.status = 'CONFIRMED' " +
+                   "AND b.end_time <= :now " +
+                   "AND (b.end_time, b.id) > (:afterTime, :afterId) " +
+                   "ORDER BY b.end_time, b.id " +
+                   "LIMIT :limit " +
+                   "FOR UPDATE SKIP LOCKED) " +
+                   "UPDATE bookings b SET status = 'COMPLETED', updated_at = :now " +
+                   "FROM due " +
+                   "WHERE b.id = due.id " +
+                   "RETURNING b.id AS \"bookingId\", b.seat_id AS \"seatId\", b.hall_id AS \"hallId\", " +
+                   "b.start_time AS \"startTime\", b.end_time AS \"endTime\", b.amount AS \"amount\", " +
+                   "b.end_time AS \"cursorTime\"",
+           nativeQuery = true)
+    List<BookingLifecycleRow> completeEndedBookings(@Param("now") LocalDateTime now,
+                                                    @Param("afterTime") LocalDateTime afterTime,
+                                                    @Param("afterId") long afterId,
+                                                    @Param("limit") int limit);
 }
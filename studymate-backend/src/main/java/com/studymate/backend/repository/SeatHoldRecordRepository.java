@@ -0,0 +1,44 @@
+package com.studymate.backend.repository;
+
+import com.studymate.backend.model.SeatHoldRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for persisted seat holds.
+ */
+@Repository
+public interface SeatHoldRecordRepository extends JpaRepository<SeatHoldRecord, Long> {
+
+    /**
+     * Find the holds that have not expired yet.
+     *
+     * @param now the current time
+     * @return unexpired holds
+     */
+    List<SeatHoldRecord> findByExpiresAtAfter(LocalDateTime now);
+
+    /**
+     * Delete holds that expired while the application was not running.
+     *
+     * @param now the current time
+     * @return number of holds deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SeatHoldRecord h WHERE h.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    /**
+     * @return the highest hold ID ever persisted, or 0
+     */
+    @Query("SELECT COALESCE(MAX(h.id), 0) FROM SeatHoldRecord h")
+    long findMaxId();
+}
@@ -2,12 +2,16 @@ package com.studymate.backend.repository;
 
 import com.studymate.backend.dto.SeatStatusDTO;
 import com.studymate.backend.model.Seat;
+import com.studymate.backend.repository.projection.SeatAvailabilityRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for Seat entity.
@@ -27,20 +31,97 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
 
     /**
      * Fetch seat map with current status including occupancy from active bookings.
-     * A seat is marked as OCCUPIED if there's an active confirmed booking.
+     * A seat is marked as OCCUPIED while its materialized current booking has
+     * not ended, so this is a single scan of the hall's seats in
+     * (hall_id, seat_number) index order, one row per seat.
      *
      * @param hallId the ID of the study hall
      * @return list of seats with their current status
      */
     @Query("SELECT new com.studymate.backend.dto.SeatStatusDTO(" +
            "s.id, s.seatNumber, s.xCoord, s.yCoord, " +
-           "CASE WHEN b.id IS NOT NULL THEN 'OCCUPIED' ELSE s.status END) " +
-           "FROM Seat s LEFT JOIN Booking b ON s.id = b.seat.id " +
-           "AND b.status = 'CONFIRMED' AND b.endTime > CURRENT_TIMESTAMP " +
+           "CASE WHEN s.occupiedUntil > CURRENT_TIMESTAMP THEN 'OCCUPIED' ELSE s.status END) " +
+           "FROM Seat s " +
            "WHERE s.hall.id = :hallId " +
            "ORDER BY s.seatNumber")
     List<SeatStatusDTO> findSeatMapByHallId(@Param("hallId") Long hallId);
 
+    /**
+     * Fetch the current status of specific seats, using the same occupancy rule
+     * as {@link #findSeatMapByHallId(Long)}. Used to turn seat and booking
+     * changes into seat-map deltas without reloading the whole hall.
+     *
+     * @param seatIds the seat IDs
+     * @return status of each seat that still exists
+     */
+    @Query("SELECT new com.studymate.backend.dto.SeatStatusDTO(" +
+           "s.id, s.seatNumber, s.xCoord, s.yCoord, " +
+           "CASE WHEN s.occupiedUntil > CURRENT_TIMESTAMP THEN 'OCCUPIED' ELSE s.status END) " +
+           "FROM Seat s " +
+           "WHERE s.id IN :seatIds")
+    List<SeatStatusDTO> findSeatStatusesByIds(@Param("seatIds") Collection<Long> seatIds);
+
+    /**
+     * Recompute the materialized current occupancy of specific seats from the
+     * bookings table: the confirmed booking with the latest future end time,
+     * or nothing when the seat has no such booking.
+     *
+     * @param seatIds the seat IDs
+     * @return number of seats updated
+     */
+    @Modifying
+    @Query(value = "UPDATE seats s " +
+                   "SET (current_booking_id, occupied_until) = (" +
+                   "    SELECT b.id, b.end_time FROM bookings b " +
+                   "    WHERE b.seat_id = s.id AND b.status = 'CONFIRMED' AND b.period && tsrange(LOCALTIMESTAMP, NULL) " +
+                   "    ORDER BY b.end_time DESC, b.id DESC LIMIT 1" +
+                   ") " +
+                   "WHERE s.id IN (:seatIds)",
+           nativeQuery = true)
+    int refreshCurrentOccupancy(@Param("seatIds") Collection<Long> seatIds);
+
+    /**
+     * Find seats whose materialized current occupancy disagrees with the
+     * bookings table. Seats whose booking has simply ended are consistent,
+     * since they are no longer shown as occupied either way.
+     *
+     * @param limit maximum number of seats to return
+     * @return IDs of inconsistent seats
+     */
+    @Query(value = "SELECT s.id FROM seats s " +
+                   "LEFT JOIN LATERAL (" +
+                   "    SELECT b.id, b.end_time FROM bookings b " +
+                   "    WHERE b.seat_id = s.id AND b.status = 'CONFIRMED' AND b.period && tsrange(LOCALTIMESTAMP, NULL) " +
+                   "    ORDER BY b.end_time DESC, b.id DESC LIMIT 1" +
+                   ") cur ON TRUE " +
+                   "WHERE cur.id IS DISTINCT FROM " +
+                   "      CASE WHEN s.occupied_until > CURRENT_TIMESTAMP THEN s.current_booking_id END " +
+                   "   OR (cur.id IS NOT NULL AND s.occupied_until IS DISTINCT FROM cur.end_time) " +
+                   "ORDER BY s.id " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findSeatIdsWithInconsistentOccupancy(@Param("limit") int limit);
+
+    /**
+     * Find the hall a seat belongs to without loading the seat entity.
+     *
+     * @param seatId the seat ID
+     * @return the hall ID, or empty if the seat does not exist
+     */
+    @Query("SELECT s.hall.id FROM Seat s WHERE s.id = :seatId")
+    Optional<Long> findHallIdById(@Param("seatId") Long seatId);
+
+    /**
+     * Find the bookability fields of every seat of a hall, ordered by seat number.
+     *
+     * @param hallId the ID of the study hall
+     * @return seat ID, number, status and maintenance window of each seat
+     */
+    @Query("SELECT s.id AS id, s.seatNumber AS seatNumber, s.status AS status, " +
+           "s.maintenanceStarted AS maintenanceStarted, s.maintenanceUntil AS maintenanceUntil " +
+           "FROM Seat s WHERE s.hall.id = :hallId ORDER BY s.seatNumber")
+    List<SeatAvailabilityRow> findAvailabilityRowsByHallId(@Param("hallId") Long hallId);
+
     /**
      * Find all seats for a specific hall.
      *
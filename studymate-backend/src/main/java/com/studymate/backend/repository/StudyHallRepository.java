@@ -1,6 +1,10 @@
 package com.studymate.backend.repository;
 
 import com.studymate.backend.model.StudyHall;
+import com.studymate.backend.repository.projection.DashboardRow;
+import com.studymate.backend.repository.projection.HallPortfolioRow;
+import com.studymate.backend.repository.projection.HallSeatCountRow;
+import com.studymate.backend.repository.projection.ReportHallRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -45,6 +49,51 @@ public interface StudyHallRepository extends JpaRepository<StudyHall, Long> {
     @Query("SELECT h FROM StudyHall h WHERE h.owner.id = :ownerId AND h.hallName = :hallName")
     Optional<StudyHall> findByOwnerIdAndHallName(@Param("ownerId") Long ownerId, @Param("hallName") String hallName);
 
+    /**
+     * Find the owner of a study hall without loading the hall entity.
+     *
+     * @param hallId the hall ID
+     * @return the owner's user ID, or empty if the hall does not exist
+     */
+    @Query("SELECT h.owner.id FROM StudyHall h WHERE h.id = :hallId")
+    Optional<Long> findOwnerIdById(@Param("hallId") Long hallId);
+
+    /**
+     * Find the owner and seat total of a study hall in one round trip.
+     *
+     * @param hallId the hall ID
+     * @return owner ID and seat total, or empty if the hall does not exist
+     */
+    @Query("SELECT h.owner.id AS ownerId, " +
+           "(SELECT COUNT(s) FROM Seat s WHERE s.hall.id = h.id) AS totalSeats " +
+           "FROM StudyHall h WHERE h.id = :hallId")
+    Optional<HallSeatCountRow> findSeatCountRowById(@Param("hallId") Long hallId);
+
+    /**
+     * Find the owner, name, opening hours and seat total of a study hall for a report.
+     *
+     * @param hallId the hall ID
+     * @return the hall's report details, or empty if the hall does not exist
+     */
+    @Query("SELECT h.owner.id AS ownerId, h.hallName AS hallName, h.openingHours AS openingHours, " +
+           "(SELECT COUNT(s) FROM Seat s WHERE s.hall.id = h.id) AS totalSeats " +
+           "FROM StudyHall h WHERE h.id = :hallId")
+    Optional<ReportHallRow> findReportRowById(@Param("hallId") Long hallId);
+
+    /**
+     * Find every hall of an owner with its seat total in one grouped query,
+     * newest hall first.
+     *
+     * @param ownerId the owner's user ID
+     * @return hall ID, name, status and seat total per hall
+     */
+    @Query("SELECT h.id AS hallId, h.hallName AS hallName, h.status AS status, COUNT(s) AS totalSeats " +
+           "FROM StudyHall h LEFT JOIN Seat s ON s.hall = h " +
+           "WHERE h.owner.id = :ownerId " +
+           "GROUP BY h.id, h.hallName, h.status, h.createdAt " +
+           "ORDER BY h.createdAt DESC")
+    List<HallPortfolioRow> findPortfolioRowsByOwnerId(@Param("ownerId") Long ownerId);
+
     /**
      * Check if a study hall with the given owner ID and hall name exists.
      *
@@ -64,4 +113,34 @@ public interface StudyHallRepository extends JpaRepository<StudyHall, Long> {
     @Modifying
     @Query("UPDATE StudyHall h SET h.seatCount = :seatCount, h.updatedAt = CURRENT_TIMESTAMP WHERE h.id = :hallId")
     void updateSeatCount(@Param("hallId") Long hallId, @Param("seatCount") Integer seatCount);
+
+    /**
+     * Load the hall-side data the owner dashboard needs in a single round trip:
+     * hall ownership, seat total and the seat map with occupancy. Occupancy is
+     * read from the seats' materialized current booking, so bookings are not
+     * touched. Hall-level values are repeated on every seat row. Active booking and revenue totals
+     * come from the in-memory occupancy counters instead.
+     * Returns no rows when the hall does not exist, and a single row with null
+     * seat columns when the hall has no seats.
+     *
+     * @param hallId the hall ID
+     * @return dashboard rows ordered by seat number
+     */
+    @Query(value = "WITH hall AS (" +
+                   "    SELECT h.id, h.owner_id FROM study_halls h WHERE h.id = :hallId" +
+                   "), hall_seats AS (" +
+                   "    SELECT s.id, s.seat_number, s.x_coord, s.y_coord, " +
+                   "           CASE WHEN s.occupied_until > CURRENT_TIMESTAMP THEN 'OCCUPIED' ELSE s.status END AS status " +
+                   "    FROM seats s WHERE s.hall_id = :hallId" +
+                   ") " +
+                   "SELECT h.owner_id AS \"ownerId\", " +
+                   "       (SELECT COUNT(*) FROM hall_seats) AS \"totalSeats\", " +
+                   "       hs.id AS \"seatId\", hs.seat_number AS \"seatNumber\", " +
+                   "       hs.x_coord AS \"seatX\", hs.y_coord AS \"seatY\", " +
+                   "       hs.status AS \"seatStatus\" " +
+                   "FROM hall h " +
+                   "LEFT JOIN hall_seats hs ON TRUE " +
+                   "ORDER BY hs.seat_number",
+           nativeQuery = true)
+    List<DashboardRow> findDashboardRowsByHallId(@Param("hallId") Long hallId);
 }
@@ -3,6 +3,7 @@ package com.studymate.backend.repository;
 import com.studymate.backend.model.Gender;
 import com.studymate.backend.model.User;
 import com.studymate.backend.model.UserRole;
+import com.studymate.backend.repository.projection.UserEmailRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,6 +37,34 @@ public interface UserRepository extends JpaRepository<User, Long> {
             @Param("search") String search,
             Pageable pageable);
 
+    /**
+     * Find the ID of a user by email without loading the user.
+     *
+     * @param email the email
+     * @return the user's ID, or empty if no user has the email
+     */
+    @Query("SELECT u.id FROM User u WHERE u.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
+    /**
+     * Find the IDs of non-deleted users by email, in one query.
+     *
+     * @param emails emails to look up
+     * @return ID and email of each user found
+     */
+    @Query("SELECT u.id AS id, u.email AS email FROM User u " +
+           "WHERE u.email IN :emails AND u.deletedAt IS NULL")
+    List<UserEmailRow> findIdsByEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Find the emails of users by ID, including deleted users, in one query.
+     *
+     * @param ids user IDs to look up
+     * @return ID and email of each user found
+     */
+    @Query("SELECT u.id AS id, u.email AS email FROM User u WHERE u.id IN :ids")
+    List<UserEmailRow> findEmailsByIds(@Param("ids") Collection<Long> ids);
+
     /**
      * Find a non-deleted user by ID.
      */
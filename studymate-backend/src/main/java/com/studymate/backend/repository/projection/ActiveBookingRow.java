@@ -0,0 +1,16 @@
+package com.studymate.backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a confirmed booking that has not yet ended, used to seed
+ * in-memory occupancy state without loading Booking entities.
+ */
+public interface ActiveBookingRow {
+
+    Long getHallId();
+
+    Long getBookingId();
+
+    LocalDateTime getEndTime();
+}
@@ -0,0 +1,33 @@
+package com.studymate.backend.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a finished booking read by the archiver, with every column
+ * kept in the archive files.
+ */
+public interface BookingArchiveRow {
+
+    Long getBookingId();
+
+    Long getUserId();
+
+    Long getSeatId();
+
+    Long getPaymentId();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+
+    LocalDateTime getCheckInTime();
+
+    LocalDateTime getCheckOutTime();
+
+    String getStatus();
+
+    BigDecimal getAmount();
+
+    LocalDateTime getCreatedAt();
+}
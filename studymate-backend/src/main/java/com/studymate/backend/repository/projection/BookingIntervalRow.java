@@ -0,0 +1,16 @@
+package com.studymate.backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a confirmed booking's period, used to build the in-memory
+ * per-seat booking index.
+ */
+public interface BookingIntervalRow {
+
+    Long getBookingId();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+}
@@ -0,0 +1,26 @@
+package com.studymate.backend.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a booking moved by the lifecycle job, returned by its bulk
+ * UPDATE so the change can be published without loading Booking entities.
+ * {@code cursorTime} is the timestamp the transition scans in keyset order.
+ */
+public interface BookingLifecycleRow {
+
+    Long getBookingId();
+
+    Long getSeatId();
+
+    Long getHallId();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+
+    BigDecimal getAmount();
+
+    LocalDateTime getCursorTime();
+}
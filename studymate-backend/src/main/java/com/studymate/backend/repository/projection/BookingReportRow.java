@@ -0,0 +1,29 @@
+package com.studymate.backend.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a booking as listed in the detail sheet of a report, with
+ * its seat number and student email joined in.
+ */
+public interface BookingReportRow {
+
+    Long getBookingId();
+
+    String getSeatNumber();
+
+    String getUserEmail();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+
+    String getStatus();
+
+    BigDecimal getAmount();
+
+    LocalDateTime getCheckInTime();
+
+    LocalDateTime getCheckOutTime();
+}
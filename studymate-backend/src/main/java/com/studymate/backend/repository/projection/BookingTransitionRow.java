@@ -0,0 +1,20 @@
+package com.studymate.backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a confirmed booking whose start or end lies ahead, used to
+ * schedule seat transitions without loading Booking entities.
+ */
+public interface BookingTransitionRow {
+
+    Long getBookingId();
+
+    Long getSeatId();
+
+    Long getHallId();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+}
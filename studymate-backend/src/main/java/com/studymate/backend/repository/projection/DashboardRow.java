@@ -0,0 +1,24 @@
+package com.studymate.backend.repository.projection;
+
+/**
+ * Projection for the single-query owner dashboard read.
+ * Each row carries the hall-level values (owner, seat total) repeated alongside
+ * one seat of the seat map. A hall without seats yields exactly one row whose
+ * seat columns are null.
+ */
+public interface DashboardRow {
+
+    Long getOwnerId();
+
+    Long getTotalSeats();
+
+    Long getSeatId();
+
+    String getSeatNumber();
+
+    Integer getSeatX();
+
+    Integer getSeatY();
+
+    String getSeatStatus();
+}
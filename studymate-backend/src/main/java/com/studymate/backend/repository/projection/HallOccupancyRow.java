@@ -0,0 +1,15 @@
+package com.studymate.backend.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of active bookings and confirmed revenue aggregated per hall.
+ */
+public interface HallOccupancyRow {
+
+    Long getHallId();
+
+    Long getActiveBookings();
+
+    BigDecimal getRevenue();
+}
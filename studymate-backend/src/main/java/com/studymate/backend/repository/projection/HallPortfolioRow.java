@@ -0,0 +1,18 @@
+package com.studymate.backend.repository.projection;
+
+import com.studymate.backend.model.HallStatus;
+
+/**
+ * Projection of one of an owner's halls with its seat total, used to build
+ * the portfolio dashboard from a single grouped query.
+ */
+public interface HallPortfolioRow {
+
+    Long getHallId();
+
+    String getHallName();
+
+    HallStatus getStatus();
+
+    Long getTotalSeats();
+}
@@ -0,0 +1,13 @@
+package com.studymate.backend.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of confirmed revenue aggregated per hall.
+ */
+public interface HallRevenueRow {
+
+    Long getHallId();
+
+    BigDecimal getRevenue();
+}
@@ -0,0 +1,12 @@
+package com.studymate.backend.repository.projection;
+
+/**
+ * Projection of a hall's owner and seat total, used to authorize and size
+ * dashboard responses without loading the hall or its seats.
+ */
+public interface HallSeatCountRow {
+
+    Long getOwnerId();
+
+    Long getTotalSeats();
+}
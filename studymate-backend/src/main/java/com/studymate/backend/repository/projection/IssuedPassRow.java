@@ -0,0 +1,25 @@
+package com.studymate.backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a booking that was issued a check-in pass, with the
+ * fingerprint of that pass, used to find passes that no longer match
+ * their booking.
+ */
+public interface IssuedPassRow {
+
+    Long getBookingId();
+
+    Long getSeatId();
+
+    Long getHallId();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+
+    String getStatus();
+
+    String getQrCodeHash();
+}
@@ -0,0 +1,26 @@
+package com.studymate.backend.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projection of one row of a report's grouped booking aggregation. An hour
+ * row carries the count and revenue of the bookings starting in that hour of
+ * the day, with a null seat; a seat row carries one run of the seat's merged
+ * booked periods overlapping the report period, with a null hour, count and
+ * revenue.
+ */
+public interface ReportAggregateRow {
+
+    Long getSeatId();
+
+    Integer getHour();
+
+    Long getBookings();
+
+    BigDecimal getRevenue();
+
+    LocalDateTime getRunStart();
+
+    LocalDateTime getRunEnd();
+}
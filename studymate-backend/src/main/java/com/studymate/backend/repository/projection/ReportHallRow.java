@@ -0,0 +1,20 @@
+package com.studymate.backend.repository.projection;
+
+import com.studymate.backend.dto.DayHoursDTO;
+
+import java.util.Map;
+
+/**
+ * Projection of what a report needs of its hall: owner, name, opening hours
+ * and seat total, read without loading the hall or its seats.
+ */
+public interface ReportHallRow {
+
+    Long getOwnerId();
+
+    String getHallName();
+
+    Map<String, DayHoursDTO> getOpeningHours();
+
+    Long getTotalSeats();
+}
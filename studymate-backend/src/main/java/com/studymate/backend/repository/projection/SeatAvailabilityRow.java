@@ -0,0 +1,20 @@
+package com.studymate.backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the seat fields that decide whether a seat can be booked,
+ * used to build the per-day availability bitsets of a hall.
+ */
+public interface SeatAvailabilityRow {
+
+    Long getId();
+
+    String getSeatNumber();
+
+    String getStatus();
+
+    LocalDateTime getMaintenanceStarted();
+
+    LocalDateTime getMaintenanceUntil();
+}
@@ -0,0 +1,16 @@
+package com.studymate.backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a confirmed booking's seat and period, used to build the
+ * per-day availability bitsets of a hall.
+ */
+public interface SeatBookingIntervalRow {
+
+    Long getSeatId();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+}
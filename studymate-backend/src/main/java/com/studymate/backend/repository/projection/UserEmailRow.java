@@ -0,0 +1,11 @@
+package com.studymate.backend.repository.projection;
+
+/**
+ * Projection of a user's ID and email, used to resolve emails and IDs in bulk.
+ */
+public interface UserEmailRow {
+
+    Long getId();
+
+    String getEmail();
+}
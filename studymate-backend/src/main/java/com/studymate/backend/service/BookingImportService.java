@@ -0,0 +1,317 @@
+package com.studymate.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studymate.backend.dto.BookingImportResponse;
+import com.studymate.backend.event.BookingChangedEvent;
+import com.studymate.backend.exception.ForbiddenException;
+import com.studymate.backend.exception.InvalidRequestException;
+import com.studymate.backend.exception.ResourceNotFoundException;
+import com.studymate.backend.model.BookingSnapshot;
+import com.studymate.backend.model.User;
+import com.studymate.backend.repository.SeatRepository;
+import com.studymate.backend.repository.StudyHallRepository;
+import com.studymate.backend.repository.UserRepository;
+import com.studymate.backend.repository.projection.SeatAvailabilityRow;
+import com.studymate.backend.repository.projection.UserEmailRow;
+import com.studymate.backend.service.booking.BookingImportReader;
+import com.studymate.backend.service.booking.BookingImportReader.ImportedBooking;
+import com.studymate.backend.service.booking.BookingImportReader.Line;
+import com.studymate.backend.service.booking.BookingImportWriter;
+import com.studymate.backend.service.booking.BookingImportWriter.StagedRow;
+import com.studymate.backend.service.booking.BookingImportWriter.WrittenBooking;
+import com.studymate.backend.service.occupancy.OccupancyReconciler;
+import com.studymate.backend.service.report.ReportCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service for loading a hall's historical bookings in bulk, e.g. when a hall
+ * chain moves onto StudyMate.
+ *
+ * <p>The upload is parsed as it streams in (see {@link BookingImportReader})
+ * and handled in chunks of {@code app.import.chunk-size} rows: seat numbers
+ * resolve against the hall's seats, loaded once, and the chunk's new emails
+ * against users in one query; the resolved rows are then loaded with
+ * PostgreSQL COPY (see {@link BookingImportWriter}). Rows that fail parsing,
+ * resolution or the overlap check are skipped and reported with their line
+ * number; the rest are written in one transaction, so a failed import
+ * leaves nothing behind.</p>
+ *
+ * <p>Imported bookings bypass the entity. Confirmed bookings that have not
+ * ended are published as {@link BookingChangedEvent}s so seat indexes and
+ * seat maps pick them up; for past bookings the occupancy counters are
+ * rebuilt once after the import instead of per row, which the reconciler
+ * reports as revenue drift, and the hall's cached reports are retired.</p>
+ *
+ * <p>Metrics:
+ * <ul>
+ *   <li>{@code studymate.import.rows{result=imported|rejected}} - rows imported or rejected</li>
+ *   <li>{@code studymate.import.run} - time taken by each import</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class BookingImportService {
+
+    private final StudyHallRepository studyHallRepository;
+    private final SeatRepository seatRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OccupancyReconciler occupancyReconciler;
+    private final ReportCache reportCache;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxErrors;
+    private final Counter imported;
+    private final Counter rejected;
+    private final Timer runTimer;
+
+    public BookingImportService(StudyHallRepository studyHallRepository,
+                                SeatRepository seatRepository,
+                                UserRepository userRepository,
+                                EntityManager entityManager,
+                                ApplicationEventPublisher eventPublisher,
+                                OccupancyReconciler occupancyReconciler,
+                                ReportCache reportCache,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.import.chunk-size:10000}") int chunkSize,
+                                @Value("${app.import.max-errors:1000}") int maxErrors) {
+        this.studyHallRepository = studyHallRepository;
+        this.seatRepository = seatRepository;
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.occupancyReconciler = occupancyReconciler;
+        this.reportCache = reportCache;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.imported = Counter.builder("studymate.import.rows")
+            .tag("result", "imported")
+            .description("Booking import rows")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("studymate.import.rows")
+            .tag("result", "rejected")
+            .description("Booking import rows")
+            .register(meterRegistry);
+        this.runTimer = Timer.builder("studymate.import.run")
+            .description("Time taken by a booking import")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Import bookings into a hall.
+     *
+     * @param hallId the hall ID
+     * @param body the upload, read as it arrives
+     * @param contentType {@code text/csv} or {@code application/x-ndjson}
+     * @param currentUser the authenticated owner
+     * @return counts of imported and rejected rows, and the rejected rows
+     * @throws ResourceNotFoundException if the hall doesn't exist
+     * @throws ForbiddenException if the user doesn't own the hall
+     * @throws InvalidRequestException if the content type is unsupported, the CSV header is incomplete
+     *         or the upload can't be read
+     */
+    public BookingImportResponse importBookings(Long hallId, InputStream body, String contentType, User currentUser) {
+        BookingImportReader.Format format = BookingImportReader.Format.fromContentType(contentType);
+        verifyOwnership(hallId, currentUser);
+
+        Map<String, Long> seatIds = new HashMap<>();
+        for (SeatAvailabilityRow seat : seatRepository.findAvailabilityRowsByHallId(hallId)) {
+            seatIds.put(seat.getSeatNumber(), seat.getId());
+        }
+
+        long started = System.nanoTime();
+        ImportRun run = new ImportRun(seatIds, maxErrors);
+        try (BookingImportReader reader = new BookingImportReader(body, format, objectMapper)) {
+            transactionTemplate.executeWithoutResult(status ->
+                entityManager.unwrap(Session.class).doWork(connection -> load(connection, reader, run)));
+        } catch (IOException | UncheckedIOException e) {
+            throw new InvalidRequestException("Could not read the upload: " + e.getMessage());
+        }
+        long elapsed = System.nanoTime() - started;
+        runTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        imported.increment(run.importedCount);
+        rejected.increment(run.rejectedCount);
+
+        if (run.pastBillable) {
+            occupancyReconciler.reconcile();
+        }
+        if (run.importedCount > 0) {
+            reportCache.invalidateHall(hallId);
+        }
+
+        List<BookingImportResponse.RowError> errors = new ArrayList<>(run.errors);
+        errors.sort(Comparator.comparingLong(BookingImportResponse.RowError::getLine));
+        log.info("Imported {} of {} bookings into hall {} in {} ms", run.importedCount, run.rowsRead, hallId,
+            TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return BookingImportResponse.builder()
+            .rowsRead(run.rowsRead)
+            .importedCount(run.importedCount)
+            .rejectedCount(run.rejectedCount)
+            .durationMillis(TimeUnit.NANOSECONDS.toMillis(elapsed))
+            .errors(errors)
+            .errorsTruncated(run.rejectedCount > errors.size())
+            .build();
+    }
+
+    private void load(Connection connection, BookingImportReader reader, ImportRun run) throws SQLException {
+        BookingImportWriter writer = new BookingImportWriter(connection);
+        List<Line> chunk = new ArrayList<>(chunkSize);
+        Line line;
+        while ((line = nextLine(reader)) != null) {
+            run.rowsRead++;
+            if (line.error() != null) {
+                run.reject(line.number(), line.error());
+                continue;
+            }
+            chunk.add(line);
+            if (chunk.size() == chunkSize) {
+                loadChunk(writer, chunk, run);
+                chunk.clear();
+            }
+        }
+        loadChunk(writer, chunk, run);
+    }
+
+    private void loadChunk(BookingImportWriter writer, List<Line> chunk, ImportRun run) throws SQLException {
+        resolveUsers(chunk, run);
+
+        List<StagedRow> rows = new ArrayList<>(chunk.size());
+        for (Line line : chunk) {
+            ImportedBooking booking = line.booking();
+            Long seatId = run.seatIds.get(booking.seatNumber());
+            Long userId = run.userIds.get(booking.userEmail());
+            if (seatId == null) {
+                run.reject(line.number(), "Seat " + booking.seatNumber() + " not found in this hall");
+            } else if (userId == null) {
+                run.reject(line.number(), "User " + booking.userEmail() + " not found");
+            } else {
+                rows.add(new StagedRow(line.number(), userId, seatId, booking.startTime(), booking.endTime(),
+                    booking.status(), booking.amount(), booking.checkInTime(), booking.checkOutTime()));
+            }
+        }
+
+        List<Long> overlaps = new ArrayList<>();
+        List<WrittenBooking> written = writer.write(rows, overlaps);
+        overlaps.forEach(number -> run.reject(number, "Overlaps a confirmed booking of the seat"));
+        run.importedCount += written.size();
+
+        LocalDateTime now = LocalDateTime.now();
+        for (WrittenBooking booking : written) {
+            BookingSnapshot current = new BookingSnapshot(booking.status(), booking.startTime(), booking.endTime(),
+                booking.amount());
+            if (current.isConfirmed() && booking.endTime().isAfter(now)) {
+                eventPublisher.publishEvent(new BookingChangedEvent(booking.bookingId(), booking.seatId(),
+                    booking.hallId(), null, current));
+            } else if (current.isBillable()) {
+                run.pastBillable = true;
+            }
+        }
+    }
+
+    /**
+     * Look up the chunk's emails not seen in earlier chunks, in one query.
+     */
+    private void resolveUsers(List<Line> chunk, ImportRun run) {
+        Set<String> emails = new HashSet<>();
+        for (Line line : chunk) {
+            String email = line.booking().userEmail();
+            if (!run.userIds.containsKey(email) && !run.unknownEmails.contains(email)) {
+                emails.add(email);
+            }
+        }
+        if (emails.isEmpty()) {
+            return;
+        }
+        for (UserEmailRow user : userRepository.findIdsByEmails(emails)) {
+            run.userIds.put(user.getEmail(), user.getId());
+        }
+        for (String email : emails) {
+            if (!run.userIds.containsKey(email)) {
+                run.unknownEmails.add(email);
+            }
+        }
+    }
+
+    private static Line nextLine(BookingImportReader reader) {
+        try {
+            return reader.next();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void verifyOwnership(Long hallId, User currentUser) {
+        Long ownerId = studyHallRepository.findOwnerIdById(hallId)
+            .orElseThrow(() -> new ResourceNotFoundException("Hall not found"));
+        if (!ownerId.equals(currentUser.getId())) {
+            log.warn("User {} attempted to import bookings into hall {} owned by {}", currentUser.getId(), hallId, ownerId);
+            throw new ForbiddenException("You don't have access to this hall");
+        }
+    }
+
+    /**
+     * State of one import. Only the {@code maxErrors} lowest-numbered rejections are kept;
+     * the rest are counted. Rejections arrive slightly out of line order within a chunk,
+     * so the kept ones sit in a heap with the highest line on top.
+     */
+    private static final class ImportRun {
+
+        private final Map<String, Long> seatIds;
+        private final Map<String, Long> userIds = new HashMap<>();
+        private final Set<String> unknownEmails = new HashSet<>();
+        private final int maxErrors;
+        private final PriorityQueue<BookingImportResponse.RowError> errors = new PriorityQueue<>(
+            Comparator.comparingLong(BookingImportResponse.RowError::getLine).reversed());
+        private long rowsRead;
+        private long importedCount;
+        private long rejectedCount;
+        private boolean pastBillable;
+
+        private ImportRun(Map<String, Long> seatIds, int maxErrors) {
+            this.seatIds = seatIds;
+            this.maxErrors = maxErrors;
+        }
+
+        private void reject(long line, String message) {
+            rejectedCount++;
+            if (errors.size() < maxErrors) {
+                errors.add(new BookingImportResponse.RowError(line, message));
+            } else if (maxErrors > 0 && line < errors.peek().getLine()) {
+                errors.poll();
+                errors.add(new BookingImportResponse.RowError(line, message));
+            }
+        }
+    }
+}
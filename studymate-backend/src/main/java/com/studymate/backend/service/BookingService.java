@@ -0,0 +1,347 @@
+package com.studymate.backend.service;
+
+import com.studymate.backend.dto.BookingResponse;
+import com.studymate.backend.dto.CreateBookingRequest;
+import com.studymate.backend.dto.CreateSeatHoldRequest;
+import com.studymate.backend.dto.SeatHoldResponse;
+import com.studymate.backend.exception.BookingConflictException;
+import com.studymate.backend.exception.ForbiddenException;
+import com.studymate.backend.exception.InvalidRequestException;
+import com.studymate.backend.exception.ResourceNotFoundException;
+import com.studymate.backend.exception.SeatNotFoundException;
+import com.studymate.backend.model.Booking;
+import com.studymate.backend.model.HallStatus;
+import com.studymate.backend.model.Seat;
+import com.studymate.backend.model.StudyHall;
+import com.studymate.backend.model.User;
+import com.studymate.backend.repository.BookingRepository;
+import com.studymate.backend.repository.SeatRepository;
+import com.studymate.backend.service.booking.SeatHold;
+import com.studymate.backend.service.booking.SeatHoldRegistry;
+import com.studymate.backend.service.booking.SeatIntervalIndex;
+import com.studymate.backend.service.checkin.CheckInPass;
+import com.studymate.backend.service.checkin.CheckInPassCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Service for creating seat bookings and the seat holds that precede them
+ * during checkout.
+ *
+ * <p>Overlap checks run against {@link SeatIntervalIndex}, so on a busy
+ * release day most conflicting attempts are rejected without touching the
+ * database. An attempt that passes holds its period in the index while the
+ * booking is written, and the {@code bookings_no_overlap} trigger rejects
+ * anything the index could not see (e.g. bookings written by another
+ * instance).</p>
+ *
+ * <p>A hold locks a seat's period for one student while they pay, through the
+ * same index, so nobody else can book or hold it. Booking with the hold's ID
+ * turns the hold's reservation into the booking; an unused hold is released
+ * by {@link SeatHoldRegistry} when it expires.</p>
+ *
+ * <p>Every confirmed booking is issued a signed check-in pass (see
+ * {@link CheckInPassCodec}) for its QR code; the pass's fingerprint is kept in
+ * {@code qr_code_hash}.</p>
+ *
+ * <p>Metrics:
+ * <ul>
+ *   <li>{@code studymate.booking.created} - bookings written</li>
+ *   <li>{@code studymate.booking.conflicts{source=index}} - conflicts rejected in memory</li>
+ *   <li>{@code studymate.booking.conflicts{source=database}} - conflicts rejected by the database</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class BookingService {
+
+    /**
+     * Constraint name reported by the trigger that keeps confirmed bookings of a seat from overlapping.
+     */
+    static final String OVERLAP_CONSTRAINT = "bookings_no_overlap";
+
+    private static final String CONFLICT_MESSAGE = "Seat is already booked or held for an overlapping period";
+    private static final String HOLD_EXPIRED_MESSAGE = "Seat hold has expired";
+
+    private final BookingRepository bookingRepository;
+    private final SeatRepository seatRepository;
+    private final SeatIntervalIndex intervalIndex;
+    private final SeatHoldRegistry holdRegistry;
+    private final CheckInPassCodec passCodec;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxHoldsPerUser;
+    private final Counter created;
+    private final Counter indexConflicts;
+    private final Counter databaseConflicts;
+
+    public BookingService(BookingRepository bookingRepository,
+                          SeatRepository seatRepository,
+                          SeatIntervalIndex intervalIndex,
+                          SeatHoldRegistry holdRegistry,
+                          CheckInPassCodec passCodec,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.holds.max-per-user:2}") int maxHoldsPerUser) {
+        this.bookingRepository = bookingRepository;
+        this.seatRepository = seatRepository;
+        this.intervalIndex = intervalIndex;
+        this.holdRegistry = holdRegistry;
+        this.passCodec = passCodec;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxHoldsPerUser = maxHoldsPerUser;
+        this.created = Counter.builder("studymate.booking.created")
+            .description("Bookings written")
+            .register(meterRegistry);
+        this.indexConflicts = Counter.builder("studymate.booking.conflicts")
+            .tag("source", "index")
+            .description("Overlapping booking attempts rejected")
+            .register(meterRegistry);
+        this.databaseConflicts = Counter.builder("studymate.booking.conflicts")
+            .tag("source", "database")
+            .description("Overlapping booking attempts rejected")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Book a seat for a period of time.
+     * The booking is confirmed immediately and charged the seat's custom price,
+     * or the hall's base price when the seat has none. When the request names
+     * a hold, the hold is used up whether or not the booking succeeds.
+     *
+     * @param request seat and period to book, optionally with the student's hold on them
+     * @param currentUser the authenticated student
+     * @return the created booking
+     * @throws InvalidRequestException if the period is invalid, doesn't match the hold, or the seat cannot be booked
+     * @throws SeatNotFoundException if the seat doesn't exist
+     * @throws BookingConflictException if the seat is already booked or held for an overlapping period,
+     *         or the named hold has expired
+     */
+    public BookingResponse createBooking(CreateBookingRequest request, User currentUser) {
+        log.debug("Booking seat {} from {} to {} for user: {}",
+            request.getSeatId(), request.getStartTime(), request.getEndTime(), currentUser.getEmail());
+
+        validatePeriod(request.getStartTime(), request.getEndTime());
+
+        SeatIntervalIndex.Reservation reservation = request.getHoldId() != null
+            ? claimHold(request, currentUser)
+            : intervalIndex.reserve(request.getSeatId(), request.getStartTime(), request.getEndTime())
+                .orElseThrow(() -> {
+                    indexConflicts.increment();
+                    return new BookingConflictException(CONFLICT_MESSAGE);
+                });
+
+        boolean written = false;
+        try {
+            BookingResponse response = transactionTemplate.execute(status -> {
+                Booking booking = insertBooking(request, currentUser);
+                intervalIndex.confirm(reservation, booking.getId());
+                String pass = issuePass(booking);
+                booking.setQrCodeHash(passCodec.fingerprint(pass));
+                return toResponse(booking, pass);
+            });
+            written = true;
+            created.increment();
+            log.info("Booking {} created for seat {} by user {}", response.getId(), request.getSeatId(), currentUser.getId());
+            return response;
+        } catch (DataIntegrityViolationException e) {
+            if (!isOverlapViolation(e)) {
+                throw e;
+            }
+            // Another writer booked the seat without this instance's index seeing it
+            intervalIndex.invalidate(request.getSeatId());
+            databaseConflicts.increment();
+            throw new BookingConflictException(CONFLICT_MESSAGE, e);
+        } finally {
+            if (!written) {
+                intervalIndex.release(reservation);
+            }
+        }
+    }
+
+    /**
+     * Lock a seat's period for the authenticated student while they check out.
+     *
+     * @param request seat and period to hold
+     * @param currentUser the authenticated student
+     * @return the hold, with the time it expires
+     * @throws InvalidRequestException if the period is invalid, the seat cannot be booked,
+     *         or the student already has the maximum number of holds
+     * @throws SeatNotFoundException if the seat doesn't exist
+     * @throws BookingConflictException if the seat is already booked or held for an overlapping period
+     */
+    public SeatHoldResponse holdSeat(CreateSeatHoldRequest request, User currentUser) {
+        log.debug("Holding seat {} from {} to {} for user: {}",
+            request.getSeatId(), request.getStartTime(), request.getEndTime(), currentUser.getEmail());
+
+        validatePeriod(request.getStartTime(), request.getEndTime());
+        if (holdRegistry.countHoldsOfUser(currentUser.getId()) >= maxHoldsPerUser) {
+            throw new InvalidRequestException("You can hold at most " + maxHoldsPerUser + " seats at a time");
+        }
+
+        Seat seat = transactionTemplate.execute(status -> findBookableSeat(request.getSeatId()));
+
+        SeatHold hold = holdRegistry.hold(seat.getId(), seat.getHall().getId(), currentUser.getId(),
+                request.getStartTime(), request.getEndTime())
+            .orElseThrow(() -> {
+                indexConflicts.increment();
+                return new BookingConflictException(CONFLICT_MESSAGE);
+            });
+
+        log.info("Hold {} on seat {} taken by user {} until {}", hold.getId(), seat.getId(), currentUser.getId(),
+            hold.getExpiresAt());
+        return SeatHoldResponse.builder()
+            .holdId(hold.getId())
+            .seatId(seat.getId())
+            .seatNumber(seat.getSeatNumber())
+            .hallId(hold.getHallId())
+            .startTime(hold.getStartTime())
+            .endTime(hold.getEndTime())
+            .status(SeatHold.LOCKED)
+            .expiresAt(hold.getExpiresAt())
+            .build();
+    }
+
+    /**
+     * Release one of the authenticated student's holds before it expires.
+     *
+     * @param holdId the hold ID
+     * @param currentUser the authenticated student
+     * @throws ResourceNotFoundException if the hold doesn't exist or already ended
+     * @throws ForbiddenException if the hold belongs to another student
+     */
+    public void releaseHold(Long holdId, User currentUser) {
+        log.debug("Releasing hold {} for user: {}", holdId, currentUser.getEmail());
+
+        SeatHold hold = holdRegistry.find(holdId)
+            .orElseThrow(() -> new ResourceNotFoundException("Seat hold not found"));
+        if (hold.getUserId() != currentUser.getId()) {
+            throw new ForbiddenException("You don't have access to this seat hold");
+        }
+        if (!holdRegistry.release(hold)) {
+            throw new ResourceNotFoundException("Seat hold not found");
+        }
+    }
+
+    /**
+     * Get the check-in pass of one of the authenticated student's bookings,
+     * e.g. to show its QR code again.
+     *
+     * @param bookingId the booking ID
+     * @param currentUser the authenticated student
+     * @return the booking with its check-in pass
+     * @throws ResourceNotFoundException if the booking doesn't exist
+     * @throws ForbiddenException if the booking belongs to another student
+     * @throws InvalidRequestException if the booking is not confirmed
+     */
+    public BookingResponse getCheckInPass(Long bookingId, User currentUser) {
+        log.debug("Fetching check-in pass of booking {} for user: {}", bookingId, currentUser.getEmail());
+
+        return transactionTemplate.execute(status -> {
+            Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+            if (!booking.getUser().getId().equals(currentUser.getId())) {
+                throw new ForbiddenException("You don't have access to this booking");
+            }
+            if (!"CONFIRMED".equals(booking.getStatus())) {
+                throw new InvalidRequestException("Booking is not confirmed");
+            }
+            return toResponse(booking, issuePass(booking));
+        });
+    }
+
+    /**
+     * Take the student's hold on the requested seat and period out of the
+     * registry and return the reservation it kept.
+     */
+    private SeatIntervalIndex.Reservation claimHold(CreateBookingRequest request, User currentUser) {
+        SeatHold hold = holdRegistry.find(request.getHoldId())
+            .filter(held -> held.getUserId() == currentUser.getId())
+            .orElseThrow(() -> new BookingConflictException(HOLD_EXPIRED_MESSAGE));
+        if (!hold.covers(request.getSeatId(), request.getStartTime(), request.getEndTime())) {
+            throw new InvalidRequestException("Booking must match the seat and period of the hold");
+        }
+        if (!holdRegistry.claim(hold)) {
+            throw new BookingConflictException(HOLD_EXPIRED_MESSAGE);
+        }
+        return hold.getReservation();
+    }
+
+    private void validatePeriod(LocalDateTime startTime, LocalDateTime endTime) {
+        if (!endTime.isAfter(startTime)) {
+            throw new InvalidRequestException("End time must be after start time");
+        }
+        if (!endTime.isAfter(LocalDateTime.now())) {
+            throw new InvalidRequestException("Booking must end in the future");
+        }
+    }
+
+    /**
+     * Write the confirmed booking and flush it, so an exclusion violation
+     * surfaces here rather than at commit.
+     */
+    private Booking insertBooking(CreateBookingRequest request, User currentUser) {
+        Seat seat = findBookableSeat(request.getSeatId());
+        StudyHall hall = seat.getHall();
+        BigDecimal amount = seat.getCustomPrice() != null ? seat.getCustomPrice() : hall.getBasePricing();
+
+        Booking booking = new Booking();
+        booking.setUser(currentUser);
+        booking.setSeat(seat);
+        booking.setStartTime(request.getStartTime());
+        booking.setEndTime(request.getEndTime());
+        booking.setStatus("CONFIRMED");
+        booking.setAmount(amount);
+        return bookingRepository.saveAndFlush(booking);
+    }
+
+    private Seat findBookableSeat(Long seatId) {
+        Seat seat = seatRepository.findById(seatId)
+            .orElseThrow(() -> new SeatNotFoundException("Seat not found"));
+        if (!"AVAILABLE".equals(seat.getStatus())) {
+            throw new InvalidRequestException("Seat is not available for booking");
+        }
+        if (seat.getHall().getStatus() != HallStatus.ACTIVE) {
+            throw new InvalidRequestException("Hall is not accepting bookings");
+        }
+        return seat;
+    }
+
+    private boolean isOverlapViolation(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(OVERLAP_CONSTRAINT);
+    }
+
+    /**
+     * Passes are derived from the booking alone, so re-issuing one for an
+     * unchanged booking yields the same pass.
+     */
+    private String issuePass(Booking booking) {
+        Seat seat = booking.getSeat();
+        return passCodec.encode(new CheckInPass(booking.getId(), seat.getId(), seat.getHall().getId(),
+            booking.getStartTime(), booking.getEndTime()));
+    }
+
+    private BookingResponse toResponse(Booking booking, String checkInPass) {
+        Seat seat = booking.getSeat();
+        return BookingResponse.builder()
+            .id(booking.getId())
+            .seatId(seat.getId())
+            .seatNumber(seat.getSeatNumber())
+            .hallId(seat.getHall().getId())
+            .startTime(booking.getStartTime())
+            .endTime(booking.getEndTime())
+            .status(booking.getStatus())
+            .amount(booking.getAmount())
+            .checkInPass(checkInPass)
+            .build();
+    }
+}
@@ -0,0 +1,298 @@
+package com.studymate.backend.service;
+
+import com.studymate.backend.dto.CheckInResponse;
+import com.studymate.backend.event.BookingChangedEvent;
+import com.studymate.backend.exception.ForbiddenException;
+import com.studymate.backend.exception.InvalidRequestException;
+import com.studymate.backend.exception.ResourceNotFoundException;
+import com.studymate.backend.model.BookingSnapshot;
+import com.studymate.backend.model.User;
+import com.studymate.backend.repository.BookingRepository;
+import com.studymate.backend.repository.StudyHallRepository;
+import com.studymate.backend.repository.projection.IssuedPassRow;
+import com.studymate.backend.service.checkin.CheckInPass;
+import com.studymate.backend.service.checkin.CheckInPassCodec;
+import com.studymate.backend.service.checkin.CheckInWriteBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for scanning check-in passes at a hall's gate.
+ *
+ * <p>A scan never reads the database: the pass is verified by its signature,
+ * the hall's owner is cached, and the check-in or check-out time is queued on
+ * {@link CheckInWriteBuffer}. Because a pass stays valid as long as its
+ * signature does, bookings that are cancelled or moved after their pass was
+ * issued are remembered from their committed {@link BookingChangedEvent}s, and
+ * a pass is only accepted if it still matches its booking. Both maps are
+ * pruned once the bookings they track have ended. At startup the amendments
+ * are seeded from the database: a booking whose pass was issued and that is
+ * no longer confirmed, or whose current period no longer reproduces the
+ * stored pass fingerprint, is remembered as if its change had just been
+ * seen, so a restart or another instance does not accept its old pass.</p>
+ *
+ * <p>A pass checks in from {@code app.checkin.early-minutes} before the booking
+ * starts until it ends, and checks out until
+ * {@code app.checkin.late-checkout-minutes} after it ends. Repeated check-in
+ * scans are accepted without writing again; the stored check-in time is the
+ * first entry and the check-out time the last exit.</p>
+ *
+ * <p>Metrics: {@code studymate.checkin.scans{result=accepted|rejected}} - gate scans.</p>
+ */
+@Service
+@Slf4j
+public class CheckInService {
+
+    static final String CHECKED_IN = "CHECKED_IN";
+    static final String CHECKED_OUT = "CHECKED_OUT";
+
+    private final CheckInPassCodec passCodec;
+    private final CheckInWriteBuffer writeBuffer;
+    private final StudyHallRepository studyHallRepository;
+    private final BookingRepository bookingRepository;
+    private final Duration earlyCheckIn;
+    private final Duration lateCheckOut;
+    private final Counter accepted;
+    private final Counter rejected;
+
+    private final ConcurrentHashMap<Long, Long> ownerIds = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Amendment> amendments = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Visit> visits = new ConcurrentHashMap<>();
+
+    public CheckInService(CheckInPassCodec passCodec,
+                          CheckInWriteBuffer writeBuffer,
+                          StudyHallRepository studyHallRepository,
+                          BookingRepository bookingRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.checkin.early-minutes:15}") long earlyMinutes,
+                          @Value("${app.checkin.late-checkout-minutes:30}") long lateCheckOutMinutes) {
+        this.passCodec = passCodec;
+        this.writeBuffer = writeBuffer;
+        this.studyHallRepository = studyHallRepository;
+        this.bookingRepository = bookingRepository;
+        this.earlyCheckIn = Duration.ofMinutes(earlyMinutes);
+        this.lateCheckOut = Duration.ofMinutes(lateCheckOutMinutes);
+        this.accepted = Counter.builder("studymate.checkin.scans")
+            .tag("result", "accepted")
+            .description("Check-in passes scanned at the gate")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("studymate.checkin.scans")
+            .tag("result", "rejected")
+            .description("Check-in passes scanned at the gate")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Check a student in with the pass scanned at the gate.
+     *
+     * @param hallId the hall ID
+     * @param token the scanned pass
+     * @param currentUser the authenticated owner running the gate
+     * @return the booking and when its student checked in
+     * @throws ResourceNotFoundException if the hall doesn't exist
+     * @throws ForbiddenException if the user doesn't own the hall
+     * @throws InvalidRequestException if the pass is invalid, for another hall, no longer matches its booking,
+     *         or is scanned outside the check-in window
+     */
+    public CheckInResponse checkIn(Long hallId, String token, User currentUser) {
+        CheckInPass pass = verify(hallId, token, currentUser);
+        LocalDateTime now = LocalDateTime.now();
+        if (now.isBefore(pass.startTime().minus(earlyCheckIn))) {
+            throw reject("Check-in opens " + earlyCheckIn.toMinutes() + " minutes before the booking starts");
+        }
+        if (!now.isBefore(pass.endTime())) {
+            throw reject("Booking has ended");
+        }
+
+        Visit visit = visits.compute(pass.bookingId(), (id, current) -> current == null
+            ? new Visit(now, null, pass.endTime())
+            : new Visit(current.checkInTime() != null ? current.checkInTime() : now, null, current.endTime()));
+        if (visit.checkInTime() == now) {
+            // First entry seen by this instance; the UPDATE keeps an earlier one
+            writeBuffer.recordCheckIn(pass, now);
+        }
+
+        accepted.increment();
+        log.debug("Booking {} checked in at hall {}", pass.bookingId(), hallId);
+        return toResponse(pass, visit, CHECKED_IN);
+    }
+
+    /**
+     * Check a student out with the pass scanned at the gate.
+     *
+     * @param hallId the hall ID
+     * @param token the scanned pass
+     * @param currentUser the authenticated owner running the gate
+     * @return the booking and when its student checked in and out
+     * @throws ResourceNotFoundException if the hall doesn't exist
+     * @throws ForbiddenException if the user doesn't own the hall
+     * @throws InvalidRequestException if the pass is invalid, for another hall, no longer matches its booking,
+     *         or is scanned outside the check-out window
+     */
+    public CheckInResponse checkOut(Long hallId, String token, User currentUser) {
+        CheckInPass pass = verify(hallId, token, currentUser);
+        LocalDateTime now = LocalDateTime.now();
+        if (now.isBefore(pass.startTime().minus(earlyCheckIn))) {
+            throw reject("Booking has not started");
+        }
+        if (!now.isBefore(pass.endTime().plus(lateCheckOut))) {
+            throw reject("Check-out closed " + lateCheckOut.toMinutes() + " minutes after the booking ended");
+        }
+
+        // Without a check-in seen by this instance the exit is still recorded
+        Visit visit = visits.compute(pass.bookingId(), (id, current) -> current == null
+            ? new Visit(null, now, pass.endTime())
+            : new Visit(current.checkInTime(), now, current.endTime()));
+        writeBuffer.recordCheckOut(pass, now);
+
+        accepted.increment();
+        log.debug("Booking {} checked out at hall {}", pass.bookingId(), hallId);
+        return toResponse(pass, visit, CHECKED_OUT);
+    }
+
+    /**
+     * Remember a committed booking change that makes passes issued earlier stale.
+     *
+     * @param event the booking change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        BookingSnapshot previous = event.getPrevious();
+        BookingSnapshot current = event.getCurrent();
+        if (previous == null || current == null) {
+            return;
+        }
+        boolean moved = !current.getStartTime().equals(previous.getStartTime())
+            || !current.getEndTime().equals(previous.getEndTime());
+        boolean released = event.wasConfirmed() && !event.isConfirmed();
+        // A re-confirmed booking only needs updating if its earlier passes are already tracked
+        if (moved || released || amendments.containsKey(event.getBookingId())) {
+            LocalDateTime retainUntil = current.getEndTime().isAfter(previous.getEndTime())
+                ? current.getEndTime()
+                : previous.getEndTime();
+            amend(event.getBookingId(), current, event.isConfirmed(), retainUntil);
+        }
+        if (released) {
+            visits.remove(event.getBookingId());
+        }
+    }
+
+    /**
+     * Seed the amendments from bookings cancelled or moved after their pass
+     * was issued whose check-out window is still open. The end of a moved
+     * booking's earlier pass is not stored, so its amendment is kept until
+     * the current end.
+     *
+     * @return number of amendments seeded
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int seedAmendments() {
+        int seeded = 0;
+        for (IssuedPassRow row : bookingRepository.findIssuedPassesEndingAfter(LocalDateTime.now().minus(lateCheckOut))) {
+            boolean confirmed = "CONFIRMED".equals(row.getStatus()) || "COMPLETED".equals(row.getStatus());
+            String currentPass = passCodec.encode(new CheckInPass(row.getBookingId(), row.getSeatId(),
+                row.getHallId(), row.getStartTime(), row.getEndTime()));
+            if (!confirmed || !passCodec.fingerprint(currentPass).equals(row.getQrCodeHash())) {
+                amend(row.getBookingId(), new BookingSnapshot(row.getStatus(), row.getStartTime(), row.getEndTime(), null),
+                    confirmed, row.getEndTime());
+                seeded++;
+            }
+        }
+        log.info("Seeded {} check-in pass amendments", seeded);
+        return seeded;
+    }
+
+    /**
+     * Forget visits and amendments of bookings whose check-out window has closed.
+     *
+     * @return number of entries removed
+     */
+    @Scheduled(fixedDelayString = "${app.checkin.prune-interval-ms:600000}")
+    public int prune() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(lateCheckOut);
+        int before = visits.size() + amendments.size();
+        visits.values().removeIf(visit -> visit.endTime().isBefore(cutoff));
+        amendments.values().removeIf(amendment -> amendment.retainUntil().isBefore(cutoff));
+        int removed = before - visits.size() - amendments.size();
+        if (removed > 0) {
+            log.debug("Pruned {} ended check-in entries", removed);
+        }
+        return removed;
+    }
+
+    private CheckInPass verify(Long hallId, String token, User currentUser) {
+        Long ownerId = ownerIds.computeIfAbsent(hallId, id -> studyHallRepository.findOwnerIdById(id).orElse(null));
+        if (ownerId == null) {
+            throw new ResourceNotFoundException("Hall not found");
+        }
+        if (!ownerId.equals(currentUser.getId())) {
+            log.warn("User {} attempted to scan passes at hall {} owned by {}", currentUser.getId(), hallId, ownerId);
+            throw new ForbiddenException("You don't have access to this hall");
+        }
+
+        CheckInPass pass = passCodec.decode(token)
+            .orElseThrow(() -> reject("Invalid check-in pass"));
+        if (pass.hallId() != hallId) {
+            throw reject("Check-in pass is for another hall");
+        }
+        Amendment amendment = amendments.get(pass.bookingId());
+        if (amendment != null && !amendment.accepts(pass)) {
+            throw reject("Booking is no longer valid for this pass");
+        }
+        return pass;
+    }
+
+    private void amend(Long bookingId, BookingSnapshot snapshot, boolean confirmed, LocalDateTime retainUntil) {
+        amendments.merge(bookingId,
+            new Amendment(snapshot.getStartTime().truncatedTo(ChronoUnit.SECONDS),
+                snapshot.getEndTime().truncatedTo(ChronoUnit.SECONDS), confirmed, retainUntil),
+            (old, amended) -> amended.retainUntil().isAfter(old.retainUntil())
+                ? amended
+                : new Amendment(amended.startTime(), amended.endTime(), amended.confirmed(), old.retainUntil()));
+    }
+
+    private InvalidRequestException reject(String message) {
+        rejected.increment();
+        return new InvalidRequestException(message);
+    }
+
+    private CheckInResponse toResponse(CheckInPass pass, Visit visit, String status) {
+        return CheckInResponse.builder()
+            .bookingId(pass.bookingId())
+            .seatId(pass.seatId())
+            .hallId(pass.hallId())
+            .startTime(pass.startTime())
+            .endTime(pass.endTime())
+            .checkInTime(visit.checkInTime())
+            .checkOutTime(visit.checkOutTime())
+            .status(status)
+            .build();
+    }
+
+    /**
+     * Current state of a booking whose pass was issued before it changed;
+     * {@code retainUntil} covers the latest end of any of its passes.
+     */
+    private record Amendment(LocalDateTime startTime, LocalDateTime endTime, boolean confirmed,
+                             LocalDateTime retainUntil) {
+
+        boolean accepts(CheckInPass pass) {
+            return confirmed && startTime.equals(pass.startTime()) && endTime.equals(pass.endTime());
+        }
+    }
+
+    private record Visit(LocalDateTime checkInTime, LocalDateTime checkOutTime, LocalDateTime endTime) {
+    }
+}
@@ -1,44 +1,97 @@
 package com.studymate.backend.service;
 
 import com.studymate.backend.dto.DashboardResponse;
+import com.studymate.backend.dto.HallPortfolioEntry;
+import com.studymate.backend.dto.PortfolioResponse;
 import com.studymate.backend.dto.SeatStatusDTO;
 import com.studymate.backend.exception.ForbiddenException;
 import com.studymate.backend.exception.ResourceNotFoundException;
-import com.studymate.backend.model.StudyHall;
 import com.studymate.backend.model.User;
 import com.studymate.backend.repository.BookingRepository;
 import com.studymate.backend.repository.SeatRepository;
 import com.studymate.backend.repository.StudyHallRepository;
+import com.studymate.backend.repository.projection.DashboardRow;
+import com.studymate.backend.repository.projection.HallOccupancyRow;
+import com.studymate.backend.repository.projection.HallPortfolioRow;
+import com.studymate.backend.repository.projection.HallSeatCountRow;
+import com.studymate.backend.service.occupancy.HallOccupancy;
+import com.studymate.backend.service.occupancy.HallOccupancyRegistry;
+import com.studymate.backend.service.seatmap.SeatMapDelta;
+import com.studymate.backend.service.seatmap.SeatMapVersionLog;
+import com.studymate.backend.service.support.SingleFlight;
+import com.studymate.backend.service.support.StaleServingPolicy;
+import com.studymate.backend.service.support.StaleWhileRevalidateCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Service for owner dashboard operations.
  * Provides metrics and seat map data for study hall owners.
+ *
+ * <p>Identical concurrent reads (several staff accounts or browser tabs on the
+ * same hall) share one database round trip through a {@link SingleFlight}.
+ * The shared part carries the hall's owner, and every caller is authorized
+ * against it individually. Callers waiting on a shared read do not hold a
+ * transaction or a pooled connection.</p>
+ *
+ * <p>The last full seat map of each hall is kept, and while
+ * {@link StaleServingPolicy} allows it (e.g. the connection pool is saturated)
+ * it is served immediately, marked stale with its age, and refreshed in the
+ * background once the pool has room. Occupancy and revenue always come from
+ * the live counters and are never stale.</p>
  */
 @Service
 @Slf4j
 public class DashboardService {
 
     private final StudyHallRepository hallRepository;
-    private final SeatRepository seatRepository;
     private final BookingRepository bookingRepository;
+    private final HallOccupancyRegistry occupancyRegistry;
+    private final SeatRepository seatRepository;
+    private final SeatMapVersionLog versionLog;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<DashboardKey, HallSeatMap> singleFlight;
+    private final StaleServingPolicy stalePolicy;
+    private final StaleWhileRevalidateCache<Long, HallSeatMap> lastGoodSeatMaps;
 
     public DashboardService(StudyHallRepository hallRepository,
+                           BookingRepository bookingRepository,
+                           HallOccupancyRegistry occupancyRegistry,
                            SeatRepository seatRepository,
-                           BookingRepository bookingRepository) {
+                           SeatMapVersionLog versionLog,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           StaleServingPolicy stalePolicy) {
         this.hallRepository = hallRepository;
-        this.seatRepository = seatRepository;
         this.bookingRepository = bookingRepository;
+        this.occupancyRegistry = occupancyRegistry;
+        this.seatRepository = seatRepository;
+        this.versionLog = versionLog;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.singleFlight = new SingleFlight<>("dashboard", meterRegistry);
+        this.stalePolicy = stalePolicy;
+        this.lastGoodSeatMaps = new StaleWhileRevalidateCache<>("dashboard", meterRegistry, 2);
     }
 
     /**
      * Get dashboard metrics for a study hall.
      * Verifies the authenticated user owns the hall before returning data.
+     * Ownership, seat total and the seat map are read in a single query; active
+     * bookings and revenue come from the live occupancy counters, so a dashboard
+     * load costs one round trip and never scans the bookings history.
      *
      * @param hallId the ID of the study hall
      * @param currentUser the authenticated user
@@ -46,29 +99,58 @@ public class DashboardService {
      * @throws ResourceNotFoundException if hall not found
      * @throws ForbiddenException if user doesn't own the hall
      */
-    @Transactional(readOnly = true)
     public DashboardResponse getDashboardMetrics(Long hallId, User currentUser) {
-        log.debug("Fetching dashboard metrics for hall: {}, user: {}", hallId, currentUser.getEmail());
+        return getDashboardMetrics(hallId, null, currentUser);
+    }
 
-        // Verify hall exists
-        StudyHall hall = hallRepository.findById(hallId)
-            .orElseThrow(() -> new ResourceNotFoundException("Hall not found"));
+    /**
+     * Get dashboard metrics for a study hall, optionally as a delta.
+     * When {@code since} is still covered by the hall's change log, the seat map
+     * only contains seats changed after that version; otherwise the full seat
+     * map is returned. Metrics are always complete.
+     *
+     * @param hallId the ID of the study hall
+     * @param since seat-state version the client already has, or null for the full seat map
+     * @param currentUser the authenticated user
+     * @return dashboard response with metrics, seat map and current version
+     * @throws ResourceNotFoundException if hall not found
+     * @throws ForbiddenException if user doesn't own the hall
+     */
+    public DashboardResponse getDashboardMetrics(Long hallId, Long since, User currentUser) {
+        log.debug("Fetching dashboard metrics for hall: {} since version: {}, user: {}",
+            hallId, since, currentUser.getEmail());
+
+        HallSeatMap seatMap = null;
+        Long ageMillis = null;
+        if (stalePolicy.shouldServeStale()) {
+            Optional<StaleWhileRevalidateCache.Cached<HallSeatMap>> cached =
+                lastGoodSeatMaps.get(hallId, stalePolicy.getMaxStaleMillis());
+            if (cached.isPresent()) {
+                seatMap = cached.get().value();
+                ageMillis = cached.get().ageMillis();
+                if (stalePolicy.poolHasRoom()) {
+                    lastGoodSeatMaps.refreshAsync(hallId, () -> loadSharedSeatMap(hallId, null));
+                }
+            }
+        }
+        if (seatMap == null) {
+            seatMap = loadSharedSeatMap(hallId, since);
+        }
 
         // Verify user owns the hall
-        if (!hall.getOwner().getId().equals(currentUser.getId())) {
+        if (!seatMap.ownerId().equals(currentUser.getId())) {
             log.warn("User {} attempted to access hall {} owned by user {}",
-                currentUser.getId(), hallId, hall.getOwner().getId());
+                currentUser.getId(), hallId, seatMap.ownerId());
             throw new ForbiddenException("You don't have access to this hall");
         }
 
         // Calculate metrics
-        int totalSeats = seatRepository.countByHallId(hallId);
-        int activeBookings = bookingRepository.countActiveBookingsByHallId(hallId);
-        double occupancyPercentage = totalSeats > 0 ? (activeBookings * 100.0 / totalSeats) : 0.0;
-        BigDecimal currentRevenue = bookingRepository.sumRevenueByHallId(hallId);
-
-        // Fetch seat map with status
-        List<SeatStatusDTO> seatMap = seatRepository.findSeatMapByHallId(hallId);
+        int totalSeats = seatMap.totalSeats();
+        HallOccupancy occupancy = occupancyRegistry.find(hallId)
+            .orElseGet(() -> loadOccupancy(hallId));
+        int activeBookings = occupancy.getActiveBookings();
+        double occupancyPercentage = percentage(activeBookings, totalSeats);
+        BigDecimal currentRevenue = occupancy.getRevenue();
 
         log.debug("Dashboard metrics - Total Seats: {}, Active Bookings: {}, Occupancy: {}%, Revenue: {}",
             totalSeats, activeBookings, occupancyPercentage, currentRevenue);
@@ -77,7 +159,199 @@ public class DashboardService {
             .totalSeats(totalSeats)
             .occupancyPercentage(occupancyPercentage)
             .currentRevenue(currentRevenue)
-            .seatMap(seatMap)
+            .seatMap(seatMap.seats())
+            .version(seatMap.version())
+            .delta(seatMap.delta())
+            .stale(ageMillis != null)
+            .ageMillis(ageMillis)
+            .build();
+    }
+
+    /**
+     * Get portfolio metrics across all halls of the authenticated owner.
+     * Halls and their seat totals are read in one grouped query; active
+     * bookings and revenue come from the live occupancy counters, or from one
+     * grouped bookings query until the counters are seeded. The cost is
+     * therefore the same for one hall as for thirty.
+     *
+     * @param currentUser the authenticated user
+     * @return totals across all halls and the metrics of each hall, newest hall first
+     */
+    public PortfolioResponse getPortfolioMetrics(User currentUser) {
+        log.debug("Fetching portfolio metrics for user: {}", currentUser.getEmail());
+
+        List<HallPortfolioRow> rows = hallRepository.findPortfolioRowsByOwnerId(currentUser.getId());
+        boolean seeded = occupancyRegistry.isSeeded();
+        Map<Long, HallOccupancy> occupancies = rows.isEmpty() || seeded
+            ? Map.of()
+            : loadOccupancies(currentUser.getId());
+
+        List<HallPortfolioEntry> halls = new ArrayList<>(rows.size());
+        int totalSeats = 0;
+        int activeBookings = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        for (HallPortfolioRow row : rows) {
+            int hallSeats = row.getTotalSeats().intValue();
+            HallOccupancy occupancy = seeded
+                ? occupancyRegistry.find(row.getHallId()).orElseThrow()
+                : occupancies.getOrDefault(row.getHallId(), new HallOccupancy(0, BigDecimal.ZERO));
+
+            halls.add(HallPortfolioEntry.builder()
+                .hallId(row.getHallId())
+                .hallName(row.getHallName())
+                .status(row.getStatus())
+                .totalSeats(hallSeats)
+                .activeBookings(occupancy.getActiveBookings())
+                .occupancyPercentage(percentage(occupancy.getActiveBookings(), hallSeats))
+                .currentRevenue(occupancy.getRevenue())
+                .build());
+
+            totalSeats += hallSeats;
+            activeBookings += occupancy.getActiveBookings();
+            revenue = revenue.add(occupancy.getRevenue());
+        }
+
+        log.debug("Portfolio metrics - Halls: {}, Total Seats: {}, Active Bookings: {}, Revenue: {}",
+            halls.size(), totalSeats, activeBookings, revenue);
+
+        return PortfolioResponse.builder()
+            .totalHalls(halls.size())
+            .totalSeats(totalSeats)
+            .activeBookings(activeBookings)
+            .occupancyPercentage(percentage(activeBookings, totalSeats))
+            .currentRevenue(revenue)
+            .halls(halls)
             .build();
     }
+
+    /**
+     * Drop kept seat maps that are too old to be served.
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.stale.max-stale-ms:60000}")
+    public void evictStaleSeatMaps() {
+        lastGoodSeatMaps.evictOlderThan(stalePolicy.getMaxStaleMillis());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lastGoodSeatMaps.shutdown();
+    }
+
+    /**
+     * Load a seat map through the single-flight group, keeping full seat maps
+     * as the hall's last good copy.
+     */
+    private HallSeatMap loadSharedSeatMap(Long hallId, Long since) {
+        return singleFlight.execute(new DashboardKey(hallId, since), () -> {
+            HallSeatMap seatMap = readOnlyTransaction.execute(status -> loadSeatMap(hallId, since));
+            if (!seatMap.delta()) {
+                lastGoodSeatMaps.put(hallId, seatMap);
+            }
+            return seatMap;
+        });
+    }
+
+    /**
+     * Load the caller-independent part of a dashboard: owner, seat total and
+     * the full or delta seat map. Shared between coalesced callers.
+     *
+     * @throws ResourceNotFoundException if hall not found
+     */
+    private HallSeatMap loadSeatMap(Long hallId, Long since) {
+        // Read the version before the seats so concurrent changes are re-sent on the next sync
+        long version;
+        if (since != null) {
+            SeatMapDelta delta = versionLog.deltaSince(hallId, since);
+            if (!delta.isFullSnapshotRequired()) {
+                return loadSeatMapDelta(hallId, delta);
+            }
+            version = delta.getVersion();
+        } else {
+            version = versionLog.currentVersion(hallId);
+        }
+
+        List<DashboardRow> rows = hallRepository.findDashboardRowsByHallId(hallId);
+
+        // Verify hall exists
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Hall not found");
+        }
+
+        // Seat map rows (a hall without seats returns a single row with no seat)
+        DashboardRow hallRow = rows.get(0);
+        List<SeatStatusDTO> seats = rows.stream()
+            .filter(row -> row.getSeatId() != null)
+            .map(row -> new SeatStatusDTO(
+                row.getSeatId(),
+                row.getSeatNumber(),
+                row.getSeatX(),
+                row.getSeatY(),
+                row.getSeatStatus()))
+            .toList();
+
+        return new HallSeatMap(hallRow.getOwnerId(), hallRow.getTotalSeats().intValue(), seats, version, false);
+    }
+
+    /**
+     * Load only the seats changed in a delta.
+     */
+    private HallSeatMap loadSeatMapDelta(Long hallId, SeatMapDelta delta) {
+        HallSeatCountRow hall = hallRepository.findSeatCountRowById(hallId)
+            .orElseThrow(() -> new ResourceNotFoundException("Hall not found"));
+
+        List<SeatStatusDTO> seats = delta.getChangedSeatIds().isEmpty()
+            ? List.of()
+            : List.copyOf(seatRepository.findSeatStatusesByIds(delta.getChangedSeatIds()));
+
+        return new HallSeatMap(hall.getOwnerId(), hall.getTotalSeats().intValue(), seats, delta.getVersion(), true);
+    }
+
+    /**
+     * Read occupancy counters from the database.
+     * Only used until the in-memory counters have been seeded at startup.
+     *
+     * @param hallId the hall ID
+     * @return active bookings and confirmed revenue for the hall
+     */
+    private HallOccupancy loadOccupancy(Long hallId) {
+        log.debug("Occupancy counters not seeded yet, reading hall {} from bookings table", hallId);
+        return new HallOccupancy(
+            bookingRepository.countActiveBookingsByHallId(hallId),
+            bookingRepository.sumRevenueByHallId(hallId)
+        );
+    }
+
+    /**
+     * Read occupancy counters of all of an owner's halls from the database.
+     * Only used until the in-memory counters have been seeded at startup.
+     *
+     * @param ownerId the owner's user ID
+     * @return hall ID to active bookings and confirmed revenue, for halls with confirmed bookings
+     */
+    private Map<Long, HallOccupancy> loadOccupancies(Long ownerId) {
+        log.debug("Occupancy counters not seeded yet, reading halls of owner {} from bookings table", ownerId);
+        Map<Long, HallOccupancy> occupancies = new HashMap<>();
+        for (HallOccupancyRow row : bookingRepository.findOccupancyRowsByOwnerId(ownerId)) {
+            occupancies.put(row.getHallId(),
+                new HallOccupancy(row.getActiveBookings().intValue(), row.getRevenue()));
+        }
+        return occupancies;
+    }
+
+    private static double percentage(int activeBookings, int totalSeats) {
+        return totalSeats > 0 ? (activeBookings * 100.0 / totalSeats) : 0.0;
+    }
+
+    /**
+     * Identifies identical dashboard reads.
+     */
+    private record DashboardKey(Long hallId, Long since) {
+    }
+
+    /**
+     * Caller-independent dashboard data shared by coalesced reads. Read-only.
+     */
+    private record HallSeatMap(Long ownerId, int totalSeats, List<SeatStatusDTO> seats,
+                               long version, boolean delta) {
+    }
 }
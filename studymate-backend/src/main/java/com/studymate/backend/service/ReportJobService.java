@@ -0,0 +1,341 @@
+package com.studymate.backend.service;
+
+import com.studymate.backend.dto.ReportData;
+import com.studymate.backend.dto.ReportJobResponse;
+import com.studymate.backend.exception.ForbiddenException;
+import com.studymate.backend.exception.InvalidRequestException;
+import com.studymate.backend.exception.ResourceNotFoundException;
+import com.studymate.backend.exception.TooManyRequestsException;
+import com.studymate.backend.service.report.ReportCache;
+import com.studymate.backend.service.report.ReportGenerator;
+import com.studymate.backend.service.report.ReportJob;
+import com.studymate.backend.service.report.ReportSpool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for generating reports in the background.
+ *
+ * <p>A submitted report is queued for a pool of {@code app.reports.jobs.threads}
+ * workers, which aggregate the data and write the file to the
+ * {@link ReportSpool}; the owner polls the job and downloads the file once it
+ * is READY. The queue holds at most {@code app.reports.jobs.queue-capacity}
+ * jobs and each owner may have {@code app.reports.jobs.per-owner-limit} jobs
+ * queued or running; beyond either, submissions are refused with
+ * {@link TooManyRequestsException}. A finished job and its file are kept for
+ * {@code app.reports.jobs.ttl-ms}; asking again for the same report in that
+ * time returns the existing job instead of generating it again, unless a
+ * booking in the period was written since the job was submitted. A report
+ * held by the {@link ReportCache} is copied to the spool without being
+ * generated again, and a generated one is offered to the cache.</p>
+ *
+ * <p>Metrics:
+ * <ul>
+ *   <li>{@code studymate.reports.jobs.queued} - jobs waiting for a worker</li>
+ *   <li>{@code studymate.reports.jobs.running} - jobs being generated</li>
+ *   <li>{@code studymate.reports.jobs{result=ready|failed|rejected|reused}} - submissions by outcome</li>
+ *   <li>{@code studymate.reports.jobs.run} - time taken to generate a report</li>
+ * </ul>
+ */
+@Service
+@Slf4j
+public class ReportJobService {
+
+    private static final String DOWNLOAD_URL = "/api/v1/owner/reports/jobs/%s/file";
+
+    private final ReportService reportService;
+    private final Map<String, ReportGenerator> generators;
+    private final ReportSpool spool;
+    private final ReportCache reportCache;
+    private final ThreadPoolExecutor workers;
+    private final int perOwnerLimit;
+    private final Duration ttl;
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<JobKey, ReportJob> jobsByKey = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> pendingByOwner = new ConcurrentHashMap<>();
+    private final Counter ready;
+    private final Counter failed;
+    private final Counter rejected;
+    private final Counter reused;
+    private final Timer runTimer;
+
+    public ReportJobService(ReportService reportService,
+                            List<ReportGenerator> generators,
+                            ReportSpool spool,
+                            ReportCache reportCache,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.reports.jobs.threads:2}") int threads,
+                            @Value("${app.reports.jobs.queue-capacity:50}") int queueCapacity,
+                            @Value("${app.reports.jobs.per-owner-limit:2}") int perOwnerLimit,
+                            @Value("${app.reports.jobs.ttl-ms:3600000}") long ttlMillis) {
+        this.reportService = reportService;
+        this.generators = generators.stream()
+            .collect(Collectors.toMap(ReportGenerator::getFormat, Function.identity()));
+        this.spool = spool;
+        this.reportCache = reportCache;
+        this.perOwnerLimit = perOwnerLimit;
+        this.ttl = Duration.ofMillis(ttlMillis);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "report-job-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        meterRegistry.gauge("studymate.reports.jobs.queued", workers, pool -> pool.getQueue().size());
+        meterRegistry.gauge("studymate.reports.jobs.running", workers, ThreadPoolExecutor::getActiveCount);
+        this.ready = counter(meterRegistry, "ready");
+        this.failed = counter(meterRegistry, "failed");
+        this.rejected = counter(meterRegistry, "rejected");
+        this.reused = counter(meterRegistry, "reused");
+        this.runTimer = Timer.builder("studymate.reports.jobs.run")
+            .description("Time taken to generate a report in the background")
+            .register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("studymate.reports.jobs")
+            .tag("result", result)
+            .description("Report job submissions")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Remove files of jobs lost in a restart.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void clearSpool() {
+        int deleted = spool.clear();
+        if (deleted > 0) {
+            log.info("Removed {} spooled reports left from a previous run", deleted);
+        }
+    }
+
+    /**
+     * Queue a report for generation, or return the job already holding it.
+     *
+     * @param hallId the hall ID
+     * @param format the report format (pdf or excel)
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @param userDetails the authenticated user
+     * @return the job
+     * @throws InvalidRequestException if the period or format is invalid
+     * @throws ResourceNotFoundException if hall or user not found
+     * @throws ForbiddenException if user doesn't own the hall
+     * @throws TooManyRequestsException if the owner's jobs or the queue are at their limit
+     */
+    public ReportJobResponse submit(Long hallId, String format, LocalDate startDate, LocalDate endDate,
+                                    UserDetails userDetails) {
+        if (startDate.isAfter(endDate)) {
+            throw new InvalidRequestException("Start date cannot be after end date");
+        }
+        ReportGenerator generator = generators.get(format.toLowerCase(Locale.ROOT));
+        if (generator == null) {
+            throw new InvalidRequestException("Unsupported format: " + format +
+                ". Supported formats: " + generators.keySet());
+        }
+        Long ownerId = reportService.verifyOwnership(hallId, userDetails);
+
+        JobKey key = new JobKey(ownerId, hallId, generator.getFormat(), startDate, endDate);
+        long dataVersion = reportCache.dataVersion(hallId, startDate, endDate);
+        ReportJob existing = jobsByKey.get(key);
+        if (existing != null && existing.getStatus() != ReportJob.Status.FAILED
+                && existing.getDataVersion() == dataVersion
+                && !existing.isExpired(LocalDateTime.now())) {
+            reused.increment();
+            return toResponse(existing);
+        }
+
+        AtomicInteger pending = pendingByOwner.computeIfAbsent(ownerId, id -> new AtomicInteger());
+        if (pending.incrementAndGet() > perOwnerLimit) {
+            pending.decrementAndGet();
+            rejected.increment();
+            throw new TooManyRequestsException("You already have " + perOwnerLimit +
+                " reports in progress. Try again when one has finished");
+        }
+
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), userDetails.getUsername(), ownerId, hallId,
+            generator.getFormat(), startDate, endDate, LocalDateTime.now(), dataVersion);
+        jobs.put(job.getId(), job);
+        jobsByKey.put(key, job);
+        try {
+            workers.execute(() -> run(job, generator, userDetails, pending));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            jobsByKey.remove(key, job);
+            pending.decrementAndGet();
+            rejected.increment();
+            throw new TooManyRequestsException("The report queue is full. Try again later");
+        }
+        log.info("Queued {} report job {} for hall {}, period {} to {}",
+            job.getFormat(), job.getId(), hallId, startDate, endDate);
+        return toResponse(job);
+    }
+
+    /**
+     * Get the state of a job.
+     *
+     * @param jobId the job ID
+     * @param userDetails the authenticated user
+     * @return the job
+     * @throws ResourceNotFoundException if the job doesn't exist, has expired or belongs to another user
+     */
+    public ReportJobResponse getJob(String jobId, UserDetails userDetails) {
+        return toResponse(findJob(jobId, userDetails));
+    }
+
+    /**
+     * Get a finished job to download its file.
+     *
+     * @param jobId the job ID
+     * @param userDetails the authenticated user
+     * @return the READY job
+     * @throws ResourceNotFoundException if the job doesn't exist, has expired or belongs to another user
+     * @throws InvalidRequestException if the report isn't ready
+     */
+    public ReportJob getReadyJob(String jobId, UserDetails userDetails) {
+        ReportJob job = findJob(jobId, userDetails);
+        if (job.getStatus() == ReportJob.Status.FAILED) {
+            throw new InvalidRequestException("Report job failed: " + job.getError());
+        }
+        if (job.getStatus() != ReportJob.Status.READY) {
+            throw new InvalidRequestException("Report is not ready yet");
+        }
+        return job;
+    }
+
+    /**
+     * Discard finished jobs past their expiry, with their files.
+     *
+     * @return number of jobs discarded
+     */
+    @Scheduled(fixedDelayString = "${app.reports.jobs.cleanup-interval-ms:60000}")
+    public int evictExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int evicted = 0;
+        for (ReportJob job : jobs.values()) {
+            if (job.isExpired(now) && jobs.remove(job.getId(), job)) {
+                jobsByKey.remove(JobKey.of(job), job);
+                if (job.getFile() != null) {
+                    spool.delete(job.getFile());
+                }
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} expired report jobs", evicted);
+        }
+        return evicted;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void run(ReportJob job, ReportGenerator generator, UserDetails userDetails, AtomicInteger pending) {
+        job.started();
+        long started = System.nanoTime();
+        try {
+            Path file = generate(job, generator, userDetails);
+            LocalDateTime now = LocalDateTime.now();
+            job.ready(file, generator.getFileName(job.getHallId(), job.getStartDate(), job.getEndDate()),
+                now, now.plus(ttl));
+            ready.increment();
+            log.info("Report job {} for hall {} is ready", job.getId(), job.getHallId());
+        } catch (Exception e) {
+            LocalDateTime now = LocalDateTime.now();
+            job.failed("Failed to generate report", now, now.plus(ttl));
+            failed.increment();
+            log.error("Report job {} for hall {} failed", job.getId(), job.getHallId(), e);
+        } finally {
+            pending.decrementAndGet();
+            runTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Path generate(ReportJob job, ReportGenerator generator, UserDetails userDetails) throws IOException {
+        String name = job.getId() + "." + generator.getFileExtension();
+        Optional<ReportCache.CachedReport> cached =
+            reportCache.get(job.getHallId(), job.getStartDate(), job.getEndDate(), job.getFormat());
+        if (cached.isPresent()) {
+            return spool.write(name, out -> out.write(cached.get().content()));
+        }
+
+        long version = reportCache.dataVersion(job.getHallId(), job.getStartDate(), job.getEndDate());
+        ReportData reportData = reportService.aggregateData(
+            job.getHallId(), job.getStartDate(), job.getEndDate(), userDetails);
+        return spool.write(name, out -> {
+            ReportCache.Capture capture = reportCache.capture(out);
+            generator.generate(reportData, capture);
+            capture.flush();
+            reportCache.put(job.getHallId(), job.getStartDate(), job.getEndDate(), job.getFormat(), version, capture);
+        });
+    }
+
+    private ReportJob findJob(String jobId, UserDetails userDetails) {
+        ReportJob job = jobs.get(jobId);
+        if (job == null || !job.getOwnerEmail().equals(userDetails.getUsername())
+                || job.isExpired(LocalDateTime.now())) {
+            throw new ResourceNotFoundException("Report job not found");
+        }
+        return job;
+    }
+
+    private ReportJobResponse toResponse(ReportJob job) {
+        ReportJob.Status status = job.getStatus();
+        return ReportJobResponse.builder()
+            .jobId(job.getId())
+            .status(status.name())
+            .hallId(job.getHallId())
+            .format(job.getFormat())
+            .startDate(job.getStartDate())
+            .endDate(job.getEndDate())
+            .submittedAt(job.getSubmittedAt())
+            .completedAt(job.getCompletedAt())
+            .expiresAt(job.getExpiresAt())
+            .error(job.getError())
+            .downloadUrl(status == ReportJob.Status.READY ? String.format(DOWNLOAD_URL, job.getId()) : null)
+            .build();
+    }
+
+    /**
+     * Identity of a report: who asked for which hall, format and period.
+     */
+    private record JobKey(Long ownerId, Long hallId, String format, LocalDate startDate, LocalDate endDate) {
+
+        static JobKey of(ReportJob job) {
+            return new JobKey(job.getOwnerId(), job.getHallId(), job.getFormat(), job.getStartDate(),
+                job.getEndDate());
+        }
+    }
+}
@@ -3,47 +3,68 @@ package com.studymate.backend.service;
 import com.studymate.backend.dto.ReportData;
 import com.studymate.backend.exception.ForbiddenException;
 import com.studymate.backend.exception.ResourceNotFoundException;
-import com.studymate.backend.model.Booking;
-import com.studymate.backend.model.StudyHall;
-import com.studymate.backend.model.User;
+import com.studymate.backend.repository.BookingArchiveRepository;
 import com.studymate.backend.repository.BookingRepository;
-import com.studymate.backend.repository.SeatRepository;
 import com.studymate.backend.repository.StudyHallRepository;
 import com.studymate.backend.repository.UserRepository;
+import com.studymate.backend.repository.projection.ReportAggregateRow;
+import com.studymate.backend.repository.projection.ReportHallRow;
+import com.studymate.backend.service.archive.ArchivedBooking;
+import com.studymate.backend.service.archive.BookingArchiveStore;
+import com.studymate.backend.service.report.UtilizationCalculator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * Service for report generation and data aggregation.
  * Provides business logic for generating performance reports.
+ *
+ * <p>Report data is aggregated in the database: one grouped query returns
+ * the count and revenue of bookings per starting hour and each seat's merged
+ * booked periods as projections, so no booking, hall or user entity is
+ * loaded. The periods feed the {@link UtilizationCalculator}.</p>
+ *
+ * <p>Months whose finished bookings were moved to {@link BookingArchiveStore}
+ * are read back from their archive files and merged with the bookings still
+ * in the table, so reports look the same before and after archiving. A
+ * booking whose archive file is written but whose delete has not committed
+ * yet is in both; its archived copy is skipped. The report reads one
+ * snapshot, taken before the archive files are read, so a delete committing
+ * in between cannot make it count a booking twice or not at all.</p>
  */
 @Service
 @Slf4j
 public class ReportService {
 
     private final BookingRepository bookingRepository;
-    private final SeatRepository seatRepository;
     private final StudyHallRepository studyHallRepository;
     private final UserRepository userRepository;
+    private final BookingArchiveStore archiveStore;
+    private final BookingArchiveRepository archiveRepository;
 
     public ReportService(BookingRepository bookingRepository,
-                        SeatRepository seatRepository,
                         StudyHallRepository studyHallRepository,
-                        UserRepository userRepository) {
+                        UserRepository userRepository,
+                        BookingArchiveStore archiveStore,
+                        BookingArchiveRepository archiveRepository) {
         this.bookingRepository = bookingRepository;
-        this.seatRepository = seatRepository;
         this.studyHallRepository = studyHallRepository;
         this.userRepository = userRepository;
+        this.archiveStore = archiveStore;
+        this.archiveRepository = archiveRepository;
     }
 
     /**
@@ -58,40 +79,58 @@ public class ReportService {
      * @throws ResourceNotFoundException if hall or user not found
      * @throws ForbiddenException if user doesn't own the hall
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public ReportData aggregateData(Long hallId, LocalDate startDate, LocalDate endDate, UserDetails userDetails) {
         log.debug("Aggregating report data for hall: {}, period: {} to {}", hallId, startDate, endDate);
 
-        // Verify ownership
-        verifyOwnership(hallId, userDetails);
-
-        // Get hall details
-        StudyHall hall = studyHallRepository.findById(hallId)
+        // Get hall details and verify ownership
+        ReportHallRow hall = studyHallRepository.findReportRowById(hallId)
             .orElseThrow(() -> new ResourceNotFoundException("Hall not found"));
+        verifyOwner(hallId, hall.getOwnerId(), userDetails);
+        int totalSeats = hall.getTotalSeats().intValue();
+
+        UtilizationCalculator utilizationCalculator =
+            new UtilizationCalculator(startDate, endDate, hall.getOpeningHours(), totalSeats);
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        long totalBookings = 0;
+        Map<Integer, Long> busiestHours = new HashMap<>();
+
+        // Hour rows carry counts and revenue of bookings starting in range, seat rows periods overlapping it
+        LocalDateTime from = startDate.atStartOfDay();
+        LocalDateTime to = endDate.plusDays(1).atStartOfDay();
+        LocalDateTime coveredUntil = utilizationCalculator.getCoveredUntil();
+        List<ReportAggregateRow> rows = bookingRepository.findReportAggregateRows(hallId, from, to, coveredUntil);
+        for (ReportAggregateRow row : rows) {
+            if (row.getHour() != null) {
+                busiestHours.merge(row.getHour(), row.getBookings(), Long::sum);
+                totalBookings += row.getBookings();
+                totalRevenue = totalRevenue.add(row.getRevenue());
+            } else if (row.getRunStart() != null) {
+                utilizationCalculator.add(row.getSeatId(), row.getRunStart(), row.getRunEnd());
+            }
+        }
 
-        // Get total seats
-        int totalSeats = seatRepository.countByHallId(hallId);
-
-        // Get all bookings in date range
-        List<Booking> bookings = bookingRepository.findByHallAndDateRange(hallId, startDate, endDate);
-
-        // Calculate total revenue
-        BigDecimal totalRevenue = bookingRepository.sumRevenueByHallAndDateRange(hallId, startDate, endDate);
-
-        // Calculate daily utilization
-        Map<LocalDate, Double> dailyUtilization = calculateDailyUtilization(bookings, totalSeats, startDate, endDate);
+        // Merge archived bookings overlapping the range, counting only those starting in it
+        for (ArchivedBooking booking : readArchivedBookings(hallId, from, coveredUntil)) {
+            if (!booking.startTime().isBefore(from) && booking.startTime().isBefore(to)) {
+                busiestHours.merge(booking.startTime().getHour(), 1L, Long::sum);
+                totalBookings++;
+                if (booking.amount() != null) {
+                    totalRevenue = totalRevenue.add(booking.amount());
+                }
+            }
+            utilizationCalculator.add(booking.seatId(), booking.startTime(), booking.endTime());
+        }
 
-        // Calculate average utilization
+        // Calculate daily and average utilization
+        Map<LocalDate, Double> dailyUtilization = utilizationCalculator.dailyUtilization();
         Double averageUtilization = dailyUtilization.values().stream()
             .mapToDouble(Double::doubleValue)
             .average()
             .orElse(0.0);
 
-        // Get busiest hours
-        Map<Integer, Long> busiestHours = calculateBusiestHours(hallId, startDate, endDate);
-
         log.debug("Report data aggregated - Revenue: {}, Avg Utilization: {}%, Total Bookings: {}",
-            totalRevenue, averageUtilization, bookings.size());
+            totalRevenue, averageUtilization, totalBookings);
 
         return ReportData.builder()
             .hallId(hallId)
@@ -102,72 +141,42 @@ public class ReportService {
             .dailyUtilization(dailyUtilization)
             .averageUtilization(averageUtilization)
             .busiestHours(busiestHours)
-            .totalBookings((long) bookings.size())
+            .totalBookings(totalBookings)
             .totalSeats(totalSeats)
             .build();
     }
 
     /**
-     * Calculate daily utilization percentage.
-     * Utilization = (total booked hours / total available hours) * 100
-     *
-     * @param bookings list of bookings
-     * @param totalSeats total number of seats in the hall
-     * @param startDate start date of the period
-     * @param endDate end date of the period
-     * @return map of date to utilization percentage
-     */
-    private Map<LocalDate, Double> calculateDailyUtilization(List<Booking> bookings, int totalSeats,
-                                                              LocalDate startDate, LocalDate endDate) {
-        Map<LocalDate, Double> utilization = new HashMap<>();
-
-        // Assuming hall operates 12 hours per day (e.g., 8 AM to 8 PM)
-        final int OPERATING_HOURS_PER_DAY = 12;
-
-        // Initialize all dates with 0 utilization
-        LocalDate current = startDate;
-        while (!current.isAfter(endDate)) {
-            utilization.put(current, 0.0);
-            current = current.plusDays(1);
-        }
-
-        // Group bookings by date and calculate hours booked
-        Map<LocalDate, Long> dailyBookedHours = bookings.stream()
-            .collect(Collectors.groupingBy(
-                booking -> booking.getStartTime().toLocalDate(),
-                Collectors.summingLong(booking ->
-                    ChronoUnit.HOURS.between(booking.getStartTime(), booking.getEndTime())
-                )
-            ));
-
-        // Calculate utilization percentage for each date
-        dailyBookedHours.forEach((date, bookedHours) -> {
-            double totalAvailableHours = totalSeats * OPERATING_HOURS_PER_DAY;
-            double utilizationPercent = totalAvailableHours > 0
-                ? (bookedHours * 100.0 / totalAvailableHours)
-                : 0.0;
-            utilization.put(date, Math.min(utilizationPercent, 100.0)); // Cap at 100%
-        });
-
-        return utilization;
-    }
-
-    /**
-     * Calculate busiest hours from booking data.
+     * Read the billable archived bookings of a hall that overlap a period,
+     * skipping those still in the table. The month before the period is read
+     * too, for bookings that started in it and run into the period.
      *
      * @param hallId the hall ID
-     * @param startDate start date
-     * @param endDate end date
-     * @return map of hour to booking count
+     * @param from start of the period (inclusive)
+     * @param until end of the period (exclusive)
+     * @return archived bookings, empty if no month of the period is archived
      */
-    private Map<Integer, Long> calculateBusiestHours(Long hallId, LocalDate startDate, LocalDate endDate) {
-        List<Object[]> results = bookingRepository.findBusiestHoursByHall(hallId, startDate, endDate);
-
-        return results.stream()
-            .collect(Collectors.toMap(
-                row -> (Integer) row[0],  // hour
-                row -> (Long) row[1]      // count
-            ));
+    private List<ArchivedBooking> readArchivedBookings(Long hallId, LocalDateTime from, LocalDateTime until) {
+        YearMonth lastMonth = YearMonth.from(until.minusNanos(1));
+        List<ArchivedBooking> archived = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(from).minusMonths(1); !month.isAfter(lastMonth);
+                month = month.plusMonths(1)) {
+            List<ArchivedBooking> bookings = archiveStore.read(hallId, month);
+            if (bookings.isEmpty()) {
+                continue;
+            }
+            Set<Long> inTable = archiveRepository.findFinishedBookingIds(hallId,
+                month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+            for (ArchivedBooking booking : bookings) {
+                if (booking.isBillable()
+                        && !inTable.contains(booking.bookingId())
+                        && booking.endTime().isAfter(from)
+                        && booking.startTime().isBefore(until)) {
+                    archived.add(booking);
+                }
+            }
+        }
+        return archived;
     }
 
     /**
@@ -175,23 +184,23 @@ public class ReportService {
      *
      * @param hallId the hall ID
      * @param userDetails the authenticated user
+     * @return the owner's user ID
      * @throws ResourceNotFoundException if hall or user not found
      * @throws ForbiddenException if user doesn't own the hall
      */
-    private void verifyOwnership(Long hallId, UserDetails userDetails) {
-        // Verify hall exists
-        StudyHall hall = studyHallRepository.findById(hallId)
+    public Long verifyOwnership(Long hallId, UserDetails userDetails) {
+        Long ownerId = studyHallRepository.findOwnerIdById(hallId)
             .orElseThrow(() -> new ResourceNotFoundException("Hall not found"));
+        return verifyOwner(hallId, ownerId, userDetails);
+    }
 
-        // Verify user exists
-        User owner = userRepository.findByEmail(userDetails.getUsername())
+    private Long verifyOwner(Long hallId, Long ownerId, UserDetails userDetails) {
+        Long userId = userRepository.findIdByEmail(userDetails.getUsername())
             .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        // Verify user owns the hall
-        if (!hall.getOwner().getId().equals(owner.getId())) {
-            log.warn("User {} attempted to generate report for hall {} owned by user {}",
-                owner.getId(), hallId, hall.getOwner().getId());
+        if (!ownerId.equals(userId)) {
+            log.warn("User {} attempted to generate report for hall {} owned by user {}", userId, hallId, ownerId);
             throw new ForbiddenException("You don't have access to this hall");
         }
+        return userId;
     }
 }
@@ -0,0 +1,129 @@
+package com.studymate.backend.service;
+
+import com.studymate.backend.dto.AvailableSeatDTO;
+import com.studymate.backend.dto.SeatAvailabilityResponse;
+import com.studymate.backend.dto.ShiftAvailabilityDTO;
+import com.studymate.backend.dto.ShiftAvailabilityResponse;
+import com.studymate.backend.dto.ShiftDTO;
+import com.studymate.backend.exception.InvalidRequestException;
+import com.studymate.backend.exception.ResourceNotFoundException;
+import com.studymate.backend.service.availability.HallDayAvailability;
+import com.studymate.backend.service.availability.SeatAvailabilityIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service for searching free seats of a hall, answered from the in-memory
+ * {@link SeatAvailabilityIndex}.
+ */
+@Service
+@Slf4j
+public class SeatAvailabilityService {
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final SeatAvailabilityIndex availabilityIndex;
+    private final int maxDaysAhead;
+
+    public SeatAvailabilityService(SeatAvailabilityIndex availabilityIndex,
+                                   @Value("${app.availability.max-days-ahead:60}") int maxDaysAhead) {
+        this.availabilityIndex = availabilityIndex;
+        this.maxDaysAhead = maxDaysAhead;
+    }
+
+    /**
+     * Find the seats of a hall that are free for the whole of a period.
+     *
+     * @param hallId the hall ID
+     * @param date the day
+     * @param startTime start of the period
+     * @param endTime end of the period (exclusive); 00:00 means midnight at the end of the day
+     * @return free seats in seat-number order; none if the hall is closed during the period
+     * @throws ResourceNotFoundException if the hall doesn't exist
+     * @throws InvalidRequestException if the day or period is invalid, or the hall is not accepting bookings
+     */
+    public SeatAvailabilityResponse findFreeSeats(Long hallId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        log.debug("Searching free seats of hall {} on {} from {} to {}", hallId, date, startTime, endTime);
+
+        validateDate(date);
+        if (!endTime.equals(LocalTime.MIDNIGHT) && !endTime.isAfter(startTime)) {
+            throw new InvalidRequestException("End time must be after start time");
+        }
+        HallDayAvailability day = bookableDay(hallId, date);
+
+        List<AvailableSeatDTO> freeSeats = day.freeSeats(startTime, endTime).stream()
+            .map(seat -> new AvailableSeatDTO(seat.seatId(), seat.seatNumber()))
+            .toList();
+
+        return SeatAvailabilityResponse.builder()
+            .hallId(hallId)
+            .date(date)
+            .startTime(startTime)
+            .endTime(endTime)
+            .freeSeatCount(freeSeats.size())
+            .freeSeats(freeSeats)
+            .build();
+    }
+
+    /**
+     * Count the seats of a hall that are free for the whole of each shift of a day.
+     *
+     * @param hallId the hall ID
+     * @param date the day
+     * @return free-seat count per configured shift, in shift start order
+     * @throws ResourceNotFoundException if the hall doesn't exist
+     * @throws InvalidRequestException if the day is invalid or the hall is not accepting bookings
+     */
+    public ShiftAvailabilityResponse findShiftAvailability(Long hallId, LocalDate date) {
+        log.debug("Counting free seats per shift of hall {} on {}", hallId, date);
+
+        validateDate(date);
+        HallDayAvailability day = bookableDay(hallId, date);
+
+        List<ShiftAvailabilityDTO> shifts = new ArrayList<>();
+        for (ShiftDTO shift : day.getShifts()) {
+            LocalTime start = LocalTime.parse(shift.getStartTime(), TIME_FORMATTER);
+            LocalTime end = LocalTime.parse(shift.getEndTime(), TIME_FORMATTER);
+            shifts.add(ShiftAvailabilityDTO.builder()
+                .id(shift.getId())
+                .name(shift.getName())
+                .startTime(shift.getStartTime())
+                .endTime(shift.getEndTime())
+                .freeSeats(day.countFreeSeats(start, end))
+                .build());
+        }
+        shifts.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+
+        return ShiftAvailabilityResponse.builder()
+            .hallId(hallId)
+            .date(date)
+            .totalSeats(day.getSeatCount())
+            .shifts(shifts)
+            .build();
+    }
+
+    private void validateDate(LocalDate date) {
+        LocalDate today = LocalDate.now();
+        if (date.isBefore(today)) {
+            throw new InvalidRequestException("Date must not be in the past");
+        }
+        if (date.isAfter(today.plusDays(maxDaysAhead))) {
+            throw new InvalidRequestException("Date must be within " + maxDaysAhead + " days");
+        }
+    }
+
+    private HallDayAvailability bookableDay(Long hallId, LocalDate date) {
+        HallDayAvailability day = availabilityIndex.get(hallId, date);
+        if (!day.isBookable()) {
+            throw new InvalidRequestException("Hall is not accepting bookings");
+        }
+        return day;
+    }
+}
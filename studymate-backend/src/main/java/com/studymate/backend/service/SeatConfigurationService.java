@@ -3,6 +3,7 @@ package com.studymate.backend.service;
 import com.studymate.backend.dto.SeatConfigRequest;
 import com.studymate.backend.dto.SeatConfigResponse;
 import com.studymate.backend.dto.SeatDTO;
+import com.studymate.backend.event.SeatMapChangedEvent;
 import com.studymate.backend.exception.ForbiddenException;
 import com.studymate.backend.exception.InvalidRequestException;
 import com.studymate.backend.exception.ResourceNotFoundException;
@@ -11,10 +12,17 @@ import com.studymate.backend.model.StudyHall;
 import com.studymate.backend.model.User;
 import com.studymate.backend.repository.SeatRepository;
 import com.studymate.backend.repository.StudyHallRepository;
+import com.studymate.backend.service.seatmap.SeatMapDelta;
+import com.studymate.backend.service.seatmap.SeatMapVersionLog;
+import com.studymate.backend.service.support.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.HashSet;
 import java.util.List;
@@ -31,11 +39,24 @@ public class SeatConfigurationService {
 
     private final StudyHallRepository studyHallRepository;
     private final SeatRepository seatRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SeatMapVersionLog versionLog;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<Long, HallSeats> seatConfigurationFlight;
 
     public SeatConfigurationService(StudyHallRepository studyHallRepository,
-                                   SeatRepository seatRepository) {
+                                   SeatRepository seatRepository,
+                                   ApplicationEventPublisher eventPublisher,
+                                   SeatMapVersionLog versionLog,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry) {
         this.studyHallRepository = studyHallRepository;
         this.seatRepository = seatRepository;
+        this.eventPublisher = eventPublisher;
+        this.versionLog = versionLog;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.seatConfigurationFlight = new SingleFlight<>("seat_configuration", meterRegistry);
     }
 
     /**
@@ -72,6 +93,7 @@ public class SeatConfigurationService {
 
             // Update seat count
             studyHallRepository.updateSeatCount(hallId, savedSeats.size());
+            eventPublisher.publishEvent(SeatMapChangedEvent.layoutChanged(hallId));
 
             // Convert to DTOs
             List<SeatDTO> seatDTOs = savedSeats.stream()
@@ -90,23 +112,72 @@ public class SeatConfigurationService {
 
     /**
      * Get seat configuration for a study hall.
+     * Identical concurrent requests share one load; ownership is still checked
+     * for every caller against the owner returned by the shared load.
      *
      * @param hallId the hall ID
      * @param currentUser authenticated user
      * @return list of seats
      */
-    @Transactional(readOnly = true)
     public List<SeatDTO> getSeatConfiguration(Long hallId, User currentUser) {
         log.debug("Fetching seat configuration for hall: {}, user: {}", hallId, currentUser.getEmail());
 
+        HallSeats hallSeats = seatConfigurationFlight.execute(hallId,
+                () -> readOnlyTransaction.execute(status -> loadHallSeats(hallId)));
+
+        // Verify user is owner
+        if (!hallSeats.ownerId().equals(currentUser.getId())) {
+            log.warn("Unauthorized access attempt: user {} tried to access hall {}", currentUser.getId(), hallId);
+            throw new ForbiddenException("You don't have access to this hall");
+        }
+
+        return hallSeats.seats();
+    }
+
+    /**
+     * Get the seats of a study hall together with its seat-state version.
+     * When {@code since} is given and still covered by the hall's change log,
+     * only the seats changed after that version are returned; otherwise the
+     * full seat list is returned.
+     *
+     * @param hallId the hall ID
+     * @param since version the client already has, or null for all seats
+     * @param currentUser authenticated user
+     * @return response with seats, version and whether the seats are a delta
+     */
+    @Transactional(readOnly = true)
+    public SeatConfigResponse getSeats(Long hallId, Long since, User currentUser) {
+        log.debug("Fetching seats for hall: {} since version: {}, user: {}", hallId, since, currentUser.getEmail());
+
         // Verify hall exists and user is owner
         verifyHallOwnership(hallId, currentUser);
 
-        List<Seat> seats = seatRepository.findByHallId(hallId);
+        // Read the version before the seats so concurrent changes are re-sent on the next sync
+        SeatMapDelta delta = since != null
+                ? versionLog.deltaSince(hallId, since)
+                : null;
+        long version = delta != null ? delta.getVersion() : versionLog.currentVersion(hallId);
+        boolean isDelta = delta != null && !delta.isFullSnapshotRequired();
+
+        List<Seat> seats;
+        if (!isDelta) {
+            seats = seatRepository.findByHallId(hallId);
+        } else if (delta.getChangedSeatIds().isEmpty()) {
+            seats = List.of();
+        } else {
+            seats = seatRepository.findAllById(delta.getChangedSeatIds()).stream()
+                    .filter(seat -> seat.getHall().getId().equals(hallId))
+                    .collect(Collectors.toList());
+        }
 
-        return seats.stream()
+        List<SeatDTO> seatDTOs = seats.stream()
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
+
+        SeatConfigResponse response = new SeatConfigResponse(true, null, seatDTOs, seatDTOs.size());
+        response.setVersion(version);
+        response.setDelta(isDelta);
+        return response;
     }
 
     /**
@@ -130,6 +201,7 @@ public class SeatConfigurationService {
         // Update seat count
         int newCount = seatRepository.countByHallId(hallId);
         studyHallRepository.updateSeatCount(hallId, newCount);
+        eventPublisher.publishEvent(SeatMapChangedEvent.layoutChanged(hallId));
 
         log.info("Deleted seat: {} from hall: {}, new count: {}", seatId, hallId, newCount);
 
@@ -157,6 +229,25 @@ public class SeatConfigurationService {
         return hall;
     }
 
+    /**
+     * Load a hall's owner and seats. Shared between coalesced callers, so the
+     * returned list is read-only.
+     *
+     * @param hallId the hall ID
+     * @return owner ID and seat DTOs
+     * @throws ResourceNotFoundException if hall doesn't exist
+     */
+    private HallSeats loadHallSeats(Long hallId) {
+        StudyHall hall = studyHallRepository.findById(hallId)
+                .orElseThrow(() -> new ResourceNotFoundException("Hall not found"));
+
+        List<SeatDTO> seats = seatRepository.findByHallId(hallId).stream()
+                .map(this::mapToDTO)
+                .toList();
+
+        return new HallSeats(hall.getOwner().getId(), seats);
+    }
+
     /**
      * Validate that seat numbers are unique within the request.
      *
@@ -210,4 +301,10 @@ public class SeatConfigurationService {
         dto.setUpdatedAt(seat.getUpdatedAt());
         return dto;
     }
+
+    /**
+     * Owner and seats of a hall, shared by coalesced configuration reads.
+     */
+    private record HallSeats(Long ownerId, List<SeatDTO> seats) {
+    }
 }
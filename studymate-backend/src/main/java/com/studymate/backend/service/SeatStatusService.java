@@ -1,6 +1,7 @@
 package com.studymate.backend.service;
 
 import com.studymate.backend.dto.*;
+import com.studymate.backend.event.SeatMapChangedEvent;
 import com.studymate.backend.exception.ForbiddenException;
 import com.studymate.backend.exception.InvalidRequestException;
 import com.studymate.backend.exception.SeatNotFoundException;
@@ -9,10 +10,13 @@ import com.studymate.backend.model.StudyHall;
 import com.studymate.backend.repository.SeatRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing seat maintenance status.
@@ -24,6 +28,7 @@ import java.util.List;
 public class SeatStatusService {
 
     private final SeatRepository seatRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Updates the status of a single seat.
@@ -61,6 +66,7 @@ public class SeatStatusService {
         }
 
         seatRepository.save(seat);
+        eventPublisher.publishEvent(SeatMapChangedEvent.seatsUpdated(seat.getHall().getId(), List.of(seatId)));
 
         log.info("Updated seat {} to status: {}", seatId, request.getStatus());
 
@@ -112,6 +118,12 @@ public class SeatStatusService {
 
         seatRepository.saveAll(seats);
 
+        Map<Long, List<Long>> seatIdsByHall = seats.stream()
+            .collect(Collectors.groupingBy(seat -> seat.getHall().getId(),
+                Collectors.mapping(Seat::getId, Collectors.toList())));
+        seatIdsByHall.forEach((hallId, seatIds) ->
+            eventPublisher.publishEvent(SeatMapChangedEvent.seatsUpdated(hallId, seatIds)));
+
         log.info("Bulk updated {} seats to status: {}",
             seats.size(), request.getStatus());
 
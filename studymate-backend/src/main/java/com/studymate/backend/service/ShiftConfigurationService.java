@@ -4,6 +4,7 @@ import com.studymate.backend.dto.DayHoursDTO;
 import com.studymate.backend.dto.ShiftConfigRequest;
 import com.studymate.backend.dto.ShiftConfigResponse;
 import com.studymate.backend.dto.ShiftDTO;
+import com.studymate.backend.event.OpeningHoursChangedEvent;
 import com.studymate.backend.exception.ForbiddenException;
 import com.studymate.backend.exception.InvalidRequestException;
 import com.studymate.backend.exception.ResourceNotFoundException;
@@ -12,6 +13,7 @@ import com.studymate.backend.model.User;
 import com.studymate.backend.repository.StudyHallRepository;
 import com.studymate.backend.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,11 +35,14 @@ public class ShiftConfigurationService {
 
     private final StudyHallRepository studyHallRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ShiftConfigurationService(StudyHallRepository studyHallRepository,
-                                    UserRepository userRepository) {
+                                    UserRepository userRepository,
+                                    ApplicationEventPublisher eventPublisher) {
         this.studyHallRepository = studyHallRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -61,6 +66,7 @@ public class ShiftConfigurationService {
         // Update opening hours
         hall.setOpeningHours(request.getOpeningHours());
         studyHallRepository.save(hall);
+        eventPublisher.publishEvent(new OpeningHoursChangedEvent(hallId));
 
         log.info("Saved shift configuration for hall: {}", hallId);
 
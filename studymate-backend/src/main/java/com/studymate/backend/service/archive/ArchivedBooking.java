@@ -0,0 +1,32 @@
+package com.studymate.backend.service.archive;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A finished booking read back from an archive file. Times are whole seconds.
+ *
+ * @param bookingId the booking ID
+ * @param userId the student who booked
+ * @param seatId the booked seat
+ * @param paymentId the payment, or null
+ * @param startTime start of the booking
+ * @param endTime end of the booking (exclusive)
+ * @param checkInTime first gate entry, or null
+ * @param checkOutTime last gate exit, or null
+ * @param status COMPLETED, CANCELLED or NO_SHOW
+ * @param amount price of the booking, or null
+ * @param createdAt when the booking was made, or null
+ */
+public record ArchivedBooking(long bookingId, long userId, long seatId, Long paymentId,
+                              LocalDateTime startTime, LocalDateTime endTime,
+                              LocalDateTime checkInTime, LocalDateTime checkOutTime,
+                              String status, BigDecimal amount, LocalDateTime createdAt) {
+
+    /**
+     * @return whether the booking counts towards revenue and reports
+     */
+    public boolean isBillable() {
+        return "COMPLETED".equals(status) || "NO_SHOW".equals(status);
+    }
+}
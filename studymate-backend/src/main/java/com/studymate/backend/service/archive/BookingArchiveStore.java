@@ -0,0 +1,389 @@
+package com.studymate.backend.service.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compressed files holding the archived bookings of one hall and month, at
+ * {@code <app.archive.dir>/bookings/hall-<id>/<yyyy-MM>.bin.gz}.
+ *
+ * <p>A file is a sequence of gzip members, one per archiving run. A member
+ * starts with a magic number and version, followed by blocks of up to one
+ * batch of bookings and a zero row count. Within a block each column is
+ * stored contiguously as variable-length integers, so similar values sit
+ * together and compress well:</p>
+ * <ul>
+ *   <li>booking ID and start time as deltas from the previous row</li>
+ *   <li>user, seat and payment IDs</li>
+ *   <li>duration, and check-in, check-out and creation times as offsets from the start</li>
+ *   <li>status as a one-byte code, amount in cents</li>
+ * </ul>
+ *
+ * <p>Writes go to a temporary copy of the file that is synced and then moved
+ * over it, so a reader never sees a partial member. If the bookings of a run
+ * could not be deleted afterwards they are archived again by the next run;
+ * readers keep the first copy of each booking ID.</p>
+ */
+@Component
+@Slf4j
+public class BookingArchiveStore {
+
+    private static final int MAGIC = 0x534D4241;
+    private static final int VERSION = 1;
+    private static final List<String> STATUSES = List.of("COMPLETED", "CANCELLED", "NO_SHOW", "CONFIRMED", "PENDING");
+
+    private final Path root;
+
+    public BookingArchiveStore(@Value("${app.archive.dir:archive}") String archiveDir) {
+        this.root = Paths.get(archiveDir).toAbsolutePath().normalize().resolve("bookings");
+    }
+
+    /**
+     * @param hallId the hall ID
+     * @param month the month
+     * @return whether the hall has archived bookings for the month
+     */
+    public boolean exists(long hallId, YearMonth month) {
+        return Files.isRegularFile(path(hallId, month));
+    }
+
+    /**
+     * Read the archived bookings of a hall and month.
+     *
+     * @param hallId the hall ID
+     * @param month the month
+     * @return the bookings in the order they were archived, or an empty list if none were
+     * @throws UncheckedIOException if the file can't be read
+     */
+    public List<ArchivedBooking> read(long hallId, YearMonth month) {
+        Path file = path(hallId, month);
+        if (!Files.isRegularFile(file)) {
+            return List.of();
+        }
+
+        Map<Long, ArchivedBooking> bookings = new LinkedHashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file), 64 * 1024)))) {
+            while (readHeader(in, file)) {
+                int rows;
+                while ((rows = (int) readVarLong(in)) > 0) {
+                    for (ArchivedBooking booking : readBlock(in, rows)) {
+                        bookings.putIfAbsent(booking.bookingId(), booking);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read booking archive " + file, e);
+        }
+        return new ArrayList<>(bookings.values());
+    }
+
+    /**
+     * Start adding bookings to the archive of a hall and month. Nothing is
+     * visible to readers until {@link Writer#commit()}.
+     *
+     * @param hallId the hall ID
+     * @param month the month
+     * @return a writer that must be closed
+     * @throws UncheckedIOException if the file can't be created
+     */
+    public Writer open(long hallId, YearMonth month) {
+        Path file = path(hallId, month);
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".part");
+            if (Files.exists(file)) {
+                Files.copy(file, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return new Writer(file, temp);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open booking archive " + file, e);
+        }
+    }
+
+    Path path(long hallId, YearMonth month) {
+        return root.resolve("hall-" + hallId).resolve(month + ".bin.gz");
+    }
+
+    /**
+     * Appends one gzip member to a temporary copy of an archive file.
+     */
+    public static final class Writer implements Closeable {
+
+        private final Path file;
+        private final Path temp;
+        private final FileOutputStream fileOut;
+        private final GZIPOutputStream gzip;
+        private final DataOutputStream out;
+        private boolean committed;
+
+        private Writer(Path file, Path temp) throws IOException {
+            this.file = file;
+            this.temp = temp;
+            this.fileOut = new FileOutputStream(temp.toFile(), true);
+            this.gzip = new GZIPOutputStream(new BufferedOutputStream(fileOut, 64 * 1024), 64 * 1024);
+            this.out = new DataOutputStream(gzip);
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+        }
+
+        /**
+         * Write a block of bookings.
+         *
+         * @param bookings the bookings, typically one batch
+         * @throws UncheckedIOException if the block can't be written
+         */
+        public void append(List<ArchivedBooking> bookings) {
+            if (bookings.isEmpty()) {
+                return;
+            }
+            try {
+                writeBlock(out, bookings);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write booking archive " + file, e);
+            }
+        }
+
+        /**
+         * Finish the member, sync it to disk and replace the archive file with it.
+         *
+         * @throws UncheckedIOException if the file can't be written or moved
+         */
+        public void commit() {
+            try {
+                writeVarLong(out, 0);
+                gzip.finish();
+                out.flush();
+                fileOut.getChannel().force(true);
+                out.close();
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                committed = true;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write booking archive " + file, e);
+            }
+        }
+
+        /**
+         * Discard the temporary file unless committed.
+         */
+        @Override
+        public void close() {
+            if (committed) {
+                return;
+            }
+            try {
+                out.close();
+            } catch (IOException e) {
+                log.debug("Closing abandoned archive {} failed", temp, e);
+            }
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                log.warn("Could not delete abandoned archive {}", temp, e);
+            }
+        }
+    }
+
+    private static void writeBlock(DataOutputStream out, List<ArchivedBooking> bookings) throws IOException {
+        writeVarLong(out, bookings.size());
+
+        long previous = 0;
+        for (ArchivedBooking booking : bookings) {
+            writeVarLong(out, zigzag(booking.bookingId() - previous));
+            previous = booking.bookingId();
+        }
+        for (ArchivedBooking booking : bookings) {
+            writeVarLong(out, booking.userId());
+        }
+        for (ArchivedBooking booking : bookings) {
+            writeVarLong(out, booking.seatId());
+        }
+        for (ArchivedBooking booking : bookings) {
+            writeNullable(out, booking.paymentId());
+        }
+        previous = 0;
+        for (ArchivedBooking booking : bookings) {
+            long start = epochSecond(booking.startTime());
+            writeVarLong(out, zigzag(start - previous));
+            previous = start;
+        }
+        for (ArchivedBooking booking : bookings) {
+            writeVarLong(out, zigzag(epochSecond(booking.endTime()) - epochSecond(booking.startTime())));
+        }
+        for (ArchivedBooking booking : bookings) {
+            writeNullable(out, offset(booking.startTime(), booking.checkInTime()));
+        }
+        for (ArchivedBooking booking : bookings) {
+            writeNullable(out, offset(booking.startTime(), booking.checkOutTime()));
+        }
+        for (ArchivedBooking booking : bookings) {
+            int code = STATUSES.indexOf(booking.status());
+            if (code < 0) {
+                throw new IllegalArgumentException("Unknown booking status: " + booking.status());
+            }
+            out.writeByte(code);
+        }
+        for (ArchivedBooking booking : bookings) {
+            writeNullable(out, booking.amount() == null
+                ? null
+                : booking.amount().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+        }
+        for (ArchivedBooking booking : bookings) {
+            writeNullable(out, offset(booking.startTime(), booking.createdAt()));
+        }
+    }
+
+    private static List<ArchivedBooking> readBlock(DataInputStream in, int rows) throws IOException {
+        long[] ids = new long[rows];
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            previous += unzigzag(readVarLong(in));
+            ids[i] = previous;
+        }
+        long[] userIds = readLongs(in, rows);
+        long[] seatIds = readLongs(in, rows);
+        Long[] paymentIds = readNullables(in, rows);
+        long[] starts = new long[rows];
+        previous = 0;
+        for (int i = 0; i < rows; i++) {
+            previous += unzigzag(readVarLong(in));
+            starts[i] = previous;
+        }
+        long[] durations = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            durations[i] = unzigzag(readVarLong(in));
+        }
+        Long[] checkIns = readNullables(in, rows);
+        Long[] checkOuts = readNullables(in, rows);
+        String[] statuses = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            int code = in.readUnsignedByte();
+            if (code >= STATUSES.size()) {
+                throw new IOException("Unknown booking status code " + code);
+            }
+            statuses[i] = STATUSES.get(code);
+        }
+        Long[] amounts = readNullables(in, rows);
+        Long[] createdAts = readNullables(in, rows);
+
+        List<ArchivedBooking> bookings = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            LocalDateTime start = LocalDateTime.ofEpochSecond(starts[i], 0, ZoneOffset.UTC);
+            bookings.add(new ArchivedBooking(ids[i], userIds[i], seatIds[i], paymentIds[i],
+                start, start.plusSeconds(durations[i]),
+                plus(start, checkIns[i]), plus(start, checkOuts[i]),
+                statuses[i],
+                amounts[i] == null ? null : BigDecimal.valueOf(amounts[i], 2),
+                plus(start, createdAts[i])));
+        }
+        return bookings;
+    }
+
+    /**
+     * @return false at the end of the file, true at the start of another member
+     */
+    private static boolean readHeader(DataInputStream in, Path file) throws IOException {
+        int magic;
+        try {
+            magic = in.readInt();
+        } catch (EOFException e) {
+            return false;
+        }
+        int version = in.readUnsignedByte();
+        if (magic != MAGIC || version != VERSION) {
+            throw new IOException("Not a version " + VERSION + " booking archive: " + file);
+        }
+        return true;
+    }
+
+    private static long[] readLongs(DataInputStream in, int rows) throws IOException {
+        long[] values = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            values[i] = readVarLong(in);
+        }
+        return values;
+    }
+
+    private static Long[] readNullables(DataInputStream in, int rows) throws IOException {
+        Long[] values = new Long[rows];
+        for (int i = 0; i < rows; i++) {
+            long value = readVarLong(in);
+            values[i] = value == 0 ? null : unzigzag(value - 1);
+        }
+        return values;
+    }
+
+    /**
+     * Nullable values are stored as zigzag + 1, leaving 0 for null.
+     */
+    private static void writeNullable(DataOutputStream out, Long value) throws IOException {
+        writeVarLong(out, value == null ? 0 : zigzag(value) + 1);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.truncatedTo(ChronoUnit.SECONDS).toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static Long offset(LocalDateTime start, LocalDateTime time) {
+        return time == null ? null : epochSecond(time) - epochSecond(start);
+    }
+
+    private static LocalDateTime plus(LocalDateTime start, Long offset) {
+        return offset == null ? null : start.plusSeconds(offset);
+    }
+}
@@ -0,0 +1,165 @@
+package com.studymate.backend.service.archive;
+
+import com.studymate.backend.repository.BookingArchiveRepository;
+import com.studymate.backend.repository.projection.BookingArchiveRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Moves finished bookings older than {@code app.archive.after-months} months
+ * out of the bookings table into {@link BookingArchiveStore} files, one per
+ * hall and month. Disabled while the setting is 0.
+ *
+ * <p>Each hall-month is read in keyset batches of {@code app.archive.batch-size}
+ * bookings, each batch written as one block of the hall-month's file. Once
+ * the file is synced to disk the archived bookings are deleted in batches of
+ * the same size, and each delete adds its bookings' count and billable
+ * revenue to the hall-month's {@code booking_archives} row in the same
+ * statement, so all-time revenue stays whole. Bookings still CONFIRMED or
+ * PENDING in an archived month are left in the table. Deletes bypass the
+ * entity, so no booking change events are published; finished bookings no
+ * longer affect occupancy or availability.</p>
+ *
+ * <p>Metrics:
+ * <ul>
+ *   <li>{@code studymate.archive.bookings} - bookings moved to archive files</li>
+ *   <li>{@code studymate.archive.run} - time taken by each run</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class BookingArchiver {
+
+    /**
+     * Keyset cursor before every row.
+     */
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final BookingArchiveRepository archiveRepository;
+    private final BookingArchiveStore archiveStore;
+    private final TransactionTemplate transactionTemplate;
+    private final int afterMonths;
+    private final int batchSize;
+    private final Counter archived;
+    private final Timer runTimer;
+
+    public BookingArchiver(BookingArchiveRepository archiveRepository,
+                           BookingArchiveStore archiveStore,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.archive.after-months:0}") int afterMonths,
+                           @Value("${app.archive.batch-size:5000}") int batchSize) {
+        this.archiveRepository = archiveRepository;
+        this.archiveStore = archiveStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.afterMonths = afterMonths;
+        this.batchSize = batchSize;
+        this.archived = Counter.builder("studymate.archive.bookings")
+            .description("Finished bookings moved to archive files")
+            .register(meterRegistry);
+        this.runTimer = Timer.builder("studymate.archive.run")
+            .description("Time taken by a booking archive run")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Archive every month that has fallen past {@code app.archive.after-months}.
+     *
+     * @return number of bookings archived
+     */
+    @Scheduled(fixedDelayString = "${app.archive.interval-ms:86400000}",
+               initialDelayString = "${app.archive.interval-ms:86400000}")
+    public long run() {
+        if (afterMonths <= 0) {
+            return 0;
+        }
+        return runTimer.record(() -> {
+            YearMonth cutoff = YearMonth.now().minusMonths(afterMonths);
+            long total = 0;
+            YearMonth month = archiveRepository.findOldestFinishedStartTime(cutoff.atDay(1).atStartOfDay())
+                .map(YearMonth::from)
+                .orElse(cutoff);
+            for (; month.isBefore(cutoff); month = month.plusMonths(1)) {
+                total += archiveMonth(month);
+            }
+            if (total > 0) {
+                log.info("Archived {} bookings older than {}", total, cutoff);
+            }
+            return total;
+        });
+    }
+
+    /**
+     * Archive the finished bookings of every hall in a month.
+     *
+     * @param month the month
+     * @return number of bookings archived
+     */
+    public long archiveMonth(YearMonth month) {
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        long total = 0;
+        for (Long hallId : archiveRepository.findHallIdsWithFinishedBookings(from, to)) {
+            total += archiveHallMonth(hallId, month, from, to);
+        }
+        return total;
+    }
+
+    private long archiveHallMonth(Long hallId, YearMonth month, LocalDateTime from, LocalDateTime to) {
+        List<Long> bookingIds = new ArrayList<>();
+        try (BookingArchiveStore.Writer writer = archiveStore.open(hallId, month)) {
+            LocalDateTime afterTime = KEYSET_START;
+            long afterId = 0;
+            List<BookingArchiveRow> rows;
+            do {
+                rows = archiveRepository.findFinishedBookings(hallId, from, to, afterTime, afterId, batchSize);
+                writer.append(rows.stream().map(BookingArchiver::toArchived).toList());
+                for (BookingArchiveRow row : rows) {
+                    bookingIds.add(row.getBookingId());
+                }
+                if (!rows.isEmpty()) {
+                    BookingArchiveRow last = rows.get(rows.size() - 1);
+                    afterTime = last.getStartTime();
+                    afterId = last.getBookingId();
+                }
+            } while (rows.size() == batchSize);
+
+            if (bookingIds.isEmpty()) {
+                return 0;
+            }
+            writer.commit();
+        }
+
+        // The file is durable; a failure from here on leaves bookings to be archived again
+        long deleted = 0;
+        Long[] ids = bookingIds.toArray(Long[]::new);
+        for (int start = 0; start < ids.length; start += batchSize) {
+            Long[] batch = Arrays.copyOfRange(ids, start, Math.min(start + batchSize, ids.length));
+            Long count = transactionTemplate.execute(status ->
+                archiveRepository.deleteArchivedBookings(hallId, month.atDay(1), batch));
+            deleted += count != null ? count : 0;
+        }
+        archived.increment(deleted);
+        log.debug("Archived {} bookings of hall {} for {}", deleted, hallId, month);
+        return deleted;
+    }
+
+    private static ArchivedBooking toArchived(BookingArchiveRow row) {
+        return new ArchivedBooking(row.getBookingId(), row.getUserId(), row.getSeatId(), row.getPaymentId(),
+            row.getStartTime(), row.getEndTime(), row.getCheckInTime(), row.getCheckOutTime(),
+            row.getStatus(), row.getAmount(), row.getCreatedAt());
+    }
+}
@@ -0,0 +1,320 @@
+package com.studymate.backend.service.availability;
+
+import com.studymate.backend.dto.ShiftDTO;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Minute-level availability of every seat of a hall on one day.
+ *
+ * <p>Each seat owns {@value #WORDS} consecutive 64-bit words per layer, one bit
+ * per minute of the day. Booked minutes and blocked minutes (maintenance or a
+ * non-bookable seat status) are kept in separate layers, so a booking can be
+ * cleared exactly without disturbing a maintenance window that covers the same
+ * minutes; confirmed bookings of one seat never overlap, so booking bits never
+ * need reference counting. Minutes outside the hall's opening hours are kept in
+ * a single closed mask.</p>
+ *
+ * <p>A query builds a mask of the requested minutes once and tests each seat
+ * against only the words the interval touches, so a four-hour interval costs
+ * about five word operations per seat. Queries may run concurrently with each
+ * other; booking updates take the write lock.</p>
+ */
+public class HallDayAvailability {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+    static final int WORDS = (MINUTES_PER_DAY + 63) / 64;
+
+    private final Long hallId;
+    private final LocalDate date;
+    private final boolean bookable;
+    private final long[] seatIds;
+    private final String[] seatNumbers;
+    private final int[] sortedIndex;
+    private final long[] sortedSeatIds;
+    private final long[] booked;
+    private final long[] blocked;
+    private final long[] closed;
+    private final List<ShiftDTO> shifts;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param hallId the hall ID
+     * @param date the day
+     * @param bookable whether the hall accepts bookings at all
+     * @param seatIds seat IDs in display order
+     * @param seatNumbers seat numbers in the same order
+     * @param open opening time, or null if the hall is closed all day
+     * @param close closing time; {@code 00:00} closes at midnight
+     * @param shifts the day's shifts, possibly empty
+     */
+    HallDayAvailability(Long hallId, LocalDate date, boolean bookable,
+                        long[] seatIds, String[] seatNumbers,
+                        LocalTime open, LocalTime close, List<ShiftDTO> shifts) {
+        this.hallId = hallId;
+        this.date = date;
+        this.bookable = bookable;
+        this.seatIds = seatIds;
+        this.seatNumbers = seatNumbers;
+        this.booked = new long[seatIds.length * WORDS];
+        this.blocked = new long[seatIds.length * WORDS];
+        this.closed = new long[WORDS];
+        this.shifts = List.copyOf(shifts);
+
+        // Seat ID -> position, via a sorted copy searched with binary search
+        Integer[] order = new Integer[seatIds.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(seatIds[a], seatIds[b]));
+        this.sortedIndex = new int[seatIds.length];
+        this.sortedSeatIds = new long[seatIds.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedIndex[i] = order[i];
+            sortedSeatIds[i] = seatIds[order[i]];
+        }
+
+        setRange(closed, 0, 0, MINUTES_PER_DAY);
+        if (open != null) {
+            clearRange(closed, 0, toMinute(open), close.equals(LocalTime.MIDNIGHT) ? MINUTES_PER_DAY : toMinute(close));
+        }
+    }
+
+    public Long getHallId() {
+        return hallId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public boolean isBookable() {
+        return bookable;
+    }
+
+    public int getSeatCount() {
+        return seatIds.length;
+    }
+
+    public List<ShiftDTO> getShifts() {
+        return shifts;
+    }
+
+    /**
+     * Find the seats that are free for the whole of [from, to).
+     *
+     * @param from first minute of the interval
+     * @param to end of the interval (exclusive); {@code 00:00} means midnight at the end of the day
+     * @return free seats in display order; empty if the hall is closed during any part of the interval
+     */
+    public List<FreeSeat> freeSeats(LocalTime from, LocalTime to) {
+        int fromMinute = toMinute(from);
+        int toMinute = to.equals(LocalTime.MIDNIGHT) ? MINUTES_PER_DAY : toMinute(to);
+        long[] mask = new long[WORDS];
+        setRange(mask, 0, fromMinute, toMinute);
+        int firstWord = fromMinute >>> 6;
+        int lastWord = (toMinute - 1) >>> 6;
+
+        List<FreeSeat> free = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (!bookable || intersects(closed, 0, mask, firstWord, lastWord)) {
+                return free;
+            }
+            for (int seat = 0; seat < seatIds.length; seat++) {
+                if (isFree(seat, mask, firstWord, lastWord)) {
+                    free.add(new FreeSeat(seatIds[seat], seatNumbers[seat]));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return free;
+    }
+
+    /**
+     * Count the seats that are free for the whole of [from, to).
+     *
+     * @param from first minute of the interval
+     * @param to end of the interval (exclusive); {@code 00:00} means midnight at the end of the day
+     * @return number of free seats; 0 if the hall is closed during any part of the interval
+     */
+    public int countFreeSeats(LocalTime from, LocalTime to) {
+        int fromMinute = toMinute(from);
+        int toMinute = to.equals(LocalTime.MIDNIGHT) ? MINUTES_PER_DAY : toMinute(to);
+        long[] mask = new long[WORDS];
+        setRange(mask, 0, fromMinute, toMinute);
+        int firstWord = fromMinute >>> 6;
+        int lastWord = (toMinute - 1) >>> 6;
+
+        lock.readLock().lock();
+        try {
+            if (!bookable || intersects(closed, 0, mask, firstWord, lastWord)) {
+                return 0;
+            }
+            int count = 0;
+            for (int seat = 0; seat < seatIds.length; seat++) {
+                if (isFree(seat, mask, firstWord, lastWord)) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Mark a booking's minutes on this day as booked.
+     *
+     * @return false if the seat is not part of this hall day
+     */
+    boolean book(long seatId, LocalDateTime start, LocalDateTime end) {
+        return updateBooked(seatId, start, end, true);
+    }
+
+    /**
+     * Clear a booking's minutes on this day.
+     *
+     * @return false if the seat is not part of this hall day
+     */
+    boolean unbook(long seatId, LocalDateTime start, LocalDateTime end) {
+        return updateBooked(seatId, start, end, false);
+    }
+
+    /**
+     * Mark minutes of a seat as blocked. Only used while building.
+     */
+    void block(long seatId, LocalDateTime start, LocalDateTime end) {
+        int seat = indexOf(seatId);
+        int[] minutes = minutesOnThisDay(start, end);
+        if (seat >= 0 && minutes != null) {
+            setRange(blocked, seat * WORDS, minutes[0], minutes[1]);
+        }
+    }
+
+    private boolean updateBooked(long seatId, LocalDateTime start, LocalDateTime end, boolean book) {
+        int seat = indexOf(seatId);
+        if (seat < 0) {
+            return false;
+        }
+        int[] minutes = minutesOnThisDay(start, end);
+        if (minutes == null) {
+            return true;
+        }
+        lock.writeLock().lock();
+        try {
+            if (book) {
+                setRange(booked, seat * WORDS, minutes[0], minutes[1]);
+            } else {
+                clearRange(booked, seat * WORDS, minutes[0], minutes[1]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    private boolean isFree(int seat, long[] mask, int firstWord, int lastWord) {
+        int base = seat * WORDS;
+        for (int word = firstWord; word <= lastWord; word++) {
+            if (((booked[base + word] | blocked[base + word]) & mask[word]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean intersects(long[] bits, int base, long[] mask, int firstWord, int lastWord) {
+        for (int word = firstWord; word <= lastWord; word++) {
+            if ((bits[base + word] & mask[word]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int indexOf(long seatId) {
+        int sorted = Arrays.binarySearch(sortedSeatIds, seatId);
+        return sorted >= 0 ? sortedIndex[sorted] : -1;
+    }
+
+    /**
+     * Clip [start, end) to this day.
+     *
+     * @return first and end minute on this day, or null if the period misses the day
+     */
+    private int[] minutesOnThisDay(LocalDateTime start, LocalDateTime end) {
+        LocalDateTime dayStart = date.atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+        if (start != null && !start.isBefore(dayEnd) || end != null && !end.isAfter(dayStart)) {
+            return null;
+        }
+        int from = start == null || start.isBefore(dayStart) ? 0 : toMinute(start.toLocalTime());
+        int to = end == null || !end.isBefore(dayEnd) ? MINUTES_PER_DAY : minuteCeiling(end.toLocalTime());
+        return from < to ? new int[] {from, to} : null;
+    }
+
+    private static int toMinute(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * A booking ending at 10:00:30 still occupies the 10:00 minute.
+     */
+    private static int minuteCeiling(LocalTime time) {
+        int minute = toMinute(time);
+        return time.getSecond() > 0 || time.getNano() > 0 ? minute + 1 : minute;
+    }
+
+    static void setRange(long[] bits, int base, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << (from & 63);
+        long lastMask = -1L >>> (63 - ((to - 1) & 63));
+        if (firstWord == lastWord) {
+            bits[base + firstWord] |= firstMask & lastMask;
+            return;
+        }
+        bits[base + firstWord] |= firstMask;
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            bits[base + word] = -1L;
+        }
+        bits[base + lastWord] |= lastMask;
+    }
+
+    static void clearRange(long[] bits, int base, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << (from & 63);
+        long lastMask = -1L >>> (63 - ((to - 1) & 63));
+        if (firstWord == lastWord) {
+            bits[base + firstWord] &= ~(firstMask & lastMask);
+            return;
+        }
+        bits[base + firstWord] &= ~firstMask;
+        for (int word = firstWord + 1; word < lastWord; word++) {
+            bits[base + word] = 0L;
+        }
+        bits[base + lastWord] &= ~lastMask;
+    }
+
+    /**
+     * A seat that is free for a queried interval.
+     */
+    public record FreeSeat(Long seatId, String seatNumber) {
+    }
+}
@@ -0,0 +1,304 @@
+package com.studymate.backend.service.availability;
+
+import com.studymate.backend.dto.DayHoursDTO;
+import com.studymate.backend.dto.ShiftDTO;
+import com.studymate.backend.event.BookingChangedEvent;
+import com.studymate.backend.event.OpeningHoursChangedEvent;
+import com.studymate.backend.event.SeatHoldChangedEvent;
+import com.studymate.backend.event.SeatMapChangedEvent;
+import com.studymate.backend.exception.ResourceNotFoundException;
+import com.studymate.backend.model.BookingSnapshot;
+import com.studymate.backend.model.HallStatus;
+import com.studymate.backend.model.StudyHall;
+import com.studymate.backend.repository.BookingRepository;
+import com.studymate.backend.repository.SeatRepository;
+import com.studymate.backend.repository.StudyHallRepository;
+import com.studymate.backend.repository.projection.SeatAvailabilityRow;
+import com.studymate.backend.repository.projection.SeatBookingIntervalRow;
+import com.studymate.backend.service.booking.SeatHold;
+import com.studymate.backend.service.booking.SeatHoldRegistry;
+import com.studymate.backend.service.occupancy.SeatHallLookup;
+import com.studymate.backend.service.support.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of {@link HallDayAvailability} per hall and day, used to answer
+ * availability searches without querying bookings.
+ *
+ * <p>A hall day is built on first use from the hall's opening hours, its seats'
+ * status and maintenance windows, and the confirmed bookings overlapping the
+ * day. Afterwards committed {@link BookingChangedEvent}s update its booking
+ * bits in place. Seat holds taken during checkout count as booked: a held
+ * period overlaps no booking of its seat, so it shares the booking layer and
+ * is cleared again when the hold ends. Seat and opening-hours changes are
+ * rare, so they simply drop the hall's days to be rebuilt on their next
+ * use.</p>
+ *
+ * <p>Each hall has a generation that every change bumps; a day whose build
+ * overlapped a change is returned to its caller but not cached, so a build can
+ * never cache a state that misses a committed change. Days are evicted least
+ * recently used beyond {@code app.availability.max-cached-days}.</p>
+ *
+ * <p>Metrics: {@code studymate.availability.days} - hall days currently cached.</p>
+ */
+@Component
+@Slf4j
+public class SeatAvailabilityIndex {
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final StudyHallRepository studyHallRepository;
+    private final SeatRepository seatRepository;
+    private final BookingRepository bookingRepository;
+    private final SeatHallLookup seatHallLookup;
+    private final SeatHoldRegistry holdRegistry;
+    private final TransactionTemplate readOnly;
+    private final SingleFlight<HallDay, HallDayAvailability> builds;
+    private final Map<HallDay, HallDayAvailability> days;
+    private final ConcurrentHashMap<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public SeatAvailabilityIndex(StudyHallRepository studyHallRepository,
+                                 SeatRepository seatRepository,
+                                 BookingRepository bookingRepository,
+                                 SeatHallLookup seatHallLookup,
+                                 SeatHoldRegistry holdRegistry,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.availability.max-cached-days:2000}") int maxCachedDays) {
+        this.studyHallRepository = studyHallRepository;
+        this.seatRepository = seatRepository;
+        this.bookingRepository = bookingRepository;
+        this.seatHallLookup = seatHallLookup;
+        this.holdRegistry = holdRegistry;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.builds = new SingleFlight<>("availability", meterRegistry);
+        this.days = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<HallDay, HallDayAvailability> eldest) {
+                return size() > maxCachedDays;
+            }
+        };
+        meterRegistry.gauge("studymate.availability.days", days, this::cachedDays);
+    }
+
+    /**
+     * Get the availability of a hall on a day, building it if it is not cached.
+     *
+     * @param hallId the hall ID
+     * @param date the day
+     * @return the hall day
+     * @throws ResourceNotFoundException if the hall doesn't exist
+     */
+    public HallDayAvailability get(Long hallId, LocalDate date) {
+        HallDay key = new HallDay(hallId, date);
+        synchronized (days) {
+            HallDayAvailability cached = days.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return builds.execute(key, () -> {
+            long generation = generationOf(hallId).get();
+            HallDayAvailability built = readOnly.execute(status -> build(hallId, date));
+            synchronized (days) {
+                if (generationOf(hallId).get() == generation) {
+                    days.put(key, built);
+                }
+            }
+            return built;
+        });
+    }
+
+    /**
+     * Drop every cached day of a hall.
+     *
+     * @param hallId the hall ID
+     */
+    public void invalidateHall(Long hallId) {
+        generationOf(hallId).incrementAndGet();
+        synchronized (days) {
+            days.keySet().removeIf(key -> key.hallId().equals(hallId));
+        }
+    }
+
+    /**
+     * Move a committed booking change into the cached days of its hall.
+     *
+     * @param event the booking change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (event.getSeatId() == null) {
+            return;
+        }
+        Long hallId = seatHallLookup.hallIdOf(event);
+        if (hallId == null) {
+            return;
+        }
+        generationOf(hallId).incrementAndGet();
+
+        long seatId = event.getSeatId();
+        BookingSnapshot previous = event.wasConfirmed() ? event.getPrevious() : null;
+        BookingSnapshot current = event.isConfirmed() ? event.getCurrent() : null;
+        for (HallDayAvailability day : cachedDaysOf(hallId)) {
+            boolean known = previous == null || day.unbook(seatId, previous.getStartTime(), previous.getEndTime());
+            if (known && current != null) {
+                known = day.book(seatId, current.getStartTime(), current.getEndTime());
+            }
+            if (!known) {
+                // Seat added since the day was built
+                evict(day);
+            }
+        }
+    }
+
+    /**
+     * Mark a held period as taken, or free it again when the hold ends.
+     * A hold that becomes a booking is freed here and marked again by the
+     * booking's commit.
+     *
+     * @param event the hold change
+     */
+    @EventListener
+    public void onSeatHoldChanged(SeatHoldChangedEvent event) {
+        Long hallId = event.getHallId();
+        generationOf(hallId).incrementAndGet();
+        for (HallDayAvailability day : cachedDaysOf(hallId)) {
+            boolean known = event.isHeld()
+                ? day.book(event.getSeatId(), event.getStartTime(), event.getEndTime())
+                : day.unbook(event.getSeatId(), event.getStartTime(), event.getEndTime());
+            if (!known) {
+                evict(day);
+            }
+        }
+    }
+
+    /**
+     * Rebuild a hall's days after its seats changed status or layout.
+     *
+     * @param event the seat change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatMapChanged(SeatMapChangedEvent event) {
+        invalidateHall(event.getHallId());
+    }
+
+    /**
+     * Rebuild a hall's days after its opening hours or shifts changed.
+     *
+     * @param event the opening-hours change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOpeningHoursChanged(OpeningHoursChangedEvent event) {
+        invalidateHall(event.getHallId());
+    }
+
+    private HallDayAvailability build(Long hallId, LocalDate date) {
+        StudyHall hall = studyHallRepository.findById(hallId)
+            .orElseThrow(() -> new ResourceNotFoundException("Hall not found"));
+
+        List<SeatAvailabilityRow> seats = seatRepository.findAvailabilityRowsByHallId(hallId);
+        long[] seatIds = new long[seats.size()];
+        String[] seatNumbers = new String[seats.size()];
+        for (int i = 0; i < seats.size(); i++) {
+            seatIds[i] = seats.get(i).getId();
+            seatNumbers[i] = seats.get(i).getSeatNumber();
+        }
+
+        HallDayAvailability day = openingHoursOf(hall, date, seatIds, seatNumbers);
+
+        for (SeatAvailabilityRow seat : seats) {
+            if ("MAINTENANCE".equals(seat.getStatus())) {
+                day.block(seat.getId(), seat.getMaintenanceStarted(), seat.getMaintenanceUntil());
+            } else if (!"AVAILABLE".equals(seat.getStatus())) {
+                day.block(seat.getId(), null, null);
+            }
+        }
+
+        LocalDateTime dayStart = date.atStartOfDay();
+        for (SeatBookingIntervalRow booking : bookingRepository.findOverlappingIntervalsByHallId(
+                hallId, dayStart, dayStart.plusDays(1))) {
+            day.book(booking.getSeatId(), booking.getStartTime(), booking.getEndTime());
+        }
+        for (SeatHold hold : holdRegistry.holdsOfHall(hallId)) {
+            day.book(hold.getSeatId(), hold.getStartTime(), hold.getEndTime());
+        }
+
+        log.debug("Built availability of hall {} on {} for {} seats", hallId, date, seatIds.length);
+        return day;
+    }
+
+    /**
+     * A hall without configured opening hours is open all day without shifts;
+     * a configured hall is closed on days it has no entry for.
+     */
+    private HallDayAvailability openingHoursOf(StudyHall hall, LocalDate date, long[] seatIds, String[] seatNumbers) {
+        boolean bookable = hall.getStatus() == HallStatus.ACTIVE;
+        Map<String, DayHoursDTO> openingHours = hall.getOpeningHours();
+        if (openingHours == null || openingHours.isEmpty()) {
+            return new HallDayAvailability(hall.getId(), date, bookable, seatIds, seatNumbers,
+                LocalTime.MIDNIGHT, LocalTime.MIDNIGHT, List.of());
+        }
+
+        DayHoursDTO hours = openingHours.get(date.getDayOfWeek().name().toLowerCase(Locale.ROOT));
+        if (hours == null) {
+            return new HallDayAvailability(hall.getId(), date, bookable, seatIds, seatNumbers,
+                null, null, List.of());
+        }
+        List<ShiftDTO> shifts = hours.getShifts() != null ? hours.getShifts() : List.of();
+        return new HallDayAvailability(hall.getId(), date, bookable, seatIds, seatNumbers,
+            LocalTime.parse(hours.getOpen(), TIME_FORMATTER), LocalTime.parse(hours.getClose(), TIME_FORMATTER),
+            shifts);
+    }
+
+    private List<HallDayAvailability> cachedDaysOf(Long hallId) {
+        List<HallDayAvailability> cached = new ArrayList<>();
+        synchronized (days) {
+            for (Map.Entry<HallDay, HallDayAvailability> entry : days.entrySet()) {
+                if (entry.getKey().hallId().equals(hallId)) {
+                    cached.add(entry.getValue());
+                }
+            }
+        }
+        return cached;
+    }
+
+    private void evict(HallDayAvailability day) {
+        synchronized (days) {
+            days.remove(new HallDay(day.getHallId(), day.getDate()), day);
+        }
+    }
+
+    private int cachedDays(Map<HallDay, HallDayAvailability> cached) {
+        synchronized (days) {
+            return cached.size();
+        }
+    }
+
+    private AtomicLong generationOf(Long hallId) {
+        return generations.computeIfAbsent(hallId, id -> new AtomicLong());
+    }
+
+    private record HallDay(Long hallId, LocalDate date) {
+    }
+}
@@ -0,0 +1,274 @@
+package com.studymate.backend.service.booking;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studymate.backend.exception.InvalidRequestException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads bookings to import from a CSV or NDJSON stream one line at a time,
+ * so an upload of any size is parsed in constant memory.
+ *
+ * <p>Both formats use the fields {@code seatNumber}, {@code userEmail},
+ * {@code startTime}, {@code endTime} and {@code status}, with optional
+ * {@code amount}, {@code checkInTime} and {@code checkOutTime}. Times are
+ * ISO-8601 local date-times. A CSV upload starts with a header row naming its
+ * columns, in any order; quoted fields may contain commas and doubled quotes
+ * but not line breaks. An NDJSON upload has one JSON object per line.</p>
+ *
+ * <p>A line that can't be parsed or fails validation is returned with an
+ * error instead of failing the import; blank lines are skipped.</p>
+ */
+public class BookingImportReader implements Closeable {
+
+    /**
+     * Statuses an imported booking may have. PENDING bookings belong to an
+     * unfinished checkout and can't be imported.
+     */
+    static final Set<String> STATUSES = Set.of("CONFIRMED", "COMPLETED", "CANCELLED", "NO_SHOW");
+
+    private static final String SEAT_NUMBER = "seatNumber";
+    private static final String USER_EMAIL = "userEmail";
+    private static final String START_TIME = "startTime";
+    private static final String END_TIME = "endTime";
+    private static final String STATUS = "status";
+    private static final String AMOUNT = "amount";
+    private static final String CHECK_IN_TIME = "checkInTime";
+    private static final String CHECK_OUT_TIME = "checkOutTime";
+    private static final List<String> REQUIRED = List.of(SEAT_NUMBER, USER_EMAIL, START_TIME, END_TIME, STATUS);
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> columns;
+    private long lineNumber;
+
+    public BookingImportReader(InputStream in, Format format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Read the next non-blank line.
+     *
+     * @return the parsed line, or null at the end of the input
+     * @throws IOException if the stream can't be read
+     * @throws InvalidRequestException if a CSV header is missing a required column
+     */
+    public Line next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (text.isBlank());
+
+        if (format == Format.CSV && columns == null) {
+            columns = readHeader(text);
+            return next();
+        }
+
+        try {
+            Map<String, String> fields = format == Format.CSV ? csvFields(text) : jsonFields(text);
+            return new Line(lineNumber, toBooking(fields), null);
+        } catch (IllegalArgumentException | DateTimeParseException | JsonProcessingException e) {
+            return new Line(lineNumber, null, errorMessage(e));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Map<String, Integer> readHeader(String text) {
+        List<String> names = splitCsv(text.startsWith("\uFEFF") ? text.substring(1) : text);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).trim(), i);
+        }
+        for (String required : REQUIRED) {
+            if (!header.containsKey(required)) {
+                throw new InvalidRequestException("CSV header is missing column " + required);
+            }
+        }
+        return header;
+    }
+
+    private Map<String, String> csvFields(String text) {
+        List<String> values = splitCsv(text);
+        Map<String, String> fields = new HashMap<>();
+        columns.forEach((name, index) -> {
+            if (index < values.size()) {
+                fields.put(name, values.get(index));
+            }
+        });
+        return fields;
+    }
+
+    private Map<String, String> jsonFields(String text) throws JsonProcessingException {
+        JsonNode node = objectMapper.readTree(text);
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Line is not a JSON object");
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (Map.Entry<String, JsonNode> field : node.properties()) {
+            if (!field.getValue().isNull()) {
+                fields.put(field.getKey(), field.getValue().asText());
+            }
+        }
+        return fields;
+    }
+
+    private static ImportedBooking toBooking(Map<String, String> fields) {
+        String seatNumber = required(fields, SEAT_NUMBER);
+        String userEmail = required(fields, USER_EMAIL);
+        LocalDateTime startTime = LocalDateTime.parse(required(fields, START_TIME));
+        LocalDateTime endTime = LocalDateTime.parse(required(fields, END_TIME));
+        if (!endTime.isAfter(startTime)) {
+            throw new IllegalArgumentException("endTime must be after startTime");
+        }
+        String status = required(fields, STATUS).toUpperCase(Locale.ROOT);
+        if (!STATUSES.contains(status)) {
+            throw new IllegalArgumentException("status must be one of " + STATUSES);
+        }
+        String amountText = optional(fields, AMOUNT);
+        BigDecimal amount = amountText == null ? null : new BigDecimal(amountText);
+        if (amount != null && (amount.signum() < 0 || amount.scale() > 2 || amount.precision() - amount.scale() > 8)) {
+            throw new IllegalArgumentException("amount must be between 0 and 99999999.99 with at most 2 decimals");
+        }
+        String checkIn = optional(fields, CHECK_IN_TIME);
+        String checkOut = optional(fields, CHECK_OUT_TIME);
+        return new ImportedBooking(seatNumber, userEmail, startTime, endTime, status, amount,
+            checkIn == null ? null : LocalDateTime.parse(checkIn),
+            checkOut == null ? null : LocalDateTime.parse(checkOut));
+    }
+
+    private static String required(Map<String, String> fields, String name) {
+        String value = optional(fields, name);
+        if (value == null) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value;
+    }
+
+    private static String optional(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String errorMessage(Exception e) {
+        if (e instanceof DateTimeParseException parse) {
+            return "Invalid date-time: " + parse.getParsedString();
+        }
+        if (e instanceof NumberFormatException) {
+            return "Invalid amount";
+        }
+        if (e instanceof JsonProcessingException) {
+            return "Invalid JSON";
+        }
+        return e.getMessage();
+    }
+
+    /**
+     * Split one CSV line, honouring double-quoted fields.
+     */
+    static List<String> splitCsv(String text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    /**
+     * Upload format, chosen by the request's content type.
+     */
+    public enum Format {
+        CSV("text/csv"),
+        NDJSON("application/x-ndjson");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * @param contentType the request's content type, parameters allowed
+         * @return the matching format
+         * @throws InvalidRequestException if the content type is neither CSV nor NDJSON
+         */
+        public static Format fromContentType(String contentType) {
+            if (contentType != null) {
+                String mediaType = contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+                for (Format format : values()) {
+                    if (format.contentType.equals(mediaType)) {
+                        return format;
+                    }
+                }
+            }
+            throw new InvalidRequestException("Upload must be text/csv or application/x-ndjson");
+        }
+    }
+
+    /**
+     * A booking read from the upload, before its seat and user are resolved.
+     */
+    public record ImportedBooking(String seatNumber, String userEmail, LocalDateTime startTime,
+                                  LocalDateTime endTime, String status, BigDecimal amount,
+                                  LocalDateTime checkInTime, LocalDateTime checkOutTime) {
+    }
+
+    /**
+     * One line of the upload: a booking, or the reason it was rejected.
+     */
+    public record Line(long number, ImportedBooking booking, String error) {
+    }
+}
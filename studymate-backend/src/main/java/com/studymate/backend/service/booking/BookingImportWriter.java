@@ -0,0 +1,176 @@
+package com.studymate.backend.service.booking;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads resolved import rows into bookings on one JDBC connection, a chunk
+ * at a time, inside the caller's transaction.
+ *
+ * <p>Each chunk is streamed into a temporary staging table with
+ * {@code COPY ... FROM STDIN}, then confirmed rows that overlap a confirmed
+ * booking of their seat, or an earlier confirmed row of the upload, are
+ * removed and reported. The rest are moved into bookings with one
+ * {@code INSERT ... SELECT}, after creating the monthly partitions they need.
+ * Triggers set each booking's hall and still guard against overlaps.</p>
+ */
+public class BookingImportWriter {
+
+    private static final String CREATE_STAGING =
+        "CREATE TEMP TABLE booking_import (" +
+        "line BIGINT NOT NULL, user_id BIGINT NOT NULL, seat_id BIGINT NOT NULL, " +
+        "start_time TIMESTAMP NOT NULL, end_time TIMESTAMP NOT NULL, status VARCHAR(50) NOT NULL, " +
+        "amount DECIMAL(10, 2), check_in_time TIMESTAMP, check_out_time TIMESTAMP" +
+        ") ON COMMIT DROP";
+
+    private static final String COPY_STAGING =
+        "COPY booking_import (line, user_id, seat_id, start_time, end_time, status, amount, " +
+        "check_in_time, check_out_time) FROM STDIN";
+
+    private static final String REJECT_OVERLAPS =
+        "DELETE FROM booking_import s " +
+        "WHERE s.status = 'CONFIRMED' " +
+        "AND (EXISTS (SELECT 1 FROM bookings b " +
+        "             WHERE b.seat_id = s.seat_id AND b.status = 'CONFIRMED' " +
+        "             AND b.period && tsrange(s.start_time, s.end_time, '[)')) " +
+        "  OR EXISTS (SELECT 1 FROM booking_import o " +
+        "             WHERE o.seat_id = s.seat_id AND o.status = 'CONFIRMED' AND o.line < s.line " +
+        "             AND tsrange(o.start_time, o.end_time, '[)') && tsrange(s.start_time, s.end_time, '[)'))) " +
+        "RETURNING s.line";
+
+    private static final String CREATE_PARTITIONS =
+        "SELECT create_booking_partition(m.month) " +
+        "FROM (SELECT DISTINCT CAST(date_trunc('month', s.start_time) AS date) AS month FROM booking_import s) m";
+
+    private static final String INSERT_BOOKINGS =
+        "INSERT INTO bookings (user_id, seat_id, start_time, end_time, status, amount, check_in_time, check_out_time) " +
+        "SELECT s.user_id, s.seat_id, s.start_time, s.end_time, s.status, s.amount, s.check_in_time, s.check_out_time " +
+        "FROM booking_import s " +
+        "ORDER BY s.line " +
+        "RETURNING id, seat_id, hall_id, start_time, end_time, status, amount";
+
+    private static final String NULL = "\\N";
+    private static final int COPY_BUFFER_CHARS = 64 * 1024;
+
+    private final Connection connection;
+    private final CopyManager copyManager;
+    private boolean staged;
+
+    public BookingImportWriter(Connection connection) throws SQLException {
+        this.connection = connection;
+        this.copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+    }
+
+    /**
+     * Load one chunk of rows.
+     *
+     * @param rows resolved rows, in upload order
+     * @param rejected receives the line numbers of rows rejected as overlaps
+     * @return the bookings written
+     * @throws SQLException if the database rejects the chunk
+     */
+    public List<WrittenBooking> write(List<StagedRow> rows, List<Long> rejected) throws SQLException {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        try (Statement statement = connection.createStatement()) {
+            if (!staged) {
+                statement.execute(CREATE_STAGING);
+                statement.execute("CREATE INDEX ON booking_import (seat_id)");
+                staged = true;
+            } else {
+                statement.execute("TRUNCATE booking_import");
+            }
+
+            copy(rows);
+            statement.execute("ANALYZE booking_import");
+
+            try (ResultSet overlaps = statement.executeQuery(REJECT_OVERLAPS)) {
+                while (overlaps.next()) {
+                    rejected.add(overlaps.getLong(1));
+                }
+            }
+            statement.execute(CREATE_PARTITIONS);
+        }
+
+        List<WrittenBooking> written = new ArrayList<>(rows.size());
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_BOOKINGS);
+             ResultSet result = insert.executeQuery()) {
+            while (result.next()) {
+                written.add(new WrittenBooking(result.getLong(1), result.getLong(2), result.getLong(3),
+                    result.getTimestamp(4).toLocalDateTime(), result.getTimestamp(5).toLocalDateTime(),
+                    result.getString(6), result.getBigDecimal(7)));
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Stream rows into the staging table in COPY text format. Every value is
+     * a number, timestamp or validated status, so nothing needs escaping.
+     */
+    private void copy(List<StagedRow> rows) throws SQLException {
+        CopyIn copyIn = copyManager.copyIn(COPY_STAGING);
+        try {
+            StringBuilder text = new StringBuilder(COPY_BUFFER_CHARS + 512);
+            for (StagedRow row : rows) {
+                text.append(row.line()).append('\t')
+                    .append(row.userId()).append('\t')
+                    .append(row.seatId()).append('\t')
+                    .append(timestamp(row.startTime())).append('\t')
+                    .append(timestamp(row.endTime())).append('\t')
+                    .append(row.status()).append('\t')
+                    .append(row.amount() == null ? NULL : row.amount().toPlainString()).append('\t')
+                    .append(timestamp(row.checkInTime())).append('\t')
+                    .append(timestamp(row.checkOutTime())).append('\n');
+                if (text.length() >= COPY_BUFFER_CHARS) {
+                    send(copyIn, text);
+                }
+            }
+            send(copyIn, text);
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void send(CopyIn copyIn, StringBuilder text) throws SQLException {
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        text.setLength(0);
+    }
+
+    private static String timestamp(LocalDateTime time) {
+        return time == null ? NULL : Timestamp.valueOf(time).toString();
+    }
+
+    /**
+     * An import row with its seat and user resolved.
+     */
+    public record StagedRow(long line, long userId, long seatId, LocalDateTime startTime, LocalDateTime endTime,
+                            String status, BigDecimal amount, LocalDateTime checkInTime,
+                            LocalDateTime checkOutTime) {
+    }
+
+    /**
+     * A booking inserted by the import.
+     */
+    public record WrittenBooking(long bookingId, long seatId, long hallId, LocalDateTime startTime,
+                                 LocalDateTime endTime, String status, BigDecimal amount) {
+    }
+}
@@ -0,0 +1,208 @@
+package com.studymate.backend.service.booking;
+
+import com.studymate.backend.event.BookingChangedEvent;
+import com.studymate.backend.model.BookingSnapshot;
+import com.studymate.backend.repository.BookingRepository;
+import com.studymate.backend.repository.projection.BookingLifecycleRow;
+import com.studymate.backend.service.checkin.CheckInWriteBuffer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves bookings through the end of their lifecycle with bulk UPDATEs:
+ * <ul>
+ *   <li>PENDING bookings older than {@code app.lifecycle.pending-ttl-minutes} are cancelled</li>
+ *   <li>confirmed bookings with a check-in pass but no check-in
+ *       {@code app.lifecycle.no-show-grace-minutes} after their start are
+ *       released as NO_SHOW, freeing the seat for the rest of the period</li>
+ *   <li>confirmed bookings that have ended are completed</li>
+ * </ul>
+ *
+ * <p>Each transition walks its partial index in keyset order, updating at most
+ * {@code app.lifecycle.batch-size} rows per transaction so row locks are held
+ * briefly, and skipping rows locked by a concurrent writer until the next run.
+ * The UPDATEs return the rows they changed, and a {@link BookingChangedEvent} is
+ * published for each one so counters, indexes and seat maps follow along after
+ * commit. Pending gate check-ins are flushed first so a student who just
+ * arrived is never released.</p>
+ *
+ * <p>Metrics:
+ * <ul>
+ *   <li>{@code studymate.lifecycle.transitions{transition=pending_expired|no_show|completed}} - bookings moved per run</li>
+ *   <li>{@code studymate.lifecycle.run} - time taken by each run</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class BookingLifecycleJob {
+
+    /**
+     * Keyset cursor before every row.
+     */
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final BookingRepository bookingRepository;
+    private final CheckInWriteBuffer checkInWriteBuffer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration pendingTtl;
+    private final Duration noShowGrace;
+    private final boolean releaseNoShows;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Timer runTimer;
+    private final Map<Transition, DistributionSummary> transitions = new EnumMap<>(Transition.class);
+
+    public BookingLifecycleJob(BookingRepository bookingRepository,
+                               CheckInWriteBuffer checkInWriteBuffer,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.lifecycle.pending-ttl-minutes:15}") long pendingTtlMinutes,
+                               @Value("${app.lifecycle.no-show-grace-minutes:30}") long noShowGraceMinutes,
+                               @Value("${app.lifecycle.release-no-shows:true}") boolean releaseNoShows,
+                               @Value("${app.lifecycle.batch-size:500}") int batchSize,
+                               @Value("${app.lifecycle.max-batches:100}") int maxBatches) {
+        this.bookingRepository = bookingRepository;
+        this.checkInWriteBuffer = checkInWriteBuffer;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pendingTtl = Duration.ofMinutes(pendingTtlMinutes);
+        this.noShowGrace = Duration.ofMinutes(noShowGraceMinutes);
+        this.releaseNoShows = releaseNoShows;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.runTimer = Timer.builder("studymate.lifecycle.run")
+            .description("Time taken by a booking lifecycle run")
+            .register(meterRegistry);
+        for (Transition transition : Transition.values()) {
+            transitions.put(transition, DistributionSummary.builder("studymate.lifecycle.transitions")
+                .tag("transition", transition.tag)
+                .description("Bookings moved per lifecycle run")
+                .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Run every transition once.
+     *
+     * @return number of bookings moved per transition
+     */
+    @Scheduled(fixedDelayString = "${app.lifecycle.interval-ms:60000}",
+               initialDelayString = "${app.lifecycle.interval-ms:60000}")
+    public Map<Transition, Integer> run() {
+        return runTimer.record(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            Map<Transition, Integer> moved = new EnumMap<>(Transition.class);
+
+            moved.put(Transition.PENDING_EXPIRED, process(Transition.PENDING_EXPIRED, (afterTime, afterId) ->
+                bookingRepository.expirePendingBookings(now.minus(pendingTtl), now, afterTime, afterId, batchSize)));
+
+            int noShows = 0;
+            if (releaseNoShows && flushCheckIns()) {
+                noShows = process(Transition.NO_SHOW, (afterTime, afterId) ->
+                    bookingRepository.releaseNoShows(now.minus(noShowGrace), now, afterTime, afterId, batchSize));
+            }
+            moved.put(Transition.NO_SHOW, noShows);
+
+            moved.put(Transition.COMPLETED, process(Transition.COMPLETED, (afterTime, afterId) ->
+                bookingRepository.completeEndedBookings(now, afterTime, afterId, batchSize)));
+
+            moved.forEach((transition, count) -> transitions.get(transition).record(count));
+            if (moved.values().stream().anyMatch(count -> count > 0)) {
+                log.info("Booking lifecycle: {} pending expired, {} no-shows released, {} completed",
+                    moved.get(Transition.PENDING_EXPIRED), moved.get(Transition.NO_SHOW),
+                    moved.get(Transition.COMPLETED));
+            }
+            return moved;
+        });
+    }
+
+    /**
+     * Apply one transition batch by batch until a batch comes back short.
+     * Each batch commits on its own; the cursor is the largest (time, id) it returned.
+     */
+    private int process(Transition transition, Batch batch) {
+        LocalDateTime afterTime = KEYSET_START;
+        long afterId = 0;
+        int total = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            LocalDateTime cursorTime = afterTime;
+            long cursorId = afterId;
+            List<BookingLifecycleRow> rows = transactionTemplate.execute(status -> {
+                List<BookingLifecycleRow> updated = batch.apply(cursorTime, cursorId);
+                updated.forEach(row -> publish(transition, row));
+                return updated;
+            });
+
+            total += rows.size();
+            for (BookingLifecycleRow row : rows) {
+                int order = row.getCursorTime().compareTo(afterTime);
+                if (order > 0 || (order == 0 && row.getBookingId() > afterId)) {
+                    afterTime = row.getCursorTime();
+                    afterId = row.getBookingId();
+                }
+            }
+            if (rows.size() < batchSize) {
+                return total;
+            }
+        }
+        log.warn("Booking lifecycle stopped {} after {} batches; the rest follows next run", transition.tag, maxBatches);
+        return total;
+    }
+
+    private boolean flushCheckIns() {
+        try {
+            checkInWriteBuffer.flush();
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Skipping no-show release: pending check-ins could not be written", e);
+            return false;
+        }
+    }
+
+    private void publish(Transition transition, BookingLifecycleRow row) {
+        BookingSnapshot previous = new BookingSnapshot(transition.from, row.getStartTime(), row.getEndTime(), row.getAmount());
+        BookingSnapshot current = new BookingSnapshot(transition.to, row.getStartTime(), row.getEndTime(), row.getAmount());
+        eventPublisher.publishEvent(new BookingChangedEvent(row.getBookingId(), row.getSeatId(), row.getHallId(),
+            previous, current));
+    }
+
+    /**
+     * A lifecycle transition and the statuses it moves bookings between.
+     */
+    public enum Transition {
+        PENDING_EXPIRED("pending_expired", "PENDING", "CANCELLED"),
+        NO_SHOW("no_show", "CONFIRMED", "NO_SHOW"),
+        COMPLETED("completed", "CONFIRMED", "COMPLETED");
+
+        private final String tag;
+        private final String from;
+        private final String to;
+
+        Transition(String tag, String from, String to) {
+            this.tag = tag;
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Batch {
+        List<BookingLifecycleRow> apply(LocalDateTime afterTime, long afterId);
+    }
+}
@@ -0,0 +1,168 @@
+package com.studymate.backend.service.booking;
+
+import com.studymate.backend.repository.BookingPartitionRepository;
+import com.studymate.backend.service.archive.BookingArchiver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of the bookings table ahead of the calendar.
+ *
+ * <p>On startup and every {@code app.partitions.check-interval-ms} the
+ * partitions for the current month and the next
+ * {@code app.partitions.months-ahead} months are created, so a booking made
+ * far in advance always has a partition to land in. When
+ * {@code app.partitions.detach-after-months} is positive, the finished
+ * bookings of months that far in the past are moved to archive files by
+ * {@link BookingArchiver}, where reports and revenue totals still read them,
+ * and the partition is then detached and dropped. A partition that still
+ * holds bookings, such as ones never confirmed or completed, is kept.</p>
+ *
+ * <p>Metrics:
+ * <ul>
+ *   <li>{@code studymate.partitions.created} - partitions created ahead</li>
+ *   <li>{@code studymate.partitions.detached} - partitions archived and dropped past retention</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class BookingPartitionManager {
+
+    private static final String PARTITION_PREFIX = "bookings_";
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final BookingPartitionRepository partitionRepository;
+    private final BookingArchiver bookingArchiver;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int detachAfterMonths;
+    private final Counter created;
+    private final Counter detached;
+
+    public BookingPartitionManager(BookingPartitionRepository partitionRepository,
+                                   BookingArchiver bookingArchiver,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.partitions.months-ahead:3}") int monthsAhead,
+                                   @Value("${app.partitions.detach-after-months:0}") int detachAfterMonths) {
+        this.partitionRepository = partitionRepository;
+        this.bookingArchiver = bookingArchiver;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.monthsAhead = monthsAhead;
+        this.detachAfterMonths = detachAfterMonths;
+        this.created = Counter.builder("studymate.partitions.created")
+            .description("Booking partitions created ahead of their month")
+            .register(meterRegistry);
+        this.detached = Counter.builder("studymate.partitions.detached")
+            .description("Booking partitions archived and dropped past retention")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Make sure upcoming months have partitions before bookings are accepted.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    /**
+     * Create missing partitions ahead, and archive and drop expired ones.
+     *
+     * @return names of the partitions created, then of those dropped
+     */
+    @Scheduled(fixedDelayString = "${app.partitions.check-interval-ms:21600000}",
+               initialDelayString = "${app.partitions.check-interval-ms:21600000}")
+    public List<String> maintain() {
+        YearMonth current = YearMonth.now();
+        List<String> changed = new ArrayList<>();
+        List<String> expired = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            List<String> existing = partitionRepository.findPartitionNames();
+
+            for (int i = 0; i <= monthsAhead; i++) {
+                YearMonth month = current.plusMonths(i);
+                if (!existing.contains(partitionName(month))) {
+                    changed.add(partitionRepository.createPartition(month.atDay(1)));
+                    created.increment();
+                }
+            }
+
+            if (detachAfterMonths > 0) {
+                YearMonth oldestKept = current.minusMonths(detachAfterMonths);
+                for (String name : existing) {
+                    YearMonth month = monthOf(name);
+                    if (month != null && month.isBefore(oldestKept)) {
+                        expired.add(name);
+                    }
+                }
+            }
+        });
+
+        for (String name : expired) {
+            if (retire(name)) {
+                changed.add(name);
+                detached.increment();
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            log.info("Booking partitions maintained: {}", changed);
+        }
+        return changed;
+    }
+
+    /**
+     * Archive the finished bookings of an expired partition's month, then drop
+     * the partition if nothing is left in it.
+     *
+     * @return whether the partition was dropped
+     */
+    private boolean retire(String name) {
+        try {
+            bookingArchiver.archiveMonth(monthOf(name));
+        } catch (RuntimeException e) {
+            log.warn("Could not archive the bookings of partition {}; kept", name, e);
+            return false;
+        }
+        Boolean retired = transactionTemplate.execute(status -> partitionRepository.retirePartition(name));
+        if (!Boolean.TRUE.equals(retired)) {
+            log.warn("Booking partition {} still holds unfinished bookings; kept", name);
+            return false;
+        }
+        return true;
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_MONTH);
+    }
+
+    /**
+     * @return the month a partition holds, or null for a table not named by month
+     */
+    static YearMonth monthOf(String partitionName) {
+        if (!partitionName.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partitionName.substring(PARTITION_PREFIX.length()), PARTITION_MONTH);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
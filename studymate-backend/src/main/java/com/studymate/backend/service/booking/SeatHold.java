@@ -0,0 +1,77 @@
+package com.studymate.backend.service.booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * A seat period locked for one student while they check out. The period is
+ * held in {@link SeatIntervalIndex} through {@code reservation}, so other
+ * booking and hold attempts on an overlapping period are rejected.
+ */
+public final class SeatHold {
+
+    /**
+     * Status reported for a seat period under a hold.
+     */
+    public static final String LOCKED = "LOCKED";
+
+    private final long id;
+    private final long seatId;
+    private final long hallId;
+    private final long userId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final LocalDateTime expiresAt;
+    private final SeatIntervalIndex.Reservation reservation;
+
+    SeatHold(long id, long seatId, long hallId, long userId,
+             LocalDateTime startTime, LocalDateTime endTime, LocalDateTime expiresAt,
+             SeatIntervalIndex.Reservation reservation) {
+        this.id = id;
+        this.seatId = seatId;
+        this.hallId = hallId;
+        this.userId = userId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.expiresAt = expiresAt;
+        this.reservation = reservation;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getSeatId() {
+        return seatId;
+    }
+
+    public long getHallId() {
+        return hallId;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public SeatIntervalIndex.Reservation getReservation() {
+        return reservation;
+    }
+
+    /**
+     * @return true if the hold covers exactly this seat and period
+     */
+    public boolean covers(long seatId, LocalDateTime startTime, LocalDateTime endTime) {
+        return this.seatId == seatId && this.startTime.equals(startTime) && this.endTime.equals(endTime);
+    }
+}
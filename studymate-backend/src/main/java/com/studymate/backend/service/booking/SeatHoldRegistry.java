@@ -0,0 +1,364 @@
+package com.studymate.backend.service.booking;
+
+import com.studymate.backend.event.SeatHoldChangedEvent;
+import com.studymate.backend.model.SeatHoldRecord;
+import com.studymate.backend.repository.SeatHoldRecordRepository;
+import com.studymate.backend.service.occupancy.HashedTimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Registry of the seat holds taken during checkout.
+ *
+ * <p>Holds live in a {@link ConcurrentHashMap} keyed by hold ID, so lookups
+ * never lock and concurrent takes, claims and releases of different holds do
+ * not contend. Each hold keeps its period reserved in {@link SeatIntervalIndex},
+ * which is what makes overlapping bookings and holds fail. A hold ends exactly
+ * once: whichever of claim, release or expiry removes it from the map first
+ * wins.</p>
+ *
+ * <p>Expiry deadlines sit in a {@link HashedTimingWheel} advanced by a daemon
+ * thread once per tick, so an expired hold is released without scanning seats
+ * or holds. When {@code app.holds.persist} is enabled, holds are also written
+ * to {@code seat_holds} and the unexpired ones are restored at startup;
+ * otherwise a restart drops them and students simply hold again.</p>
+ *
+ * <p>Metrics:
+ * <ul>
+ *   <li>{@code studymate.holds.active} - holds currently taken</li>
+ *   <li>{@code studymate.holds.expired} - holds released because they expired</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class SeatHoldRegistry {
+
+    private static final int WHEEL_SIZE = 1024;
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    private final SeatIntervalIndex intervalIndex;
+    private final SeatHoldRecordRepository recordRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration ttl;
+    private final boolean persist;
+    private final long tickMillis;
+    private final Counter expiredCounter;
+
+    private final ConcurrentHashMap<Long, SeatHold> holds = new ConcurrentHashMap<>();
+    private final AtomicLong holdIds = new AtomicLong();
+
+    private final ReentrantLock wheelLock = new ReentrantLock();
+    private final HashedTimingWheel wheel;
+
+    // Hold IDs collected during one advance; guarded by wheelLock
+    private long[] expired = new long[64];
+    private int expiredCount;
+
+    private ScheduledExecutorService ticker;
+
+    public SeatHoldRegistry(SeatIntervalIndex intervalIndex,
+                            SeatHoldRecordRepository recordRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.holds.ttl-minutes:10}") long ttlMinutes,
+                            @Value("${app.holds.persist:false}") boolean persist,
+                            @Value("${app.holds.tick-ms:1000}") long tickMillis) {
+        this.intervalIndex = intervalIndex;
+        this.recordRepository = recordRepository;
+        this.eventPublisher = eventPublisher;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.persist = persist;
+        this.tickMillis = tickMillis;
+        this.wheel = new HashedTimingWheel(tickMillis, WHEEL_SIZE, INITIAL_CAPACITY, System.currentTimeMillis());
+        this.expiredCounter = Counter.builder("studymate.holds.expired")
+            .description("Seat holds released because they expired")
+            .register(meterRegistry);
+        meterRegistry.gaugeMapSize("studymate.holds.active", List.of(), holds);
+    }
+
+    /**
+     * Restore persisted holds and start the expiry ticker once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        int restored = persist ? restore() : 0;
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-holds");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tickSafely, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        log.info("Seat hold registry started with {} restored holds, ttl {}", restored, ttl);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * @return how long a new hold lasts
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Hold a seat's period for the configured time if it overlaps no booking
+     * or other hold of the seat.
+     *
+     * @param seatId the seat ID
+     * @param hallId hall of the seat
+     * @param userId the student taking the hold
+     * @param startTime start of the period
+     * @param endTime end of the period (exclusive)
+     * @return the hold, or empty if the period overlaps
+     */
+    public Optional<SeatHold> hold(long seatId, long hallId, long userId, LocalDateTime startTime, LocalDateTime endTime) {
+        Optional<SeatIntervalIndex.Reservation> reservation = intervalIndex.reserve(seatId, startTime, endTime);
+        if (reservation.isEmpty()) {
+            return Optional.empty();
+        }
+        long deadlineMillis = System.currentTimeMillis() + ttl.toMillis();
+        SeatHold hold = new SeatHold(holdIds.incrementAndGet(), seatId, hallId, userId, startTime, endTime,
+            toLocalDateTime(deadlineMillis), reservation.get());
+        add(hold, deadlineMillis);
+        if (persist) {
+            save(hold);
+        }
+        return Optional.of(hold);
+    }
+
+    /**
+     * @param holdId the hold ID
+     * @return the hold, or empty if it ended or never existed
+     */
+    public Optional<SeatHold> find(long holdId) {
+        return Optional.ofNullable(holds.get(holdId));
+    }
+
+    /**
+     * Take a hold out of the registry to turn it into a booking. The hold's
+     * reservation passes to the caller, who must confirm or release it.
+     *
+     * @param hold the hold
+     * @return false if the hold already ended
+     */
+    public boolean claim(SeatHold hold) {
+        if (!end(hold)) {
+            return false;
+        }
+        log.debug("Hold {} claimed for booking seat {}", hold.getId(), hold.getSeatId());
+        return true;
+    }
+
+    /**
+     * Release a hold before it expires.
+     *
+     * @param hold the hold
+     * @return false if the hold already ended
+     */
+    public boolean release(SeatHold hold) {
+        if (!end(hold)) {
+            return false;
+        }
+        intervalIndex.release(hold.getReservation());
+        log.debug("Hold {} on seat {} released", hold.getId(), hold.getSeatId());
+        return true;
+    }
+
+    /**
+     * @param hallId the hall ID
+     * @return the current holds on seats of the hall
+     */
+    public List<SeatHold> holdsOfHall(long hallId) {
+        List<SeatHold> held = new ArrayList<>();
+        for (SeatHold hold : holds.values()) {
+            if (hold.getHallId() == hallId) {
+                held.add(hold);
+            }
+        }
+        return held;
+    }
+
+    /**
+     * @param userId the student's user ID
+     * @return number of holds the student currently has
+     */
+    public int countHoldsOfUser(long userId) {
+        int count = 0;
+        for (SeatHold hold : holds.values()) {
+            if (hold.getUserId() == userId) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Release every hold whose deadline passed at or before the given time.
+     *
+     * @param nowMillis current wall-clock time
+     * @return number of holds released
+     */
+    int tick(long nowMillis) {
+        long[] due;
+        wheelLock.lock();
+        try {
+            expiredCount = 0;
+            wheel.advance(nowMillis, this::collect);
+            due = expiredCount == 0 ? null : Arrays.copyOf(expired, expiredCount);
+        } finally {
+            wheelLock.unlock();
+        }
+        if (due == null) {
+            return 0;
+        }
+        int released = 0;
+        for (long holdId : due) {
+            SeatHold hold = holds.get(holdId);
+            if (hold != null && release(hold)) {
+                released++;
+            }
+        }
+        expiredCounter.increment(released);
+        return released;
+    }
+
+    private void tickSafely() {
+        try {
+            tick(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            // An exception would cancel the periodic task; keep the ticker alive
+            log.error("Seat hold tick failed", e);
+        }
+    }
+
+    private void add(SeatHold hold, long deadlineMillis) {
+        holds.put(hold.getId(), hold);
+        wheelLock.lock();
+        try {
+            wheel.schedule(hold.getId(), deadlineMillis, hold.getSeatId(), hold.getHallId());
+        } finally {
+            wheelLock.unlock();
+        }
+        publish(hold, true);
+    }
+
+    /**
+     * Remove a hold if no one else ended it first.
+     */
+    private boolean end(SeatHold hold) {
+        if (!holds.remove(hold.getId(), hold)) {
+            return false;
+        }
+        wheelLock.lock();
+        try {
+            wheel.cancel(hold.getId());
+        } finally {
+            wheelLock.unlock();
+        }
+        if (persist) {
+            delete(hold);
+        }
+        publish(hold, false);
+        return true;
+    }
+
+    private void publish(SeatHold hold, boolean held) {
+        eventPublisher.publishEvent(new SeatHoldChangedEvent(hold.getId(), hold.getSeatId(), hold.getHallId(),
+            hold.getStartTime(), hold.getEndTime(), held));
+    }
+
+    private void collect(long holdId, long seatId, long hallId) {
+        if (expiredCount == expired.length) {
+            expired = Arrays.copyOf(expired, expired.length << 1);
+        }
+        expired[expiredCount++] = holdId;
+    }
+
+    /**
+     * Re-take the unexpired persisted holds. A hold whose period was booked
+     * in the meantime is dropped.
+     */
+    private int restore() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = recordRepository.deleteExpired(now);
+        holdIds.accumulateAndGet(recordRepository.findMaxId(), Math::max);
+
+        int restored = 0;
+        for (SeatHoldRecord record : recordRepository.findByExpiresAtAfter(now)) {
+            Optional<SeatIntervalIndex.Reservation> reservation =
+                intervalIndex.reserve(record.getSeatId(), record.getStartTime(), record.getEndTime());
+            if (reservation.isEmpty()) {
+                log.info("Dropping persisted hold {}: seat {} was booked meanwhile", record.getId(), record.getSeatId());
+                recordRepository.deleteById(record.getId());
+                continue;
+            }
+            SeatHold hold = new SeatHold(record.getId(), record.getSeatId(), record.getHallId(), record.getUserId(),
+                record.getStartTime(), record.getEndTime(), record.getExpiresAt(), reservation.get());
+            add(hold, toEpochMillis(record.getExpiresAt()));
+            restored++;
+        }
+        log.debug("Deleted {} persisted holds that expired while stopped", deleted);
+        return restored;
+    }
+
+    private void save(SeatHold hold) {
+        SeatHoldRecord record = new SeatHoldRecord();
+        record.setId(hold.getId());
+        record.setSeatId(hold.getSeatId());
+        record.setHallId(hold.getHallId());
+        record.setUserId(hold.getUserId());
+        record.setStartTime(hold.getStartTime());
+        record.setEndTime(hold.getEndTime());
+        record.setExpiresAt(hold.getExpiresAt());
+        try {
+            recordRepository.save(record);
+        } catch (RuntimeException e) {
+            // The in-memory hold stays valid; it just won't survive a restart
+            log.warn("Failed to persist hold {} on seat {}", hold.getId(), hold.getSeatId(), e);
+        }
+    }
+
+    private void delete(SeatHold hold) {
+        try {
+            recordRepository.deleteById(hold.getId());
+        } catch (RuntimeException e) {
+            // Left for the expired-hold cleanup at the next startup
+            log.warn("Failed to delete persisted hold {}", hold.getId(), e);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,314 @@
+package com.studymate.backend.service.booking;
+
+import com.studymate.backend.event.BookingChangedEvent;
+import com.studymate.backend.model.BookingSnapshot;
+import com.studymate.backend.repository.BookingRepository;
+import com.studymate.backend.repository.projection.BookingIntervalRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index of the unfinished confirmed bookings of each seat, used to
+ * reject overlapping bookings without a database round trip.
+ *
+ * <p>Each seat keeps its bookings as disjoint periods in sorted parallel
+ * arrays, so an overlap check is one binary search. A seat is loaded from the
+ * database the first time it is booked and afterwards follows committed
+ * {@link BookingChangedEvent}s. A booking attempt first reserves its period
+ * here; the reservation blocks concurrent attempts on the same period until it
+ * is confirmed with the new booking ID or released.</p>
+ *
+ * <p>The index is advisory. Bookings written by other instances or outside the
+ * application are not seen, so the database overlap check remains the
+ * final guard, and a seat whose index turned out to be wrong is invalidated
+ * and its bookings reloaded on its next use. Reloading keeps the seat's
+ * pending reservations, including those backing active {@link SeatHold}s.</p>
+ */
+@Component
+@Slf4j
+public class SeatIntervalIndex {
+
+    private final BookingRepository bookingRepository;
+    private final ConcurrentHashMap<Long, SeatIntervals> seats = new ConcurrentHashMap<>();
+    private final AtomicLong reservationIds = new AtomicLong();
+
+    public SeatIntervalIndex(BookingRepository bookingRepository, MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        meterRegistry.gaugeMapSize("studymate.booking.index.seats", List.of(), seats);
+    }
+
+    /**
+     * Reserve a period on a seat if it does not overlap any booking or pending
+     * reservation of that seat. Periods are half-open, so a booking may start
+     * exactly when the previous one ends.
+     *
+     * @param seatId the seat ID
+     * @param start start of the period
+     * @param end end of the period (exclusive)
+     * @return the reservation, or empty if the period overlaps
+     */
+    public Optional<Reservation> reserve(Long seatId, LocalDateTime start, LocalDateTime end) {
+        SeatIntervals intervals = intervalsOf(seatId);
+        long id = -reservationIds.incrementAndGet();
+        if (!intervals.tryInsert(toMillis(start), toMillis(end), id, nowMillis())) {
+            return Optional.empty();
+        }
+        return Optional.of(new Reservation(seatId, id, intervals));
+    }
+
+    /**
+     * Turn a reservation into the booking that was written for it.
+     * Must be called before the booking's transaction commits, so the commit
+     * event finds the booking already indexed.
+     *
+     * @param reservation the reservation
+     * @param bookingId ID of the written booking
+     */
+    public void confirm(Reservation reservation, Long bookingId) {
+        if (reservation.intervals.replaceId(reservation.id, bookingId)) {
+            reservation.bookingId = bookingId;
+        }
+    }
+
+    /**
+     * Drop a reservation, or the booking it was confirmed as, after the
+     * booking could not be written.
+     *
+     * @param reservation the reservation
+     */
+    public void release(Reservation reservation) {
+        Long bookingId = reservation.bookingId;
+        reservation.intervals.remove(bookingId != null ? bookingId : reservation.id);
+    }
+
+    /**
+     * Mark a seat's bookings for reloading from the database on its next use.
+     * Pending reservations of the seat are kept.
+     *
+     * @param seatId the seat ID
+     */
+    public void invalidate(Long seatId) {
+        SeatIntervals intervals = seats.get(seatId);
+        if (intervals != null) {
+            intervals.stale = true;
+        }
+    }
+
+    /**
+     * Follow committed booking changes of seats that are loaded.
+     *
+     * @param event the booking change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (event.getSeatId() == null || event.getBookingId() == null) {
+            return;
+        }
+        SeatIntervals intervals = seats.get(event.getSeatId());
+        if (intervals == null) {
+            return;
+        }
+
+        intervals.remove(event.getBookingId());
+        if (event.isConfirmed()) {
+            BookingSnapshot current = event.getCurrent();
+            if (!intervals.tryInsert(toMillis(current.getStartTime()), toMillis(current.getEndTime()),
+                    event.getBookingId(), nowMillis())) {
+                log.warn("Booking {} overlaps the indexed bookings of seat {}; reloading the seat",
+                    event.getBookingId(), event.getSeatId());
+                intervals.stale = true;
+            }
+        }
+    }
+
+    private SeatIntervals intervalsOf(Long seatId) {
+        SeatIntervals intervals = seats.get(seatId);
+        if (intervals != null) {
+            if (intervals.stale) {
+                // Cleared first, so an invalidation during the load triggers another one
+                intervals.stale = false;
+                load(seatId, intervals);
+            }
+            return intervals;
+        }
+        SeatIntervals loaded = new SeatIntervals();
+        load(seatId, loaded);
+        SeatIntervals existing = seats.putIfAbsent(seatId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private void load(Long seatId, SeatIntervals intervals) {
+        List<BookingIntervalRow> rows = bookingRepository.findUnfinishedIntervalsBySeatId(seatId);
+        for (Long bookingId : intervals.replaceBookings(rows, nowMillis())) {
+            log.warn("Confirmed booking {} overlaps another booking or hold of seat {}", bookingId, seatId);
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static long nowMillis() {
+        return toMillis(LocalDateTime.now());
+    }
+
+    /**
+     * A period held on a seat while its booking is being written.
+     */
+    public static final class Reservation {
+
+        private final Long seatId;
+        private final long id;
+        private final SeatIntervals intervals;
+        private volatile Long bookingId;
+
+        private Reservation(Long seatId, long id, SeatIntervals intervals) {
+            this.seatId = seatId;
+            this.id = id;
+            this.intervals = intervals;
+        }
+
+        public Long getSeatId() {
+            return seatId;
+        }
+    }
+
+    /**
+     * Disjoint periods of one seat, sorted by start and therefore also by end.
+     * IDs are booking IDs, or negative for pending reservations.
+     */
+    private static final class SeatIntervals {
+
+        private long[] starts = new long[4];
+        private long[] ends = new long[4];
+        private long[] ids = new long[4];
+        private int size;
+        private volatile boolean stale;
+
+        synchronized boolean tryInsert(long start, long end, long id, long now) {
+            pruneEndedBy(now);
+            if (end <= now) {
+                return true;
+            }
+            int before = lastStartingBefore(end);
+            if (before >= 0 && ends[before] > start) {
+                return false;
+            }
+            insertAt(before + 1, start, end, id);
+            return true;
+        }
+
+        /**
+         * Replace the indexed bookings with the given ones, keeping pending reservations.
+         *
+         * @return IDs of bookings that overlap an earlier booking or a reservation and were not indexed
+         */
+        synchronized List<Long> replaceBookings(List<BookingIntervalRow> rows, long now) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (ids[i] < 0) {
+                    starts[kept] = starts[i];
+                    ends[kept] = ends[i];
+                    ids[kept] = ids[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            List<Long> rejected = new ArrayList<>();
+            for (BookingIntervalRow row : rows) {
+                if (!tryInsert(toMillis(row.getStartTime()), toMillis(row.getEndTime()), row.getBookingId(), now)) {
+                    rejected.add(row.getBookingId());
+                }
+            }
+            return rejected;
+        }
+
+        synchronized boolean replaceId(long oldId, long newId) {
+            int index = indexOf(oldId);
+            if (index < 0) {
+                return false;
+            }
+            ids[index] = newId;
+            return true;
+        }
+
+        synchronized void remove(long id) {
+            int index = indexOf(id);
+            if (index >= 0) {
+                removeRange(index, index + 1);
+            }
+        }
+
+        /**
+         * @return index of the last period starting before {@code end}, or -1
+         */
+        private int lastStartingBefore(long end) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < end) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high;
+        }
+
+        private int indexOf(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void pruneEndedBy(long now) {
+            int ended = 0;
+            while (ended < size && ends[ended] <= now) {
+                ended++;
+            }
+            if (ended > 0) {
+                removeRange(0, ended);
+            }
+        }
+
+        private void insertAt(int index, long start, long end, long id) {
+            if (size == starts.length) {
+                int capacity = size * 2;
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                ids = Arrays.copyOf(ids, capacity);
+            }
+            int moved = size - index;
+            System.arraycopy(starts, index, starts, index + 1, moved);
+            System.arraycopy(ends, index, ends, index + 1, moved);
+            System.arraycopy(ids, index, ids, index + 1, moved);
+            starts[index] = start;
+            ends[index] = end;
+            ids[index] = id;
+            size++;
+        }
+
+        private void removeRange(int from, int to) {
+            int moved = size - to;
+            System.arraycopy(starts, to, starts, from, moved);
+            System.arraycopy(ends, to, ends, from, moved);
+            System.arraycopy(ids, to, ids, from, moved);
+            size -= to - from;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.studymate.backend.service.checkin;
+
+import java.time.LocalDateTime;
+
+/**
+ * The booking details signed into a check-in pass. Times are whole seconds.
+ *
+ * @param bookingId the booking ID
+ * @param seatId the booked seat
+ * @param hallId hall of the seat
+ * @param startTime start of the booking
+ * @param endTime end of the booking (exclusive)
+ */
+public record CheckInPass(long bookingId, long seatId, long hallId, LocalDateTime startTime, LocalDateTime endTime) {
+}
@@ -0,0 +1,128 @@
+package com.studymate.backend.service.checkin;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Issues and verifies the signed check-in passes shown as QR codes.
+ *
+ * <p>A pass carries everything the gate needs (booking, seat, hall and
+ * period) followed by an HMAC-SHA256 signature over those fields, both
+ * base64url-encoded: {@code <payload>.<signature>}. Verification recomputes
+ * the signature in memory, so the gate never reads the database to accept a
+ * pass. Passes cannot be forged without {@code app.checkin.secret}; rotating
+ * the secret invalidates every issued pass.</p>
+ */
+@Component
+public class CheckInPassCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "v1";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    public CheckInPassCodec(@Value("${app.checkin.secret:${jwt.secret}}") String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Issue the pass of a confirmed booking.
+     *
+     * @param pass booking, seat, hall and period to sign
+     * @return the pass to encode as a QR code
+     */
+    public String encode(CheckInPass pass) {
+        String payload = String.join(".", VERSION,
+            Long.toString(pass.bookingId()),
+            Long.toString(pass.seatId()),
+            Long.toString(pass.hallId()),
+            Long.toString(pass.startTime().toEpochSecond(ZoneOffset.UTC)),
+            Long.toString(pass.endTime().toEpochSecond(ZoneOffset.UTC)));
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * Verify a scanned pass.
+     *
+     * @param token the scanned pass
+     * @return the signed booking details, or empty if the pass is malformed or its signature is wrong
+     */
+    public Optional<CheckInPass> decode(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+        try {
+            byte[] payloadBytes = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+                return Optional.empty();
+            }
+            String[] fields = new String(payloadBytes, StandardCharsets.UTF_8).split("\\.");
+            if (fields.length != 6 || !VERSION.equals(fields[0])) {
+                return Optional.empty();
+            }
+            return Optional.of(new CheckInPass(
+                Long.parseLong(fields[1]),
+                Long.parseLong(fields[2]),
+                Long.parseLong(fields[3]),
+                LocalDateTime.ofEpochSecond(Long.parseLong(fields[4]), 0, ZoneOffset.UTC),
+                LocalDateTime.ofEpochSecond(Long.parseLong(fields[5]), 0, ZoneOffset.UTC)));
+        } catch (IllegalArgumentException e) {
+            // Bad base64 or numbers; NumberFormatException is an IllegalArgumentException
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Fingerprint of an issued pass, stored as the booking's {@code qr_code_hash}
+     * so a pass can be traced back without storing the pass itself.
+     *
+     * @param token the issued pass
+     * @return lowercase hex SHA-256 of the pass
+     */
+    public String fingerprint(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        Mac mac = macs.get();
+        return mac.doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize " + ALGORITHM, e);
+        }
+    }
+}
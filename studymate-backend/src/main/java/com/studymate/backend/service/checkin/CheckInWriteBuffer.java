@@ -0,0 +1,201 @@
+package com.studymate.backend.service.checkin;
+
+import com.studymate.backend.repository.BookingRepository;
+import com.studymate.backend.service.report.ReportCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects gate check-in and check-out times and writes them in batches, so a
+ * scan at the gate only appends to a queue.
+ *
+ * <p>A daemon thread flushes the queue every {@code app.checkin.flush-interval-ms}
+ * with one grouped UPDATE for check-ins and one for check-outs, in a single
+ * transaction. Both statements are idempotent, so a failed flush puts its
+ * writes back to be retried with the next one, and pending writes are flushed
+ * on shutdown. The statements bypass the entity, so no booking change events
+ * are published for gate scans; cached reports of the scanned bookings' dates
+ * are retired once a flush commits.</p>
+ *
+ * <p>Metrics:
+ * <ul>
+ *   <li>{@code studymate.checkin.pending} - gate writes waiting for the next flush</li>
+ *   <li>{@code studymate.checkin.flush} - time taken by each non-empty flush</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class CheckInWriteBuffer {
+
+    private final BookingRepository bookingRepository;
+    private final ReportCache reportCache;
+    private final TransactionTemplate transactionTemplate;
+    private final long flushIntervalMillis;
+    private final Timer flushTimer;
+
+    private final ConcurrentLinkedQueue<GateWrite> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Object flushLock = new Object();
+
+    private ScheduledExecutorService flusher;
+
+    public CheckInWriteBuffer(BookingRepository bookingRepository,
+                              ReportCache reportCache,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.checkin.flush-interval-ms:250}") long flushIntervalMillis) {
+        this.bookingRepository = bookingRepository;
+        this.reportCache = reportCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.flushTimer = Timer.builder("studymate.checkin.flush")
+            .description("Time taken to write a batch of gate check-ins and check-outs")
+            .register(meterRegistry);
+        meterRegistry.gauge("studymate.checkin.pending", pending);
+    }
+
+    /**
+     * Start the flusher once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "checkin-writes");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Check-in write buffer started, flushing every {} ms", flushIntervalMillis);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        flushSafely();
+    }
+
+    /**
+     * Queue a check-in time for the next flush.
+     *
+     * @param pass the scanned pass
+     * @param time when the student entered
+     */
+    public void recordCheckIn(CheckInPass pass, LocalDateTime time) {
+        enqueue(new GateWrite(pass.bookingId(), pass.hallId(), pass.startTime().toLocalDate(), time, true));
+    }
+
+    /**
+     * Queue a check-out time for the next flush.
+     *
+     * @param pass the scanned pass
+     * @param time when the student left
+     */
+    public void recordCheckOut(CheckInPass pass, LocalDateTime time) {
+        enqueue(new GateWrite(pass.bookingId(), pass.hallId(), pass.startTime().toLocalDate(), time, false));
+    }
+
+    /**
+     * @return number of writes waiting for the next flush
+     */
+    public int pendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Write everything queued so far, e.g. before reading check-in times back.
+     * On failure the writes stay queued for the next flush.
+     *
+     * @return number of queued writes flushed
+     */
+    public int flush() {
+        synchronized (flushLock) {
+            List<GateWrite> batch = drain();
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            // One row per booking: the earliest check-in and the latest check-out win
+            Map<Long, LocalDateTime> checkIns = new LinkedHashMap<>();
+            Map<Long, LocalDateTime> checkOuts = new LinkedHashMap<>();
+            for (GateWrite write : batch) {
+                if (write.checkIn()) {
+                    checkIns.merge(write.bookingId(), write.time(), (a, b) -> a.isBefore(b) ? a : b);
+                } else {
+                    checkOuts.merge(write.bookingId(), write.time(), (a, b) -> a.isAfter(b) ? a : b);
+                }
+            }
+
+            try {
+                flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                    if (!checkIns.isEmpty()) {
+                        bookingRepository.recordCheckIns(
+                            checkIns.keySet().toArray(Long[]::new), checkIns.values().toArray(LocalDateTime[]::new));
+                    }
+                    if (!checkOuts.isEmpty()) {
+                        bookingRepository.recordCheckOuts(
+                            checkOuts.keySet().toArray(Long[]::new), checkOuts.values().toArray(LocalDateTime[]::new));
+                    }
+                }));
+            } catch (RuntimeException e) {
+                batch.forEach(this::enqueue);
+                throw e;
+            }
+            batch.stream()
+                .map(write -> Map.entry(write.hallId(), write.bookingDate()))
+                .distinct()
+                .forEach(day -> reportCache.invalidate(day.getKey(), day.getValue()));
+            log.debug("Flushed {} check-ins and {} check-outs", checkIns.size(), checkOuts.size());
+            return batch.size();
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // An exception would cancel the periodic task; the batch was re-queued
+            log.error("Check-in flush failed; {} writes will be retried", pending.get(), e);
+        }
+    }
+
+    private void enqueue(GateWrite write) {
+        queue.add(write);
+        pending.incrementAndGet();
+    }
+
+    private List<GateWrite> drain() {
+        List<GateWrite> batch = new ArrayList<>();
+        GateWrite write;
+        while ((write = queue.poll()) != null) {
+            batch.add(write);
+            pending.decrementAndGet();
+        }
+        return batch;
+    }
+
+    private record GateWrite(long bookingId, long hallId, LocalDate bookingDate, LocalDateTime time,
+                             boolean checkIn) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.studymate.backend.service.occupancy;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Point-in-time view of a hall's live counters.
+ */
+@Value
+public class HallOccupancy {
+
+    /**
+     * Confirmed bookings whose end time is still in the future.
+     */
+    int activeBookings;
+
+    /**
+     * Revenue from all confirmed bookings.
+     */
+    BigDecimal revenue;
+}
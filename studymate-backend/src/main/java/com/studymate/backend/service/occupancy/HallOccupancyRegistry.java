@@ -0,0 +1,253 @@
+package com.studymate.backend.service.occupancy;
+
+import com.studymate.backend.event.BookingChangedEvent;
+import com.studymate.backend.model.BookingSnapshot;
+import com.studymate.backend.repository.projection.ActiveBookingRow;
+import com.studymate.backend.repository.projection.HallRevenueRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free registry of live occupancy and revenue counters per hall.
+ *
+ * <p>Each hall keeps the set of its active bookings (confirmed, end time in the
+ * future) keyed by booking ID, and its billable revenue in minor currency units.
+ * Keying active bookings by ID makes every update idempotent, so a booking that
+ * ends and is later cancelled is never subtracted twice.</p>
+ *
+ * <p>End-of-booking transitions from {@link SeatTransitionScheduler} remove
+ * bookings from the active set as they expire; reads additionally prune expired
+ * entries so a late transition never over-reports occupancy.</p>
+ *
+ * <p>The registry is seeded and periodically rebuilt by {@link OccupancyReconciler};
+ * until the first seed completes {@link #find(Long)} returns empty and callers
+ * must fall back to the database. Changes delivered while a rebuild reads the
+ * database are recorded and replayed onto the rebuilt counters, so they are not
+ * lost when the rebuilt counters replace the live ones.</p>
+ */
+@Component
+@Slf4j
+public class HallOccupancyRegistry implements SeatTransitionListener {
+
+    private final SeatHallLookup seatHallLookup;
+    private final Object rebuildLock = new Object();
+    private volatile Map<Long, HallCounters> counters = new ConcurrentHashMap<>();
+    private volatile boolean seeded;
+    private volatile boolean rebuilding;
+    private List<PendingChange> pendingChanges; // guarded by rebuildLock
+
+    public HallOccupancyRegistry(SeatHallLookup seatHallLookup) {
+        this.seatHallLookup = seatHallLookup;
+    }
+
+    /**
+     * Apply a committed booking change to the counters of its hall.
+     *
+     * @param event the booking change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        Long hallId = seatHallLookup.hallIdOf(event);
+        if (hallId == null) {
+            log.debug("Skipping occupancy update for booking {}: seat {} has no hall", event.getBookingId(), event.getSeatId());
+            return;
+        }
+        apply(hallId, event);
+    }
+
+    /**
+     * Apply a booking change to a hall's counters.
+     *
+     * @param hallId the hall of the booked seat
+     * @param event the booking change
+     */
+    public void apply(Long hallId, BookingChangedEvent event) {
+        // Read the map before the flag: a change that sees no rebuild committed before its read
+        Map<Long, HallCounters> target = counters;
+        if (rebuilding) {
+            synchronized (rebuildLock) {
+                if (pendingChanges != null) {
+                    pendingChanges.add(new PendingChange(hallId, event));
+                }
+                applyTo(counters, hallId, event);
+            }
+            return;
+        }
+        applyTo(target, hallId, event);
+    }
+
+    private static void applyTo(Map<Long, HallCounters> counters, Long hallId, BookingChangedEvent event) {
+        HallCounters hall = counters.computeIfAbsent(hallId, id -> new HallCounters());
+
+        long revenueDelta = (event.isBillable() ? toMinorUnits(event.getCurrent().getAmount()) : 0L)
+            - (event.wasBillable() ? toMinorUnits(event.getPrevious().getAmount()) : 0L);
+        if (revenueDelta != 0) {
+            hall.revenueMinorUnits.add(revenueDelta);
+        }
+
+        hall.activeBookingEnds.remove(event.getBookingId());
+        BookingSnapshot current = event.getCurrent();
+        if (event.isConfirmed() && current.getEndTime() != null
+                && current.getEndTime().isAfter(LocalDateTime.now())) {
+            hall.activeBookingEnds.put(event.getBookingId(), current.getEndTime());
+        }
+    }
+
+    /**
+     * Record that a booking has passed its end time.
+     *
+     * @param hallId the hall of the booked seat
+     * @param bookingId the booking that ended
+     */
+    public void bookingEnded(Long hallId, Long bookingId) {
+        HallCounters hall = counters.get(hallId);
+        if (hall != null) {
+            hall.activeBookingEnds.remove(bookingId);
+        }
+    }
+
+    @Override
+    public void onSeatTransition(SeatTransition transition) {
+        if (transition.isReleasing()) {
+            bookingEnded(transition.getHallId(), transition.getBookingId());
+        }
+    }
+
+    /**
+     * Read a hall's live counters.
+     * Bookings whose end time has passed are pruned on read, so the value is
+     * correct even if no end-time transition has been delivered yet.
+     *
+     * @param hallId the hall ID
+     * @return the hall's counters (zero for a hall without bookings),
+     *         or empty if the registry has not been seeded yet
+     */
+    public Optional<HallOccupancy> find(Long hallId) {
+        if (!seeded) {
+            return Optional.empty();
+        }
+        HallCounters hall = counters.get(hallId);
+        return Optional.of(hall != null ? hall.snapshot(LocalDateTime.now()) : new HallOccupancy(0, BigDecimal.ZERO));
+    }
+
+    /**
+     * Read the counters of every hall known to the registry.
+     *
+     * @return hall ID to counters
+     */
+    public Map<Long, HallOccupancy> snapshotAll() {
+        return snapshotOf(counters);
+    }
+
+    private static Map<Long, HallOccupancy> snapshotOf(Map<Long, HallCounters> counters) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, HallOccupancy> snapshot = new HashMap<>();
+        counters.forEach((hallId, hall) -> snapshot.put(hallId, hall.snapshot(now)));
+        return snapshot;
+    }
+
+    /**
+     * @return true once the registry has been seeded from the database
+     */
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * Start recording booking changes for replay onto rebuilt counters.
+     * Must be called before the database is read for {@link #replaceAll}.
+     */
+    void beginRebuild() {
+        synchronized (rebuildLock) {
+            pendingChanges = new ArrayList<>();
+            rebuilding = true;
+        }
+    }
+
+    /**
+     * Stop recording booking changes after a rebuild failed; the live counters stay in place.
+     */
+    void cancelRebuild() {
+        synchronized (rebuildLock) {
+            pendingChanges = null;
+            rebuilding = false;
+        }
+    }
+
+    /**
+     * Replace all counters with state rebuilt from the database.
+     * Changes recorded since {@link #beginRebuild()} are replayed onto the
+     * rebuilt counters before they are installed. A change committed just
+     * before the database read but delivered after the rebuild began is
+     * counted twice in revenue until the next rebuild; active bookings are
+     * keyed by ID and unaffected.
+     *
+     * @param activeBookings active bookings across all halls
+     * @param revenues billable revenue per hall
+     * @return the replaced counters of every hall, read at the moment of the swap
+     */
+    Map<Long, HallOccupancy> replaceAll(List<ActiveBookingRow> activeBookings, List<HallRevenueRow> revenues) {
+        Map<Long, HallCounters> rebuilt = new ConcurrentHashMap<>();
+        for (ActiveBookingRow row : activeBookings) {
+            rebuilt.computeIfAbsent(row.getHallId(), id -> new HallCounters())
+                .activeBookingEnds.put(row.getBookingId(), row.getEndTime());
+        }
+        for (HallRevenueRow row : revenues) {
+            rebuilt.computeIfAbsent(row.getHallId(), id -> new HallCounters())
+                .revenueMinorUnits.add(toMinorUnits(row.getRevenue()));
+        }
+        synchronized (rebuildLock) {
+            if (pendingChanges != null) {
+                for (PendingChange change : pendingChanges) {
+                    applyTo(rebuilt, change.hallId(), change.event());
+                }
+                log.debug("Replayed {} booking changes onto rebuilt occupancy counters", pendingChanges.size());
+            }
+            Map<Long, HallOccupancy> replaced = snapshotOf(counters);
+            counters = rebuilt;
+            pendingChanges = null;
+            rebuilding = false;
+            seeded = true;
+            return replaced;
+        }
+    }
+
+    private static long toMinorUnits(BigDecimal amount) {
+        if (amount == null) {
+            return 0L;
+        }
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * A booking change delivered during a rebuild.
+     */
+    private record PendingChange(Long hallId, BookingChangedEvent event) {
+    }
+
+    /**
+     * Mutable counters of a single hall.
+     */
+    private static final class HallCounters {
+
+        private final Map<Long, LocalDateTime> activeBookingEnds = new ConcurrentHashMap<>();
+        private final LongAdder revenueMinorUnits = new LongAdder();
+
+        private HallOccupancy snapshot(LocalDateTime now) {
+            activeBookingEnds.values().removeIf(endTime -> !endTime.isAfter(now));
+            return new HallOccupancy(activeBookingEnds.size(), BigDecimal.valueOf(revenueMinorUnits.sum(), 2));
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.studymate.backend.service.occupancy;
+
+import java.util.Arrays;
+
+/**
+ * Hashed timing wheel keyed by {@code long} IDs with O(1) schedule and cancel.
+ *
+ * <p>Timeouts live in parallel primitive arrays (an intrusive doubly-linked list
+ * per wheel slot) and are located through an open-addressing {@code long -> int}
+ * index, so scheduling hundreds of thousands of timeouts allocates nothing beyond
+ * occasional array growth. Each timeout carries two {@code long} attachments that
+ * are handed back on expiry.</p>
+ *
+ * <p>Timeouts further away than one wheel rotation stay in their slot and are
+ * skipped until their tick comes round. Deadlines in the past fire on the next
+ * {@link #advance} call.</p>
+ *
+ * <p>Not thread-safe: callers must serialize access.</p>
+ */
+public final class HashedTimingWheel {
+
+    /**
+     * Receives expired timeouts during {@link #advance}.
+     * The handler must not modify the wheel; buffer the expiries and act on them
+     * once {@code advance} has returned.
+     */
+    @FunctionalInterface
+    public interface ExpiryHandler {
+        void onExpiry(long key, long attachmentA, long attachmentB);
+    }
+
+    private static final int NIL = -1;
+
+    private final long tickMillis;
+    private final long originMillis;
+    private final int mask;
+    private final int[] slotHeads;
+
+    // Node pool (parallel arrays indexed by node)
+    private long[] keys;
+    private long[] deadlineTicks;
+    private long[] attachmentsA;
+    private long[] attachmentsB;
+    private int[] next;
+    private int[] prev;
+    private int freeHead = NIL;
+    private int highWater;
+    private int size;
+
+    private final LongIntIndex index;
+
+    /**
+     * Next tick that has not been processed yet.
+     */
+    private long currentTick;
+
+    /**
+     * @param tickMillis duration of one tick
+     * @param wheelSize number of slots, rounded up to a power of two
+     * @param initialCapacity initial number of timeouts before the pool grows
+     * @param startMillis wall-clock time of tick zero
+     */
+    public HashedTimingWheel(long tickMillis, int wheelSize, int initialCapacity, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        int slots = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        int capacity = Math.max(16, initialCapacity);
+
+        this.tickMillis = tickMillis;
+        this.originMillis = startMillis;
+        this.mask = slots - 1;
+        this.slotHeads = new int[slots];
+        Arrays.fill(slotHeads, NIL);
+
+        this.keys = new long[capacity];
+        this.deadlineTicks = new long[capacity];
+        this.attachmentsA = new long[capacity];
+        this.attachmentsB = new long[capacity];
+        this.next = new int[capacity];
+        this.prev = new int[capacity];
+        this.index = new LongIntIndex(capacity * 2);
+    }
+
+    /**
+     * Schedule a timeout, replacing any timeout already registered for the key.
+     *
+     * @param key unique key of the timeout
+     * @param deadlineMillis wall-clock deadline
+     * @param attachmentA first value returned on expiry
+     * @param attachmentB second value returned on expiry
+     */
+    public void schedule(long key, long deadlineMillis, long attachmentA, long attachmentB) {
+        int existing = index.get(key);
+        if (existing != NIL) {
+            unlink(existing);
+            release(existing);
+            index.remove(key);
+            size--;
+        }
+
+        long tick = Math.max(Math.floorDiv(deadlineMillis - originMillis, tickMillis), currentTick);
+        int node = allocate();
+        keys[node] = key;
+        deadlineTicks[node] = tick;
+        attachmentsA[node] = attachmentA;
+        attachmentsB[node] = attachmentB;
+        link(node, (int) (tick & mask));
+        index.put(key, node);
+        size++;
+    }
+
+    /**
+     * Cancel a pending timeout.
+     *
+     * @param key key of the timeout
+     * @return true if a pending timeout was removed
+     */
+    public boolean cancel(long key) {
+        int node = index.remove(key);
+        if (node == NIL) {
+            return false;
+        }
+        unlink(node);
+        release(node);
+        size--;
+        return true;
+    }
+
+    /**
+     * @param key key of the timeout
+     * @return true if a timeout is pending for the key
+     */
+    public boolean contains(long key) {
+        return index.get(key) != NIL;
+    }
+
+    /**
+     * @return number of pending timeouts
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Process every tick up to and including the one containing {@code nowMillis},
+     * firing expired timeouts in tick order.
+     *
+     * @param nowMillis current wall-clock time
+     * @param handler receives each expired timeout
+     * @return number of timeouts fired
+     */
+    public int advance(long nowMillis, ExpiryHandler handler) {
+        long targetTick = Math.floorDiv(nowMillis - originMillis, tickMillis);
+        int fired = 0;
+        while (currentTick <= targetTick) {
+            long tick = currentTick++;
+            int node = slotHeads[(int) (tick & mask)];
+            while (node != NIL) {
+                int following = next[node];
+                if (deadlineTicks[node] <= tick) {
+                    long key = keys[node];
+                    long attachmentA = attachmentsA[node];
+                    long attachmentB = attachmentsB[node];
+                    unlink(node);
+                    release(node);
+                    index.remove(key);
+                    size--;
+                    fired++;
+                    handler.onExpiry(key, attachmentA, attachmentB);
+                }
+                node = following;
+            }
+        }
+        return fired;
+    }
+
+    private void link(int node, int slot) {
+        int head = slotHeads[slot];
+        prev[node] = NIL;
+        next[node] = head;
+        if (head != NIL) {
+            prev[head] = node;
+        }
+        slotHeads[slot] = node;
+    }
+
+    private void unlink(int node) {
+        int before = prev[node];
+        int after = next[node];
+        if (before != NIL) {
+            next[before] = after;
+        } else {
+            slotHeads[(int) (deadlineTicks[node] & mask)] = after;
+        }
+        if (after != NIL) {
+            prev[after] = before;
+        }
+    }
+
+    private int allocate() {
+        if (freeHead != NIL) {
+            int node = freeHead;
+            freeHead = next[node];
+            return node;
+        }
+        if (highWater == keys.length) {
+            grow();
+        }
+        return highWater++;
+    }
+
+    private void release(int node) {
+        next[node] = freeHead;
+        prev[node] = NIL;
+        freeHead = node;
+    }
+
+    private void grow() {
+        int capacity = keys.length << 1;
+        keys = Arrays.copyOf(keys, capacity);
+        deadlineTicks = Arrays.copyOf(deadlineTicks, capacity);
+        attachmentsA = Arrays.copyOf(attachmentsA, capacity);
+        attachmentsB = Arrays.copyOf(attachmentsB, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+    }
+
+    /**
+     * Open-addressing {@code long -> int} map with linear probing and
+     * backward-shift deletion (no tombstones). Absent keys map to {@link #NIL}.
+     */
+    private static final class LongIntIndex {
+
+        private long[] keys;
+        private int[] values;
+        private boolean[] used;
+        private int mask;
+        private int size;
+
+        LongIntIndex(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected) - 1) << 1;
+            allocate(capacity);
+        }
+
+        int get(long key) {
+            int slot = slotOf(key);
+            while (used[slot]) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return NIL;
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                rehash(keys.length << 1);
+            }
+            int slot = slotOf(key);
+            while (used[slot]) {
+                if (keys[slot] == key) {
+                    values[slot] = value;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            used[slot] = true;
+            keys[slot] = key;
+            values[slot] = value;
+            size++;
+        }
+
+        int remove(long key) {
+            int slot = slotOf(key);
+            while (used[slot]) {
+                if (keys[slot] == key) {
+                    int value = values[slot];
+                    shiftBack(slot);
+                    size--;
+                    return value;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return NIL;
+        }
+
+        private void shiftBack(int hole) {
+            int slot = (hole + 1) & mask;
+            while (used[slot]) {
+                int home = slotOf(keys[slot]);
+                // Move the entry into the hole if the hole lies on its probe path
+                if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                    keys[hole] = keys[slot];
+                    values[hole] = values[slot];
+                    hole = slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            used[hole] = false;
+        }
+
+        private int slotOf(long key) {
+            long mixed = key * 0x9E3779B97F4A7C15L;
+            return (int) (mixed ^ (mixed >>> 32)) & mask;
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            boolean[] oldUsed = used;
+            allocate(capacity);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            values = new int[capacity];
+            used = new boolean[capacity];
+            mask = capacity - 1;
+        }
+    }
+}
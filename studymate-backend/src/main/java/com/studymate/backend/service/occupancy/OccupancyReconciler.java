@@ -0,0 +1,125 @@
+package com.studymate.backend.service.occupancy;
+
+import com.studymate.backend.repository.BookingRepository;
+import com.studymate.backend.repository.projection.ActiveBookingRow;
+import com.studymate.backend.repository.projection.HallRevenueRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Seeds {@link HallOccupancyRegistry} at startup and periodically rebuilds it
+ * from the bookings table. Any difference between the live counters and the
+ * rebuilt values is reported as drift once the rebuilt values are installed;
+ * booking changes delivered during the rebuild count on both sides, so they
+ * are not reported as drift.
+ *
+ * <p>Metrics:
+ * <ul>
+ *   <li>{@code studymate.occupancy.drift{counter=active_bookings}} - total absolute drift in active bookings</li>
+ *   <li>{@code studymate.occupancy.drift{counter=revenue}} - total absolute drift in revenue</li>
+ *   <li>{@code studymate.occupancy.drifted.halls} - halls that drifted in the last run</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class OccupancyReconciler {
+
+    private final BookingRepository bookingRepository;
+    private final HallOccupancyRegistry registry;
+    private final Counter activeBookingsDrift;
+    private final Counter revenueDrift;
+    private final AtomicInteger driftedHalls = new AtomicInteger();
+
+    public OccupancyReconciler(BookingRepository bookingRepository,
+                               HallOccupancyRegistry registry,
+                               MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.registry = registry;
+        this.activeBookingsDrift = Counter.builder("studymate.occupancy.drift")
+            .tag("counter", "active_bookings")
+            .description("Absolute drift between live and rebuilt active booking counters")
+            .register(meterRegistry);
+        this.revenueDrift = Counter.builder("studymate.occupancy.drift")
+            .tag("counter", "revenue")
+            .description("Absolute drift between live and rebuilt revenue counters")
+            .register(meterRegistry);
+        meterRegistry.gauge("studymate.occupancy.drifted.halls", driftedHalls);
+    }
+
+    /**
+     * Seed the registry once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void seed() {
+        rebuild();
+        log.info("Occupancy counters seeded for {} halls", registry.snapshotAll().size());
+    }
+
+    /**
+     * Rebuild the registry from the database and report drift.
+     */
+    @Scheduled(fixedDelayString = "${app.occupancy.reconcile-interval-ms:300000}",
+               initialDelayString = "${app.occupancy.reconcile-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        rebuild();
+    }
+
+    private void rebuild() {
+        boolean wasSeeded = registry.isSeeded();
+
+        // Changes delivered from here on are replayed onto the rebuilt counters
+        registry.beginRebuild();
+        Map<Long, HallOccupancy> live;
+        try {
+            List<ActiveBookingRow> activeBookings = bookingRepository.findAllActiveBookings();
+            List<HallRevenueRow> revenues = bookingRepository.sumRevenueGroupByHall();
+            live = registry.replaceAll(activeBookings, revenues);
+        } catch (RuntimeException e) {
+            registry.cancelRebuild();
+            throw e;
+        }
+
+        if (wasSeeded) {
+            reportDrift(live, registry.snapshotAll());
+        }
+    }
+
+    private void reportDrift(Map<Long, HallOccupancy> live, Map<Long, HallOccupancy> rebuilt) {
+        Set<Long> hallIds = new HashSet<>(live.keySet());
+        hallIds.addAll(rebuilt.keySet());
+
+        int drifted = 0;
+        for (Long hallId : hallIds) {
+            HallOccupancy before = live.getOrDefault(hallId, new HallOccupancy(0, BigDecimal.ZERO));
+            HallOccupancy after = rebuilt.getOrDefault(hallId, new HallOccupancy(0, BigDecimal.ZERO));
+
+            int activeDelta = Math.abs(after.getActiveBookings() - before.getActiveBookings());
+            BigDecimal revenueDelta = after.getRevenue().subtract(before.getRevenue()).abs();
+
+            if (activeDelta > 0 || revenueDelta.signum() > 0) {
+                drifted++;
+                activeBookingsDrift.increment(activeDelta);
+                revenueDrift.increment(revenueDelta.doubleValue());
+                log.warn("Occupancy drift for hall {}: active bookings {} -> {}, revenue {} -> {}",
+                    hallId, before.getActiveBookings(), after.getActiveBookings(),
+                    before.getRevenue(), after.getRevenue());
+            }
+        }
+        driftedHalls.set(drifted);
+    }
+}
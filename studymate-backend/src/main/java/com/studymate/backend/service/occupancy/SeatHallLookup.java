@@ -0,0 +1,62 @@
+package com.studymate.backend.service.occupancy;
+
+import com.studymate.backend.event.BookingChangedEvent;
+import com.studymate.backend.repository.SeatRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the hall a seat belongs to, caching the answer.
+ * A seat never moves between halls (reconfiguring a hall recreates its seats),
+ * so cached entries never go stale; at worst they refer to a deleted seat.
+ */
+@Component
+public class SeatHallLookup {
+
+    private final SeatRepository seatRepository;
+    private final Map<Long, Long> hallIdBySeatId = new ConcurrentHashMap<>();
+
+    public SeatHallLookup(SeatRepository seatRepository) {
+        this.seatRepository = seatRepository;
+    }
+
+    /**
+     * Resolve the hall of a booking change, using the hall ID carried by the
+     * event when present.
+     *
+     * @param event the booking change
+     * @return the hall ID, or null if the seat no longer exists
+     */
+    public Long hallIdOf(BookingChangedEvent event) {
+        if (event.getHallId() != null) {
+            if (event.getSeatId() != null) {
+                hallIdBySeatId.putIfAbsent(event.getSeatId(), event.getHallId());
+            }
+            return event.getHallId();
+        }
+        return hallIdOf(event.getSeatId());
+    }
+
+    /**
+     * Resolve the hall of a seat.
+     *
+     * @param seatId the seat ID
+     * @return the hall ID, or null if the seat does not exist
+     */
+    public Long hallIdOf(Long seatId) {
+        if (seatId == null) {
+            return null;
+        }
+        Long cached = hallIdBySeatId.get(seatId);
+        if (cached != null) {
+            return cached;
+        }
+        Long hallId = seatRepository.findHallIdById(seatId).orElse(null);
+        if (hallId != null) {
+            hallIdBySeatId.put(seatId, hallId);
+        }
+        return hallId;
+    }
+}
@@ -0,0 +1,141 @@
+package com.studymate.backend.service.occupancy;
+
+import com.studymate.backend.event.BookingChangedEvent;
+import com.studymate.backend.event.SeatMapChangedEvent;
+import com.studymate.backend.repository.SeatRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps each seat's materialized current occupancy ({@code seats.current_booking_id}
+ * and {@code seats.occupied_until}) in step with the bookings table, so seat-map
+ * reads never join bookings.
+ *
+ * <p>Every committed booking change recomputes its seat from the bookings table
+ * in a new transaction. The recompute is idempotent, so a late or repeated
+ * event cannot corrupt the seat, and a booking ending needs no write at all
+ * because readers compare {@code occupied_until} with the current time. This
+ * listener runs before the other after-commit listeners, so the seat-map feed
+ * re-reads seats that are already up to date.</p>
+ *
+ * <p>A scheduled consistency check compares every seat with the bookings
+ * table, repairs the seats that disagree (e.g. after a failed recompute or a
+ * booking written outside the application) and pushes them to the seat map.</p>
+ *
+ * <p>Metrics:
+ * <ul>
+ *   <li>{@code studymate.seat.occupancy.drift} - total seats found inconsistent and repaired</li>
+ *   <li>{@code studymate.seat.occupancy.drifted.seats} - seats repaired in the last check</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class SeatOccupancyMaterializer {
+
+    private final SeatRepository seatRepository;
+    private final SeatHallLookup seatHallLookup;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate newTransaction;
+    private final int checkBatchSize;
+    private final Counter drift;
+    private final AtomicInteger driftedSeats = new AtomicInteger();
+
+    public SeatOccupancyMaterializer(SeatRepository seatRepository,
+                                     SeatHallLookup seatHallLookup,
+                                     ApplicationEventPublisher eventPublisher,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.occupancy.seat-check-batch-size:1000}") int checkBatchSize) {
+        this.seatRepository = seatRepository;
+        this.seatHallLookup = seatHallLookup;
+        this.eventPublisher = eventPublisher;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.checkBatchSize = checkBatchSize;
+        this.drift = Counter.builder("studymate.seat.occupancy.drift")
+            .description("Seats whose materialized occupancy disagreed with the bookings table")
+            .register(meterRegistry);
+        meterRegistry.gauge("studymate.seat.occupancy.drifted.seats", driftedSeats);
+    }
+
+    /**
+     * Recompute the booked seat once the booking change commits.
+     * Failures are left to the consistency check.
+     *
+     * @param event the booking change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (event.getSeatId() == null) {
+            return;
+        }
+        try {
+            newTransaction.executeWithoutResult(status ->
+                seatRepository.refreshCurrentOccupancy(List.of(event.getSeatId())));
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh occupancy of seat {} after booking {} changed; "
+                + "the consistency check will repair it", event.getSeatId(), event.getBookingId(), e);
+        }
+    }
+
+    /**
+     * Compare every seat's materialized occupancy with the bookings table and
+     * repair the seats that disagree, at most one batch per run.
+     *
+     * @return number of seats repaired
+     */
+    @Scheduled(fixedDelayString = "${app.occupancy.seat-check-interval-ms:600000}",
+               initialDelayString = "${app.occupancy.seat-check-interval-ms:600000}")
+    public int checkConsistency() {
+        Integer repaired = newTransaction.execute(status -> {
+            List<Long> seatIds = seatRepository.findSeatIdsWithInconsistentOccupancy(checkBatchSize);
+            if (seatIds.isEmpty()) {
+                return 0;
+            }
+            seatRepository.refreshCurrentOccupancy(seatIds);
+            publishRepairs(seatIds);
+            return seatIds.size();
+        });
+
+        int count = repaired != null ? repaired : 0;
+        driftedSeats.set(count);
+        if (count > 0) {
+            drift.increment(count);
+            log.warn("Repaired materialized occupancy of {} seats", count);
+        }
+        return count;
+    }
+
+    /**
+     * Push repaired seats to the seat map once the repair commits.
+     */
+    private void publishRepairs(List<Long> seatIds) {
+        Map<Long, List<Long>> seatsByHall = new TreeMap<>();
+        for (Long seatId : seatIds) {
+            Long hallId = seatHallLookup.hallIdOf(seatId);
+            if (hallId != null) {
+                seatsByHall.computeIfAbsent(hallId, id -> new ArrayList<>()).add(seatId);
+            }
+        }
+        seatsByHall.forEach((hallId, ids) ->
+            eventPublisher.publishEvent(SeatMapChangedEvent.seatsUpdated(hallId, ids)));
+    }
+}
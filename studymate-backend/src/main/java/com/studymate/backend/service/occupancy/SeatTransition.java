@@ -0,0 +1,39 @@
+package com.studymate.backend.service.occupancy;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * A seat changing occupancy because a confirmed booking started or ended.
+ * Transitions are hints derived from the booking schedule: a listener that
+ * keeps derived state should apply them idempotently and may receive a
+ * transition for a booking that was cancelled moments earlier.
+ */
+@Value
+public class SeatTransition {
+
+    public static final String AVAILABLE = "AVAILABLE";
+    public static final String OCCUPIED = "OCCUPIED";
+
+    Long hallId;
+    Long seatId;
+    Long bookingId;
+    String fromStatus;
+    String toStatus;
+    LocalDateTime firedAt;
+
+    /**
+     * @return true if the booking started and the seat became occupied
+     */
+    public boolean isOccupying() {
+        return OCCUPIED.equals(toStatus);
+    }
+
+    /**
+     * @return true if the booking ended and the seat became available
+     */
+    public boolean isReleasing() {
+        return AVAILABLE.equals(toStatus);
+    }
+}
@@ -0,0 +1,14 @@
+package com.studymate.backend.service.occupancy;
+
+/**
+ * Receives seat transitions fired by {@link SeatTransitionScheduler}.
+ * Implementations are discovered as Spring beans and called on the scheduler
+ * thread, so they must return quickly and hand slow work off elsewhere.
+ */
+public interface SeatTransitionListener {
+
+    /**
+     * @param transition the seat transition that just fired
+     */
+    void onSeatTransition(SeatTransition transition);
+}
@@ -0,0 +1,267 @@
+package com.studymate.backend.service.occupancy;
+
+import com.studymate.backend.event.BookingChangedEvent;
+import com.studymate.backend.model.BookingSnapshot;
+import com.studymate.backend.repository.BookingRepository;
+import com.studymate.backend.repository.projection.BookingTransitionRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fires seat transitions at the instant a confirmed booking starts
+ * (AVAILABLE to OCCUPIED) or ends (OCCUPIED to AVAILABLE) and delivers them
+ * to every {@link SeatTransitionListener} bean.
+ *
+ * <p>Pending transitions live in a {@link HashedTimingWheel} keyed by booking ID
+ * and kind, so scheduling and cancelling are O(1) and allocation-free. Bookings
+ * starting within the configured horizon are loaded at startup and on every
+ * refresh; committed booking changes reschedule or cancel their transitions.
+ * A dedicated daemon thread advances the wheel once per tick.</p>
+ *
+ * <p>Metrics:
+ * <ul>
+ *   <li>{@code studymate.transitions.pending} - transitions waiting in the wheel</li>
+ *   <li>{@code studymate.transitions.fired} - transitions delivered to listeners</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class SeatTransitionScheduler {
+
+    private static final long START = 0L;
+    private static final long END = 1L;
+    private static final int WHEEL_SIZE = 8192;
+    private static final int INITIAL_CAPACITY = 1 << 14;
+
+    private final BookingRepository bookingRepository;
+    private final SeatHallLookup seatHallLookup;
+    private final ObjectProvider<SeatTransitionListener> listeners;
+    private final Duration horizon;
+    private final long tickMillis;
+    private final Counter firedCounter;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final HashedTimingWheel wheel;
+
+    // Expiries collected during one advance, as (key, seatId, hallId) triples; guarded by lock
+    private long[] expired = new long[3 * 64];
+    private int expiredCount;
+
+    private ScheduledExecutorService ticker;
+
+    public SeatTransitionScheduler(BookingRepository bookingRepository,
+                                   SeatHallLookup seatHallLookup,
+                                   ObjectProvider<SeatTransitionListener> listeners,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.occupancy.transition-horizon-hours:6}") long horizonHours,
+                                   @Value("${app.occupancy.transition-tick-ms:1000}") long tickMillis) {
+        this.bookingRepository = bookingRepository;
+        this.seatHallLookup = seatHallLookup;
+        this.listeners = listeners;
+        this.horizon = Duration.ofHours(horizonHours);
+        this.tickMillis = tickMillis;
+        this.wheel = new HashedTimingWheel(tickMillis, WHEEL_SIZE, INITIAL_CAPACITY, System.currentTimeMillis());
+        this.firedCounter = Counter.builder("studymate.transitions.fired")
+            .description("Seat transitions delivered to listeners")
+            .register(meterRegistry);
+        meterRegistry.gauge("studymate.transitions.pending", this, SeatTransitionScheduler::pendingCount);
+    }
+
+    /**
+     * Load upcoming transitions and start the ticker once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void start() {
+        int loaded = loadUpcoming();
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-transitions");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tickSafely, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        log.info("Seat transition scheduler started with {} bookings in a {} horizon", loaded, horizon);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * Reload bookings entering the horizon. Rescheduling an already pending
+     * transition replaces it, so overlapping loads are harmless.
+     */
+    @Scheduled(fixedDelayString = "${app.occupancy.transition-refresh-ms:900000}",
+               initialDelayString = "${app.occupancy.transition-refresh-ms:900000}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        int loaded = loadUpcoming();
+        log.debug("Refreshed seat transitions for {} bookings", loaded);
+    }
+
+    /**
+     * Reschedule the transitions of a committed booking change.
+     *
+     * @param event the booking change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        long bookingId = event.getBookingId();
+        BookingSnapshot current = event.getCurrent();
+        if (!event.isConfirmed() || current.getEndTime() == null
+                || !current.getEndTime().isAfter(LocalDateTime.now())
+                || current.getStartTime().isAfter(LocalDateTime.now().plus(horizon))) {
+            cancel(bookingId);
+            return;
+        }
+        Long hallId = seatHallLookup.hallIdOf(event);
+        if (hallId == null) {
+            cancel(bookingId);
+            return;
+        }
+        schedule(bookingId, event.getSeatId(), hallId, current.getStartTime(), current.getEndTime());
+    }
+
+    /**
+     * @return number of transitions waiting to fire
+     */
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fire every transition due at or before the given time.
+     *
+     * @param nowMillis current wall-clock time
+     * @return number of transitions fired
+     */
+    int tick(long nowMillis) {
+        long[] due;
+        int count;
+        lock.lock();
+        try {
+            expiredCount = 0;
+            count = wheel.advance(nowMillis, this::collect);
+            due = count == 0 ? null : Arrays.copyOf(expired, expiredCount);
+        } finally {
+            lock.unlock();
+        }
+        if (due != null) {
+            LocalDateTime firedAt = LocalDateTime.now();
+            List<SeatTransitionListener> targets = listeners.orderedStream().toList();
+            for (int i = 0; i < due.length; i += 3) {
+                dispatch(targets, toTransition(due[i], due[i + 1], due[i + 2], firedAt));
+            }
+            firedCounter.increment(count);
+        }
+        return count;
+    }
+
+    private void tickSafely() {
+        try {
+            tick(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            // An exception would cancel the periodic task; keep the ticker alive
+            log.error("Seat transition tick failed", e);
+        }
+    }
+
+    private int loadUpcoming() {
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingTransitionRow> rows = bookingRepository.findUpcomingTransitions(now.plus(horizon));
+        for (BookingTransitionRow row : rows) {
+            schedule(row.getBookingId(), row.getSeatId(), row.getHallId(), row.getStartTime(), row.getEndTime());
+        }
+        return rows.size();
+    }
+
+    private void schedule(long bookingId, long seatId, long hallId, LocalDateTime startTime, LocalDateTime endTime) {
+        long nowMillis = System.currentTimeMillis();
+        long startMillis = toEpochMillis(startTime);
+        lock.lock();
+        try {
+            if (startMillis > nowMillis) {
+                wheel.schedule(key(bookingId, START), startMillis, seatId, hallId);
+            } else {
+                wheel.cancel(key(bookingId, START));
+            }
+            wheel.schedule(key(bookingId, END), toEpochMillis(endTime), seatId, hallId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cancel(long bookingId) {
+        lock.lock();
+        try {
+            wheel.cancel(key(bookingId, START));
+            wheel.cancel(key(bookingId, END));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void collect(long key, long seatId, long hallId) {
+        if (expiredCount + 3 > expired.length) {
+            expired = Arrays.copyOf(expired, expired.length << 1);
+        }
+        expired[expiredCount++] = key;
+        expired[expiredCount++] = seatId;
+        expired[expiredCount++] = hallId;
+    }
+
+    private static SeatTransition toTransition(long key, long seatId, long hallId, LocalDateTime firedAt) {
+        long bookingId = key >>> 1;
+        boolean start = (key & 1L) == START;
+        return new SeatTransition(hallId, seatId, bookingId,
+            start ? SeatTransition.AVAILABLE : SeatTransition.OCCUPIED,
+            start ? SeatTransition.OCCUPIED : SeatTransition.AVAILABLE,
+            firedAt);
+    }
+
+    private static void dispatch(List<SeatTransitionListener> targets, SeatTransition transition) {
+        for (SeatTransitionListener listener : targets) {
+            try {
+                listener.onSeatTransition(transition);
+            } catch (RuntimeException e) {
+                log.warn("Seat transition listener {} failed for {}", listener.getClass().getSimpleName(), transition, e);
+            }
+        }
+    }
+
+    private static long key(long bookingId, long kind) {
+        return (bookingId << 1) | kind;
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
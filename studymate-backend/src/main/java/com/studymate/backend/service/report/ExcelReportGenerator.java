@@ -2,12 +2,16 @@ package com.studymate.backend.service.report;
 
 import com.studymate.backend.dto.ReportData;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -15,40 +19,142 @@ import java.util.concurrent.atomic.AtomicInteger;
 /**
  * Excel report generator using Apache POI library.
  * Generates performance reports in Excel format.
+ *
+ * <p>The workbook is streamed: only the last {@code app.reports.excel.row-window}
+ * rows of each sheet stay in memory, older ones are flushed to a compressed
+ * temporary file. Besides the summary sheets, every billable booking of the
+ * period is listed on a Bookings sheet, fed by {@link ReportBookingFeed}, and
+ * continued on further sheets past Excel's row limit.</p>
  */
 @Component
 @Slf4j
 public class ExcelReportGenerator implements ReportGenerator {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final String BOOKINGS_SHEET = "Bookings";
+    private static final String[] BOOKING_COLUMNS = {
+        "Booking ID", "Seat", "Student", "Start", "End", "Status", "Amount", "Check-in", "Check-out"
+    };
+    private static final int[] BOOKING_COLUMN_WIDTHS = {12, 10, 32, 18, 18, 12, 12, 18, 18};
+
+    private final ReportBookingFeed bookingFeed;
+    private final int rowWindow;
+
+    public ExcelReportGenerator(ReportBookingFeed bookingFeed,
+                                @Value("${app.reports.excel.row-window:100}") int rowWindow) {
+        this.bookingFeed = bookingFeed;
+        this.rowWindow = rowWindow;
+    }
 
     @Override
     public void generate(ReportData reportData, OutputStream outputStream) throws IOException {
         log.debug("Generating Excel report for hall: {}", reportData.getHallId());
 
-        try (Workbook workbook = new XSSFWorkbook()) {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindow);
+        workbook.setCompressTempFiles(true);
+        try (workbook) {
             // Create Summary Sheet
-            Sheet summarySheet = workbook.createSheet("Summary");
+            Sheet summarySheet = createSheet(workbook, "Summary");
             createSummarySheet(summarySheet, reportData, workbook);
 
             // Create Daily Utilization Sheet
             if (reportData.getDailyUtilization() != null && !reportData.getDailyUtilization().isEmpty()) {
-                Sheet utilizationSheet = workbook.createSheet("Daily Utilization");
+                Sheet utilizationSheet = createSheet(workbook, "Daily Utilization");
                 createUtilizationSheet(utilizationSheet, reportData, workbook);
             }
 
             // Create Busiest Hours Sheet
             if (reportData.getBusiestHours() != null && !reportData.getBusiestHours().isEmpty()) {
-                Sheet hoursSheet = workbook.createSheet("Busiest Hours");
+                Sheet hoursSheet = createSheet(workbook, "Busiest Hours");
                 createBusiestHoursSheet(hoursSheet, reportData, workbook);
             }
 
+            // Create Bookings Sheets
+            long bookings = createBookingSheets(workbook, reportData);
+
             workbook.write(outputStream);
-            log.debug("Excel report generated successfully for hall: {}", reportData.getHallId());
+            log.debug("Excel report generated successfully for hall: {}, {} bookings listed",
+                reportData.getHallId(), bookings);
 
         } catch (Exception e) {
             log.error("Error generating Excel report", e);
             throw new IOException("Failed to generate Excel report", e);
+        } finally {
+            workbook.dispose();
+        }
+    }
+
+    /**
+     * Create a sheet whose columns can be auto-sized once it is filled.
+     */
+    private Sheet createSheet(SXSSFWorkbook workbook, String name) {
+        SXSSFSheet sheet = workbook.createSheet(name);
+        sheet.trackAllColumnsForAutoSizing();
+        return sheet;
+    }
+
+    /**
+     * Create the bookings sheets, one row per booking, starting a new sheet
+     * whenever one is full.
+     *
+     * @return number of bookings listed
+     */
+    private long createBookingSheets(SXSSFWorkbook workbook, ReportData reportData) {
+        CellStyle headerStyle = createHeaderStyle(workbook);
+        CellStyle dateTimeStyle = workbook.createCellStyle();
+        dateTimeStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd hh:mm"));
+        CellStyle amountStyle = workbook.createCellStyle();
+        amountStyle.setDataFormat(workbook.createDataFormat().getFormat("#,##0.00"));
+        int maxRows = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+        Sheet[] sheet = {createBookingSheet(workbook, BOOKINGS_SHEET, headerStyle)};
+        int[] rowNum = {1};
+        int[] sheetCount = {1};
+        return bookingFeed.forEach(reportData.getHallId(), reportData.getStartDate(), reportData.getEndDate(),
+            booking -> {
+                if (rowNum[0] == maxRows) {
+                    sheet[0] = createBookingSheet(workbook, BOOKINGS_SHEET + " " + ++sheetCount[0], headerStyle);
+                    rowNum[0] = 1;
+                }
+                Row row = sheet[0].createRow(rowNum[0]++);
+                row.createCell(0).setCellValue(booking.bookingId());
+                row.createCell(1).setCellValue(booking.seatNumber());
+                row.createCell(2).setCellValue(booking.userEmail());
+                setDateTime(row, 3, booking.startTime(), dateTimeStyle);
+                setDateTime(row, 4, booking.endTime(), dateTimeStyle);
+                row.createCell(5).setCellValue(booking.status());
+                if (booking.amount() != null) {
+                    Cell amountCell = row.createCell(6);
+                    amountCell.setCellValue(booking.amount().doubleValue());
+                    amountCell.setCellStyle(amountStyle);
+                }
+                setDateTime(row, 7, booking.checkInTime(), dateTimeStyle);
+                setDateTime(row, 8, booking.checkOutTime(), dateTimeStyle);
+            });
+    }
+
+    /**
+     * Create a bookings sheet with its header row and fixed column widths,
+     * since streamed rows can't be auto-sized.
+     */
+    private Sheet createBookingSheet(SXSSFWorkbook workbook, String name, CellStyle headerStyle) {
+        Sheet sheet = workbook.createSheet(name);
+        Row headerRow = sheet.createRow(0);
+        for (int column = 0; column < BOOKING_COLUMNS.length; column++) {
+            Cell cell = headerRow.createCell(column);
+            cell.setCellValue(BOOKING_COLUMNS[column]);
+            cell.setCellStyle(headerStyle);
+            sheet.setColumnWidth(column, BOOKING_COLUMN_WIDTHS[column] * 256);
+        }
+        sheet.createFreezePane(0, 1);
+        return sheet;
+    }
+
+    private void setDateTime(Row row, int column, LocalDateTime value, CellStyle style) {
+        if (value != null) {
+            Cell cell = row.createCell(column);
+            cell.setCellValue(value);
+            cell.setCellStyle(style);
         }
     }
 
@@ -182,4 +288,14 @@ public class ExcelReportGenerator implements ReportGenerator {
     public String getFormat() {
         return "excel";
     }
+
+    @Override
+    public String getContentType() {
+        return "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "xlsx";
+    }
 }
@@ -117,4 +117,14 @@ public class PdfReportGenerator implements ReportGenerator {
     public String getFormat() {
         return "pdf";
     }
+
+    @Override
+    public String getContentType() {
+        return "application/pdf";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "pdf";
+    }
 }
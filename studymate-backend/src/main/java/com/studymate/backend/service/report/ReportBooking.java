@@ -0,0 +1,22 @@
+package com.studymate.backend.service.report;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One booking of a report's detail sheet, live or archived.
+ *
+ * @param bookingId the booking ID
+ * @param seatNumber the booked seat's number
+ * @param userEmail the student's email
+ * @param startTime start of the booking
+ * @param endTime end of the booking (exclusive)
+ * @param status CONFIRMED, COMPLETED or NO_SHOW
+ * @param amount price of the booking, or null
+ * @param checkInTime first gate entry, or null
+ * @param checkOutTime last gate exit, or null
+ */
+public record ReportBooking(long bookingId, String seatNumber, String userEmail,
+                            LocalDateTime startTime, LocalDateTime endTime, String status,
+                            BigDecimal amount, LocalDateTime checkInTime, LocalDateTime checkOutTime) {
+}
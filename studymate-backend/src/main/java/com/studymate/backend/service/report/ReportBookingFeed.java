@@ -0,0 +1,201 @@
+package com.studymate.backend.service.report;
+
+import com.studymate.backend.repository.BookingArchiveRepository;
+import com.studymate.backend.repository.BookingRepository;
+import com.studymate.backend.repository.SeatRepository;
+import com.studymate.backend.repository.UserRepository;
+import com.studymate.backend.repository.projection.BookingReportRow;
+import com.studymate.backend.repository.projection.SeatAvailabilityRow;
+import com.studymate.backend.repository.projection.UserEmailRow;
+import com.studymate.backend.service.archive.ArchivedBooking;
+import com.studymate.backend.service.archive.BookingArchiveStore;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Feeds the billable bookings of a hall and date range to a report, one at a
+ * time, in start time order.
+ *
+ * <p>Live bookings come from a database cursor that fetches a batch at a time,
+ * so memory stays flat however long the range is; the read-only transaction
+ * holding the cursor stays open until the last booking has been handed over.
+ * Bookings of months moved to {@link BookingArchiveStore} are read one
+ * hall-month at a time and merged in, with their seat numbers and student
+ * emails looked up in bulk. Archived bookings whose delete has not committed
+ * yet are still in the table and come from the cursor only; the transaction
+ * reads one snapshot, taken before any archive file is read.</p>
+ */
+@Component
+public class ReportBookingFeed {
+
+    private static final Comparator<ReportBooking> ORDER =
+        Comparator.comparing(ReportBooking::startTime).thenComparingLong(ReportBooking::bookingId);
+
+    /**
+     * Most user IDs looked up in one query.
+     */
+    private static final int EMAIL_BATCH_SIZE = 10000;
+
+    private final BookingRepository bookingRepository;
+    private final SeatRepository seatRepository;
+    private final UserRepository userRepository;
+    private final BookingArchiveStore archiveStore;
+    private final BookingArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ReportBookingFeed(BookingRepository bookingRepository,
+                             SeatRepository seatRepository,
+                             UserRepository userRepository,
+                             BookingArchiveStore archiveStore,
+                             BookingArchiveRepository archiveRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.seatRepository = seatRepository;
+        this.userRepository = userRepository;
+        this.archiveStore = archiveStore;
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Hand each billable booking of a hall that starts within the date range to an action.
+     *
+     * @param hallId the hall ID
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @param action receives the bookings in start time order
+     * @return number of bookings handed over
+     */
+    public long forEach(Long hallId, LocalDate startDate, LocalDate endDate, Consumer<ReportBooking> action) {
+        LocalDateTime from = startDate.atStartOfDay();
+        LocalDateTime to = endDate.plusDays(1).atStartOfDay();
+        Long count = transactionTemplate.execute(status -> {
+            try (Stream<BookingReportRow> rows = bookingRepository.streamReportRowsByHallAndPeriod(hallId, from, to)) {
+                return merge(hallId, from, to, rows.iterator(), action);
+            }
+        });
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Walk the range a month at a time, interleaving the month's archived
+     * bookings with the live bookings that start in it.
+     */
+    private long merge(Long hallId, LocalDateTime from, LocalDateTime to,
+                       Iterator<BookingReportRow> live, Consumer<ReportBooking> action) {
+        Map<Long, String> seatNumbers = null;
+        BookingReportRow next = live.hasNext() ? live.next() : null;
+        long count = 0;
+
+        YearMonth lastMonth = YearMonth.from(to.minusNanos(1));
+        for (YearMonth month = YearMonth.from(from); !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            LocalDateTime monthEnd = month.plusMonths(1).atDay(1).atStartOfDay();
+
+            List<ArchivedBooking> archivedBookings = readArchived(hallId, month, from, to);
+            if (!archivedBookings.isEmpty() && seatNumbers == null) {
+                seatNumbers = loadSeatNumbers(hallId);
+            }
+            List<ReportBooking> archived = toReportBookings(archivedBookings, seatNumbers);
+
+            int index = 0;
+            while (next != null && next.getStartTime().isBefore(monthEnd)) {
+                ReportBooking booking = toReportBooking(next);
+                while (index < archived.size() && ORDER.compare(archived.get(index), booking) < 0) {
+                    action.accept(archived.get(index++));
+                    count++;
+                }
+                action.accept(booking);
+                count++;
+                next = live.hasNext() ? live.next() : null;
+            }
+            while (index < archived.size()) {
+                action.accept(archived.get(index++));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Read a month's billable archived bookings that start within [from, to),
+     * the same bookings the cursor lists, so the sheet lines up with the
+     * report's booking count. Bookings are archived by the month they start
+     * in, so no month before the range holds one.
+     */
+    private List<ArchivedBooking> readArchived(Long hallId, YearMonth month, LocalDateTime from, LocalDateTime to) {
+        List<ArchivedBooking> bookings = archiveStore.read(hallId, month);
+        if (bookings.isEmpty()) {
+            return bookings;
+        }
+        Set<Long> inTable = archiveRepository.findFinishedBookingIds(hallId,
+            month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+        List<ArchivedBooking> archived = new ArrayList<>();
+        for (ArchivedBooking booking : bookings) {
+            if (booking.isBillable() && !inTable.contains(booking.bookingId())
+                    && !booking.startTime().isBefore(from) && booking.startTime().isBefore(to)) {
+                archived.add(booking);
+            }
+        }
+        return archived;
+    }
+
+    private List<ReportBooking> toReportBookings(List<ArchivedBooking> archived, Map<Long, String> seatNumbers) {
+        if (archived.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, String> emails = loadEmails(archived);
+        List<ReportBooking> bookings = new ArrayList<>(archived.size());
+        for (ArchivedBooking booking : archived) {
+            bookings.add(new ReportBooking(booking.bookingId(),
+                seatNumbers.getOrDefault(booking.seatId(), "#" + booking.seatId()),
+                emails.getOrDefault(booking.userId(), "#" + booking.userId()),
+                booking.startTime(), booking.endTime(), booking.status(), booking.amount(),
+                booking.checkInTime(), booking.checkOutTime()));
+        }
+        bookings.sort(ORDER);
+        return bookings;
+    }
+
+    private Map<Long, String> loadSeatNumbers(Long hallId) {
+        Map<Long, String> seatNumbers = new HashMap<>();
+        for (SeatAvailabilityRow seat : seatRepository.findAvailabilityRowsByHallId(hallId)) {
+            seatNumbers.put(seat.getId(), seat.getSeatNumber());
+        }
+        return seatNumbers;
+    }
+
+    private Map<Long, String> loadEmails(List<ArchivedBooking> archived) {
+        List<Long> userIds = archived.stream().map(ArchivedBooking::userId).distinct().toList();
+        Map<Long, String> emails = new HashMap<>();
+        for (int start = 0; start < userIds.size(); start += EMAIL_BATCH_SIZE) {
+            List<Long> batch = userIds.subList(start, Math.min(start + EMAIL_BATCH_SIZE, userIds.size()));
+            for (UserEmailRow user : userRepository.findEmailsByIds(batch)) {
+                emails.put(user.getId(), user.getEmail());
+            }
+        }
+        return emails;
+    }
+
+    private static ReportBooking toReportBooking(BookingReportRow row) {
+        return new ReportBooking(row.getBookingId(), row.getSeatNumber(), row.getUserEmail(),
+            row.getStartTime(), row.getEndTime(), row.getStatus(), row.getAmount(),
+            row.getCheckInTime(), row.getCheckOutTime());
+    }
+}
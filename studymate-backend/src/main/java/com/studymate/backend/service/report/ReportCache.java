@@ -0,0 +1,411 @@
+package com.studymate.backend.service.report;
+
+import com.studymate.backend.event.BookingChangedEvent;
+import com.studymate.backend.event.OpeningHoursChangedEvent;
+import com.studymate.backend.event.SeatMapChangedEvent;
+import com.studymate.backend.model.BookingSnapshot;
+import com.studymate.backend.service.occupancy.SeatHallLookup;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Rendered reports kept in memory, so asking again for an unchanged report
+ * costs neither aggregation nor rendering.
+ *
+ * <p>Entries are keyed by hall, period, format and the period's data version:
+ * every committed booking write bumps the version of its hall and of each
+ * date the booking spans, so an overnight booking retires the reports of both
+ * days, and a period's version is the highest of its dates. A write therefore only
+ * retires the reports whose period contains it; reports of other periods of
+ * the hall stay cached. The version is captured before a report is
+ * aggregated, so a report raced by a write is stored under a version that is
+ * already stale and never served. Once the dates tracked for a hall double,
+ * those written no later than its oldest cached report are folded into the
+ * hall-wide version, which leaves every cached version unchanged while
+ * keeping the per-date map bounded. Writes that publish no booking events,
+ * such as gate check-ins and imports, retire entries explicitly, and a seat
+ * layout or opening-hours change retires all of its hall's reports.</p>
+ *
+ * <p>At most {@code app.reports.cache.max-bytes} of reports are kept, least
+ * recently used first out; reports larger than
+ * {@code app.reports.cache.max-entry-bytes} are not cached. Each entry carries
+ * a SHA-256 of its content for use as an ETag.</p>
+ *
+ * <p>Metrics:
+ * <ul>
+ *   <li>{@code studymate.reports.cache{result=hit|miss}} - lookups by outcome</li>
+ *   <li>{@code studymate.reports.cache.evictions} - entries dropped for space</li>
+ *   <li>{@code studymate.reports.cache.bytes} - size of the cached reports</li>
+ * </ul>
+ */
+@Component
+public class ReportCache {
+
+    private final SeatHallLookup seatHallLookup;
+    private final long maxBytes;
+    private final int maxEntryBytes;
+    private final AtomicLong versions = new AtomicLong();
+    private final Map<Long, HallVersions> hallVersions = new ConcurrentHashMap<>();
+    private final LinkedHashMap<Key, CachedReport> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong cachedBytes = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public ReportCache(SeatHallLookup seatHallLookup,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.reports.cache.max-bytes:67108864}") long maxBytes,
+                       @Value("${app.reports.cache.max-entry-bytes:8388608}") int maxEntryBytes) {
+        this.seatHallLookup = seatHallLookup;
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+        this.hits = Counter.builder("studymate.reports.cache")
+            .tag("result", "hit")
+            .description("Report cache lookups")
+            .register(meterRegistry);
+        this.misses = Counter.builder("studymate.reports.cache")
+            .tag("result", "miss")
+            .description("Report cache lookups")
+            .register(meterRegistry);
+        this.evictions = Counter.builder("studymate.reports.cache.evictions")
+            .description("Cached reports dropped to stay within the size bound")
+            .register(meterRegistry);
+        meterRegistry.gauge("studymate.reports.cache.bytes", cachedBytes);
+    }
+
+    /**
+     * Look up a rendered report.
+     *
+     * @param hallId the hall ID
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @param format the report format
+     * @return the report, if cached for the period's current data
+     */
+    public Optional<CachedReport> get(Long hallId, LocalDate startDate, LocalDate endDate, String format) {
+        Key key = new Key(hallId, startDate, endDate, format, dataVersion(hallId, startDate, endDate));
+        CachedReport report;
+        synchronized (entries) {
+            report = entries.get(key);
+        }
+        (report != null ? hits : misses).increment();
+        return Optional.ofNullable(report);
+    }
+
+    /**
+     * Get the data version of a period, to capture before aggregating a report.
+     *
+     * @param hallId the hall ID
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @return the version, which changes whenever a booking in the period is written
+     */
+    public long dataVersion(Long hallId, LocalDate startDate, LocalDate endDate) {
+        HallVersions hall = hallVersions.get(hallId);
+        return hall == null ? 0 : hall.versionOf(startDate, endDate);
+    }
+
+    /**
+     * Wrap a report's output stream to keep a copy of what is written, up to
+     * the entry size bound.
+     *
+     * @param out where the report is written
+     * @return the wrapping stream, to pass to {@link #put}
+     */
+    public Capture capture(OutputStream out) {
+        return new Capture(out, maxEntryBytes);
+    }
+
+    /**
+     * Cache a rendered report, unless it was too large or its data changed
+     * while it was rendered.
+     *
+     * @param hallId the hall ID
+     * @param startDate the start date (inclusive)
+     * @param endDate the end date (inclusive)
+     * @param format the report format
+     * @param version the data version captured before aggregating
+     * @param capture the stream the report was written through
+     */
+    public void put(Long hallId, LocalDate startDate, LocalDate endDate, String format, long version,
+                    Capture capture) {
+        if (capture.isOverflowed() || dataVersion(hallId, startDate, endDate) != version) {
+            return;
+        }
+        byte[] content = capture.toByteArray();
+        CachedReport report = new CachedReport(content, etag(content));
+        Key key = new Key(hallId, startDate, endDate, format, version);
+        synchronized (entries) {
+            CachedReport replaced = entries.put(key, report);
+            cachedBytes.addAndGet(content.length - (replaced != null ? replaced.content().length : 0));
+            Iterator<CachedReport> eldest = entries.values().iterator();
+            while (cachedBytes.get() > maxBytes && eldest.hasNext()) {
+                cachedBytes.addAndGet(-eldest.next().content().length);
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Retire the cached reports of the hall and dates of a committed booking write.
+     *
+     * @param event the booking change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        Long hallId = seatHallLookup.hallIdOf(event);
+        if (hallId == null) {
+            return;
+        }
+        invalidateSpan(hallId, event.getPrevious());
+        invalidateSpan(hallId, event.getCurrent());
+    }
+
+    /**
+     * Retire every cached report of a hall whose seats were added or removed,
+     * which changes its capacity and seat numbers.
+     *
+     * @param event the seat change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatMapChanged(SeatMapChangedEvent event) {
+        if (event.isLayoutChanged()) {
+            invalidateHall(event.getHallId());
+        }
+    }
+
+    /**
+     * Retire every cached report of a hall whose opening hours changed, which
+     * changes its utilization.
+     *
+     * @param event the opening-hours change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOpeningHoursChanged(OpeningHoursChangedEvent event) {
+        invalidateHall(event.getHallId());
+    }
+
+    /**
+     * Retire the cached reports of a hall whose period contains a date.
+     *
+     * @param hallId the hall ID
+     * @param date a date spanned by a written booking, or null for none
+     */
+    public void invalidate(Long hallId, LocalDate date) {
+        if (date == null) {
+            return;
+        }
+        HallVersions hall = hallVersions.computeIfAbsent(hallId, id -> new HallVersions());
+        hall.bump(date, versions.incrementAndGet());
+        removeIf(key -> key.hallId().equals(hallId)
+            && !date.isBefore(key.startDate()) && !date.isAfter(key.endDate()));
+        if (hall.isDueForPruning()) {
+            hall.prune(oldestCachedVersion(hallId));
+        }
+    }
+
+    /**
+     * Retire every cached report of a hall, after a write too broad to track by date.
+     *
+     * @param hallId the hall ID
+     */
+    public void invalidateHall(Long hallId) {
+        hallVersions.computeIfAbsent(hallId, id -> new HallVersions()).bumpAll(versions.incrementAndGet());
+        removeIf(key -> key.hallId().equals(hallId));
+    }
+
+    /**
+     * Count the booking start dates tracked for a hall.
+     *
+     * @param hallId the hall ID
+     * @return the number of dates with their own version
+     */
+    int trackedDates(Long hallId) {
+        HallVersions hall = hallVersions.get(hallId);
+        return hall == null ? 0 : hall.byDate.size();
+    }
+
+    private long oldestCachedVersion(Long hallId) {
+        long oldest = Long.MAX_VALUE;
+        synchronized (entries) {
+            for (Key key : entries.keySet()) {
+                if (key.hallId().equals(hallId)) {
+                    oldest = Math.min(oldest, key.version());
+                }
+            }
+        }
+        return oldest;
+    }
+
+    private void removeIf(Predicate<Key> stale) {
+        synchronized (entries) {
+            Iterator<Map.Entry<Key, CachedReport>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Key, CachedReport> entry = iterator.next();
+                if (stale.test(entry.getKey())) {
+                    cachedBytes.addAndGet(-entry.getValue().content().length);
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private void invalidateSpan(Long hallId, BookingSnapshot snapshot) {
+        if (snapshot == null || snapshot.getStartTime() == null) {
+            return;
+        }
+        LocalDate date = snapshot.getStartTime().toLocalDate();
+        LocalDate lastDate = snapshot.getEndTime() != null && snapshot.getEndTime().isAfter(snapshot.getStartTime())
+            ? snapshot.getEndTime().minusNanos(1).toLocalDate()
+            : date;
+        for (; !date.isAfter(lastDate); date = date.plusDays(1)) {
+            invalidate(hallId, date);
+        }
+    }
+
+    private static String etag(byte[] content) {
+        try {
+            return "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * A rendered report.
+     *
+     * @param content the report file
+     * @param etag quoted SHA-256 of the content
+     */
+    public record CachedReport(byte[] content, String etag) {
+    }
+
+    private record Key(Long hallId, LocalDate startDate, LocalDate endDate, String format, long version) {
+    }
+
+    /**
+     * Latest write version of each booking start date of a hall, and of the
+     * hall as a whole.
+     */
+    private static final class HallVersions {
+
+        private static final int MIN_PRUNE_SIZE = 64;
+
+        private final ConcurrentSkipListMap<LocalDate, Long> byDate = new ConcurrentSkipListMap<>();
+        private final AtomicLong all = new AtomicLong();
+        private final AtomicInteger dates = new AtomicInteger();
+        private volatile int pruneAbove = MIN_PRUNE_SIZE;
+
+        void bump(LocalDate date, long version) {
+            if (byDate.putIfAbsent(date, version) == null) {
+                dates.incrementAndGet();
+            } else {
+                byDate.merge(date, version, Math::max);
+            }
+        }
+
+        void bumpAll(long version) {
+            all.accumulateAndGet(version, Math::max);
+        }
+
+        long versionOf(LocalDate startDate, LocalDate endDate) {
+            long version = all.get();
+            for (long dateVersion : byDate.subMap(startDate, true, endDate, true).values()) {
+                version = Math.max(version, dateVersion);
+            }
+            return version;
+        }
+
+        boolean isDueForPruning() {
+            return dates.get() > pruneAbove;
+        }
+
+        /**
+         * Fold the dates written no later than a version into the hall-wide
+         * version. No period's version goes down, and a period whose reports
+         * are cached at that version or later keeps its version.
+         *
+         * @param oldestCached the lowest version of the hall's cached reports
+         */
+        void prune(long oldestCached) {
+            for (Map.Entry<LocalDate, Long> entry : byDate.entrySet()) {
+                long version = entry.getValue();
+                if (version <= oldestCached) {
+                    all.accumulateAndGet(version, Math::max);
+                    byDate.remove(entry.getKey(), version);
+                }
+            }
+            int remaining = byDate.size();
+            dates.set(remaining);
+            pruneAbove = Math.max(MIN_PRUNE_SIZE, remaining * 2);
+        }
+    }
+
+    /**
+     * Passes a report through to its destination while keeping a copy, until
+     * the copy would exceed the entry size bound.
+     */
+    public static final class Capture extends FilterOutputStream {
+
+        private final int limit;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        private Capture(OutputStream out, int limit) {
+            super(out);
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            keep(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            keep(b, off, len);
+        }
+
+        private void keep(byte[] b, int off, int len) {
+            if (copy == null) {
+                return;
+            }
+            if (copy.size() + len > limit) {
+                copy = null;
+            } else {
+                copy.write(b, off, len);
+            }
+        }
+
+        boolean isOverflowed() {
+            return copy == null;
+        }
+
+        byte[] toByteArray() {
+            return copy.toByteArray();
+        }
+    }
+}
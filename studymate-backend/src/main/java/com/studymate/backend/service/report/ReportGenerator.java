@@ -4,6 +4,7 @@ import com.studymate.backend.dto.ReportData;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.time.LocalDate;
 
 /**
  * Interface for report generation in different formats.
@@ -26,4 +27,30 @@ public interface ReportGenerator {
      * @return the format name (e.g., "pdf", "excel")
      */
     String getFormat();
+
+    /**
+     * Get the media type of the generated reports.
+     *
+     * @return the content type (e.g., "application/pdf")
+     */
+    String getContentType();
+
+    /**
+     * Get the file extension of the generated reports.
+     *
+     * @return the extension without a dot (e.g., "pdf", "xlsx")
+     */
+    String getFileExtension();
+
+    /**
+     * Get the download file name of a report.
+     *
+     * @param hallId the hall ID
+     * @param startDate the report period start date
+     * @param endDate the report period end date
+     * @return the file name, e.g. "hall-1-report-2025-01-01-to-2025-01-31.pdf"
+     */
+    default String getFileName(Long hallId, LocalDate startDate, LocalDate endDate) {
+        return String.format("hall-%d-report-%s-to-%s.%s", hallId, startDate, endDate, getFileExtension());
+    }
 }
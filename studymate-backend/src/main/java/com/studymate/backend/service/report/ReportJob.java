@@ -0,0 +1,82 @@
+package com.studymate.backend.service.report;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A report requested for asynchronous generation. Its state moves from
+ * QUEUED to RUNNING to READY or FAILED; fields set on completion are
+ * volatile so status polls see them without locking.
+ */
+@Getter
+public class ReportJob {
+
+    public enum Status { QUEUED, RUNNING, READY, FAILED }
+
+    private final String id;
+    private final String ownerEmail;
+    private final Long ownerId;
+    private final Long hallId;
+    private final String format;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final LocalDateTime submittedAt;
+    private final long dataVersion;
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime completedAt;
+    private volatile LocalDateTime expiresAt;
+    private volatile Path file;
+    private volatile String fileName;
+    private volatile String error;
+
+    public ReportJob(String id, String ownerEmail, Long ownerId, Long hallId, String format,
+                     LocalDate startDate, LocalDate endDate, LocalDateTime submittedAt, long dataVersion) {
+        this.id = id;
+        this.ownerEmail = ownerEmail;
+        this.ownerId = ownerId;
+        this.hallId = hallId;
+        this.format = format;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.submittedAt = submittedAt;
+        this.dataVersion = dataVersion;
+    }
+
+    public void started() {
+        status = Status.RUNNING;
+    }
+
+    public void ready(Path file, String fileName, LocalDateTime completedAt, LocalDateTime expiresAt) {
+        this.file = file;
+        this.fileName = fileName;
+        this.completedAt = completedAt;
+        this.expiresAt = expiresAt;
+        this.status = Status.READY;
+    }
+
+    public void failed(String error, LocalDateTime completedAt, LocalDateTime expiresAt) {
+        this.error = error;
+        this.completedAt = completedAt;
+        this.expiresAt = expiresAt;
+        this.status = Status.FAILED;
+    }
+
+    /**
+     * @return whether the job has finished, successfully or not
+     */
+    public boolean isDone() {
+        return status == Status.READY || status == Status.FAILED;
+    }
+
+    /**
+     * @param now the current time
+     * @return whether the job has finished and passed its expiry
+     */
+    public boolean isExpired(LocalDateTime now) {
+        LocalDateTime expiry = expiresAt;
+        return expiry != null && !now.isBefore(expiry);
+    }
+}
@@ -0,0 +1,103 @@
+package com.studymate.backend.service.report;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Local directory holding finished report files until their job expires.
+ *
+ * <p>A report is written to a temporary file and moved into place once
+ * complete, so a file under its final name is always whole. Files don't
+ * outlive the process that made them: jobs are only tracked in memory, so
+ * the directory is emptied on startup.</p>
+ */
+@Component
+@Slf4j
+public class ReportSpool {
+
+    private final Path root;
+
+    public ReportSpool(@Value("${app.reports.jobs.spool-dir:report-spool}") String spoolDir) {
+        this.root = Paths.get(spoolDir).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Write a report file.
+     *
+     * @param name file name, unique per job
+     * @param content writes the report
+     * @return the finished file
+     * @throws IOException if the report or the file can't be written
+     */
+    public Path write(String name, Content content) throws IOException {
+        Path file = root.resolve(name);
+        Files.createDirectories(root);
+        Path temp = Files.createTempFile(root, name, ".part");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024)) {
+                content.writeTo(out);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Delete a report file if it still exists.
+     *
+     * @param file the file
+     */
+    public void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled report {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Delete every file in the spool.
+     *
+     * @return number of files deleted
+     * @throws UncheckedIOException if the directory can't be listed
+     */
+    public int clear() {
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root)) {
+            for (Path file : files) {
+                if (Files.isRegularFile(file)) {
+                    delete(file);
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list report spool " + root, e);
+        }
+        return deleted;
+    }
+
+    /**
+     * Writes the content of a report.
+     */
+    @FunctionalInterface
+    public interface Content {
+
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
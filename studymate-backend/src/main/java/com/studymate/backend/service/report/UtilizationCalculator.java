@@ -0,0 +1,187 @@
+package com.studymate.backend.service.report;
+
+import com.studymate.backend.dto.DayHoursDTO;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Daily seat utilization of a hall over a date range, at minute resolution.
+ *
+ * <p>Utilization of a day is the share of its seat-minutes, seats times the
+ * minutes the hall is open, that are booked. A booking counts towards every
+ * day it spans, clipped to each day's opening window from the hall's opening
+ * hours; a hall without configured hours is open all day, and a configured
+ * hall is closed on days it has no entry for. Hours that close at or before
+ * they open, such as 18:00-02:00, cross midnight: the window runs into the
+ * next day and its minutes count towards the day it opened. Overlapping
+ * bookings of one seat count once.</p>
+ *
+ * <p>Bookings are kept as minute offsets packed into a {@code long[]}. They
+ * are grouped by seat with a counting sort, each seat's intervals sorted by
+ * start and swept to merge overlaps, and each merged run is added to the days
+ * it covers, so n bookings take O(n log n) time without per-booking objects.</p>
+ */
+public class UtilizationCalculator {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final LocalDate startDate;
+    private final LocalDateTime rangeStart;
+    private final long rangeMinutes;
+    private final int totalSeats;
+    private final int[] openFrom;
+    private final int[] openUntil;
+    private final Map<Long, Integer> seatIndexes = new HashMap<>();
+    private int[] seats = new int[64];
+    private long[] intervals = new long[64];
+    private int size;
+
+    /**
+     * @param startDate the first day (inclusive)
+     * @param endDate the last day (inclusive)
+     * @param openingHours the hall's opening hours by lower-case day name, or null if not configured
+     * @param totalSeats number of seats in the hall
+     */
+    public UtilizationCalculator(LocalDate startDate, LocalDate endDate, Map<String, DayHoursDTO> openingHours,
+                                 int totalSeats) {
+        int days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        this.startDate = startDate;
+        this.rangeStart = startDate.atStartOfDay();
+        this.totalSeats = totalSeats;
+        this.openFrom = new int[days];
+        this.openUntil = new int[days];
+        for (int day = 0; day < days; day++) {
+            if (openingHours == null || openingHours.isEmpty()) {
+                openUntil[day] = MINUTES_PER_DAY;
+                continue;
+            }
+            DayHoursDTO hours = openingHours.get(
+                startDate.plusDays(day).getDayOfWeek().name().toLowerCase(Locale.ROOT));
+            if (hours != null) {
+                openFrom[day] = minuteOfDay(hours.getOpen());
+                openUntil[day] = minuteOfDay(hours.getClose());
+                if (openUntil[day] <= openFrom[day]) {
+                    openUntil[day] += MINUTES_PER_DAY;
+                }
+            }
+        }
+        this.rangeMinutes = (long) (days - 1) * MINUTES_PER_DAY + Math.max(MINUTES_PER_DAY, openUntil[days - 1]);
+    }
+
+    /**
+     * @return end of the last day's opening window, past the date range when it crosses midnight;
+     *         bookings are counted up to here
+     */
+    public LocalDateTime getCoveredUntil() {
+        return rangeStart.plusMinutes(rangeMinutes);
+    }
+
+    /**
+     * Add a booked period. Parts before the date range or after
+     * {@link #getCoveredUntil()} are ignored.
+     *
+     * @param seatId the booked seat
+     * @param startTime start of the booking
+     * @param endTime end of the booking
+     */
+    public void add(long seatId, LocalDateTime startTime, LocalDateTime endTime) {
+        long from = Math.max(0, ChronoUnit.MINUTES.between(rangeStart, startTime));
+        long until = Math.min(rangeMinutes, ChronoUnit.MINUTES.between(rangeStart, endTime));
+        if (until <= from) {
+            return;
+        }
+        Integer seat = seatIndexes.get(seatId);
+        if (seat == null) {
+            seat = seatIndexes.size();
+            seatIndexes.put(seatId, seat);
+        }
+        if (size == intervals.length) {
+            seats = Arrays.copyOf(seats, size * 2);
+            intervals = Arrays.copyOf(intervals, size * 2);
+        }
+        seats[size] = seat;
+        intervals[size] = from << 32 | until;
+        size++;
+    }
+
+    /**
+     * @return utilization percentage of each day of the range, in date order,
+     *         capped at 100 and 0 on days the hall is closed
+     */
+    public Map<LocalDate, Double> dailyUtilization() {
+        long[] bookedMinutes = new long[openFrom.length];
+
+        // Group the intervals by seat
+        int seatCount = seatIndexes.size();
+        int[] offsets = new int[seatCount + 1];
+        for (int i = 0; i < size; i++) {
+            offsets[seats[i] + 1]++;
+        }
+        for (int seat = 0; seat < seatCount; seat++) {
+            offsets[seat + 1] += offsets[seat];
+        }
+        long[] sorted = new long[size];
+        int[] next = Arrays.copyOf(offsets, seatCount);
+        for (int i = 0; i < size; i++) {
+            sorted[next[seats[i]]++] = intervals[i];
+        }
+
+        // Sweep each seat's intervals in start order, merging overlaps
+        for (int seat = 0; seat < seatCount; seat++) {
+            Arrays.sort(sorted, offsets[seat], offsets[seat + 1]);
+            long runFrom = -1;
+            long runUntil = -1;
+            for (int i = offsets[seat]; i < offsets[seat + 1]; i++) {
+                long from = sorted[i] >>> 32;
+                long until = sorted[i] & 0xFFFFFFFFL;
+                if (from > runUntil) {
+                    addOpenMinutes(runFrom, runUntil, bookedMinutes);
+                    runFrom = from;
+                    runUntil = until;
+                } else {
+                    runUntil = Math.max(runUntil, until);
+                }
+            }
+            addOpenMinutes(runFrom, runUntil, bookedMinutes);
+        }
+
+        Map<LocalDate, Double> utilization = new LinkedHashMap<>();
+        for (int day = 0; day < openFrom.length; day++) {
+            long capacity = (long) totalSeats * (openUntil[day] - openFrom[day]);
+            double percent = capacity > 0 ? bookedMinutes[day] * 100.0 / capacity : 0.0;
+            utilization.put(startDate.plusDays(day), Math.min(percent, 100.0));
+        }
+        return utilization;
+    }
+
+    /**
+     * Add the minutes of [from, until) that fall within opening hours to the days they belong to,
+     * starting with the day before, whose window may run past midnight.
+     */
+    private void addOpenMinutes(long from, long until, long[] bookedMinutes) {
+        for (int day = Math.max(0, (int) (from / MINUTES_PER_DAY) - 1); day < bookedMinutes.length; day++) {
+            long dayStart = (long) day * MINUTES_PER_DAY;
+            if (dayStart >= until) {
+                return;
+            }
+            long overlap = Math.min(until, dayStart + openUntil[day]) - Math.max(from, dayStart + openFrom[day]);
+            if (overlap > 0) {
+                bookedMinutes[day] += overlap;
+            }
+        }
+    }
+
+    private static int minuteOfDay(String time) {
+        return LocalTime.parse(time, TIME_FORMATTER).toSecondOfDay() / 60;
+    }
+}
@@ -0,0 +1,119 @@
+package com.studymate.backend.service.seatmap;
+
+import com.studymate.backend.event.BookingChangedEvent;
+import com.studymate.backend.event.SeatMapChangedEvent;
+import com.studymate.backend.repository.SeatRepository;
+import com.studymate.backend.service.occupancy.SeatHallLookup;
+import com.studymate.backend.service.occupancy.SeatTransition;
+import com.studymate.backend.service.occupancy.SeatTransitionListener;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns seat status updates, committed booking changes and scheduled seat
+ * transitions into seat-map deltas for {@link SeatMapStreamHub}, and records
+ * every change in {@link SeatMapVersionLog} for delta-sync requests.
+ *
+ * <p>The current status of each changed seat is re-read with the same
+ * occupancy rule as the full seat map, so clients converge on exactly what
+ * {@code GET /owner/dashboard/{hallId}} would return. Halls without an open
+ * stream cost nothing. Lookups run on a single background thread with a
+ * bounded queue; if the queue overflows, the affected hall is resynced.</p>
+ */
+@Component
+@Slf4j
+public class SeatMapChangeFeed implements SeatTransitionListener {
+
+    private static final int QUEUE_CAPACITY = 10_000;
+
+    private final SeatRepository seatRepository;
+    private final SeatHallLookup seatHallLookup;
+    private final SeatMapStreamHub hub;
+    private final SeatMapVersionLog versionLog;
+    private final ExecutorService executor;
+
+    public SeatMapChangeFeed(SeatRepository seatRepository,
+                             SeatHallLookup seatHallLookup,
+                             SeatMapStreamHub hub,
+                             SeatMapVersionLog versionLog) {
+        this.seatRepository = seatRepository;
+        this.seatHallLookup = seatHallLookup;
+        this.hub = hub;
+        this.versionLog = versionLog;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                Thread thread = new Thread(runnable, "seat-map-feed");
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Forward owner seat changes once their transaction commits.
+     *
+     * @param event the seat change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatMapChanged(SeatMapChangedEvent event) {
+        if (event.isLayoutChanged()) {
+            versionLog.reset(event.getHallId());
+            hub.resync(event.getHallId());
+        } else {
+            refresh(event.getHallId(), event.getSeatIds());
+        }
+    }
+
+    /**
+     * Forward committed booking changes.
+     *
+     * @param event the booking change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        Long hallId = seatHallLookup.hallIdOf(event);
+        if (hallId != null) {
+            refresh(hallId, List.of(event.getSeatId()));
+        }
+    }
+
+    @Override
+    public void onSeatTransition(SeatTransition transition) {
+        refresh(transition.getHallId(), List.of(transition.getSeatId()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void refresh(Long hallId, List<Long> seatIds) {
+        versionLog.record(hallId, seatIds);
+        if (seatIds.isEmpty() || !hub.hasSubscribers(hallId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> publish(hallId, seatIds));
+        } catch (RejectedExecutionException e) {
+            log.warn("Seat-map feed saturated; resyncing streams for hall {}", hallId);
+            hub.resync(hallId);
+        }
+    }
+
+    private void publish(Long hallId, List<Long> seatIds) {
+        try {
+            hub.publish(hallId, seatRepository.findSeatStatusesByIds(seatIds));
+        } catch (RuntimeException e) {
+            log.warn("Failed to load seat changes for hall {}; resyncing streams", hallId, e);
+            hub.resync(hallId);
+        }
+    }
+}
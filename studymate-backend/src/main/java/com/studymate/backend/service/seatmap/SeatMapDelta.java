@@ -0,0 +1,32 @@
+package com.studymate.backend.service.seatmap;
+
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Answer to "what changed in this hall since version N".
+ * {@code changedSeatIds} is null when the requested version is no longer
+ * covered by the change log and the client needs a full snapshot.
+ */
+@Value
+public class SeatMapDelta {
+
+    long version;
+    Set<Long> changedSeatIds;
+
+    /**
+     * @param version current seat-state version of the hall
+     * @return delta that requires a full snapshot
+     */
+    static SeatMapDelta fullSnapshot(long version) {
+        return new SeatMapDelta(version, null);
+    }
+
+    /**
+     * @return true if the client must reload the whole seat map
+     */
+    public boolean isFullSnapshotRequired() {
+        return changedSeatIds == null;
+    }
+}
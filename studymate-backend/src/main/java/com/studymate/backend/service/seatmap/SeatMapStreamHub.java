@@ -0,0 +1,221 @@
+package com.studymate.backend.service.seatmap;
+
+import com.studymate.backend.dto.SeatStatusDTO;
+import com.studymate.backend.exception.ForbiddenException;
+import com.studymate.backend.exception.ResourceNotFoundException;
+import com.studymate.backend.model.User;
+import com.studymate.backend.repository.SeatRepository;
+import com.studymate.backend.repository.StudyHallRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Fan-out hub for owner dashboard seat-map streams (Server-Sent Events).
+ *
+ * <p>Each connection gets a full seat-map snapshot when it opens and then only
+ * batches of changed seats. Publishing never writes to a socket: changes are
+ * buffered per connection in a {@link SeatMapSubscription} and a small
+ * dispatcher pool drains connections that have pending work, so thousands of
+ * idle streams hold no threads and a slow client only delays itself.</p>
+ *
+ * <p>Events sent to the client:
+ * <ul>
+ *   <li>{@code snapshot} - full {@code List<SeatStatusDTO>} seat map</li>
+ *   <li>{@code seats} - {@code List<SeatStatusDTO>} of seats whose status changed</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class SeatMapStreamHub {
+
+    private final StudyHallRepository studyHallRepository;
+    private final SeatRepository seatRepository;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final ExecutorService dispatcher;
+    private final Map<Long, Set<SeatMapSubscription>> subscriptionsByHall = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+
+    public SeatMapStreamHub(StudyHallRepository studyHallRepository,
+                            SeatRepository seatRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.seatmap.stream.timeout-ms:1800000}") long timeoutMillis,
+                            @Value("${app.seatmap.stream.buffer-size:256}") int bufferSize,
+                            @Value("${app.seatmap.stream.dispatch-threads:2}") int dispatchThreads) {
+        this.studyHallRepository = studyHallRepository;
+        this.seatRepository = seatRepository;
+        this.timeoutMillis = timeoutMillis;
+        this.bufferSize = bufferSize;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "seat-map-stream-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        meterRegistry.gauge("studymate.seatmap.streams", openStreams);
+    }
+
+    /**
+     * Open a seat-map stream for a hall owned by the current user.
+     *
+     * @param hallId the hall ID
+     * @param currentUser the authenticated owner
+     * @return emitter that receives the snapshot and subsequent deltas
+     * @throws ResourceNotFoundException if the hall does not exist
+     * @throws ForbiddenException if the user does not own the hall
+     */
+    public SseEmitter subscribe(Long hallId, User currentUser) {
+        Long ownerId = studyHallRepository.findOwnerIdById(hallId)
+            .orElseThrow(() -> new ResourceNotFoundException("Hall not found"));
+        if (!ownerId.equals(currentUser.getId())) {
+            log.warn("User {} attempted to stream hall {} owned by {}", currentUser.getId(), hallId, ownerId);
+            throw new ForbiddenException("You don't have access to this hall");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        SeatMapSubscription subscription = new SeatMapSubscription(hallId, emitter, bufferSize);
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(error -> unsubscribe(subscription));
+
+        subscriptionsByHall.compute(hallId, (id, subscriptions) -> {
+            Set<SeatMapSubscription> target = subscriptions != null ? subscriptions : ConcurrentHashMap.newKeySet();
+            target.add(subscription);
+            return target;
+        });
+        openStreams.incrementAndGet();
+        log.debug("Opened seat-map stream for hall {}", hallId);
+
+        schedule(subscription, subscription.requestSnapshot());
+        return emitter;
+    }
+
+    /**
+     * @param hallId the hall ID
+     * @return true if at least one stream is open for the hall
+     */
+    public boolean hasSubscribers(Long hallId) {
+        Set<SeatMapSubscription> subscriptions = subscriptionsByHall.get(hallId);
+        return subscriptions != null && !subscriptions.isEmpty();
+    }
+
+    /**
+     * Queue seat changes for every stream of a hall.
+     *
+     * @param hallId the hall ID
+     * @param changes current status of the changed seats
+     */
+    public void publish(Long hallId, Collection<SeatStatusDTO> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        forEachSubscription(hallId, subscription -> schedule(subscription, subscription.offer(changes)));
+    }
+
+    /**
+     * Send every stream of a hall a fresh snapshot, e.g. after its seats were reconfigured.
+     *
+     * @param hallId the hall ID
+     */
+    public void resync(Long hallId) {
+        forEachSubscription(hallId, subscription -> schedule(subscription, subscription.requestSnapshot()));
+    }
+
+    /**
+     * Send a keep-alive comment on every stream so proxies keep idle
+     * connections open and dead clients are detected.
+     */
+    @Scheduled(fixedRateString = "${app.seatmap.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscriptionsByHall.values().forEach(subscriptions ->
+            subscriptions.forEach(subscription -> schedule(subscription, subscription.requestHeartbeat())));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscriptionsByHall.values().forEach(subscriptions ->
+            subscriptions.forEach(subscription -> subscription.getEmitter().complete()));
+    }
+
+    private void forEachSubscription(Long hallId, Consumer<SeatMapSubscription> action) {
+        Set<SeatMapSubscription> subscriptions = subscriptionsByHall.get(hallId);
+        if (subscriptions != null) {
+            subscriptions.forEach(action);
+        }
+    }
+
+    private void schedule(SeatMapSubscription subscription, boolean claimed) {
+        if (claimed) {
+            dispatcher.execute(() -> drain(subscription));
+        }
+    }
+
+    private void drain(SeatMapSubscription subscription) {
+        if (subscription.isClosed()) {
+            return;
+        }
+        SeatMapSubscription.Batch batch = subscription.take();
+        try {
+            send(subscription, batch);
+        } finally {
+            schedule(subscription, subscription.release());
+        }
+    }
+
+    private void send(SeatMapSubscription subscription, SeatMapSubscription.Batch batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            SseEmitter emitter = subscription.getEmitter();
+            if (batch.snapshot()) {
+                emitter.send(SseEmitter.event()
+                    .name("snapshot")
+                    .data(seatRepository.findSeatMapByHallId(subscription.getHallId())));
+            } else if (!batch.changes().isEmpty()) {
+                emitter.send(SseEmitter.event().name("seats").data(batch.changes()));
+            } else {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Closing seat-map stream for hall {}: {}", subscription.getHallId(), e.getMessage());
+            subscription.getEmitter().completeWithError(e);
+            unsubscribe(subscription);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write seat-map stream for hall {}", subscription.getHallId(), e);
+            subscription.getEmitter().completeWithError(e);
+            unsubscribe(subscription);
+        }
+    }
+
+    private void unsubscribe(SeatMapSubscription subscription) {
+        if (!subscription.close()) {
+            return;
+        }
+        openStreams.decrementAndGet();
+        subscriptionsByHall.computeIfPresent(subscription.getHallId(), (hallId, subscriptions) -> {
+            subscriptions.remove(subscription);
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+        log.debug("Closed seat-map stream for hall {}", subscription.getHallId());
+    }
+}
@@ -0,0 +1,156 @@
+package com.studymate.backend.service.seatmap;
+
+import com.studymate.backend.dto.SeatStatusDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open seat-map stream and its bounded, coalescing send buffer.
+ *
+ * <p>Pending changes are keyed by seat ID, so a seat that changes several times
+ * before the client is written to is sent once with its latest status. When a
+ * slow client accumulates more distinct seats than the buffer holds, the
+ * pending deltas are dropped and a full snapshot is sent instead.</p>
+ *
+ * <p>At most one drain of a subscription runs at a time: the drain claim is
+ * held from scheduling until the batch has been written, so a snapshot read
+ * before an older write finishes can't overtake a newer delta.</p>
+ */
+class SeatMapSubscription {
+
+    /**
+     * Work taken from the buffer for one write to the client.
+     *
+     * @param snapshot true if a full snapshot must be sent instead of deltas
+     * @param changes coalesced seat changes (empty when {@code snapshot} is true)
+     * @param heartbeat true if a keep-alive should be sent when nothing else is
+     */
+    record Batch(boolean snapshot, List<SeatStatusDTO> changes, boolean heartbeat) {
+
+        boolean isEmpty() {
+            return !snapshot && changes.isEmpty() && !heartbeat;
+        }
+    }
+
+    private final Long hallId;
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final Map<Long, SeatStatusDTO> pending = new LinkedHashMap<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    // A new stream starts with a snapshot, so deltas before the first drain are pointless
+    private boolean snapshotRequired = true;
+    private boolean heartbeatRequired;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    SeatMapSubscription(Long hallId, SseEmitter emitter, int capacity) {
+        this.hallId = hallId;
+        this.emitter = emitter;
+        this.capacity = capacity;
+    }
+
+    Long getHallId() {
+        return hallId;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * @return true if this call closed the subscription, false if it was already closed
+     */
+    boolean close() {
+        return closed.compareAndSet(false, true);
+    }
+
+    /**
+     * Buffer seat changes, coalescing by seat and falling back to a snapshot on overflow.
+     *
+     * @param changes seat changes to send
+     * @return true if the subscription needs a drain to be scheduled
+     */
+    boolean offer(Collection<SeatStatusDTO> changes) {
+        synchronized (this) {
+            if (!snapshotRequired) {
+                for (SeatStatusDTO change : changes) {
+                    if (pending.size() >= capacity && !pending.containsKey(change.getId())) {
+                        pending.clear();
+                        snapshotRequired = true;
+                        break;
+                    }
+                    pending.put(change.getId(), change);
+                }
+            }
+        }
+        return claim();
+    }
+
+    /**
+     * Replace any buffered deltas with a full snapshot.
+     *
+     * @return true if the subscription needs a drain to be scheduled
+     */
+    boolean requestSnapshot() {
+        synchronized (this) {
+            pending.clear();
+            snapshotRequired = true;
+        }
+        return claim();
+    }
+
+    /**
+     * Ask for a keep-alive so dead connections are detected.
+     *
+     * @return true if the subscription needs a drain to be scheduled
+     */
+    boolean requestHeartbeat() {
+        synchronized (this) {
+            heartbeatRequired = true;
+        }
+        return claim();
+    }
+
+    /**
+     * Take everything buffered. The drain claim is kept until {@link #release()}.
+     *
+     * @return the work to write to the client
+     */
+    synchronized Batch take() {
+        Batch batch = new Batch(snapshotRequired,
+            snapshotRequired ? List.of() : new ArrayList<>(pending.values()),
+            heartbeatRequired);
+        pending.clear();
+        snapshotRequired = false;
+        heartbeatRequired = false;
+        return batch;
+    }
+
+    /**
+     * Release the drain claim once a batch has been written, claiming it again
+     * if work was buffered meanwhile.
+     *
+     * @return true if the subscription needs another drain to be scheduled
+     */
+    boolean release() {
+        boolean hasWork;
+        synchronized (this) {
+            scheduled.set(false);
+            hasWork = snapshotRequired || !pending.isEmpty() || heartbeatRequired;
+        }
+        return hasWork && claim();
+    }
+
+    private boolean claim() {
+        return !closed.get() && scheduled.compareAndSet(false, true);
+    }
+}
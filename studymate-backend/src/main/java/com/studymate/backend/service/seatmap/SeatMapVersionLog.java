@@ -0,0 +1,190 @@
+package com.studymate.backend.service.seatmap;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seat-state versions and a bounded change log per hall, used to answer
+ * delta-sync requests ({@code since=<version>}) with only the changed seats.
+ *
+ * <p>Versions come from a single process-wide clock that starts at the boot
+ * time in microseconds and increments on every change, so a hall's version
+ * only ever grows and a version handed out before a restart is always older
+ * than anything the log still covers. Each hall keeps its most recent
+ * {@code (version, seatId)} entries in a fixed-size ring of primitive arrays;
+ * overwriting or trimming an entry raises the hall's floor, and requests
+ * older than the floor get a full snapshot instead of a delta.</p>
+ *
+ * <p>Entries older than the retention period are trimmed periodically and
+ * halls without recent changes are dropped entirely.</p>
+ */
+@Component
+@Slf4j
+public class SeatMapVersionLog {
+
+    private final AtomicLong clock = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final Map<Long, HallLog> logs = new ConcurrentHashMap<>();
+    private final int capacity;
+    private final long retentionMillis;
+
+    public SeatMapVersionLog(@Value("${app.seatmap.delta.log-size:256}") int capacity,
+                             @Value("${app.seatmap.delta.retention-ms:3600000}") long retentionMillis) {
+        this.capacity = capacity;
+        this.retentionMillis = retentionMillis;
+    }
+
+    /**
+     * Read the current seat-state version of a hall.
+     * Read it before loading seats so that changes committed in between are
+     * reported again on the next sync rather than lost.
+     *
+     * @param hallId the hall ID
+     * @return current version
+     */
+    public long currentVersion(Long hallId) {
+        HallLog log = logFor(hallId);
+        synchronized (log) {
+            return log.version;
+        }
+    }
+
+    /**
+     * Resolve the seats that changed after a client's version.
+     *
+     * @param hallId the hall ID
+     * @param since version the client already has
+     * @return changed seat IDs and the current version, or a full-snapshot marker
+     *         if {@code since} is older than the log or unknown
+     */
+    public SeatMapDelta deltaSince(Long hallId, long since) {
+        HallLog log = logFor(hallId);
+        synchronized (log) {
+            if (since < log.floor || since > log.version) {
+                return SeatMapDelta.fullSnapshot(log.version);
+            }
+            Set<Long> changed = new LinkedHashSet<>();
+            for (int i = 0; i < log.count; i++) {
+                int slot = (log.head - log.count + i + capacity) % capacity;
+                if (log.versions[slot] > since) {
+                    changed.add(log.seatIds[slot]);
+                }
+            }
+            return new SeatMapDelta(log.version, changed);
+        }
+    }
+
+    /**
+     * Record a change to individual seats of a hall.
+     *
+     * @param hallId the hall ID
+     * @param seatIds the seats whose status changed
+     */
+    public void record(Long hallId, Collection<Long> seatIds) {
+        if (seatIds.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        HallLog log = logFor(hallId);
+        synchronized (log) {
+            long version = clock.incrementAndGet();
+            log.ensureCapacity(capacity);
+            for (Long seatId : seatIds) {
+                if (log.count == capacity) {
+                    // Overwriting the oldest entry: versions up to it can no longer be answered
+                    log.floor = Math.max(log.floor, log.versions[log.head]);
+                } else {
+                    log.count++;
+                }
+                log.versions[log.head] = version;
+                log.seatIds[log.head] = seatId;
+                log.recordedAt[log.head] = now;
+                log.head = (log.head + 1) % capacity;
+            }
+            log.version = version;
+            log.lastChangedAt = now;
+        }
+    }
+
+    /**
+     * Invalidate every earlier version of a hall, e.g. after its seats were
+     * recreated. The next sync from any client returns a full snapshot.
+     *
+     * @param hallId the hall ID
+     */
+    public void reset(Long hallId) {
+        HallLog log = logFor(hallId);
+        synchronized (log) {
+            long version = clock.incrementAndGet();
+            log.version = version;
+            log.floor = version;
+            log.count = 0;
+            log.lastChangedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Drop entries older than the retention period and forget idle halls.
+     */
+    @Scheduled(fixedDelayString = "${app.seatmap.delta.trim-interval-ms:60000}")
+    public void trim() {
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        logs.entrySet().removeIf(entry -> {
+            HallLog log = entry.getValue();
+            synchronized (log) {
+                while (log.count > 0) {
+                    int oldest = (log.head - log.count + capacity) % capacity;
+                    if (log.recordedAt[oldest] >= cutoff) {
+                        break;
+                    }
+                    log.floor = Math.max(log.floor, log.versions[oldest]);
+                    log.count--;
+                }
+                return log.count == 0 && log.lastChangedAt < cutoff;
+            }
+        });
+    }
+
+    private HallLog logFor(Long hallId) {
+        return logs.computeIfAbsent(hallId, id -> new HallLog(clock.get()));
+    }
+
+    /**
+     * Ring buffer of one hall's changes. Guarded by its own monitor.
+     */
+    private static final class HallLog {
+
+        private long version;
+        private long floor;
+        private long lastChangedAt = System.currentTimeMillis();
+        private long[] versions;
+        private long[] seatIds;
+        private long[] recordedAt;
+        private int head;
+        private int count;
+
+        private HallLog(long version) {
+            this.version = version;
+            this.floor = version;
+        }
+
+        /**
+         * Allocate the ring on the first change, so halls that are only read cost no arrays.
+         */
+        private void ensureCapacity(int capacity) {
+            if (versions == null) {
+                versions = new long[capacity];
+                seatIds = new long[capacity];
+                recordedAt = new long[capacity];
+            }
+        }
+    }
+}
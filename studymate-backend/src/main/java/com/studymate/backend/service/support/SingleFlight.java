@@ -0,0 +1,99 @@
+package com.studymate.backend.service.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one execution.
+ *
+ * <p>The first caller for a key runs the loader; callers arriving while it is
+ * in flight wait for and share its result (or its exception). Nothing is
+ * cached: once the loader finishes, the next call for the key runs it again.
+ * Shared results must therefore be treated as read-only, and anything that
+ * depends on the caller (such as authorization) must be checked after
+ * {@link #execute} returns.</p>
+ *
+ * <p>Metrics: {@code studymate.singleflight.calls{name, outcome=executed|coalesced}}.</p>
+ *
+ * @param <K> key type; must implement equals and hashCode
+ * @param <V> result type
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    /**
+     * @param name name used to tag the metrics, e.g. {@code dashboard}
+     * @param meterRegistry registry for the call counters
+     */
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executed = Counter.builder("studymate.singleflight.calls")
+            .tag("name", name)
+            .tag("outcome", "executed")
+            .description("Calls that ran their loader")
+            .register(meterRegistry);
+        this.coalesced = Counter.builder("studymate.singleflight.calls")
+            .tag("name", name)
+            .tag("outcome", "coalesced")
+            .description("Calls that shared an in-flight execution")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Run the loader for a key, or join an execution already in flight.
+     *
+     * @param key the key identifying identical calls
+     * @param loader computes the result; runs on the calling thread
+     * @return the loader's result
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        executed.increment();
+        try {
+            V result = loader.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * @return number of keys currently being loaded
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.studymate.backend.service.support;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides when read paths may answer from a stale copy instead of the database.
+ *
+ * <p>Modes ({@code app.dashboard.stale.mode}):
+ * <ul>
+ *   <li>{@code off} - always read through</li>
+ *   <li>{@code always} - serve any copy younger than the staleness bound</li>
+ *   <li>{@code auto} (default) - serve stale copies only while the connection
+ *       pool is under pressure</li>
+ * </ul>
+ *
+ * <p>Pressure is sampled every second from the HikariCP meters that Spring Boot
+ * registers ({@code hikaricp.connections.acquire}, {@code hikaricp.connections.pending}).
+ * It switches on when the mean connection acquire time over the last sample
+ * reaches the threshold, or when too many threads are waiting for a connection,
+ * and switches off only after the pool has stayed calm for the cool-down period.</p>
+ *
+ * <p>Metrics: {@code studymate.dashboard.stale.active} - 1 while stale serving is on.</p>
+ */
+@Component
+@Slf4j
+public class StaleServingPolicy {
+
+    /**
+     * Serving modes.
+     */
+    public enum Mode { OFF, AUTO, ALWAYS }
+
+    private final MeterRegistry meterRegistry;
+    private final Mode mode;
+    private final long maxStaleMillis;
+    private final double acquireThresholdMillis;
+    private final int pendingThreshold;
+    private final long cooldownMillis;
+
+    private volatile boolean underPressure;
+    private long calmSince;
+    private double lastAcquireCount;
+    private double lastAcquireTotalMillis;
+
+    public StaleServingPolicy(MeterRegistry meterRegistry,
+                              @Value("${app.dashboard.stale.mode:auto}") String mode,
+                              @Value("${app.dashboard.stale.max-stale-ms:60000}") long maxStaleMillis,
+                              @Value("${app.dashboard.stale.acquire-threshold-ms:500}") double acquireThresholdMillis,
+                              @Value("${app.dashboard.stale.pending-threshold:5}") int pendingThreshold,
+                              @Value("${app.dashboard.stale.cooldown-ms:10000}") long cooldownMillis) {
+        this.meterRegistry = meterRegistry;
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.maxStaleMillis = maxStaleMillis;
+        this.acquireThresholdMillis = acquireThresholdMillis;
+        this.pendingThreshold = pendingThreshold;
+        this.cooldownMillis = cooldownMillis;
+        Gauge.builder("studymate.dashboard.stale.active", this, policy -> policy.shouldServeStale() ? 1 : 0)
+            .description("1 while dashboards may be served from stale copies")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @return true if a stale copy within {@link #getMaxStaleMillis()} may be served
+     */
+    public boolean shouldServeStale() {
+        return switch (mode) {
+            case OFF -> false;
+            case ALWAYS -> true;
+            case AUTO -> underPressure;
+        };
+    }
+
+    /**
+     * @return true if no thread is waiting for a pooled connection, so a
+     *         background refresh will not compete with user requests
+     */
+    public boolean poolHasRoom() {
+        Gauge pending = meterRegistry.find("hikaricp.connections.pending").gauge();
+        return pending == null || pending.value() == 0;
+    }
+
+    /**
+     * @return oldest age, in milliseconds, of a copy that may still be served
+     */
+    public long getMaxStaleMillis() {
+        return maxStaleMillis;
+    }
+
+    /**
+     * Sample pool pressure from the Hikari meters.
+     */
+    @Scheduled(fixedRateString = "${app.dashboard.stale.sample-interval-ms:1000}")
+    public synchronized void sample() {
+        if (mode != Mode.AUTO) {
+            return;
+        }
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+        Gauge pending = meterRegistry.find("hikaricp.connections.pending").gauge();
+        if (acquire == null && pending == null) {
+            return;
+        }
+
+        double recentAcquireMillis = 0;
+        if (acquire != null) {
+            double count = acquire.count();
+            double totalMillis = acquire.totalTime(TimeUnit.MILLISECONDS);
+            if (count > lastAcquireCount) {
+                recentAcquireMillis = (totalMillis - lastAcquireTotalMillis) / (count - lastAcquireCount);
+            }
+            lastAcquireCount = count;
+            lastAcquireTotalMillis = totalMillis;
+        }
+        double waiting = pending != null ? pending.value() : 0;
+
+        long now = System.currentTimeMillis();
+        if (recentAcquireMillis >= acquireThresholdMillis || waiting >= pendingThreshold) {
+            if (!underPressure) {
+                log.warn("Database pool under pressure (acquire {} ms, {} waiting); serving stale dashboards",
+                    Math.round(recentAcquireMillis), Math.round(waiting));
+            }
+            underPressure = true;
+            calmSince = 0;
+        } else if (underPressure) {
+            if (recentAcquireMillis >= acquireThresholdMillis / 2 || waiting > 0) {
+                calmSince = 0;
+            } else if (calmSince == 0) {
+                calmSince = now;
+            } else if (now - calmSince >= cooldownMillis) {
+                log.info("Database pool recovered; serving fresh dashboards");
+                underPressure = false;
+                calmSince = 0;
+            }
+        }
+    }
+}
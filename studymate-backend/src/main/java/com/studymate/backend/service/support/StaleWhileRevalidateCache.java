@@ -0,0 +1,148 @@
+package com.studymate.backend.service.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the last good value per key so it can be served, marked with its age,
+ * while a fresh value is loaded in the background.
+ *
+ * <p>Refreshes run on a small bounded pool and at most one refresh per key is
+ * queued or running; when the pool is saturated, refreshes are dropped and
+ * retried on the next stale read. Entries older than the staleness bound are
+ * never served and are removed by {@link #evictOlderThan(long)}.</p>
+ *
+ * <p>Metrics: {@code studymate.stale.reads{name}} and {@code studymate.stale.refreshes{name}}.</p>
+ *
+ * @param <K> key type
+ * @param <V> value type; values are shared between callers and must be read-only
+ */
+@Slf4j
+public class StaleWhileRevalidateCache<K, V> {
+
+    /**
+     * A cached value and how old it is.
+     */
+    public record Cached<V>(V value, long ageMillis) {
+    }
+
+    private record Entry<V>(V value, long storedAt) {
+    }
+
+    private final String name;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Set<K> refreshing = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor refreshPool;
+    private final Counter staleReads;
+    private final Counter refreshes;
+
+    /**
+     * @param name name used for the refresh threads and to tag the metrics
+     * @param meterRegistry registry for the counters
+     * @param refreshThreads maximum concurrent background refreshes
+     */
+    public StaleWhileRevalidateCache(String name, MeterRegistry meterRegistry, int refreshThreads) {
+        this.name = name;
+        this.refreshPool = new ThreadPoolExecutor(refreshThreads, refreshThreads, 30L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(64), runnable -> {
+                Thread thread = new Thread(runnable, name + "-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.refreshPool.allowCoreThreadTimeOut(true);
+        this.staleReads = Counter.builder("studymate.stale.reads")
+            .tag("name", name)
+            .description("Reads answered from a stale copy")
+            .register(meterRegistry);
+        this.refreshes = Counter.builder("studymate.stale.refreshes")
+            .tag("name", name)
+            .description("Background refreshes of stale copies")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Read the last good value if it is young enough, counting it as a stale read.
+     *
+     * @param key the key
+     * @param maxAgeMillis oldest acceptable age
+     * @return the cached value and its age, or empty
+     */
+    public Optional<Cached<V>> get(K key, long maxAgeMillis) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        long age = System.currentTimeMillis() - entry.storedAt();
+        if (age > maxAgeMillis) {
+            return Optional.empty();
+        }
+        staleReads.increment();
+        return Optional.of(new Cached<>(entry.value(), age));
+    }
+
+    /**
+     * Store a freshly loaded value.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.currentTimeMillis()));
+    }
+
+    /**
+     * Reload a key in the background unless a refresh for it is already pending.
+     * The loader's result is stored; failures keep the previous value.
+     *
+     * @param key the key
+     * @param loader loads a fresh value
+     */
+    public void refreshAsync(K key, Supplier<V> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshPool.execute(() -> {
+                try {
+                    put(key, loader.get());
+                    refreshes.increment();
+                } catch (RuntimeException e) {
+                    log.warn("Background refresh of {} {} failed", name, key, e);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            log.debug("Refresh pool for {} saturated; skipping refresh of {}", name, key);
+        }
+    }
+
+    /**
+     * Remove entries that are too old to be served.
+     *
+     * @param maxAgeMillis oldest age to keep
+     */
+    public void evictOlderThan(long maxAgeMillis) {
+        long cutoff = System.currentTimeMillis() - maxAgeMillis;
+        entries.values().removeIf(entry -> entry.storedAt() < cutoff);
+    }
+
+    /**
+     * Stop the refresh pool.
+     */
+    public void shutdown() {
+        refreshPool.shutdownNow();
+    }
+}
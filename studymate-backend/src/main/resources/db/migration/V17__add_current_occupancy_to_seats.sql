@@ -0,0 +1,24 @@
+-- V17__add_current_occupancy_to_seats.sql
+-- Materialize each seat's current occupancy so seat-map reads no longer join bookings
+-- Created: 2026-10-16
+
+-- The confirmed booking with the latest future end time, and that end time.
+-- A seat is occupied while occupied_until is in the future; no write is needed when a booking ends.
+ALTER TABLE seats
+ADD COLUMN current_booking_id BIGINT REFERENCES bookings(id) ON DELETE SET NULL,
+ADD COLUMN occupied_until TIMESTAMP;
+
+-- Backfill from active confirmed bookings
+UPDATE seats s
+SET (current_booking_id, occupied_until) = (
+    SELECT b.id, b.end_time
+    FROM bookings b
+    WHERE b.seat_id = s.id
+      AND b.status = 'CONFIRMED'
+      AND b.end_time > CURRENT_TIMESTAMP
+    ORDER BY b.end_time DESC, b.id DESC
+    LIMIT 1
+);
+
+-- Supports the ON DELETE SET NULL lookup when bookings are removed
+CREATE INDEX idx_seats_current_booking_id ON seats(current_booking_id) WHERE current_booking_id IS NOT NULL;
@@ -0,0 +1,13 @@
+-- V18__add_booking_overlap_exclusion.sql
+-- Prevent two confirmed bookings of the same seat from overlapping
+-- Created: 2026-10-16
+
+-- btree_gist provides GiST operator classes for scalar columns such as seat_id
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Periods are half-open, so a booking may start exactly when the previous one ends.
+-- Fails if existing confirmed bookings already overlap; resolve those before migrating.
+ALTER TABLE bookings
+ADD CONSTRAINT bookings_no_overlap
+EXCLUDE USING gist (seat_id WITH =, tsrange(start_time, end_time, '[)') WITH &&)
+WHERE (status = 'CONFIRMED');
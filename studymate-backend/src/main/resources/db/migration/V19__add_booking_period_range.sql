@@ -0,0 +1,16 @@
+-- V19__add_booking_period_range.sql
+-- Store each booking's period as a tsrange so overlap queries can use a GiST index
+-- Created: 2026-10-16
+
+-- Half-open [start_time, end_time), maintained by Postgres; never written by the application
+ALTER TABLE bookings
+ADD COLUMN period tsrange GENERATED ALWAYS AS (tsrange(start_time, end_time, '[)')) STORED;
+
+-- Rebuild the overlap guard from V18 on the stored column. Its GiST index on
+-- (seat_id, period) for confirmed bookings also serves the && lookups.
+ALTER TABLE bookings DROP CONSTRAINT bookings_no_overlap;
+
+ALTER TABLE bookings
+ADD CONSTRAINT bookings_no_overlap
+EXCLUDE USING gist (seat_id WITH =, period WITH &&)
+WHERE (status = 'CONFIRMED');
@@ -0,0 +1,20 @@
+-- V20__create_seat_holds.sql
+-- Seat holds taken during checkout, persisted only when app.holds.persist is enabled
+-- Created: 2026-10-16
+
+-- A hold keeps a seat's period LOCKED for one student until it is booked, released or expires.
+-- IDs are assigned by the application's hold registry.
+CREATE TABLE seat_holds (
+    id BIGINT PRIMARY KEY,
+    seat_id BIGINT NOT NULL REFERENCES seats(id) ON DELETE CASCADE,
+    hall_id BIGINT NOT NULL REFERENCES study_halls(id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    start_time TIMESTAMP NOT NULL,
+    end_time TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CHECK (end_time > start_time)
+);
+
+-- Restoring holds at startup reads only the unexpired ones
+CREATE INDEX idx_seat_holds_expires_at ON seat_holds(expires_at);
@@ -0,0 +1,20 @@
+-- V21__add_booking_lifecycle.sql
+-- Support the booking lifecycle job: a NO_SHOW status and partial indexes for its keyset scans
+-- Created: 2026-10-16
+
+-- Confirmed bookings never checked in are released as NO_SHOW; they stay billable
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS bookings_status_check;
+
+ALTER TABLE bookings
+ADD CONSTRAINT bookings_status_check
+CHECK (status IN ('PENDING', 'CONFIRMED', 'CANCELLED', 'COMPLETED', 'NO_SHOW'));
+
+-- Each index holds only the rows its transition still has to visit, in keyset order
+CREATE INDEX idx_bookings_pending_created ON bookings(created_at, id)
+WHERE status = 'PENDING';
+
+CREATE INDEX idx_bookings_no_show_start ON bookings(start_time, id)
+WHERE status = 'CONFIRMED' AND check_in_time IS NULL AND qr_code_hash IS NOT NULL;
+
+CREATE INDEX idx_bookings_confirmed_end ON bookings(end_time, id)
+WHERE status = 'CONFIRMED';
@@ -0,0 +1,61 @@
+-- V22__add_hall_id_to_bookings.sql
+-- Denormalize the seat's hall onto bookings so hall report queries skip the
+-- join through seats and range-scan (hall_id, status, start_time)
+-- Created: 2026-10-16
+
+-- Runs outside a transaction (see the .sql.conf file) so the backfill can
+-- commit batch by batch and the index can be built concurrently. Flyway's
+-- transactional advisory lock must be off (postgresql.transactional-lock=false):
+-- its idle lock transaction would make CREATE INDEX CONCURRENTLY wait forever.
+-- Flyway records a failure of this migration, so it only runs again after
+-- `flyway repair`.
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS hall_id BIGINT;
+
+-- Keep hall_id derived from seat_id for every writer, including bulk SQL.
+-- Installed before the backfill so rows written meanwhile are covered.
+CREATE OR REPLACE FUNCTION bookings_set_hall_id() RETURNS trigger AS $$
+BEGIN
+    SELECT s.hall_id INTO NEW.hall_id FROM seats s WHERE s.id = NEW.seat_id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS bookings_hall_id ON bookings;
+
+CREATE TRIGGER bookings_hall_id
+BEFORE INSERT OR UPDATE OF seat_id ON bookings
+FOR EACH ROW EXECUTE FUNCTION bookings_set_hall_id();
+
+-- Backfill in id ranges of 10000, committing after each so row locks are short
+DO $$
+DECLARE
+    batch_start BIGINT;
+    max_id BIGINT;
+BEGIN
+    SELECT COALESCE(MIN(id), 0), COALESCE(MAX(id), 0) INTO batch_start, max_id
+    FROM bookings
+    WHERE hall_id IS NULL;
+    WHILE batch_start <= max_id LOOP
+        UPDATE bookings b
+        SET hall_id = s.hall_id
+        FROM seats s
+        WHERE s.id = b.seat_id
+          AND b.id >= batch_start
+          AND b.id < batch_start + 10000
+          AND b.hall_id IS NULL;
+        COMMIT;
+        batch_start := batch_start + 10000;
+    END LOOP;
+END $$;
+
+ALTER TABLE bookings ALTER COLUMN hall_id SET NOT NULL;
+
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS fk_bookings_hall;
+
+ALTER TABLE bookings
+ADD CONSTRAINT fk_bookings_hall FOREIGN KEY (hall_id) REFERENCES study_halls(id) ON DELETE CASCADE;
+
+-- Serves hall report queries: equality on hall_id and status, range on start_time
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_hall_status_start
+ON bookings(hall_id, status, start_time);
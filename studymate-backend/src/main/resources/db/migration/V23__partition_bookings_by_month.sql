@@ -0,0 +1,169 @@
+-- V23__partition_bookings_by_month.sql
+-- Convert bookings into a table range-partitioned by month on start_time, so
+-- queries bounded on start_time only scan the months they touch
+-- Created: 2026-10-16
+
+-- Rows are copied into the new partitions inside this migration's transaction;
+-- bookings is locked for writes until it commits.
+
+-- 1. Move the current table aside
+ALTER TABLE seats DROP CONSTRAINT IF EXISTS seats_current_booking_id_fkey;
+DROP INDEX IF EXISTS idx_seats_current_booking_id;
+
+ALTER TABLE bookings RENAME TO bookings_unpartitioned;
+ALTER SEQUENCE bookings_id_seq OWNED BY NONE;
+
+-- 2. Partitioned parent. A primary key must include the partition key, so it
+--    becomes (id, start_time); ids still come from the same sequence.
+CREATE TABLE bookings (
+    id BIGINT NOT NULL DEFAULT nextval('bookings_id_seq'),
+    user_id BIGINT NOT NULL,
+    seat_id BIGINT NOT NULL,
+    hall_id BIGINT NOT NULL,
+    start_time TIMESTAMP NOT NULL,
+    end_time TIMESTAMP NOT NULL,
+    payment_id BIGINT,
+    check_in_time TIMESTAMP,
+    check_out_time TIMESTAMP,
+    qr_code_hash VARCHAR(255),
+    status VARCHAR(50) DEFAULT 'PENDING',
+    amount DECIMAL(10, 2),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    period tsrange GENERATED ALWAYS AS (tsrange(start_time, end_time, '[)')) STORED,
+    CONSTRAINT bookings_status_check
+        CHECK (status IN ('PENDING', 'CONFIRMED', 'CANCELLED', 'COMPLETED', 'NO_SHOW'))
+) PARTITION BY RANGE (start_time);
+
+ALTER SEQUENCE bookings_id_seq OWNED BY bookings.id;
+
+-- Bookings starting in a month without its own partition land in the default
+-- partition, so a booking far in advance is never rejected.
+CREATE TABLE bookings_default PARTITION OF bookings DEFAULT;
+
+-- Creates the partition holding bookings that start in the given month, if
+-- missing, moving that month's rows out of the default partition first.
+-- Also called by BookingPartitionManager to create months ahead.
+CREATE OR REPLACE FUNCTION create_booking_partition(month DATE) RETURNS TEXT AS $$
+DECLARE
+    month_start DATE := date_trunc('month', month)::date;
+    month_end DATE := (date_trunc('month', month) + INTERVAL '1 month')::date;
+    partition_name TEXT := 'bookings_' || to_char(month_start, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN partition_name;
+    END IF;
+
+    CREATE TEMP TABLE booking_partition_moved ON COMMIT DROP AS
+    SELECT id, user_id, seat_id, hall_id, start_time, end_time, payment_id, check_in_time,
+           check_out_time, qr_code_hash, status, amount, created_at, updated_at
+    FROM bookings_default
+    WHERE start_time >= month_start AND start_time < month_end;
+    DELETE FROM bookings_default WHERE start_time >= month_start AND start_time < month_end;
+
+    EXECUTE format('CREATE TABLE %I PARTITION OF bookings FOR VALUES FROM (%L) TO (%L)',
+        partition_name, month_start, month_end);
+
+    INSERT INTO bookings (id, user_id, seat_id, hall_id, start_time, end_time, payment_id, check_in_time,
+                          check_out_time, qr_code_hash, status, amount, created_at, updated_at)
+    SELECT * FROM booking_partition_moved;
+    DROP TABLE booking_partition_moved;
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 3. One partition per month from the oldest booking to three months ahead
+DO $$
+DECLARE
+    month DATE;
+    last_month DATE;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(start_time), CURRENT_DATE))::date,
+           date_trunc('month', GREATEST(COALESCE(MAX(start_time), CURRENT_DATE), CURRENT_DATE + INTERVAL '3 months'))::date
+    INTO month, last_month
+    FROM bookings_unpartitioned;
+    WHILE month <= last_month LOOP
+        PERFORM create_booking_partition(month);
+        month := (month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+-- 4. Copy the rows; period is generated again
+INSERT INTO bookings (id, user_id, seat_id, hall_id, start_time, end_time, payment_id, check_in_time,
+                      check_out_time, qr_code_hash, status, amount, created_at, updated_at)
+SELECT id, user_id, seat_id, hall_id, start_time, end_time, payment_id, check_in_time,
+       check_out_time, qr_code_hash, status, amount, created_at, updated_at
+FROM bookings_unpartitioned;
+
+DROP TABLE bookings_unpartitioned;
+
+-- 5. Keys and indexes, created on every existing and future partition
+ALTER TABLE bookings ADD CONSTRAINT bookings_pkey PRIMARY KEY (id, start_time);
+
+ALTER TABLE bookings
+ADD CONSTRAINT fk_bookings_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+ADD CONSTRAINT fk_bookings_seat FOREIGN KEY (seat_id) REFERENCES seats(id) ON DELETE CASCADE,
+ADD CONSTRAINT fk_bookings_hall FOREIGN KEY (hall_id) REFERENCES study_halls(id) ON DELETE CASCADE;
+
+CREATE INDEX idx_bookings_user_id ON bookings(user_id);
+CREATE INDEX idx_bookings_seat_id ON bookings(seat_id);
+CREATE INDEX idx_bookings_status ON bookings(status);
+CREATE INDEX idx_bookings_status_end_time ON bookings(status, end_time);
+CREATE INDEX idx_bookings_hall_status_start ON bookings(hall_id, status, start_time);
+CREATE INDEX idx_bookings_pending_created ON bookings(created_at, id)
+WHERE status = 'PENDING';
+CREATE INDEX idx_bookings_no_show_start ON bookings(start_time, id)
+WHERE status = 'CONFIRMED' AND check_in_time IS NULL AND qr_code_hash IS NOT NULL;
+CREATE INDEX idx_bookings_confirmed_end ON bookings(end_time, id)
+WHERE status = 'CONFIRMED';
+
+-- Was the index of the bookings_no_overlap exclusion constraint; still serves && lookups
+CREATE INDEX idx_bookings_seat_period ON bookings USING gist (seat_id, period)
+WHERE status = 'CONFIRMED';
+
+-- 6. Triggers
+CREATE TRIGGER bookings_hall_id
+BEFORE INSERT OR UPDATE OF seat_id ON bookings
+FOR EACH ROW EXECUTE FUNCTION bookings_set_hall_id();
+
+-- An exclusion constraint on a partitioned table must include the partition key
+-- with equality, which cannot express "no overlapping periods". The trigger
+-- enforces it instead: confirmed writes to a seat are serialized by an advisory
+-- lock, then checked against every partition that could hold an overlap. It
+-- raises the same error and constraint name as the former constraint.
+CREATE OR REPLACE FUNCTION bookings_check_overlap() RETURNS trigger AS $$
+BEGIN
+    IF NEW.status IS DISTINCT FROM 'CONFIRMED' THEN
+        RETURN NEW;
+    END IF;
+    PERFORM pg_advisory_xact_lock(hashtextextended('bookings_no_overlap:' || NEW.seat_id, 0));
+    IF EXISTS (
+        SELECT 1 FROM bookings b
+        WHERE b.seat_id = NEW.seat_id
+          AND b.status = 'CONFIRMED'
+          AND b.id <> NEW.id
+          AND b.start_time < NEW.end_time
+          AND b.period && tsrange(NEW.start_time, NEW.end_time, '[)')
+    ) THEN
+        RAISE EXCEPTION 'conflicting key value violates exclusion constraint "bookings_no_overlap"'
+            USING ERRCODE = 'exclusion_violation', CONSTRAINT = 'bookings_no_overlap', TABLE = 'bookings';
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER bookings_no_overlap
+BEFORE INSERT OR UPDATE OF seat_id, start_time, end_time, status ON bookings
+FOR EACH ROW EXECUTE FUNCTION bookings_check_overlap();
+
+-- Detaches a month's partition from bookings and renames it bookings_archive_YYYY_MM.
+-- Called by BookingPartitionManager once a month is past retention.
+CREATE OR REPLACE FUNCTION detach_booking_partition(partition_name TEXT) RETURNS TEXT AS $$
+DECLARE
+    archive_name TEXT := replace(partition_name, 'bookings_', 'bookings_archive_');
+BEGIN
+    EXECUTE format('ALTER TABLE bookings DETACH PARTITION %I', partition_name);
+    EXECUTE format('ALTER TABLE %I RENAME TO %I', partition_name, archive_name);
+    RETURN archive_name;
+END;
+$$ LANGUAGE plpgsql;
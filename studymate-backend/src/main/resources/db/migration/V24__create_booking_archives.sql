@@ -0,0 +1,15 @@
+-- V24__create_booking_archives.sql
+-- Record the hall-months whose finished bookings were moved to archive files
+-- Created: 2026-10-16
+
+-- One row per hall and month archived by BookingArchiver. Counts and revenue
+-- accumulate as the month's bookings are deleted from bookings, so all-time
+-- revenue can still be summed without reading the files.
+CREATE TABLE booking_archives (
+    hall_id BIGINT NOT NULL REFERENCES study_halls(id) ON DELETE CASCADE,
+    month DATE NOT NULL,
+    booking_count BIGINT NOT NULL DEFAULT 0,
+    revenue DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (hall_id, month)
+);
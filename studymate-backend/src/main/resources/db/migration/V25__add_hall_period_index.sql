@@ -0,0 +1,8 @@
+-- V25__add_hall_period_index.sql
+-- Index the booked periods of each hall, for report queries that select the
+-- bookings overlapping a period rather than starting in it
+-- Created: 2026-10-17
+
+-- Partial on the billable statuses the report aggregation reads
+CREATE INDEX idx_bookings_hall_period ON bookings USING gist (hall_id, period)
+WHERE status IN ('CONFIRMED', 'COMPLETED', 'NO_SHOW');
@@ -0,0 +1,55 @@
+-- V26__retire_booking_partitions.sql
+-- Retire expired booking partitions once BookingArchiver has moved their
+-- bookings to archive files, instead of detaching them into standalone
+-- bookings_archive_YYYY_MM tables that no report or revenue total reads
+-- Created: 2026-10-17
+
+-- 1. Attach the tables detached so far again, so their bookings get archived
+DO $$
+DECLARE
+    archive_name TEXT;
+    partition_name TEXT;
+    month_start DATE;
+BEGIN
+    FOR archive_name IN
+        SELECT tablename FROM pg_tables
+        WHERE schemaname = current_schema()
+        AND tablename ~ '^bookings_archive_[0-9]{4}_[0-9]{2}$'
+        ORDER BY tablename
+    LOOP
+        partition_name := replace(archive_name, 'bookings_archive_', 'bookings_');
+        month_start := to_date(substring(archive_name FROM '[0-9]{4}_[0-9]{2}$'), 'YYYY_MM');
+        IF to_regclass(partition_name) IS NOT NULL
+           OR EXISTS (SELECT 1 FROM bookings_default
+                      WHERE start_time >= month_start
+                      AND start_time < month_start + INTERVAL '1 month') THEN
+            RAISE WARNING '% not attached again: bookings of its month were added since it was detached',
+                archive_name;
+            CONTINUE;
+        END IF;
+        EXECUTE format('ALTER TABLE %I RENAME TO %I', archive_name, partition_name);
+        EXECUTE format('ALTER TABLE bookings ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+            partition_name, month_start, (month_start + INTERVAL '1 month')::date);
+    END LOOP;
+END $$;
+
+-- 2. Drop a partition that no longer holds any booking. Called by
+-- BookingPartitionManager after archiving an expired month; bookings still
+-- CONFIRMED or PENDING keep the partition in place.
+DROP FUNCTION IF EXISTS detach_booking_partition(TEXT);
+
+CREATE OR REPLACE FUNCTION retire_booking_partition(partition_name TEXT) RETURNS BOOLEAN AS $$
+DECLARE
+    remaining BOOLEAN;
+BEGIN
+    -- The lock DETACH PARTITION takes anyway, held from before the check so no booking slips in
+    LOCK TABLE bookings IN ACCESS EXCLUSIVE MODE;
+    EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I)', partition_name) INTO remaining;
+    IF remaining THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('ALTER TABLE bookings DETACH PARTITION %I', partition_name);
+    EXECUTE format('DROP TABLE %I', partition_name);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
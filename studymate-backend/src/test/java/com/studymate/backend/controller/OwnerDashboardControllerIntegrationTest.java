@@ -1,21 +1,30 @@
 package com.studymate.backend.controller;
 
 import com.studymate.backend.dto.DashboardResponse;
+import com.studymate.backend.dto.HallPortfolioEntry;
+import com.studymate.backend.dto.PortfolioResponse;
+import com.studymate.backend.model.User;
+import com.studymate.backend.model.UserRole;
 import com.studymate.backend.service.DashboardService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -36,7 +45,6 @@ class OwnerDashboardControllerIntegrationTest {
     private DashboardService dashboardService;
 
     @Test
-    @WithMockUser(username = "owner@test.com", roles = {"OWNER"})
     void getDashboard_WithValidOwner_ReturnsOk() throws Exception {
         // Arrange
         DashboardResponse response = DashboardResponse.builder()
@@ -49,18 +57,62 @@ class OwnerDashboardControllerIntegrationTest {
         when(dashboardService.getDashboardMetrics(eq(1L), any())).thenReturn(response);
 
         // Act & Assert
-        mockMvc.perform(get("/api/v1/owner/dashboard/1"))
+        mockMvc.perform(get("/owner/dashboard/1")
+                .with(authentication(ownerAuthentication())))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.totalSeats").value(50))
             .andExpect(jsonPath("$.occupancyPercentage").value(75.0))
             .andExpect(jsonPath("$.currentRevenue").value(15000.00));
     }
 
+    @Test
+    void getPortfolio_WithValidOwner_ReturnsOk() throws Exception {
+        // Arrange
+        PortfolioResponse response = PortfolioResponse.builder()
+            .totalHalls(1)
+            .totalSeats(50)
+            .activeBookings(25)
+            .occupancyPercentage(50.0)
+            .currentRevenue(new BigDecimal("5000.00"))
+            .halls(List.of(HallPortfolioEntry.builder()
+                .hallId(1L)
+                .hallName("Main Hall")
+                .totalSeats(50)
+                .activeBookings(25)
+                .occupancyPercentage(50.0)
+                .currentRevenue(new BigDecimal("5000.00"))
+                .build()))
+            .build();
+
+        when(dashboardService.getPortfolioMetrics(any())).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(get("/owner/dashboard/portfolio")
+                .with(authentication(ownerAuthentication())))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalHalls").value(1))
+            .andExpect(jsonPath("$.occupancyPercentage").value(50.0))
+            .andExpect(jsonPath("$.halls[0].hallName").value("Main Hall"));
+    }
+
+    /**
+     * Authentication with a User entity as principal, so that
+     * @AuthenticationPrincipal resolves in the controller.
+     */
+    private Authentication ownerAuthentication() {
+        User owner = new User();
+        owner.setId(1L);
+        owner.setEmail("owner@test.com");
+        owner.setRole(UserRole.ROLE_OWNER);
+        return new UsernamePasswordAuthenticationToken(
+            owner, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_OWNER")));
+    }
+
     @Test
     void getDashboard_WithoutAuthentication_ReturnsUnauthorized() throws Exception {
         // Act & Assert
         // With custom authenticationEntryPoint in SecurityConfig, returns 401 Unauthorized
-        mockMvc.perform(get("/api/v1/owner/dashboard/1"))
+        mockMvc.perform(get("/owner/dashboard/1"))
             .andExpect(status().isUnauthorized());
     }
 
@@ -69,7 +121,7 @@ class OwnerDashboardControllerIntegrationTest {
     void getDashboard_WithNonOwnerRole_ReturnsForbidden() throws Exception {
         // Act & Assert
         // @PreAuthorize("hasRole('OWNER')") should block STUDENT role with 403
-        mockMvc.perform(get("/api/v1/owner/dashboard/1"))
+        mockMvc.perform(get("/owner/dashboard/1"))
             .andDo(print())  // Print full response for debugging
             .andExpect(status().isForbidden());
     }
@@ -0,0 +1,99 @@
+package com.studymate.backend.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the compact dashboard encoding.
+ * Verifies lossless round trips and benchmarks payload size and serialization
+ * time of an 800-seat seat map against the per-seat JSON representation.
+ */
+class CompactDashboardResponseTest {
+
+    private static final int SEATS = 800;
+    private static final int ITERATIONS = 200;
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final CBORMapper cborMapper = new CBORMapper();
+    private DashboardResponse response;
+
+    @BeforeEach
+    void setUp() {
+        String[] statuses = {"AVAILABLE", "OCCUPIED", "MAINTENANCE", "LOCKED"};
+        List<SeatStatusDTO> seatMap = new ArrayList<>(SEATS);
+        for (int i = 0; i < SEATS; i++) {
+            seatMap.add(new SeatStatusDTO((long) (10_000 + i), "S" + i, (i % 40) * 20, (i / 40) * 30,
+                statuses[i % 7 == 0 ? 2 : i % 3 == 0 ? 1 : 0]));
+        }
+        seatMap.set(5, new SeatStatusDTO(10_005L, "S5", null, null, statuses[3]));
+        response = DashboardResponse.builder()
+            .totalSeats(SEATS)
+            .occupancyPercentage(33.3)
+            .currentRevenue(new BigDecimal("125000.00"))
+            .seatMap(seatMap)
+            .version(42L)
+            .build();
+    }
+
+    @Test
+    void compactSeatMap_RoundTripsAllSeats() throws Exception {
+        CompactDashboardResponse compact = CompactDashboardResponse.from(response);
+
+        byte[] json = jsonMapper.writeValueAsBytes(compact);
+        byte[] cbor = cborMapper.writeValueAsBytes(compact);
+
+        assertThat(jsonMapper.readValue(json, CompactDashboardResponse.class).getSeatMap().toSeats())
+            .isEqualTo(response.getSeatMap());
+        assertThat(cborMapper.readValue(cbor, CompactDashboardResponse.class).getSeatMap().toSeats())
+            .isEqualTo(response.getSeatMap());
+        assertThat(compact.getSeatMap().getStatusTable())
+            .containsExactlyInAnyOrder("AVAILABLE", "OCCUPIED", "MAINTENANCE", "LOCKED");
+    }
+
+    @Test
+    void compactEncodings_AreSmallerThanPerSeatJson() throws Exception {
+        CompactDashboardResponse compact = CompactDashboardResponse.from(response);
+
+        int jsonBytes = jsonMapper.writeValueAsBytes(response).length;
+        int compactJsonBytes = jsonMapper.writeValueAsBytes(compact).length;
+        int cborBytes = cborMapper.writeValueAsBytes(compact).length;
+
+        long jsonNanos = time(() -> jsonMapper.writeValueAsBytes(response));
+        long compactJsonNanos = time(() -> jsonMapper.writeValueAsBytes(CompactDashboardResponse.from(response)));
+        long cborNanos = time(() -> cborMapper.writeValueAsBytes(CompactDashboardResponse.from(response)));
+
+        System.out.printf("✓ %d-seat dashboard: JSON %d B / %.1fµs, compact JSON %d B / %.1fµs, CBOR %d B / %.1fµs%n",
+            SEATS, jsonBytes, jsonNanos / 1000.0, compactJsonBytes, compactJsonNanos / 1000.0,
+            cborBytes, cborNanos / 1000.0);
+
+        assertThat(compactJsonBytes).isLessThan(jsonBytes / 2);
+        assertThat(cborBytes).isLessThan(compactJsonBytes);
+    }
+
+    /**
+     * Average serialization time after a warm-up pass.
+     */
+    private long time(Serialization serialization) throws Exception {
+        for (int i = 0; i < ITERATIONS; i++) {
+            serialization.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            serialization.run();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    @FunctionalInterface
+    private interface Serialization {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,166 @@
+package com.studymate.backend.repository;
+
+import com.studymate.backend.model.StudyHall;
+import com.studymate.backend.model.User;
+import com.studymate.backend.model.UserRole;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark of overlap lookups on the bookings table at production scale.
+ * Loads 10M confirmed bookings (10,000 seats x 1,000 non-overlapping periods)
+ * inside a rolled-back transaction, then compares the {@code period &&} lookup
+ * served by the GiST index with the equivalent two-column predicate.
+ *
+ * <p>Loading takes several minutes, so it only runs on request:
+ * {@code mvn test -Dtest=BookingOverlapBenchmarkTest -Dstudymate.benchmark=true}.
+ * The row count can be lowered with {@code -Dstudymate.benchmark.bookings=1000000}.</p>
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional
+@EnabledIfSystemProperty(named = "studymate.benchmark", matches = "true")
+class BookingOverlapBenchmarkTest {
+
+    private static final int SEATS = 10_000;
+    private static final int LOOKUPS = 2_000;
+    private static final LocalDateTime BASE = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void overlapLookup_At10MillionBookings() {
+        // Arrange
+        long bookings = Long.getLong("studymate.benchmark.bookings", 10_000_000L);
+        int periodsPerSeat = (int) (bookings / SEATS);
+        long[] seatIds = loadBookings(periodsPerSeat);
+
+        Random random = new Random(42);
+        LocalDateTime[] windowStarts = new LocalDateTime[LOOKUPS];
+        long[] lookupSeats = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookupSeats[i] = seatIds[random.nextInt(seatIds.length)];
+            windowStarts[i] = BASE.plusHours(random.nextInt(periodsPerSeat * 4));
+        }
+
+        // Warm up both plans
+        timeLookups(20, i -> bookingRepository.findOverlappingIntervalsBySeatId(
+            lookupSeats[i], windowStarts[i], windowStarts[i].plusHours(6)).size());
+        timeLookups(20, i -> legacyOverlap(lookupSeats[i], windowStarts[i], windowStarts[i].plusHours(6)));
+
+        // Act
+        long[] rangeNanos = timeLookups(LOOKUPS, i -> bookingRepository.findOverlappingIntervalsBySeatId(
+            lookupSeats[i], windowStarts[i], windowStarts[i].plusHours(6)).size());
+        long[] legacyNanos = timeLookups(LOOKUPS, i -> legacyOverlap(
+            lookupSeats[i], windowStarts[i], windowStarts[i].plusHours(6)));
+
+        // Assert
+        System.out.printf("Overlap lookup over %,d bookings (%,d lookups)%n", (long) periodsPerSeat * SEATS, LOOKUPS);
+        System.out.printf("  period && tsrange     p50 %6.2f ms  p99 %6.2f ms%n",
+            percentileMillis(rangeNanos, 50), percentileMillis(rangeNanos, 99));
+        System.out.printf("  start/end predicates  p50 %6.2f ms  p99 %6.2f ms%n",
+            percentileMillis(legacyNanos, 50), percentileMillis(legacyNanos, 99));
+
+        assertThat(percentileMillis(rangeNanos, 99)).isLessThan(50.0);
+    }
+
+    /**
+     * Insert the seats and bookings set-based, then refresh planner statistics.
+     */
+    private long[] loadBookings(int periodsPerSeat) {
+        User owner = new User();
+        owner.setEmail("overlap-benchmark@test.com");
+        owner.setPasswordHash("hash");
+        owner.setRole(UserRole.ROLE_OWNER);
+        entityManager.persist(owner);
+
+        StudyHall hall = new StudyHall();
+        hall.setHallName("Overlap Benchmark Hall");
+        hall.setAddress("1 Benchmark Rd");
+        hall.setCity("Test City");
+        hall.setState("Test State");
+        hall.setOwner(owner);
+        entityManager.persist(hall);
+        entityManager.flush();
+
+        EntityManager em = entityManager.getEntityManager();
+        em.createNativeQuery("INSERT INTO seats (hall_id, seat_number) " +
+                "SELECT :hallId, 'B' || g FROM generate_series(1, :seats) g")
+            .setParameter("hallId", hall.getId())
+            .setParameter("seats", SEATS)
+            .executeUpdate();
+
+        // Three-hour bookings every four hours, so no two bookings of a seat overlap
+        em.createNativeQuery("INSERT INTO bookings (user_id, seat_id, start_time, end_time, status, amount) " +
+                "SELECT :userId, s.id, " +
+                "       :base + g * INTERVAL '4 hours', :base + g * INTERVAL '4 hours' + INTERVAL '3 hours', " +
+                "       'CONFIRMED', 100 " +
+                "FROM seats s CROSS JOIN generate_series(0, :periods - 1) g " +
+                "WHERE s.hall_id = :hallId")
+            .setParameter("userId", owner.getId())
+            .setParameter("base", BASE)
+            .setParameter("periods", periodsPerSeat)
+            .setParameter("hallId", hall.getId())
+            .executeUpdate();
+
+        em.createNativeQuery("ANALYZE bookings").executeUpdate();
+
+        @SuppressWarnings("unchecked")
+        List<Number> ids = em.createNativeQuery("SELECT id FROM seats WHERE hall_id = :hallId")
+            .setParameter("hallId", hall.getId())
+            .getResultList();
+        return ids.stream().mapToLong(Number::longValue).toArray();
+    }
+
+    private int legacyOverlap(long seatId, LocalDateTime from, LocalDateTime to) {
+        return entityManager.getEntityManager()
+            .createNativeQuery("SELECT b.id FROM bookings b " +
+                "WHERE b.seat_id = :seatId AND b.status = 'CONFIRMED' " +
+                "AND b.start_time < :to AND b.end_time > :from " +
+                "ORDER BY b.start_time")
+            .setParameter("seatId", seatId)
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .getResultList()
+            .size();
+    }
+
+    private long[] timeLookups(int count, Lookup lookup) {
+        long[] nanos = new long[count];
+        for (int i = 0; i < count; i++) {
+            long start = System.nanoTime();
+            lookup.run(i);
+            nanos[i] = System.nanoTime() - start;
+        }
+        return nanos;
+    }
+
+    private static double percentileMillis(long[] nanos, int percentile) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+        return sorted[index] / 1_000_000.0;
+    }
+
+    @FunctionalInterface
+    private interface Lookup {
+        int run(int index);
+    }
+}
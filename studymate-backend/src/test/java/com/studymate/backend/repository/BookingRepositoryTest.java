@@ -4,18 +4,34 @@ import com.studymate.backend.model.Booking;
 import com.studymate.backend.model.Seat;
 import com.studymate.backend.model.StudyHall;
 import com.studymate.backend.model.User;
+import com.studymate.backend.repository.projection.BookingIntervalRow;
+import com.studymate.backend.repository.projection.BookingReportRow;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.jpa.repository.Query;
 
 import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Statement;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Repository tests for BookingRepository custom queries.
@@ -24,8 +40,10 @@ import static org.assertj.core.api.Assertions.assertThat;
  *
  * @Transactional ensures test data is rolled back after each test,
  * preventing test data from polluting the development database.
+ * The SQL Hibernate sends is recorded, to explain the report queries as run.
  */
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.studymate.backend.repository.BookingRepositoryTest$RecordingInspector")
 @org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase(replace = org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace.NONE)
 @org.springframework.transaction.annotation.Transactional
 class BookingRepositoryTest {
@@ -36,6 +54,12 @@ class BookingRepositoryTest {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private BookingPartitionRepository partitionRepository;
+
+    @Autowired
+    private BookingArchiveRepository archiveRepository;
+
     private StudyHall testHall;
     private Seat testSeat;
     private User testUser;
@@ -55,6 +79,8 @@ class BookingRepositoryTest {
         testHall = new StudyHall();
         testHall.setHallName("Test Hall");
         testHall.setAddress("123 Test St");
+        testHall.setCity("Test City");
+        testHall.setState("Test State");
         testHall.setSeatCount(50);
         testHall.setOwner(testUser);
         entityManager.persist(testHall);
@@ -171,7 +197,9 @@ class BookingRepositoryTest {
         );
 
         // Booking before range - 23:00 on Jan 14 UTC is still before Jan 15 startDate
+        // (on another seat, since it overlaps the Jan 15 midnight booking)
         createBooking(
+                createSeat("A2"),
                 LocalDateTime.of(2025, 1, 14, 23, 0),
                 LocalDateTime.of(2025, 1, 15, 1, 0),
                 new BigDecimal("100.00"),
@@ -194,13 +222,47 @@ class BookingRepositoryTest {
                 testHall.getId(), startDate, endDate
         );
 
-        // Assert - Due to UTC timezone conversion, the 23:00 on Jan 14 booking
-        // may be included if CAST(startTime AS LocalDate) considers timezone.
-        // Expected: 200 (Jan 15 00:00) + 300 (Jan 20 22:00) = 500
-        // But may include: 200 + 300 + 100 (if Jan 14 23:00 rounds to Jan 15) = 600
-        // Or may exclude endDate booking if it's considered next day
-        // The actual result is 450, so it's excluding one of the boundary bookings
-        assertThat(totalRevenue).isEqualByComparingTo(new BigDecimal("450.00"));
+        // Assert - the range is [Jan 15 00:00, Jan 21 00:00) on start_time:
+        // 200 (Jan 15 00:00) + 300 (Jan 20 22:00) = 500
+        assertThat(totalRevenue).isEqualByComparingTo(new BigDecimal("500.00"));
+    }
+
+    @Test
+    void findByHallAndPeriod_IsHalfOpenOnStartTime() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2025, 1, 15, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 1, 16, 0, 0);
+
+        Booking first = createBooking(from, from.plusHours(2), new BigDecimal("200.00"), "COMPLETED");
+        createBooking(to, to.plusHours(2), new BigDecimal("300.00"), "CONFIRMED");
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<Booking> bookings = bookingRepository.findByHallAndPeriod(testHall.getId(), from, to);
+
+        // Assert
+        assertThat(bookings).extracting(Booking::getId).containsExactly(first.getId());
+    }
+
+    @Test
+    void persist_SetsHallFromSeat() {
+        // Arrange
+        Booking booking = createBooking(
+                LocalDateTime.of(2025, 1, 15, 9, 0),
+                LocalDateTime.of(2025, 1, 15, 11, 0),
+                new BigDecimal("200.00"),
+                "CONFIRMED"
+        );
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        Booking loaded = bookingRepository.findById(booking.getId()).orElseThrow();
+
+        // Assert
+        assertThat(loaded.getHall().getId()).isEqualTo(testHall.getId());
     }
 
     @Test
@@ -356,11 +418,210 @@ class BookingRepositoryTest {
         assertThat(results.get(2).getId()).isEqualTo(booking1.getId()); // Jan 20
     }
 
-    // Helper method
+    @Test
+    void findOverlappingIntervalsBySeatId_ReturnsConfirmedBookingsOverlappingWindow() {
+        // Arrange
+        Booking morning = createBooking(
+                LocalDateTime.of(2025, 1, 15, 9, 0),
+                LocalDateTime.of(2025, 1, 15, 12, 0),
+                new BigDecimal("100.00"),
+                "CONFIRMED"
+        );
+        Booking afternoon = createBooking(
+                LocalDateTime.of(2025, 1, 15, 13, 0),
+                LocalDateTime.of(2025, 1, 15, 17, 0),
+                new BigDecimal("100.00"),
+                "CONFIRMED"
+        );
+        // Ends exactly when the window starts - periods are half-open
+        createBooking(
+                LocalDateTime.of(2025, 1, 15, 6, 0),
+                LocalDateTime.of(2025, 1, 15, 9, 0),
+                new BigDecimal("100.00"),
+                "CONFIRMED"
+        );
+        createBooking(
+                LocalDateTime.of(2025, 1, 15, 10, 0),
+                LocalDateTime.of(2025, 1, 15, 11, 0),
+                new BigDecimal("100.00"),
+                "PENDING"
+        );
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<BookingIntervalRow> results = bookingRepository.findOverlappingIntervalsBySeatId(
+                testSeat.getId(),
+                LocalDateTime.of(2025, 1, 15, 9, 0),
+                LocalDateTime.of(2025, 1, 15, 14, 0)
+        );
+
+        // Assert
+        assertThat(results).extracting(BookingIntervalRow::getBookingId)
+                .containsExactly(morning.getId(), afternoon.getId());
+    }
+
+    @Test
+    void save_OverlappingConfirmedBookingOnSameSeat_ViolatesExclusionConstraint() {
+        // Arrange
+        createBooking(
+                LocalDateTime.of(2025, 1, 15, 9, 0),
+                LocalDateTime.of(2025, 1, 15, 12, 0),
+                new BigDecimal("100.00"),
+                "CONFIRMED"
+        );
+        entityManager.flush();
+
+        // Act & Assert - identity IDs make persist insert immediately
+        assertThatThrownBy(() -> createBooking(
+                LocalDateTime.of(2025, 1, 15, 11, 0),
+                LocalDateTime.of(2025, 1, 15, 13, 0),
+                new BigDecimal("100.00"),
+                "CONFIRMED"
+        )).hasMessageContaining("bookings_no_overlap");
+    }
+
+    @Test
+    void reportQueries_GenericPlan_ScanOnlyPartitionsOfThePeriod() {
+        // Arrange
+        partitionRepository.createPartition(LocalDate.of(2025, 1, 1));
+        partitionRepository.createPartition(LocalDate.of(2025, 2, 1));
+        createBooking(
+                LocalDateTime.of(2025, 1, 15, 9, 0),
+                LocalDateTime.of(2025, 1, 15, 11, 0),
+                new BigDecimal("100.00"),
+                "CONFIRMED"
+        );
+        entityManager.flush();
+        Long hallId = testHall.getId();
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 2, 1, 0, 0);
+        Map<String, Object> values = Map.of("hallId", hallId, "from", from, "to", to, "runsTo", to);
+
+        // Act - record the SQL each query is run with
+        String aggregateRows = recordSql(() -> bookingRepository.findReportAggregateRows(hallId, from, to, to));
+        String revenue = recordSql(() -> bookingRepository.sumRevenueByHallAndPeriod(hallId, from, to));
+        String busiestHours = recordSql(() -> bookingRepository.findBusiestHoursByHallAndPeriod(hallId, from, to));
+        String reportRows = recordSql(() -> {
+            try (Stream<BookingReportRow> rows = bookingRepository.streamReportRowsByHallAndPeriod(hallId, from, to)) {
+                rows.forEach(row -> { });
+            }
+        });
+
+        // Assert - partitions are pruned when the executor starts, as for a reused prepared statement
+        assertThat(partitionRepository.findPartitionNames()).contains("bookings_2025_01", "bookings_2025_02");
+        assertThat(List.of(
+                explainGeneric(aggregateRows, bindOrder("findReportAggregateRows"), values),
+                explainGeneric(revenue, bindOrder("sumRevenueByHallAndPeriod"), values),
+                explainGeneric(busiestHours, bindOrder("findBusiestHoursByHallAndPeriod"), values),
+                explainGeneric(reportRows, bindOrder("streamReportRowsByHallAndPeriod"), values)))
+                .allSatisfy(plan -> assertThat(plan)
+                        .contains("Subplans Removed")
+                        .contains("bookings_2025_01")
+                        .doesNotContain("bookings_2025_02"));
+    }
+
+    @Test
+    void createPartition_MovesRowsOutOfDefaultPartition() {
+        // Arrange
+        LocalDateTime start = LocalDateTime.of(2031, 6, 10, 9, 0);
+        Booking booking = createBooking(start, start.plusHours(2), new BigDecimal("100.00"), "CONFIRMED");
+        entityManager.flush();
+
+        // Act
+        String partition = partitionRepository.createPartition(LocalDate.of(2031, 6, 1));
+
+        // Assert
+        assertThat(partition).isEqualTo("bookings_2031_06");
+        Object count = entityManager.getEntityManager()
+                .createNativeQuery("SELECT COUNT(*) FROM bookings_2031_06 WHERE id = " + booking.getId())
+                .getSingleResult();
+        assertThat(((Number) count).longValue()).isEqualTo(1L);
+    }
+
+    @Test
+    void deleteArchivedBookings_DeletesFinishedBookingsAndRecordsRevenue() {
+        // Arrange
+        Booking completed = createBooking(
+                LocalDateTime.of(2025, 1, 10, 9, 0),
+                LocalDateTime.of(2025, 1, 10, 11, 0),
+                new BigDecimal("100.00"),
+                "COMPLETED"
+        );
+        Booking cancelled = createBooking(
+                LocalDateTime.of(2025, 1, 11, 9, 0),
+                LocalDateTime.of(2025, 1, 11, 11, 0),
+                new BigDecimal("100.00"),
+                "CANCELLED"
+        );
+        Booking confirmed = createBooking(
+                LocalDateTime.of(2025, 1, 12, 9, 0),
+                LocalDateTime.of(2025, 1, 12, 11, 0),
+                new BigDecimal("100.00"),
+                "CONFIRMED"
+        );
+        entityManager.flush();
+
+        // Act
+        long deleted = archiveRepository.deleteArchivedBookings(testHall.getId(), LocalDate.of(2025, 1, 1),
+                new Long[]{completed.getId(), cancelled.getId(), confirmed.getId()});
+        entityManager.clear();
+
+        // Assert - the confirmed booking is not finished and stays
+        assertThat(deleted).isEqualTo(2L);
+        assertThat(bookingRepository.findById(confirmed.getId())).isPresent();
+        assertThat(bookingRepository.findById(completed.getId())).isEmpty();
+        Object[] archive = (Object[]) entityManager.getEntityManager()
+                .createNativeQuery("SELECT booking_count, revenue FROM booking_archives WHERE hall_id = " + testHall.getId())
+                .getSingleResult();
+        assertThat(((Number) archive[0]).longValue()).isEqualTo(2L);
+        assertThat((BigDecimal) archive[1]).isEqualByComparingTo("100.00");
+        assertThat(bookingRepository.sumRevenueByHallId(testHall.getId())).isEqualByComparingTo("200.00");
+    }
+
+    // Helper methods
+    @Test
+    void recordCheckIns_SkipsCancelledBookings() {
+        // Arrange
+        Booking confirmed = createBooking(
+                LocalDateTime.of(2025, 1, 15, 9, 0),
+                LocalDateTime.of(2025, 1, 15, 11, 0),
+                new BigDecimal("100.00"),
+                "CONFIRMED"
+        );
+        Booking cancelled = createBooking(
+                LocalDateTime.of(2025, 1, 15, 13, 0),
+                LocalDateTime.of(2025, 1, 15, 15, 0),
+                new BigDecimal("100.00"),
+                "CANCELLED"
+        );
+        entityManager.flush();
+        LocalDateTime gateTime = LocalDateTime.of(2025, 1, 15, 9, 5);
+
+        // Act
+        int checkedIn = bookingRepository.recordCheckIns(
+                new Long[]{confirmed.getId(), cancelled.getId()}, new LocalDateTime[]{gateTime, gateTime});
+        int checkedOut = bookingRepository.recordCheckOuts(
+                new Long[]{cancelled.getId()}, new LocalDateTime[]{gateTime});
+        entityManager.clear();
+
+        // Assert
+        assertThat(checkedIn).isEqualTo(1);
+        assertThat(checkedOut).isZero();
+        assertThat(entityManager.find(Booking.class, confirmed.getId()).getCheckInTime()).isEqualTo(gateTime);
+        assertThat(entityManager.find(Booking.class, cancelled.getId()).getCheckInTime()).isNull();
+    }
+
     private Booking createBooking(LocalDateTime startTime, LocalDateTime endTime,
                                   BigDecimal amount, String status) {
+        return createBooking(testSeat, startTime, endTime, amount, status);
+    }
+
+    private Booking createBooking(Seat seat, LocalDateTime startTime, LocalDateTime endTime,
+                                  BigDecimal amount, String status) {
         Booking booking = new Booking();
-        booking.setSeat(testSeat);
+        booking.setSeat(seat);
         booking.setUser(testUser);
         booking.setStartTime(startTime);
         booking.setEndTime(endTime);
@@ -368,4 +629,84 @@ class BookingRepositoryTest {
         booking.setStatus(status);
         return entityManager.persist(booking);
     }
+
+    private String recordSql(Runnable query) {
+        RecordingInspector.STATEMENTS.clear();
+        query.run();
+        assertThat(RecordingInspector.STATEMENTS).hasSize(1);
+        return RecordingInspector.STATEMENTS.get(0);
+    }
+
+    /**
+     * List the parameters of a repository query in the order they occur, which
+     * is the order of its bind markers.
+     */
+    private static List<String> bindOrder(String method) {
+        Query query = Arrays.stream(BookingRepository.class.getMethods())
+                .filter(candidate -> candidate.getName().equals(method))
+                .findFirst()
+                .orElseThrow()
+                .getAnnotation(Query.class);
+        Matcher matcher = Pattern.compile("(?<!:):(\\w+)").matcher(query.value());
+        List<String> names = new ArrayList<>();
+        while (matcher.find()) {
+            names.add(matcher.group(1));
+        }
+        return names;
+    }
+
+    /**
+     * Explain a statement as a generic plan, the plan a prepared statement
+     * settles on once reused, so pruning must happen when the executor starts.
+     */
+    private String explainGeneric(String sql, List<String> bindOrder, Map<String, Object> values) {
+        StringBuilder numbered = new StringBuilder();
+        int markers = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++markers);
+            } else {
+                numbered.append(c);
+            }
+        }
+        assertThat(markers).isEqualTo(bindOrder.size());
+        String arguments = bindOrder.stream()
+                .map(name -> "'" + values.get(name) + "'")
+                .collect(Collectors.joining(", "));
+        return entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+                statement.execute("PREPARE report_query AS " + numbered);
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rows = statement.executeQuery("EXPLAIN EXECUTE report_query(" + arguments + ")")) {
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                }
+                statement.execute("DEALLOCATE report_query");
+                return plan.toString();
+            }
+        });
+    }
+
+    private Seat createSeat(String seatNumber) {
+        Seat seat = new Seat();
+        seat.setHall(testHall);
+        seat.setSeatNumber(seatNumber);
+        return entityManager.persist(seat);
+    }
+
+    /**
+     * Keeps the SQL statements Hibernate prepares.
+     */
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
 }
@@ -0,0 +1,147 @@
+package com.studymate.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studymate.backend.dto.BookingImportResponse;
+import com.studymate.backend.model.StudyHall;
+import com.studymate.backend.model.User;
+import com.studymate.backend.model.UserRole;
+import com.studymate.backend.repository.SeatRepository;
+import com.studymate.backend.repository.StudyHallRepository;
+import com.studymate.backend.repository.UserRepository;
+import com.studymate.backend.service.occupancy.OccupancyReconciler;
+import com.studymate.backend.service.report.ReportCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Benchmark of a bulk booking import against the target of 50,000 rows a
+ * second. Imports 500k past bookings (1,000 seats, non-overlapping per seat)
+ * from CSV through {@link BookingImportService} inside a rolled-back
+ * transaction, after a smaller warm-up import.
+ *
+ * <p>Runs only on request:
+ * {@code mvn test -Dtest=BookingImportBenchmarkTest -Dstudymate.benchmark=true}.
+ * The row count can be changed with {@code -Dstudymate.benchmark.import-rows=2000000}.</p>
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional
+@EnabledIfSystemProperty(named = "studymate.benchmark", matches = "true")
+class BookingImportBenchmarkTest {
+
+    private static final int SEATS = 1_000;
+    private static final int WARM_UP_ROWS = 50_000;
+    private static final String EMAIL = "import-benchmark@test.com";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManager sharedEntityManager;
+
+    @Autowired
+    private StudyHallRepository studyHallRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void importBookings_AtHalfAMillionRows() {
+        // Arrange
+        int rows = Integer.getInteger("studymate.benchmark.import-rows", 500_000);
+        User owner = createOwner();
+        Long hallId = createHall(owner);
+        BookingImportService service = new BookingImportService(studyHallRepository, seatRepository,
+            userRepository, sharedEntityManager, mock(ApplicationEventPublisher.class),
+            mock(OccupancyReconciler.class), mock(ReportCache.class), new ObjectMapper(), transactionManager,
+            new SimpleMeterRegistry(), 10_000, 1_000);
+        byte[] warmUp = csv(WARM_UP_ROWS, LocalDateTime.of(2019, 1, 1, 0, 0));
+        byte[] upload = csv(rows, LocalDateTime.of(2020, 1, 1, 0, 0));
+        service.importBookings(hallId, new ByteArrayInputStream(warmUp), "text/csv", owner);
+        // The staging table is dropped on commit, which this test's transaction never reaches
+        entityManager.getEntityManager().createNativeQuery("DROP TABLE booking_import").executeUpdate();
+
+        // Act
+        long started = System.nanoTime();
+        BookingImportResponse response = service.importBookings(hallId, new ByteArrayInputStream(upload),
+            "text/csv", owner);
+        long elapsed = System.nanoTime() - started;
+
+        // Assert
+        double rowsPerSecond = rows / (elapsed / 1_000_000_000.0);
+        System.out.printf("Imported %,d bookings in %,d ms: %,.0f rows/s%n",
+            response.getImportedCount(), elapsed / 1_000_000, rowsPerSecond);
+
+        assertThat(response.getImportedCount()).isEqualTo(rows);
+        assertThat(rowsPerSecond).isGreaterThan(50_000.0);
+    }
+
+    /**
+     * Build an upload of three-hour completed bookings every four hours, spread
+     * over the seats, so no two bookings of a seat overlap.
+     */
+    private static byte[] csv(int rows, LocalDateTime base) {
+        StringBuilder csv = new StringBuilder(rows * 80);
+        csv.append("seatNumber,userEmail,startTime,endTime,status,amount\n");
+        for (int i = 0; i < rows; i++) {
+            LocalDateTime start = base.plusHours(4L * (i / SEATS));
+            csv.append('I').append(i % SEATS + 1).append(',')
+                .append(EMAIL).append(',')
+                .append(start).append(',')
+                .append(start.plusHours(3)).append(',')
+                .append("COMPLETED,100.00\n");
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private User createOwner() {
+        User owner = new User();
+        owner.setEmail(EMAIL);
+        owner.setPasswordHash("hash");
+        owner.setRole(UserRole.ROLE_OWNER);
+        owner.setPhone("1234567890");
+        owner.setFirstName("Benchmark");
+        return entityManager.persist(owner);
+    }
+
+    private Long createHall(User owner) {
+        StudyHall hall = new StudyHall();
+        hall.setHallName("Import Benchmark Hall");
+        hall.setAddress("1 Benchmark Rd");
+        hall.setCity("Test City");
+        hall.setState("Test State");
+        hall.setSeatCount(SEATS);
+        hall.setOwner(owner);
+        entityManager.persist(hall);
+        entityManager.flush();
+
+        entityManager.getEntityManager().createNativeQuery("INSERT INTO seats (hall_id, seat_number) " +
+                "SELECT :hallId, 'I' || g FROM generate_series(1, :seats) g")
+            .setParameter("hallId", hall.getId())
+            .setParameter("seats", SEATS)
+            .executeUpdate();
+        return hall.getId();
+    }
+}
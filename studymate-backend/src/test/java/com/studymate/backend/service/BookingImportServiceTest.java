@@ -0,0 +1,221 @@
+package com.studymate.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studymate.backend.dto.BookingImportResponse;
+import com.studymate.backend.exception.ForbiddenException;
+import com.studymate.backend.exception.InvalidRequestException;
+import com.studymate.backend.exception.ResourceNotFoundException;
+import com.studymate.backend.model.User;
+import com.studymate.backend.model.UserRole;
+import com.studymate.backend.repository.SeatRepository;
+import com.studymate.backend.repository.StudyHallRepository;
+import com.studymate.backend.repository.UserRepository;
+import com.studymate.backend.repository.projection.SeatAvailabilityRow;
+import com.studymate.backend.repository.projection.UserEmailRow;
+import com.studymate.backend.service.occupancy.OccupancyReconciler;
+import com.studymate.backend.service.report.ReportCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.jdbc.Work;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BookingImportService.
+ * Verifies ownership checks and how rows that can't be resolved are reported.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingImportServiceTest {
+
+    private static final String HEADER = "seatNumber,userEmail,startTime,endTime,status\n";
+
+    @Mock
+    private StudyHallRepository studyHallRepository;
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PGConnection pgConnection;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OccupancyReconciler occupancyReconciler;
+
+    @Mock
+    private ReportCache reportCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private SeatAvailabilityRow seat;
+
+    @Mock
+    private UserEmailRow user;
+
+    private SimpleMeterRegistry meterRegistry;
+    private User owner;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        owner = new User();
+        owner.setId(9L);
+        owner.setRole(UserRole.ROLE_OWNER);
+
+        lenient().when(studyHallRepository.findOwnerIdById(1L)).thenReturn(Optional.of(9L));
+        lenient().when(seat.getId()).thenReturn(11L);
+        lenient().when(seat.getSeatNumber()).thenReturn("A1");
+        lenient().when(seatRepository.findAvailabilityRowsByHallId(1L)).thenReturn(List.of(seat));
+        lenient().when(user.getId()).thenReturn(21L);
+        lenient().when(user.getEmail()).thenReturn("a@example.com");
+        lenient().when(entityManager.unwrap(Session.class)).thenReturn(session);
+        lenient().doAnswer(invocation -> {
+            invocation.<Work>getArgument(0).execute(connection);
+            return null;
+        }).when(session).doWork(any());
+        lenient().when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+    }
+
+    @Test
+    void importBookings_UnresolvedRows_ReportsErrorsByLine() {
+        // Arrange
+        when(userRepository.findIdsByEmails(any())).thenReturn(List.of(user));
+        String csv = HEADER
+            + "A1,b@example.com,2026-01-05T09:00,2026-01-05T12:00,COMPLETED\n"
+            + "Z9,a@example.com,2026-01-05T09:00,2026-01-05T12:00,COMPLETED\n"
+            + "A1,a@example.com,2026-01-05T09:00,2026-01-05T08:00,COMPLETED\n"
+            + "A1,b@example.com,2026-01-06T09:00,2026-01-06T12:00,COMPLETED\n";
+
+        // Act
+        BookingImportResponse response = service(2, 1000).importBookings(1L, body(csv), "text/csv", owner);
+
+        // Assert
+        assertThat(response.getRowsRead()).isEqualTo(4);
+        assertThat(response.getImportedCount()).isZero();
+        assertThat(response.getRejectedCount()).isEqualTo(4);
+        assertThat(response.getErrors()).extracting(BookingImportResponse.RowError::getLine)
+            .containsExactly(2L, 3L, 4L, 5L);
+        assertThat(response.getErrors().get(0).getMessage()).isEqualTo("User b@example.com not found");
+        assertThat(response.getErrors().get(1).getMessage()).isEqualTo("Seat Z9 not found in this hall");
+        assertThat(response.isErrorsTruncated()).isFalse();
+        // The unknown email is looked up once, not again in the second chunk
+        verify(userRepository).findIdsByEmails(Set.of("a@example.com", "b@example.com"));
+        verifyNoMoreInteractions(userRepository);
+        verifyNoInteractions(eventPublisher, occupancyReconciler);
+        assertThat(meterRegistry.counter("studymate.import.rows", "result", "rejected").count()).isEqualTo(4);
+    }
+
+    @Test
+    void importBookings_ManyErrors_TruncatesList() {
+        // Arrange
+        String csv = HEADER
+            + "A1,a@example.com,bad,2026-01-05T12:00,COMPLETED\n"
+            + "A1,a@example.com,bad,2026-01-05T12:00,COMPLETED\n"
+            + "A1,a@example.com,bad,2026-01-05T12:00,COMPLETED\n";
+
+        // Act
+        BookingImportResponse response = service(10, 2).importBookings(1L, body(csv), "text/csv", owner);
+
+        // Assert
+        assertThat(response.getRejectedCount()).isEqualTo(3);
+        assertThat(response.getErrors()).extracting(BookingImportResponse.RowError::getLine)
+            .containsExactly(2L, 3L);
+        assertThat(response.isErrorsTruncated()).isTrue();
+        assertThat(meterRegistry.counter("studymate.import.rows", "result", "rejected").count()).isEqualTo(3);
+    }
+
+    @Test
+    void importBookings_ManyErrors_KeepsLowestLinesWhenRejectedOutOfOrder() {
+        // Arrange: line 2 is rejected when its chunk loads, after the parse errors of lines 3 and 4
+        when(userRepository.findIdsByEmails(any())).thenReturn(List.of());
+        String csv = HEADER
+            + "A1,b@example.com,2026-01-05T09:00,2026-01-05T12:00,COMPLETED\n"
+            + "A1,a@example.com,bad,2026-01-05T12:00,COMPLETED\n"
+            + "A1,a@example.com,bad,2026-01-05T12:00,COMPLETED\n";
+
+        // Act
+        BookingImportResponse response = service(10, 2).importBookings(1L, body(csv), "text/csv", owner);
+
+        // Assert
+        assertThat(response.getRejectedCount()).isEqualTo(3);
+        assertThat(response.getErrors()).extracting(BookingImportResponse.RowError::getLine)
+            .containsExactly(2L, 3L);
+        assertThat(response.getErrors().get(0).getMessage()).isEqualTo("User b@example.com not found");
+        assertThat(response.isErrorsTruncated()).isTrue();
+    }
+
+    @Test
+    void importBookings_HallNotFound_ThrowsResourceNotFound() {
+        // Arrange
+        when(studyHallRepository.findOwnerIdById(2L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> service(10, 10).importBookings(2L, body(HEADER), "text/csv", owner))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void importBookings_NotOwner_ThrowsForbidden() {
+        // Arrange
+        User other = new User();
+        other.setId(10L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> service(10, 10).importBookings(1L, body(HEADER), "text/csv", other))
+            .isInstanceOf(ForbiddenException.class);
+        verifyNoInteractions(session);
+    }
+
+    @Test
+    void importBookings_UnsupportedContentType_ThrowsInvalidRequest() {
+        assertThatThrownBy(() -> service(10, 10).importBookings(1L, body(HEADER), "application/json", owner))
+            .isInstanceOf(InvalidRequestException.class);
+        verifyNoInteractions(studyHallRepository);
+    }
+
+    private BookingImportService service(int chunkSize, int maxErrors) {
+        return new BookingImportService(studyHallRepository, seatRepository, userRepository, entityManager,
+            eventPublisher, occupancyReconciler, reportCache, new ObjectMapper(), transactionManager, meterRegistry,
+            chunkSize, maxErrors);
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
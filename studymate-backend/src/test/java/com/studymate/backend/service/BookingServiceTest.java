@@ -0,0 +1,320 @@
+package com.studymate.backend.service;
+
+import com.studymate.backend.dto.BookingResponse;
+import com.studymate.backend.dto.CreateBookingRequest;
+import com.studymate.backend.dto.CreateSeatHoldRequest;
+import com.studymate.backend.dto.SeatHoldResponse;
+import com.studymate.backend.exception.BookingConflictException;
+import com.studymate.backend.exception.InvalidRequestException;
+import com.studymate.backend.exception.SeatNotFoundException;
+import com.studymate.backend.model.Booking;
+import com.studymate.backend.model.HallStatus;
+import com.studymate.backend.model.Seat;
+import com.studymate.backend.model.StudyHall;
+import com.studymate.backend.model.User;
+import com.studymate.backend.model.UserRole;
+import com.studymate.backend.repository.BookingRepository;
+import com.studymate.backend.repository.SeatHoldRecordRepository;
+import com.studymate.backend.repository.SeatRepository;
+import com.studymate.backend.service.booking.SeatHoldRegistry;
+import com.studymate.backend.service.booking.SeatIntervalIndex;
+import com.studymate.backend.service.checkin.CheckInPass;
+import com.studymate.backend.service.checkin.CheckInPassCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private SeatHoldRecordRepository holdRecordRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SeatIntervalIndex intervalIndex;
+    private SeatHoldRegistry holdRegistry;
+    private BookingService bookingService;
+
+    private User student;
+    private Seat seat;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        intervalIndex = new SeatIntervalIndex(bookingRepository, meterRegistry);
+        holdRegistry = new SeatHoldRegistry(intervalIndex, holdRecordRepository, eventPublisher, meterRegistry,
+            10, false, 1000);
+        bookingService = new BookingService(bookingRepository, seatRepository, intervalIndex, holdRegistry,
+            new CheckInPassCodec("test-secret"), transactionManager, meterRegistry, 2);
+
+        student = new User();
+        student.setId(5L);
+        student.setEmail("student@test.com");
+        student.setRole(UserRole.ROLE_STUDENT);
+
+        StudyHall hall = new StudyHall();
+        hall.setId(1L);
+        hall.setStatus(HallStatus.ACTIVE);
+        hall.setBasePricing(new BigDecimal("150.00"));
+
+        seat = new Seat();
+        seat.setId(100L);
+        seat.setHall(hall);
+        seat.setSeatNumber("A1");
+        seat.setStatus("AVAILABLE");
+
+        start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @Test
+    void createBooking_Success() {
+        // Arrange
+        when(bookingRepository.findUnfinishedIntervalsBySeatId(100L)).thenReturn(List.of());
+        when(seatRepository.findById(100L)).thenReturn(Optional.of(seat));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenAnswer(invocation -> withId(invocation.getArgument(0), 7L));
+
+        // Act
+        BookingResponse response = bookingService.createBooking(request(start, start.plusHours(4)), student);
+
+        // Assert
+        assertEquals(7L, response.getId());
+        assertEquals("CONFIRMED", response.getStatus());
+        assertEquals(new BigDecimal("150.00"), response.getAmount());
+        assertEquals(1L, response.getHallId());
+        assertEquals(1.0, meterRegistry.get("studymate.booking.created").counter().count());
+
+        ArgumentCaptor<Booking> saved = ArgumentCaptor.forClass(Booking.class);
+        verify(bookingRepository).saveAndFlush(saved.capture());
+        assertSame(student, saved.getValue().getUser());
+    }
+
+    @Test
+    void createBooking_IssuesSignedCheckInPass() {
+        // Arrange
+        CheckInPassCodec codec = new CheckInPassCodec("test-secret");
+        when(bookingRepository.findUnfinishedIntervalsBySeatId(100L)).thenReturn(List.of());
+        when(seatRepository.findById(100L)).thenReturn(Optional.of(seat));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenAnswer(invocation -> withId(invocation.getArgument(0), 7L));
+
+        // Act
+        BookingResponse response = bookingService.createBooking(request(start, start.plusHours(4)), student);
+
+        // Assert
+        CheckInPass pass = codec.decode(response.getCheckInPass()).orElseThrow();
+        assertEquals(new CheckInPass(7L, 100L, 1L, start, start.plusHours(4)), pass);
+
+        ArgumentCaptor<Booking> saved = ArgumentCaptor.forClass(Booking.class);
+        verify(bookingRepository).saveAndFlush(saved.capture());
+        assertEquals(codec.fingerprint(response.getCheckInPass()), saved.getValue().getQrCodeHash());
+    }
+
+    @Test
+    void createBooking_SeatCustomPrice_ChargesCustomPrice() {
+        // Arrange
+        seat.setCustomPrice(new BigDecimal("200.00"));
+        when(bookingRepository.findUnfinishedIntervalsBySeatId(100L)).thenReturn(List.of());
+        when(seatRepository.findById(100L)).thenReturn(Optional.of(seat));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenAnswer(invocation -> withId(invocation.getArgument(0), 7L));
+
+        // Act
+        BookingResponse response = bookingService.createBooking(request(start, start.plusHours(4)), student);
+
+        // Assert
+        assertEquals(new BigDecimal("200.00"), response.getAmount());
+    }
+
+    @Test
+    void createBooking_OverlapsIndexedBooking_RejectedWithoutWriting() {
+        // Arrange
+        when(bookingRepository.findUnfinishedIntervalsBySeatId(100L)).thenReturn(List.of());
+        when(seatRepository.findById(100L)).thenReturn(Optional.of(seat));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenAnswer(invocation -> withId(invocation.getArgument(0), 7L));
+        bookingService.createBooking(request(start, start.plusHours(4)), student);
+
+        // Act & Assert
+        assertThrows(BookingConflictException.class,
+            () -> bookingService.createBooking(request(start.plusHours(2), start.plusHours(6)), student));
+
+        verify(bookingRepository, times(1)).saveAndFlush(any(Booking.class));
+        verify(seatRepository, times(1)).findById(100L);
+        assertEquals(1.0, meterRegistry.get("studymate.booking.conflicts").tag("source", "index").counter().count());
+    }
+
+    @Test
+    void createBooking_ExclusionConstraintViolated_ThrowsConflictAndReloadsSeat() {
+        // Arrange
+        when(bookingRepository.findUnfinishedIntervalsBySeatId(100L)).thenReturn(List.of());
+        when(seatRepository.findById(100L)).thenReturn(Optional.of(seat));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenThrow(new DataIntegrityViolationException(
+            "could not execute statement",
+            new SQLException("conflicting key value violates exclusion constraint \"bookings_no_overlap\"")));
+
+        // Act & Assert
+        assertThrows(BookingConflictException.class,
+            () -> bookingService.createBooking(request(start, start.plusHours(4)), student));
+
+        assertEquals(1.0, meterRegistry.get("studymate.booking.conflicts").tag("source", "database").counter().count());
+        assertTrue(intervalIndex.reserve(100L, start, start.plusHours(4)).isPresent());
+        verify(bookingRepository, times(2)).findUnfinishedIntervalsBySeatId(100L);
+    }
+
+    @Test
+    void createBooking_SeatNotFound_ReleasesReservation() {
+        // Arrange
+        when(bookingRepository.findUnfinishedIntervalsBySeatId(100L)).thenReturn(List.of());
+        when(seatRepository.findById(100L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(SeatNotFoundException.class,
+            () -> bookingService.createBooking(request(start, start.plusHours(4)), student));
+
+        assertTrue(intervalIndex.reserve(100L, start, start.plusHours(4)).isPresent());
+    }
+
+    @Test
+    void createBooking_SeatInMaintenance_ThrowsInvalidRequest() {
+        // Arrange
+        seat.setStatus("MAINTENANCE");
+        when(bookingRepository.findUnfinishedIntervalsBySeatId(100L)).thenReturn(List.of());
+        when(seatRepository.findById(100L)).thenReturn(Optional.of(seat));
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+            () -> bookingService.createBooking(request(start, start.plusHours(4)), student));
+
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
+    }
+
+    @Test
+    void createBooking_EndBeforeStart_ThrowsInvalidRequest() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+            () -> bookingService.createBooking(request(start, start.minusHours(1)), student));
+
+        verifyNoInteractions(bookingRepository, seatRepository);
+    }
+
+    @Test
+    void holdSeat_Success_LocksPeriod() {
+        // Arrange
+        when(bookingRepository.findUnfinishedIntervalsBySeatId(100L)).thenReturn(List.of());
+        when(seatRepository.findById(100L)).thenReturn(Optional.of(seat));
+
+        // Act
+        SeatHoldResponse hold = bookingService.holdSeat(holdRequest(start, start.plusHours(4)), student);
+
+        // Assert
+        assertEquals("LOCKED", hold.getStatus());
+        assertEquals(1L, hold.getHallId());
+        assertTrue(hold.getExpiresAt().isAfter(LocalDateTime.now().plusMinutes(9)));
+        assertTrue(intervalIndex.reserve(100L, start.plusHours(1), start.plusHours(2)).isEmpty());
+    }
+
+    @Test
+    void createBooking_HeldByAnotherStudent_ThrowsConflict() {
+        // Arrange
+        when(bookingRepository.findUnfinishedIntervalsBySeatId(100L)).thenReturn(List.of());
+        when(seatRepository.findById(100L)).thenReturn(Optional.of(seat));
+        bookingService.holdSeat(holdRequest(start, start.plusHours(4)), student);
+
+        User other = new User();
+        other.setId(6L);
+        other.setEmail("other@test.com");
+
+        // Act & Assert
+        assertThrows(BookingConflictException.class,
+            () -> bookingService.createBooking(request(start.plusHours(1), start.plusHours(2)), other));
+
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
+    }
+
+    @Test
+    void createBooking_WithHold_BooksHeldPeriod() {
+        // Arrange
+        when(bookingRepository.findUnfinishedIntervalsBySeatId(100L)).thenReturn(List.of());
+        when(seatRepository.findById(100L)).thenReturn(Optional.of(seat));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenAnswer(invocation -> withId(invocation.getArgument(0), 7L));
+        SeatHoldResponse hold = bookingService.holdSeat(holdRequest(start, start.plusHours(4)), student);
+
+        // Act
+        BookingResponse response = bookingService.createBooking(
+            new CreateBookingRequest(100L, start, start.plusHours(4), hold.getHoldId()), student);
+
+        // Assert
+        assertEquals(7L, response.getId());
+        assertTrue(holdRegistry.find(hold.getHoldId()).isEmpty());
+        assertTrue(intervalIndex.reserve(100L, start, start.plusHours(4)).isEmpty());
+    }
+
+    @Test
+    void createBooking_WithReleasedHold_ThrowsConflict() {
+        // Arrange
+        when(bookingRepository.findUnfinishedIntervalsBySeatId(100L)).thenReturn(List.of());
+        when(seatRepository.findById(100L)).thenReturn(Optional.of(seat));
+        SeatHoldResponse hold = bookingService.holdSeat(holdRequest(start, start.plusHours(4)), student);
+        bookingService.releaseHold(hold.getHoldId(), student);
+
+        // Act & Assert
+        assertThrows(BookingConflictException.class, () -> bookingService.createBooking(
+            new CreateBookingRequest(100L, start, start.plusHours(4), hold.getHoldId()), student));
+
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
+    }
+
+    @Test
+    void holdSeat_TooManyHolds_ThrowsInvalidRequest() {
+        // Arrange
+        when(bookingRepository.findUnfinishedIntervalsBySeatId(100L)).thenReturn(List.of());
+        when(seatRepository.findById(100L)).thenReturn(Optional.of(seat));
+        bookingService.holdSeat(holdRequest(start, start.plusHours(1)), student);
+        bookingService.holdSeat(holdRequest(start.plusHours(1), start.plusHours(2)), student);
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+            () -> bookingService.holdSeat(holdRequest(start.plusHours(2), start.plusHours(3)), student));
+    }
+
+    private CreateBookingRequest request(LocalDateTime startTime, LocalDateTime endTime) {
+        return new CreateBookingRequest(100L, startTime, endTime, null);
+    }
+
+    private CreateSeatHoldRequest holdRequest(LocalDateTime startTime, LocalDateTime endTime) {
+        return new CreateSeatHoldRequest(100L, startTime, endTime);
+    }
+
+    private Booking withId(Booking booking, Long id) {
+        booking.setId(id);
+        return booking;
+    }
+}
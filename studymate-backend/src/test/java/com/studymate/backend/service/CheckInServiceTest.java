@@ -0,0 +1,259 @@
+package com.studymate.backend.service;
+
+import com.studymate.backend.dto.CheckInResponse;
+import com.studymate.backend.event.BookingChangedEvent;
+import com.studymate.backend.exception.ForbiddenException;
+import com.studymate.backend.exception.InvalidRequestException;
+import com.studymate.backend.model.BookingSnapshot;
+import com.studymate.backend.model.User;
+import com.studymate.backend.model.UserRole;
+import com.studymate.backend.repository.BookingRepository;
+import com.studymate.backend.repository.StudyHallRepository;
+import com.studymate.backend.repository.projection.IssuedPassRow;
+import com.studymate.backend.service.checkin.CheckInPass;
+import com.studymate.backend.service.checkin.CheckInPassCodec;
+import com.studymate.backend.service.checkin.CheckInWriteBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CheckInService.
+ * Verifies that gate scans are checked in memory and queued for writing, and
+ * that passes of bookings changed before a restart are rejected.
+ */
+@ExtendWith(MockitoExtension.class)
+class CheckInServiceTest {
+
+    @Mock
+    private CheckInWriteBuffer writeBuffer;
+
+    @Mock
+    private StudyHallRepository studyHallRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private CheckInPassCodec codec;
+    private SimpleMeterRegistry meterRegistry;
+    private CheckInService checkInService;
+    private User owner;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        codec = new CheckInPassCodec("test-secret");
+        meterRegistry = new SimpleMeterRegistry();
+        checkInService = new CheckInService(codec, writeBuffer, studyHallRepository, bookingRepository, meterRegistry, 15, 30);
+
+        owner = new User();
+        owner.setId(9L);
+        owner.setRole(UserRole.ROLE_OWNER);
+
+        start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minusMinutes(5);
+        lenient().when(studyHallRepository.findOwnerIdById(1L)).thenReturn(Optional.of(9L));
+    }
+
+    @Test
+    void checkIn_ValidPass_QueuesFirstEntryOnly() {
+        // Arrange
+        String pass = pass(7L, 1L, start, start.plusHours(4));
+
+        // Act
+        CheckInResponse first = checkInService.checkIn(1L, pass, owner);
+        CheckInResponse second = checkInService.checkIn(1L, pass, owner);
+
+        // Assert
+        assertThat(first.getStatus()).isEqualTo(CheckInService.CHECKED_IN);
+        assertThat(first.getBookingId()).isEqualTo(7L);
+        assertThat(second.getCheckInTime()).isEqualTo(first.getCheckInTime());
+        verify(writeBuffer, times(1)).recordCheckIn(argThat(p -> p.bookingId() == 7L), any());
+        verify(studyHallRepository, times(1)).findOwnerIdById(1L);
+        assertThat(meterRegistry.get("studymate.checkin.scans").tag("result", "accepted").counter().count())
+            .isEqualTo(2.0);
+    }
+
+    @Test
+    void checkIn_TooEarly_Rejected() {
+        // Arrange
+        LocalDateTime later = start.plusHours(2);
+        String pass = pass(7L, 1L, later, later.plusHours(4));
+
+        // Act & Assert
+        assertThatThrownBy(() -> checkInService.checkIn(1L, pass, owner))
+            .isInstanceOf(InvalidRequestException.class);
+        verifyNoInteractions(writeBuffer);
+    }
+
+    @Test
+    void checkIn_TamperedPass_Rejected() {
+        // Arrange
+        String pass = new CheckInPassCodec("other-secret")
+            .encode(new CheckInPass(7L, 100L, 1L, start, start.plusHours(4)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> checkInService.checkIn(1L, pass, owner))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessage("Invalid check-in pass");
+        assertThat(meterRegistry.get("studymate.checkin.scans").tag("result", "rejected").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void checkIn_PassOfOtherHall_Rejected() {
+        // Arrange
+        String pass = pass(7L, 2L, start, start.plusHours(4));
+
+        // Act & Assert
+        assertThatThrownBy(() -> checkInService.checkIn(1L, pass, owner))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessage("Check-in pass is for another hall");
+    }
+
+    @Test
+    void checkIn_NotOwner_Forbidden() {
+        // Arrange
+        User other = new User();
+        other.setId(10L);
+        String pass = pass(7L, 1L, start, start.plusHours(4));
+
+        // Act & Assert
+        assertThatThrownBy(() -> checkInService.checkIn(1L, pass, other))
+            .isInstanceOf(ForbiddenException.class);
+    }
+
+    @Test
+    void checkIn_CancelledBooking_Rejected() {
+        // Arrange
+        String pass = pass(7L, 1L, start, start.plusHours(4));
+        checkInService.onBookingChanged(new BookingChangedEvent(7L, 100L, 1L,
+            snapshot("CONFIRMED", start, start.plusHours(4)), snapshot("CANCELLED", start, start.plusHours(4))));
+
+        // Act & Assert
+        assertThatThrownBy(() -> checkInService.checkIn(1L, pass, owner))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessage("Booking is no longer valid for this pass");
+    }
+
+    @Test
+    void checkIn_MovedBooking_AcceptsOnlyNewPass() {
+        // Arrange
+        String oldPass = pass(7L, 1L, start, start.plusHours(4));
+        String newPass = pass(7L, 1L, start, start.plusHours(2));
+        checkInService.onBookingChanged(new BookingChangedEvent(7L, 100L, 1L,
+            snapshot("CONFIRMED", start, start.plusHours(4)), snapshot("CONFIRMED", start, start.plusHours(2))));
+
+        // Act & Assert
+        assertThatThrownBy(() -> checkInService.checkIn(1L, oldPass, owner))
+            .isInstanceOf(InvalidRequestException.class);
+        assertThat(checkInService.checkIn(1L, newPass, owner).getStatus()).isEqualTo(CheckInService.CHECKED_IN);
+    }
+
+    @Test
+    void seedAmendments_CancelledOrMovedBeforeRestart_RejectsOldPasses() {
+        // Arrange - booking 7 was cancelled, 8 moved to end earlier and 9 is unchanged
+        String cancelledPass = pass(7L, 1L, start, start.plusHours(4));
+        String oldPass = pass(8L, 1L, start, start.plusHours(4));
+        String unchangedPass = pass(9L, 1L, start, start.plusHours(4));
+        when(bookingRepository.findIssuedPassesEndingAfter(any())).thenReturn(List.of(
+            issuedPass(7L, start, start.plusHours(4), "CANCELLED", cancelledPass),
+            issuedPass(8L, start, start.plusHours(2), "CONFIRMED", oldPass),
+            issuedPass(9L, start, start.plusHours(4), "CONFIRMED", unchangedPass)));
+
+        // Act
+        int seeded = checkInService.seedAmendments();
+
+        // Assert
+        assertThat(seeded).isEqualTo(2);
+        assertThatThrownBy(() -> checkInService.checkIn(1L, cancelledPass, owner))
+            .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> checkInService.checkIn(1L, oldPass, owner))
+            .isInstanceOf(InvalidRequestException.class);
+        assertThat(checkInService.checkIn(1L, pass(8L, 1L, start, start.plusHours(2)), owner).getStatus())
+            .isEqualTo(CheckInService.CHECKED_IN);
+        assertThat(checkInService.checkIn(1L, unchangedPass, owner).getStatus())
+            .isEqualTo(CheckInService.CHECKED_IN);
+    }
+
+    @Test
+    void checkOut_AfterCheckIn_QueuesExit() {
+        // Arrange
+        String pass = pass(7L, 1L, start, start.plusHours(4));
+        CheckInResponse checkedIn = checkInService.checkIn(1L, pass, owner);
+
+        // Act
+        CheckInResponse response = checkInService.checkOut(1L, pass, owner);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(CheckInService.CHECKED_OUT);
+        assertThat(response.getCheckInTime()).isEqualTo(checkedIn.getCheckInTime());
+        assertThat(response.getCheckOutTime()).isNotNull();
+        verify(writeBuffer).recordCheckOut(argThat(p -> p.bookingId() == 7L), any());
+    }
+
+    @Test
+    void checkOut_AfterLateWindow_Rejected() {
+        // Arrange
+        LocalDateTime earlier = start.minusHours(5);
+        String pass = pass(7L, 1L, earlier, earlier.plusHours(4));
+
+        // Act & Assert
+        assertThatThrownBy(() -> checkInService.checkOut(1L, pass, owner))
+            .isInstanceOf(InvalidRequestException.class);
+        verify(writeBuffer, never()).recordCheckOut(any(), any());
+    }
+
+    @Test
+    void prune_RemovesEndedBookings() {
+        // Arrange
+        checkInService.checkIn(1L, pass(7L, 1L, start, start.plusMinutes(10)), owner);
+        LocalDateTime ended = start.minusHours(3);
+        checkInService.onBookingChanged(new BookingChangedEvent(8L, 100L, 1L,
+            snapshot("CONFIRMED", ended, ended.plusHours(1)), snapshot("CANCELLED", ended, ended.plusHours(1))));
+
+        // Act
+        int removed = checkInService.prune();
+
+        // Assert
+        assertThat(removed).isEqualTo(1);
+    }
+
+    private String pass(long bookingId, long hallId, LocalDateTime startTime, LocalDateTime endTime) {
+        return codec.encode(new CheckInPass(bookingId, 100L, hallId, startTime, endTime));
+    }
+
+    private IssuedPassRow issuedPass(Long bookingId, LocalDateTime startTime, LocalDateTime endTime,
+                                     String status, String issuedPass) {
+        String qrCodeHash = codec.fingerprint(issuedPass);
+        return new IssuedPassRow() {
+            @Override public Long getBookingId() { return bookingId; }
+            @Override public Long getSeatId() { return 100L; }
+            @Override public Long getHallId() { return 1L; }
+            @Override public LocalDateTime getStartTime() { return startTime; }
+            @Override public LocalDateTime getEndTime() { return endTime; }
+            @Override public String getStatus() { return status; }
+            @Override public String getQrCodeHash() { return qrCodeHash; }
+        };
+    }
+
+    private BookingSnapshot snapshot(String status, LocalDateTime startTime, LocalDateTime endTime) {
+        return new BookingSnapshot(status, startTime, endTime, new BigDecimal("150.00"));
+    }
+}
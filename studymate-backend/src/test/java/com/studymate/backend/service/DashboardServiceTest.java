@@ -1,27 +1,41 @@
 package com.studymate.backend.service;
 
 import com.studymate.backend.dto.DashboardResponse;
+import com.studymate.backend.dto.PortfolioResponse;
 import com.studymate.backend.dto.SeatStatusDTO;
 import com.studymate.backend.exception.ForbiddenException;
 import com.studymate.backend.exception.ResourceNotFoundException;
-import com.studymate.backend.model.StudyHall;
+import com.studymate.backend.model.HallStatus;
 import com.studymate.backend.model.User;
 import com.studymate.backend.model.UserRole;
 import com.studymate.backend.repository.BookingRepository;
 import com.studymate.backend.repository.SeatRepository;
 import com.studymate.backend.repository.StudyHallRepository;
-import com.studymate.backend.repository.UserRepository;
+import com.studymate.backend.repository.projection.DashboardRow;
+import com.studymate.backend.repository.projection.HallOccupancyRow;
+import com.studymate.backend.repository.projection.HallPortfolioRow;
+import com.studymate.backend.repository.projection.HallSeatCountRow;
+import com.studymate.backend.service.occupancy.HallOccupancy;
+import com.studymate.backend.service.occupancy.HallOccupancyRegistry;
+import com.studymate.backend.service.seatmap.SeatMapDelta;
+import com.studymate.backend.service.seatmap.SeatMapVersionLog;
+import com.studymate.backend.service.support.StaleServingPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -33,20 +47,31 @@ class DashboardServiceTest {
     @Mock
     private StudyHallRepository hallRepository;
 
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private HallOccupancyRegistry occupancyRegistry;
+
     @Mock
     private SeatRepository seatRepository;
 
     @Mock
-    private BookingRepository bookingRepository;
+    private SeatMapVersionLog versionLog;
 
     @Mock
-    private UserRepository userRepository;
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private StaleServingPolicy stalePolicy;
 
     @InjectMocks
     private DashboardService dashboardService;
 
     private User owner;
-    private StudyHall hall;
     private List<SeatStatusDTO> seatMap;
 
     @BeforeEach
@@ -56,12 +81,6 @@ class DashboardServiceTest {
         owner.setEmail("owner@test.com");
         owner.setRole(UserRole.ROLE_OWNER);
 
-        hall = new StudyHall();
-        hall.setId(1L);
-        hall.setOwner(owner);
-        hall.setHallName("Test Hall");
-        hall.setSeatCount(50);
-
         seatMap = Arrays.asList(
             new SeatStatusDTO(1L, "A1", 10, 20, "AVAILABLE"),
             new SeatStatusDTO(2L, "A2", 10, 40, "OCCUPIED")
@@ -71,11 +90,9 @@ class DashboardServiceTest {
     @Test
     void getDashboardMetrics_Success() {
         // Arrange
-        when(hallRepository.findById(1L)).thenReturn(Optional.of(hall));
-        when(seatRepository.countByHallId(1L)).thenReturn(50);
-        when(bookingRepository.countActiveBookingsByHallId(1L)).thenReturn(37);
-        when(bookingRepository.sumRevenueByHallId(1L)).thenReturn(new BigDecimal("15000.00"));
-        when(seatRepository.findSeatMapByHallId(1L)).thenReturn(seatMap);
+        when(hallRepository.findDashboardRowsByHallId(1L))
+            .thenReturn(dashboardRows(1L, 50, seatMap));
+        when(occupancyRegistry.find(1L)).thenReturn(Optional.of(new HallOccupancy(37, new BigDecimal("15000.00"))));
 
         // Act
         DashboardResponse response = dashboardService.getDashboardMetrics(1L, owner);
@@ -86,24 +103,131 @@ class DashboardServiceTest {
         assertEquals(74.0, response.getOccupancyPercentage(), 0.01);
         assertEquals(new BigDecimal("15000.00"), response.getCurrentRevenue());
         assertEquals(2, response.getSeatMap().size());
+        assertEquals("OCCUPIED", response.getSeatMap().get(1).getStatus());
+        assertEquals(10, response.getSeatMap().get(0).getXCoord());
 
-        verify(hallRepository).findById(1L);
-        verify(seatRepository).countByHallId(1L);
-        verify(bookingRepository).countActiveBookingsByHallId(1L);
-        verify(bookingRepository).sumRevenueByHallId(1L);
-        verify(seatRepository).findSeatMapByHallId(1L);
+        verify(hallRepository).findDashboardRowsByHallId(1L);
+        verifyNoMoreInteractions(hallRepository);
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void getDashboardMetrics_SinceCoveredVersion_ReturnsOnlyChangedSeats() {
+        // Arrange
+        when(versionLog.deltaSince(1L, 41L)).thenReturn(new SeatMapDelta(42L, Set.of(2L)));
+        when(hallRepository.findSeatCountRowById(1L)).thenReturn(Optional.of(seatCountRow(1L, 50)));
+        when(seatRepository.findSeatStatusesByIds(Set.of(2L))).thenReturn(List.of(seatMap.get(1)));
+        when(occupancyRegistry.find(1L)).thenReturn(Optional.of(new HallOccupancy(37, new BigDecimal("15000.00"))));
+
+        // Act
+        DashboardResponse response = dashboardService.getDashboardMetrics(1L, 41L, owner);
+
+        // Assert
+        assertTrue(response.isDelta());
+        assertEquals(42L, response.getVersion());
+        assertEquals(50, response.getTotalSeats());
+        assertEquals(1, response.getSeatMap().size());
+        assertEquals(2L, response.getSeatMap().get(0).getId());
+        verify(hallRepository, never()).findDashboardRowsByHallId(anyLong());
+    }
+
+    @Test
+    void getDashboardMetrics_SinceTooOld_ReturnsFullSeatMap() {
+        // Arrange
+        when(versionLog.deltaSince(1L, 5L)).thenReturn(new SeatMapDelta(42L, null));
+        when(hallRepository.findDashboardRowsByHallId(1L))
+            .thenReturn(dashboardRows(1L, 50, seatMap));
+        when(occupancyRegistry.find(1L)).thenReturn(Optional.of(new HallOccupancy(37, new BigDecimal("15000.00"))));
+
+        // Act
+        DashboardResponse response = dashboardService.getDashboardMetrics(1L, 5L, owner);
+
+        // Assert
+        assertFalse(response.isDelta());
+        assertEquals(42L, response.getVersion());
+        assertEquals(2, response.getSeatMap().size());
+        verifyNoInteractions(seatRepository);
+    }
+
+    @Test
+    void getDashboardMetrics_DeltaForOtherOwnersHall_ThrowsForbiddenException() {
+        // Arrange
+        when(versionLog.deltaSince(1L, 41L)).thenReturn(new SeatMapDelta(42L, Set.of(2L)));
+        when(hallRepository.findSeatCountRowById(1L)).thenReturn(Optional.of(seatCountRow(2L, 50)));
+
+        // Act & Assert
+        assertThrows(ForbiddenException.class,
+            () -> dashboardService.getDashboardMetrics(1L, 41L, owner));
+        verifyNoInteractions(occupancyRegistry);
+    }
+
+    @Test
+    void getDashboardMetrics_UnderPressure_ServesLastGoodSeatMap() {
+        // Arrange
+        when(hallRepository.findDashboardRowsByHallId(1L))
+            .thenReturn(dashboardRows(1L, 50, seatMap));
+        when(occupancyRegistry.find(1L)).thenReturn(Optional.of(new HallOccupancy(37, new BigDecimal("15000.00"))));
+        dashboardService.getDashboardMetrics(1L, owner);
+
+        when(stalePolicy.shouldServeStale()).thenReturn(true);
+        when(stalePolicy.getMaxStaleMillis()).thenReturn(60_000L);
+
+        // Act
+        DashboardResponse response = dashboardService.getDashboardMetrics(1L, owner);
+
+        // Assert
+        assertTrue(response.isStale());
+        assertNotNull(response.getAgeMillis());
+        assertEquals(2, response.getSeatMap().size());
+        assertEquals(74.0, response.getOccupancyPercentage(), 0.01);
+        verify(hallRepository, times(1)).findDashboardRowsByHallId(1L);
+    }
+
+    @Test
+    void getDashboardMetrics_UnderPressureForOtherOwner_ThrowsForbiddenException() {
+        // Arrange
+        User anotherUser = new User();
+        anotherUser.setId(2L);
+        when(hallRepository.findDashboardRowsByHallId(1L))
+            .thenReturn(dashboardRows(1L, 50, seatMap));
+        when(occupancyRegistry.find(1L)).thenReturn(Optional.of(new HallOccupancy(37, new BigDecimal("15000.00"))));
+        dashboardService.getDashboardMetrics(1L, owner);
+
+        when(stalePolicy.shouldServeStale()).thenReturn(true);
+        when(stalePolicy.getMaxStaleMillis()).thenReturn(60_000L);
+
+        // Act & Assert
+        assertThrows(ForbiddenException.class,
+            () -> dashboardService.getDashboardMetrics(1L, anotherUser));
+    }
+
+    @Test
+    void getDashboardMetrics_UnderPressureWithoutCopy_ReadsDatabase() {
+        // Arrange
+        when(stalePolicy.shouldServeStale()).thenReturn(true);
+        when(stalePolicy.getMaxStaleMillis()).thenReturn(60_000L);
+        when(hallRepository.findDashboardRowsByHallId(1L))
+            .thenReturn(dashboardRows(1L, 50, seatMap));
+        when(occupancyRegistry.find(1L)).thenReturn(Optional.of(new HallOccupancy(37, new BigDecimal("15000.00"))));
+
+        // Act
+        DashboardResponse response = dashboardService.getDashboardMetrics(1L, owner);
+
+        // Assert
+        assertFalse(response.isStale());
+        assertNull(response.getAgeMillis());
     }
 
     @Test
     void getDashboardMetrics_HallNotFound_ThrowsException() {
         // Arrange
-        when(hallRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(hallRepository.findDashboardRowsByHallId(anyLong())).thenReturn(List.of());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class,
             () -> dashboardService.getDashboardMetrics(999L, owner));
 
-        verify(hallRepository).findById(999L);
+        verify(hallRepository).findDashboardRowsByHallId(999L);
     }
 
     @Test
@@ -114,25 +238,24 @@ class DashboardServiceTest {
         anotherUser.setEmail("other@test.com");
         anotherUser.setRole(UserRole.ROLE_OWNER);
 
-        when(hallRepository.findById(1L)).thenReturn(Optional.of(hall));
+        when(hallRepository.findDashboardRowsByHallId(1L))
+            .thenReturn(dashboardRows(1L, 50, seatMap));
 
         // Act & Assert
         assertThrows(ForbiddenException.class,
             () -> dashboardService.getDashboardMetrics(1L, anotherUser));
 
-        verify(hallRepository).findById(1L);
-        verify(seatRepository, never()).countByHallId(anyLong());
+        verify(hallRepository).findDashboardRowsByHallId(1L);
+        verifyNoInteractions(occupancyRegistry);
     }
 
 
     @Test
     void getDashboardMetrics_NoSeats_ReturnsZeroOccupancy() {
         // Arrange
-        when(hallRepository.findById(1L)).thenReturn(Optional.of(hall));
-        when(seatRepository.countByHallId(1L)).thenReturn(0);
-        when(bookingRepository.countActiveBookingsByHallId(1L)).thenReturn(0);
-        when(bookingRepository.sumRevenueByHallId(1L)).thenReturn(BigDecimal.ZERO);
-        when(seatRepository.findSeatMapByHallId(1L)).thenReturn(List.of());
+        when(hallRepository.findDashboardRowsByHallId(1L))
+            .thenReturn(dashboardRows(1L, 0, List.of()));
+        when(occupancyRegistry.find(1L)).thenReturn(Optional.of(new HallOccupancy(0, BigDecimal.ZERO)));
 
         // Act
         DashboardResponse response = dashboardService.getDashboardMetrics(1L, owner);
@@ -148,11 +271,9 @@ class DashboardServiceTest {
     @Test
     void getDashboardMetrics_FullOccupancy_Returns100Percent() {
         // Arrange
-        when(hallRepository.findById(1L)).thenReturn(Optional.of(hall));
-        when(seatRepository.countByHallId(1L)).thenReturn(50);
-        when(bookingRepository.countActiveBookingsByHallId(1L)).thenReturn(50);
-        when(bookingRepository.sumRevenueByHallId(1L)).thenReturn(new BigDecimal("25000.00"));
-        when(seatRepository.findSeatMapByHallId(1L)).thenReturn(seatMap);
+        when(hallRepository.findDashboardRowsByHallId(1L))
+            .thenReturn(dashboardRows(1L, 50, seatMap));
+        when(occupancyRegistry.find(1L)).thenReturn(Optional.of(new HallOccupancy(50, new BigDecimal("25000.00"))));
 
         // Act
         DashboardResponse response = dashboardService.getDashboardMetrics(1L, owner);
@@ -167,11 +288,9 @@ class DashboardServiceTest {
     @Test
     void getDashboardMetrics_NoBookings_ReturnsZeroRevenue() {
         // Arrange
-        when(hallRepository.findById(1L)).thenReturn(Optional.of(hall));
-        when(seatRepository.countByHallId(1L)).thenReturn(50);
-        when(bookingRepository.countActiveBookingsByHallId(1L)).thenReturn(0);
-        when(bookingRepository.sumRevenueByHallId(1L)).thenReturn(BigDecimal.ZERO);
-        when(seatRepository.findSeatMapByHallId(1L)).thenReturn(seatMap);
+        when(hallRepository.findDashboardRowsByHallId(1L))
+            .thenReturn(dashboardRows(1L, 50, seatMap));
+        when(occupancyRegistry.find(1L)).thenReturn(Optional.of(new HallOccupancy(0, BigDecimal.ZERO)));
 
         // Act
         DashboardResponse response = dashboardService.getDashboardMetrics(1L, owner);
@@ -181,4 +300,136 @@ class DashboardServiceTest {
         assertEquals(0.0, response.getOccupancyPercentage());
         assertEquals(BigDecimal.ZERO, response.getCurrentRevenue());
     }
+
+    @Test
+    void getDashboardMetrics_CountersNotSeeded_FallsBackToBookingQueries() {
+        // Arrange
+        when(hallRepository.findDashboardRowsByHallId(1L))
+            .thenReturn(dashboardRows(1L, 50, seatMap));
+        when(occupancyRegistry.find(1L)).thenReturn(Optional.empty());
+        when(bookingRepository.countActiveBookingsByHallId(1L)).thenReturn(25);
+        when(bookingRepository.sumRevenueByHallId(1L)).thenReturn(new BigDecimal("5000.00"));
+
+        // Act
+        DashboardResponse response = dashboardService.getDashboardMetrics(1L, owner);
+
+        // Assert
+        assertEquals(50.0, response.getOccupancyPercentage(), 0.01);
+        assertEquals(new BigDecimal("5000.00"), response.getCurrentRevenue());
+        verify(bookingRepository).countActiveBookingsByHallId(1L);
+        verify(bookingRepository).sumRevenueByHallId(1L);
+    }
+
+    @Test
+    void getPortfolioMetrics_Success() {
+        // Arrange
+        when(hallRepository.findPortfolioRowsByOwnerId(1L)).thenReturn(List.of(
+            portfolioRow(2L, "North Hall", 40),
+            portfolioRow(1L, "Main Hall", 60)));
+        when(occupancyRegistry.isSeeded()).thenReturn(true);
+        when(occupancyRegistry.find(2L)).thenReturn(Optional.of(new HallOccupancy(10, new BigDecimal("2000.00"))));
+        when(occupancyRegistry.find(1L)).thenReturn(Optional.of(new HallOccupancy(30, new BigDecimal("6000.00"))));
+
+        // Act
+        PortfolioResponse response = dashboardService.getPortfolioMetrics(owner);
+
+        // Assert
+        assertEquals(2, response.getTotalHalls());
+        assertEquals(100, response.getTotalSeats());
+        assertEquals(40, response.getActiveBookings());
+        assertEquals(40.0, response.getOccupancyPercentage(), 0.01);
+        assertEquals(new BigDecimal("8000.00"), response.getCurrentRevenue());
+        assertEquals("North Hall", response.getHalls().get(0).getHallName());
+        assertEquals(25.0, response.getHalls().get(0).getOccupancyPercentage(), 0.01);
+        assertEquals(50.0, response.getHalls().get(1).getOccupancyPercentage(), 0.01);
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void getPortfolioMetrics_CountersNotSeeded_UsesOneGroupedBookingQuery() {
+        // Arrange
+        when(hallRepository.findPortfolioRowsByOwnerId(1L)).thenReturn(List.of(
+            portfolioRow(2L, "North Hall", 40),
+            portfolioRow(1L, "Main Hall", 60)));
+        when(occupancyRegistry.isSeeded()).thenReturn(false);
+        when(bookingRepository.findOccupancyRowsByOwnerId(1L))
+            .thenReturn(List.of(occupancyRow(1L, 15, new BigDecimal("3000.00"))));
+
+        // Act
+        PortfolioResponse response = dashboardService.getPortfolioMetrics(owner);
+
+        // Assert
+        assertEquals(15, response.getActiveBookings());
+        assertEquals(0, response.getHalls().get(0).getActiveBookings());
+        assertEquals(BigDecimal.ZERO, response.getHalls().get(0).getCurrentRevenue());
+        assertEquals(25.0, response.getHalls().get(1).getOccupancyPercentage(), 0.01);
+        assertEquals(new BigDecimal("3000.00"), response.getCurrentRevenue());
+        verify(bookingRepository).findOccupancyRowsByOwnerId(1L);
+        verifyNoMoreInteractions(bookingRepository);
+    }
+
+    @Test
+    void getPortfolioMetrics_NoHalls_ReturnsEmptyPortfolio() {
+        // Arrange
+        when(hallRepository.findPortfolioRowsByOwnerId(1L)).thenReturn(List.of());
+
+        // Act
+        PortfolioResponse response = dashboardService.getPortfolioMetrics(owner);
+
+        // Assert
+        assertEquals(0, response.getTotalHalls());
+        assertEquals(0.0, response.getOccupancyPercentage());
+        assertEquals(BigDecimal.ZERO, response.getCurrentRevenue());
+        assertTrue(response.getHalls().isEmpty());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    /**
+     * Build the rows the single-query dashboard read returns: hall-level values
+     * repeated on every seat row, or one seatless row for an empty hall.
+     */
+    private List<DashboardRow> dashboardRows(Long ownerId, long totalSeats, List<SeatStatusDTO> seats) {
+        if (seats.isEmpty()) {
+            return List.of(dashboardRow(ownerId, totalSeats, null));
+        }
+        return seats.stream()
+            .map(seat -> dashboardRow(ownerId, totalSeats, seat))
+            .collect(Collectors.toList());
+    }
+
+    private DashboardRow dashboardRow(Long ownerId, long totalSeats, SeatStatusDTO seat) {
+        return new DashboardRow() {
+            @Override public Long getOwnerId() { return ownerId; }
+            @Override public Long getTotalSeats() { return totalSeats; }
+            @Override public Long getSeatId() { return seat != null ? seat.getId() : null; }
+            @Override public String getSeatNumber() { return seat != null ? seat.getSeatNumber() : null; }
+            @Override public Integer getSeatX() { return seat != null ? seat.getXCoord() : null; }
+            @Override public Integer getSeatY() { return seat != null ? seat.getYCoord() : null; }
+            @Override public String getSeatStatus() { return seat != null ? seat.getStatus() : null; }
+        };
+    }
+
+    private HallSeatCountRow seatCountRow(Long ownerId, long totalSeats) {
+        return new HallSeatCountRow() {
+            @Override public Long getOwnerId() { return ownerId; }
+            @Override public Long getTotalSeats() { return totalSeats; }
+        };
+    }
+
+    private HallPortfolioRow portfolioRow(Long hallId, String hallName, long totalSeats) {
+        return new HallPortfolioRow() {
+            @Override public Long getHallId() { return hallId; }
+            @Override public String getHallName() { return hallName; }
+            @Override public HallStatus getStatus() { return HallStatus.ACTIVE; }
+            @Override public Long getTotalSeats() { return totalSeats; }
+        };
+    }
+
+    private HallOccupancyRow occupancyRow(Long hallId, long activeBookings, BigDecimal revenue) {
+        return new HallOccupancyRow() {
+            @Override public Long getHallId() { return hallId; }
+            @Override public Long getActiveBookings() { return activeBookings; }
+            @Override public BigDecimal getRevenue() { return revenue; }
+        };
+    }
 }
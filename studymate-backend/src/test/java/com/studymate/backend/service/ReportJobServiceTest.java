@@ -0,0 +1,274 @@
+package com.studymate.backend.service;
+
+import com.studymate.backend.dto.ReportData;
+import com.studymate.backend.dto.ReportJobResponse;
+import com.studymate.backend.exception.InvalidRequestException;
+import com.studymate.backend.exception.ResourceNotFoundException;
+import com.studymate.backend.exception.TooManyRequestsException;
+import com.studymate.backend.service.occupancy.SeatHallLookup;
+import com.studymate.backend.service.report.ReportCache;
+import com.studymate.backend.service.report.ReportGenerator;
+import com.studymate.backend.service.report.ReportJob;
+import com.studymate.backend.service.report.ReportSpool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReportJobService.
+ * Verifies job execution, spooling, reuse, the report cache and the queue and per-owner limits.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReportJobServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 12, 31);
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private ReportGenerator generator;
+
+    @Mock
+    private UserDetails userDetails;
+
+    @Mock
+    private SeatHallLookup seatHallLookup;
+
+    @TempDir
+    Path spoolDir;
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SimpleMeterRegistry meterRegistry;
+    private ReportCache reportCache;
+    private ReportJobService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(userDetails.getUsername()).thenReturn("owner@test.com");
+        lenient().when(generator.getFormat()).thenReturn("pdf");
+        lenient().when(generator.getFileExtension()).thenReturn("pdf");
+        lenient().when(generator.getFileName(any(), any(), any())).thenReturn("report.pdf");
+        lenient().when(reportService.verifyOwnership(1L, userDetails)).thenReturn(9L);
+        lenient().when(reportService.aggregateData(any(), any(), any(), any()))
+            .thenReturn(ReportData.builder().hallId(1L).build());
+        lenient().doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("report".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(generator).generate(any(), any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void submit_RunsJobAndSpoolsFile_ThenReusesIt() throws Exception {
+        // Arrange
+        service = service(2, 10, 2, 60000);
+
+        // Act
+        ReportJobResponse submitted = service.submit(1L, "PDF", START, END, userDetails);
+        ReportJobResponse done = awaitDone(submitted.getJobId());
+        ReportJobResponse again = service.submit(1L, "pdf", START, END, userDetails);
+
+        // Assert
+        assertThat(done.getStatus()).isEqualTo("READY");
+        assertThat(done.getDownloadUrl()).isEqualTo("/api/v1/owner/reports/jobs/" + submitted.getJobId() + "/file");
+        assertThat(done.getExpiresAt()).isAfter(done.getCompletedAt());
+        ReportJob job = service.getReadyJob(submitted.getJobId(), userDetails);
+        assertThat(Files.readString(job.getFile())).isEqualTo("report");
+        assertThat(job.getFileName()).isEqualTo("report.pdf");
+        assertThat(again.getJobId()).isEqualTo(submitted.getJobId());
+        verify(reportService, times(1)).aggregateData(1L, START, END, userDetails);
+        assertThat(meterRegistry.counter("studymate.reports.jobs", "result", "reused").count()).isEqualTo(1);
+    }
+
+    @Test
+    void submit_BookingWrittenSinceReady_StartsNewJob() throws Exception {
+        // Arrange
+        service = service(2, 10, 2, 60000);
+        ReportJobResponse first = service.submit(1L, "pdf", START, END, userDetails);
+        awaitDone(first.getJobId());
+
+        // Act
+        reportCache.invalidate(1L, START.plusDays(10));
+        ReportJobResponse second = service.submit(1L, "pdf", START, END, userDetails);
+        awaitDone(second.getJobId());
+
+        // Assert
+        assertThat(second.getJobId()).isNotEqualTo(first.getJobId());
+        verify(reportService, times(2)).aggregateData(1L, START, END, userDetails);
+        assertThat(meterRegistry.counter("studymate.reports.jobs", "result", "reused").count()).isZero();
+    }
+
+    @Test
+    void submit_ReportCached_SpoolsItWithoutRegenerating() throws Exception {
+        // Arrange
+        service = service(2, 10, 2, 0);
+        service.submit(1L, "pdf", START, END, userDetails);
+        awaitReady(1);
+
+        // Act - the first job expired at once, so this one is generated again
+        service.submit(1L, "pdf", START, END, userDetails);
+        awaitReady(2);
+
+        // Assert
+        verify(reportService, times(1)).aggregateData(1L, START, END, userDetails);
+        verify(generator, times(1)).generate(any(), any());
+        assertThat(meterRegistry.counter("studymate.reports.cache", "result", "hit").count()).isEqualTo(1);
+    }
+
+    @Test
+    void submit_OwnerAtLimit_ThrowsTooManyRequests() throws Exception {
+        // Arrange
+        blockGeneration();
+        service = service(2, 10, 1, 60000);
+        service.submit(1L, "pdf", START, END, userDetails);
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.submit(1L, "pdf", START, START, userDetails))
+            .isInstanceOf(TooManyRequestsException.class);
+        assertThat(meterRegistry.counter("studymate.reports.jobs", "result", "rejected").count()).isEqualTo(1);
+    }
+
+    @Test
+    void submit_QueueFull_ThrowsTooManyRequests() throws Exception {
+        // Arrange
+        blockGeneration();
+        service = service(1, 1, 10, 60000);
+        service.submit(1L, "pdf", START, END, userDetails);
+        awaitGenerationStarted();
+        ReportJobResponse queued = service.submit(1L, "pdf", START, START, userDetails);
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.submit(1L, "pdf", END, END, userDetails))
+            .isInstanceOf(TooManyRequestsException.class);
+        assertThat(queued.getStatus()).isEqualTo("QUEUED");
+        assertThat(meterRegistry.get("studymate.reports.jobs.queued").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void submit_InvalidPeriodOrFormat_ThrowsInvalidRequest() {
+        // Arrange
+        service = service(1, 1, 1, 60000);
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.submit(1L, "pdf", END, START, userDetails))
+            .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> service.submit(1L, "csv", START, END, userDetails))
+            .isInstanceOf(InvalidRequestException.class);
+        verifyNoInteractions(reportService);
+    }
+
+    @Test
+    void getJob_OtherUser_ThrowsNotFound() {
+        // Arrange
+        blockGeneration();
+        service = service(1, 1, 1, 60000);
+        ReportJobResponse submitted = service.submit(1L, "pdf", START, END, userDetails);
+        UserDetails other = mock(UserDetails.class);
+        when(other.getUsername()).thenReturn("other@test.com");
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.getJob(submitted.getJobId(), other))
+            .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> service.getReadyJob(submitted.getJobId(), userDetails))
+            .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void evictExpired_RemovesJobAndFile() throws Exception {
+        // Arrange
+        service = service(1, 1, 1, 0);
+        ReportJobResponse submitted = service.submit(1L, "pdf", START, END, userDetails);
+
+        // Act
+        int evicted = 0;
+        for (int attempt = 0; attempt < 500 && evicted == 0; attempt++) {
+            Thread.sleep(10);
+            evicted = service.evictExpired();
+        }
+
+        // Assert
+        assertThat(evicted).isEqualTo(1);
+        try (var files = Files.list(spoolDir)) {
+            assertThat(files).isEmpty();
+        }
+        assertThatThrownBy(() -> service.getJob(submitted.getJobId(), userDetails))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private void blockGeneration() {
+        try {
+            // Lenient: the worker thread may not reach the generator before the test ends
+            lenient().doAnswer(invocation -> {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return null;
+            }).when(generator).generate(any(), any());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void awaitGenerationStarted() throws InterruptedException {
+        if (!started.await(5, TimeUnit.SECONDS)) {
+            throw new AssertionError("Report generation did not start");
+        }
+    }
+
+    private ReportJobResponse awaitDone(String jobId) throws InterruptedException {
+        for (int attempt = 0; attempt < 500; attempt++) {
+            ReportJobResponse job = service.getJob(jobId, userDetails);
+            if ("READY".equals(job.getStatus()) || "FAILED".equals(job.getStatus())) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Report job " + jobId + " did not finish");
+    }
+
+    private void awaitReady(int count) throws InterruptedException {
+        for (int attempt = 0; attempt < 500; attempt++) {
+            if (meterRegistry.counter("studymate.reports.jobs", "result", "ready").count() >= count) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Report jobs did not finish");
+    }
+
+    private ReportJobService service(int threads, int queueCapacity, int perOwnerLimit, long ttlMillis) {
+        reportCache = new ReportCache(seatHallLookup, meterRegistry, 1 << 20, 1 << 16);
+        return new ReportJobService(reportService, List.of(generator), new ReportSpool(spoolDir.toString()),
+            reportCache, meterRegistry, threads, queueCapacity, perOwnerLimit, ttlMillis);
+    }
+}
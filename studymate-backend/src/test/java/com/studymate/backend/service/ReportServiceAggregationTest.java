@@ -0,0 +1,189 @@
+package com.studymate.backend.service;
+
+import com.studymate.backend.dto.ReportData;
+import com.studymate.backend.model.*;
+import com.studymate.backend.repository.BookingRepository;
+import com.studymate.backend.repository.SeatRepository;
+import com.studymate.backend.repository.StudyHallRepository;
+import com.studymate.backend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Integration test for ReportService aggregation against PostgreSQL.
+ * Verifies that report figures come from one grouped query over projections:
+ * no booking, hall or user entity enters the persistence context.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.org.hibernate.SQL=ERROR",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class ReportServiceAggregationTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 3);
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudyHallRepository hallRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private com.studymate.backend.model.User owner;
+    private com.studymate.backend.model.User student;
+    private StudyHall hall;
+    private List<Seat> seats;
+    private List<Booking> bookings;
+
+    @BeforeEach
+    void setUp() {
+        owner = new com.studymate.backend.model.User();
+        owner.setEmail("report-aggregation-owner@test.com");
+        owner.setPasswordHash("hashed");
+        owner.setFirstName("Report");
+        owner.setLastName("Owner");
+        owner.setRole(UserRole.ROLE_OWNER);
+        owner = userRepository.save(owner);
+
+        student = new com.studymate.backend.model.User();
+        student.setEmail("report-aggregation-student@test.com");
+        student.setPasswordHash("hashed");
+        student.setFirstName("Report");
+        student.setLastName("Student");
+        student.setRole(UserRole.ROLE_STUDENT);
+        student = userRepository.save(student);
+
+        // No opening hours configured, so the hall is open all day
+        hall = new StudyHall();
+        hall.setOwner(owner);
+        hall.setHallName("Report Aggregation Hall");
+        hall.setSeatCount(2);
+        hall.setAddress("789 Test St");
+        hall.setCity("Test City");
+        hall.setState("Test State");
+        hall = hallRepository.save(hall);
+
+        seats = new ArrayList<>();
+        for (int i = 1; i <= 2; i++) {
+            Seat seat = new Seat();
+            seat.setHall(hall);
+            seat.setSeatNumber("R" + i);
+            seat.setXCoord(i * 10);
+            seat.setYCoord(10);
+            seat.setStatus("AVAILABLE");
+            seats.add(seat);
+        }
+        seats = seatRepository.saveAll(seats);
+
+        // Seat 1 is booked back to back 09:00-13:00, seat 2 10:00-12:00; the cancellation is ignored.
+        // Seat 2's overnight booking from February runs 2 hours into the report period
+        bookings = bookingRepository.saveAll(List.of(
+            booking(seats.get(1), DAY.withDayOfMonth(1).minusDays(1).atTime(22, 0),
+                DAY.withDayOfMonth(1).atTime(2, 0), "COMPLETED"),
+            booking(seats.get(0), DAY.atTime(9, 0), DAY.atTime(11, 0), "COMPLETED"),
+            booking(seats.get(0), DAY.atTime(11, 0), DAY.atTime(13, 0), "COMPLETED"),
+            booking(seats.get(1), DAY.atTime(10, 0), DAY.atTime(12, 0), "NO_SHOW"),
+            booking(seats.get(1), DAY.atTime(14, 0), DAY.atTime(16, 0), "CANCELLED")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Cleanup in reverse order to respect foreign keys
+        bookingRepository.deleteAll(bookings);
+        seatRepository.deleteAll(seats);
+        hallRepository.delete(hall);
+        userRepository.delete(student);
+        userRepository.delete(owner);
+    }
+
+    @Test
+    void aggregateData_LoadsNoEntitiesIntoPersistenceContext() {
+        // Arrange
+        UserDetails userDetails = org.springframework.security.core.userdetails.User
+            .withUsername(owner.getEmail())
+            .password("hashed")
+            .authorities("ROLE_OWNER")
+            .build();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        // Act
+        int[] managedEntities = new int[1];
+        ReportData report = transactionTemplate.execute(status -> {
+            ReportData data = reportService.aggregateData(hall.getId(), DAY.withDayOfMonth(1),
+                DAY.withDayOfMonth(31), userDetails);
+            managedEntities[0] = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+            return data;
+        });
+
+        // Assert: hall row, owner ID and the grouped aggregate, with nothing managed
+        assertThat(managedEntities[0]).isZero();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+        assertThat(report.getHallName()).isEqualTo("Report Aggregation Hall");
+        assertThat(report.getTotalSeats()).isEqualTo(2);
+        assertThat(report.getTotalBookings()).isEqualTo(3L);
+        assertThat(report.getTotalRevenue()).isEqualByComparingTo(new BigDecimal("150.00"));
+        assertThat(report.getBusiestHours()).containsOnlyKeys(9, 10, 11);
+        // 4 hours of seat 1 and 2 hours of seat 2 out of 2 seats x 24 hours
+        assertThat(report.getDailyUtilization().get(DAY)).isEqualTo(12.5);
+        assertThat(report.getDailyUtilization().get(DAY.plusDays(1))).isEqualTo(0.0);
+        // The overnight booking counts towards utilization only, clipped to the period
+        assertThat(report.getDailyUtilization().get(DAY.withDayOfMonth(1))).isCloseTo(100.0 / 24, within(1e-9));
+    }
+
+    private Booking booking(Seat seat, LocalDateTime startTime, LocalDateTime endTime, String status) {
+        Booking booking = new Booking();
+        booking.setUser(student);
+        booking.setSeat(seat);
+        booking.setStartTime(startTime);
+        booking.setEndTime(endTime);
+        booking.setStatus(status);
+        booking.setAmount(new BigDecimal("50.00"));
+        return booking;
+    }
+}
@@ -1,16 +1,17 @@
 package com.studymate.backend.service;
 
+import com.studymate.backend.dto.DayHoursDTO;
 import com.studymate.backend.dto.ReportData;
 import com.studymate.backend.exception.ForbiddenException;
 import com.studymate.backend.exception.ResourceNotFoundException;
-import com.studymate.backend.model.Booking;
-import com.studymate.backend.model.Seat;
-import com.studymate.backend.model.StudyHall;
-import com.studymate.backend.model.User;
+import com.studymate.backend.repository.BookingArchiveRepository;
 import com.studymate.backend.repository.BookingRepository;
-import com.studymate.backend.repository.SeatRepository;
 import com.studymate.backend.repository.StudyHallRepository;
 import com.studymate.backend.repository.UserRepository;
+import com.studymate.backend.repository.projection.ReportAggregateRow;
+import com.studymate.backend.repository.projection.ReportHallRow;
+import com.studymate.backend.service.archive.ArchivedBooking;
+import com.studymate.backend.service.archive.BookingArchiveStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,13 +21,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 /**
@@ -39,63 +43,50 @@ class ReportServiceTest {
     @Mock
     private BookingRepository bookingRepository;
 
-    @Mock
-    private SeatRepository seatRepository;
-
     @Mock
     private StudyHallRepository studyHallRepository;
 
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private BookingArchiveStore archiveStore;
+
+    @Mock
+    private BookingArchiveRepository archiveRepository;
+
     @Mock
     private UserDetails userDetails;
 
     @InjectMocks
     private ReportService reportService;
 
-    private StudyHall testHall;
-    private User testOwner;
     private LocalDate startDate;
     private LocalDate endDate;
 
     @BeforeEach
     void setUp() {
-        testOwner = new User();
-        testOwner.setId(1L);
-        testOwner.setEmail("owner@test.com");
-
-        testHall = new StudyHall();
-        testHall.setId(1L);
-        testHall.setHallName("Test Hall");
-        testHall.setOwner(testOwner);
-
         startDate = LocalDate.of(2025, 1, 1);
         endDate = LocalDate.of(2025, 1, 31);
 
         // Use lenient() for setUp() stubs that may not be used in all tests
         lenient().when(userDetails.getUsername()).thenReturn("owner@test.com");
+        lenient().when(userRepository.findIdByEmail("owner@test.com")).thenReturn(Optional.of(1L));
+        lenient().when(archiveStore.read(anyLong(), any())).thenReturn(List.of());
     }
 
     @Test
     void aggregateData_WithValidOwner_ReturnsReportData() {
         // Arrange
-        when(studyHallRepository.findById(1L)).thenReturn(Optional.of(testHall));
-        when(userRepository.findByEmail("owner@test.com")).thenReturn(Optional.of(testOwner));
-        when(seatRepository.countByHallId(1L)).thenReturn(50);
-        when(bookingRepository.sumRevenueByHallAndDateRange(1L, startDate, endDate))
-                .thenReturn(new BigDecimal("50000.00"));
-
-        List<Booking> bookings = createTestBookings();
-        when(bookingRepository.findByHallAndDateRange(1L, startDate, endDate))
-                .thenReturn(bookings);
-
-        List<Object[]> busiestHours = Arrays.asList(
-                new Object[]{14, 25L},
-                new Object[]{15, 20L}
-        );
-        when(bookingRepository.findBusiestHoursByHall(1L, startDate, endDate))
-                .thenReturn(busiestHours);
+        when(studyHallRepository.findReportRowById(1L)).thenReturn(Optional.of(hallRow(1L, null, 50)));
+        List<ReportAggregateRow> rows = List.of(
+                hourRow(14, 25, "30000.00"),
+                hourRow(15, 20, "20000.00"),
+                seatRow(1L, LocalDateTime.of(2025, 1, 15, 9, 0), LocalDateTime.of(2025, 1, 15, 11, 0)),
+                seatRow(2L, LocalDateTime.of(2025, 1, 20, 14, 0), LocalDateTime.of(2025, 1, 20, 16, 0)));
+        when(bookingRepository.findReportAggregateRows(1L, startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay(),
+            endDate.plusDays(1).atStartOfDay()))
+                .thenReturn(rows);
 
         // Act
         ReportData result = reportService.aggregateData(1L, startDate, endDate, userDetails);
@@ -108,37 +99,38 @@ class ReportServiceTest {
         assertThat(result.getEndDate()).isEqualTo(endDate);
         assertThat(result.getTotalRevenue()).isEqualByComparingTo(new BigDecimal("50000.00"));
         assertThat(result.getTotalSeats()).isEqualTo(50);
-        assertThat(result.getTotalBookings()).isEqualTo(2L);
-        assertThat(result.getDailyUtilization()).isNotNull();
-        assertThat(result.getAverageUtilization()).isGreaterThanOrEqualTo(0.0);
+        assertThat(result.getTotalBookings()).isEqualTo(45L);
+        assertThat(result.getDailyUtilization()).hasSize(31);
+        assertThat(result.getDailyUtilization().get(LocalDate.of(2025, 1, 15))).isGreaterThan(0.0);
+        assertThat(result.getAverageUtilization()).isGreaterThan(0.0);
         assertThat(result.getBusiestHours()).hasSize(2);
         assertThat(result.getBusiestHours().get(14)).isEqualTo(25L);
 
-        verify(studyHallRepository, times(2)).findById(1L); // Called twice: once for verification, once for data retrieval
-        verify(userRepository).findByEmail("owner@test.com");
-        verify(bookingRepository).sumRevenueByHallAndDateRange(1L, startDate, endDate);
-        verify(bookingRepository).findByHallAndDateRange(1L, startDate, endDate);
+        verify(studyHallRepository).findReportRowById(1L);
+        verify(userRepository).findIdByEmail("owner@test.com");
+        verify(bookingRepository).findReportAggregateRows(any(), any(), any(), any());
+        verifyNoMoreInteractions(bookingRepository);
     }
 
     @Test
     void aggregateData_WithHallNotFound_ThrowsResourceNotFoundException() {
         // Arrange
-        when(studyHallRepository.findById(999L)).thenReturn(Optional.empty());
+        when(studyHallRepository.findReportRowById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> reportService.aggregateData(999L, startDate, endDate, userDetails))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Hall not found");
 
-        verify(studyHallRepository).findById(999L);
+        verify(studyHallRepository).findReportRowById(999L);
         verifyNoInteractions(bookingRepository);
     }
 
     @Test
     void aggregateData_WithUserNotFound_ThrowsResourceNotFoundException() {
         // Arrange
-        when(studyHallRepository.findById(1L)).thenReturn(Optional.of(testHall));
-        when(userRepository.findByEmail("unknown@test.com")).thenReturn(Optional.empty());
+        when(studyHallRepository.findReportRowById(1L)).thenReturn(Optional.of(hallRow(1L, null, 50)));
+        when(userRepository.findIdByEmail("unknown@test.com")).thenReturn(Optional.empty());
         when(userDetails.getUsername()).thenReturn("unknown@test.com");
 
         // Act & Assert
@@ -146,48 +138,29 @@ class ReportServiceTest {
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("User not found");
 
-        // Only called once in verifyOwnership before exception is thrown
-        verify(studyHallRepository).findById(1L);
-        verify(userRepository).findByEmail("unknown@test.com");
+        verify(userRepository).findIdByEmail("unknown@test.com");
+        verifyNoInteractions(bookingRepository);
     }
 
     @Test
     void aggregateData_WithNonOwner_ThrowsForbiddenException() {
         // Arrange
-        User differentOwner = new User();
-        differentOwner.setId(2L);
-        differentOwner.setEmail("other@test.com");
-
-        StudyHall hallOwnedByOther = new StudyHall();
-        hallOwnedByOther.setId(1L);
-        hallOwnedByOther.setOwner(differentOwner);
-
-        when(studyHallRepository.findById(1L)).thenReturn(Optional.of(hallOwnedByOther));
-        when(userRepository.findByEmail("owner@test.com")).thenReturn(Optional.of(testOwner));
+        when(studyHallRepository.findReportRowById(1L)).thenReturn(Optional.of(hallRow(2L, null, 50)));
 
         // Act & Assert
         assertThatThrownBy(() -> reportService.aggregateData(1L, startDate, endDate, userDetails))
                 .isInstanceOf(ForbiddenException.class)
                 .hasMessageContaining("You don't have access to this hall");
 
-        // Only called once in verifyOwnership before exception is thrown
-        verify(studyHallRepository).findById(1L);
-        verify(userRepository).findByEmail("owner@test.com");
+        verify(userRepository).findIdByEmail("owner@test.com");
         verifyNoInteractions(bookingRepository);
     }
 
     @Test
     void aggregateData_WithNoBookings_ReturnsEmptyData() {
         // Arrange
-        when(studyHallRepository.findById(1L)).thenReturn(Optional.of(testHall));
-        when(userRepository.findByEmail("owner@test.com")).thenReturn(Optional.of(testOwner));
-        when(seatRepository.countByHallId(1L)).thenReturn(50);
-        when(bookingRepository.sumRevenueByHallAndDateRange(1L, startDate, endDate))
-                .thenReturn(BigDecimal.ZERO);
-        when(bookingRepository.findByHallAndDateRange(1L, startDate, endDate))
-                .thenReturn(Collections.emptyList());
-        when(bookingRepository.findBusiestHoursByHall(1L, startDate, endDate))
-                .thenReturn(Collections.emptyList());
+        when(studyHallRepository.findReportRowById(1L)).thenReturn(Optional.of(hallRow(1L, null, 50)));
+        when(bookingRepository.findReportAggregateRows(any(), any(), any(), any())).thenReturn(Collections.emptyList());
 
         // Act
         ReportData result = reportService.aggregateData(1L, startDate, endDate, userDetails);
@@ -203,32 +176,18 @@ class ReportServiceTest {
     @Test
     void aggregateData_CalculatesUtilizationCorrectly() {
         // Arrange
-        when(studyHallRepository.findById(1L)).thenReturn(Optional.of(testHall));
-        when(userRepository.findByEmail("owner@test.com")).thenReturn(Optional.of(testOwner));
-        when(seatRepository.countByHallId(1L)).thenReturn(10); // 10 seats
-        when(bookingRepository.sumRevenueByHallAndDateRange(any(), any(), any()))
-                .thenReturn(new BigDecimal("1000"));
-
-        // Create bookings for utilization calculation
-        // 2 bookings on 2025-01-01, each 2 hours = 4 hours total
-        // Available: 10 seats * 12 hours = 120 hours
+        when(studyHallRepository.findReportRowById(1L))
+                .thenReturn(Optional.of(hallRow(1L, openEveryDay("08:00", "20:00"), 10))); // 10 seats
+
+        // 2 booked runs on 2025-01-01, each 2 hours = 4 hours total
+        // Available: 10 seats * 12 opening hours = 120 hours
         // Utilization: 4/120 * 100 = 3.33%
-        List<Booking> bookings = new ArrayList<>();
-        Booking booking1 = createBooking(
-                LocalDateTime.of(2025, 1, 1, 9, 0),
-                LocalDateTime.of(2025, 1, 1, 11, 0)
-        );
-        Booking booking2 = createBooking(
-                LocalDateTime.of(2025, 1, 1, 14, 0),
-                LocalDateTime.of(2025, 1, 1, 16, 0)
-        );
-        bookings.add(booking1);
-        bookings.add(booking2);
-
-        when(bookingRepository.findByHallAndDateRange(1L, startDate, endDate))
-                .thenReturn(bookings);
-        when(bookingRepository.findBusiestHoursByHall(any(), any(), any()))
-                .thenReturn(Collections.emptyList());
+        List<ReportAggregateRow> rows = List.of(
+                hourRow(9, 1, "500"),
+                hourRow(14, 1, "500"),
+                seatRow(1L, LocalDateTime.of(2025, 1, 1, 9, 0), LocalDateTime.of(2025, 1, 1, 11, 0)),
+                seatRow(1L, LocalDateTime.of(2025, 1, 1, 14, 0), LocalDateTime.of(2025, 1, 1, 16, 0)));
+        when(bookingRepository.findReportAggregateRows(any(), any(), any(), any())).thenReturn(rows);
 
         // Act
         ReportData result = reportService.aggregateData(1L, startDate, endDate, userDetails);
@@ -239,27 +198,59 @@ class ReportServiceTest {
         assertThat(utilization).isCloseTo(3.33, org.assertj.core.data.Offset.offset(0.1));
     }
 
+    @Test
+    void aggregateData_ClipsBookingsToOpeningHoursByMinute() {
+        // Arrange - 2025-01-01 is a Wednesday; the hall is closed on other days
+        Map<String, DayHoursDTO> openingHours = Map.of("wednesday", new DayHoursDTO("09:00", "17:00", null));
+        when(studyHallRepository.findReportRowById(1L)).thenReturn(Optional.of(hallRow(1L, openingHours, 1)));
+
+        // 45 of the booking's 75 minutes fall within the 480 opening minutes
+        List<ReportAggregateRow> rows = List.of(
+                hourRow(8, 1, "100"),
+                seatRow(1L, LocalDateTime.of(2025, 1, 1, 8, 30), LocalDateTime.of(2025, 1, 1, 9, 45)));
+        when(bookingRepository.findReportAggregateRows(any(), any(), any(), any())).thenReturn(rows);
+
+        // Act
+        ReportData result = reportService.aggregateData(1L, startDate, endDate, userDetails);
+
+        // Assert
+        assertThat(result.getDailyUtilization().get(LocalDate.of(2025, 1, 1))).isEqualTo(9.375);
+        assertThat(result.getDailyUtilization().get(LocalDate.of(2025, 1, 2))).isEqualTo(0.0);
+    }
+
+    @Test
+    void aggregateData_SplitsMultiDayBookingAcrossDays() {
+        // Arrange - no opening hours configured, so the hall is open all day
+        when(studyHallRepository.findReportRowById(1L)).thenReturn(Optional.of(hallRow(1L, null, 1)));
+
+        // 16 hours on 2025-01-01 and 4 hours on 2025-01-02
+        List<ReportAggregateRow> rows = List.of(
+                hourRow(8, 1, "1000"),
+                seatRow(1L, LocalDateTime.of(2025, 1, 1, 8, 0), LocalDateTime.of(2025, 1, 2, 4, 0)));
+        when(bookingRepository.findReportAggregateRows(any(), any(), any(), any())).thenReturn(rows);
+
+        // Act
+        ReportData result = reportService.aggregateData(1L, startDate, endDate, userDetails);
+
+        // Assert
+        assertThat(result.getDailyUtilization().get(LocalDate.of(2025, 1, 1)))
+                .isCloseTo(66.67, org.assertj.core.data.Offset.offset(0.01));
+        assertThat(result.getDailyUtilization().get(LocalDate.of(2025, 1, 2)))
+                .isCloseTo(16.67, org.assertj.core.data.Offset.offset(0.01));
+    }
+
     @Test
     void aggregateData_CapsUtilizationAt100Percent() {
-        // Arrange - create scenario with over-booking (utilization > 100%)
-        when(studyHallRepository.findById(1L)).thenReturn(Optional.of(testHall));
-        when(userRepository.findByEmail("owner@test.com")).thenReturn(Optional.of(testOwner));
-        when(seatRepository.countByHallId(1L)).thenReturn(1); // Only 1 seat
-        when(bookingRepository.sumRevenueByHallAndDateRange(any(), any(), any()))
-                .thenReturn(new BigDecimal("1000"));
-
-        // 20 hours booked on 1 seat with 12-hour operating day = 20/12 = 166%
-        List<Booking> bookings = new ArrayList<>();
-        Booking booking1 = createBooking(
-                LocalDateTime.of(2025, 1, 1, 8, 0),
-                LocalDateTime.of(2025, 1, 2, 4, 0) // 20 hours
-        );
-        bookings.add(booking1);
-
-        when(bookingRepository.findByHallAndDateRange(1L, startDate, endDate))
-                .thenReturn(bookings);
-        when(bookingRepository.findBusiestHoursByHall(any(), any(), any()))
-                .thenReturn(Collections.emptyList());
+        // Arrange - bookings of two seats in a hall that now has one
+        when(studyHallRepository.findReportRowById(1L))
+                .thenReturn(Optional.of(hallRow(1L, openEveryDay("08:00", "20:00"), 1))); // Only 1 seat
+
+        // 2 seats x 12 hours booked against 12 seat-hours = 200%
+        List<ReportAggregateRow> rows = List.of(
+                hourRow(8, 2, "1000"),
+                seatRow(1L, LocalDateTime.of(2025, 1, 1, 8, 0), LocalDateTime.of(2025, 1, 1, 20, 0)),
+                seatRow(2L, LocalDateTime.of(2025, 1, 1, 8, 0), LocalDateTime.of(2025, 1, 1, 20, 0)));
+        when(bookingRepository.findReportAggregateRows(any(), any(), any(), any())).thenReturn(rows);
 
         // Act
         ReportData result = reportService.aggregateData(1L, startDate, endDate, userDetails);
@@ -269,37 +260,136 @@ class ReportServiceTest {
         assertThat(utilization).isEqualTo(100.0);
     }
 
-    // Helper methods
+    @Test
+    void aggregateData_MergesArchivedBookingsOfTheRange() {
+        // Arrange
+        when(studyHallRepository.findReportRowById(1L)).thenReturn(Optional.of(hallRow(1L, null, 1)));
+        List<ReportAggregateRow> rows = List.of(
+                hourRow(14, 1, "100.00"),
+                seatRow(1L, LocalDateTime.of(2025, 1, 20, 14, 0), LocalDateTime.of(2025, 1, 20, 16, 0)));
+        when(bookingRepository.findReportAggregateRows(any(), any(), any(), any())).thenReturn(rows);
 
-    private List<Booking> createTestBookings() {
-        List<Booking> bookings = new ArrayList<>();
+        when(archiveStore.read(1L, YearMonth.of(2025, 1))).thenReturn(List.of(
+                archivedBooking(1001L, LocalDateTime.of(2025, 1, 10, 14, 0), "COMPLETED", "150.00"),
+                archivedBooking(1002L, LocalDateTime.of(2025, 1, 11, 8, 0), "CANCELLED", "150.00"),
+                archivedBooking(1003L, LocalDateTime.of(2024, 12, 31, 8, 0), "COMPLETED", "150.00")));
 
-        Booking booking1 = createBooking(
-                LocalDateTime.of(2025, 1, 15, 9, 0),
-                LocalDateTime.of(2025, 1, 15, 11, 0)
-        );
+        // Act
+        ReportData result = reportService.aggregateData(1L, startDate, endDate, userDetails);
 
-        Booking booking2 = createBooking(
-                LocalDateTime.of(2025, 1, 20, 14, 0),
-                LocalDateTime.of(2025, 1, 20, 16, 0)
-        );
+        // Assert - only the billable archived booking inside the range is added
+        assertThat(result.getTotalRevenue()).isEqualByComparingTo(new BigDecimal("250.00"));
+        assertThat(result.getTotalBookings()).isEqualTo(2L);
+        assertThat(result.getBusiestHours().get(14)).isEqualTo(2L);
+        assertThat(result.getDailyUtilization().get(LocalDate.of(2025, 1, 10))).isGreaterThan(0.0);
+        assertThat(result.getDailyUtilization().get(LocalDate.of(2025, 1, 11))).isEqualTo(0.0);
+    }
 
-        bookings.add(booking1);
-        bookings.add(booking2);
+    @Test
+    void aggregateData_ArchivedBookingFromMonthBefore_CountsOnlyItsUtilization() {
+        // Arrange - archived in December, running past midnight into the range
+        when(studyHallRepository.findReportRowById(1L)).thenReturn(Optional.of(hallRow(1L, null, 1)));
+        when(bookingRepository.findReportAggregateRows(any(), any(), any(), any())).thenReturn(List.of());
+        when(archiveStore.read(1L, YearMonth.of(2024, 12))).thenReturn(List.of(
+                archivedBooking(1001L, LocalDateTime.of(2024, 12, 31, 23, 0), "COMPLETED", "150.00")));
+
+        // Act
+        ReportData result = reportService.aggregateData(1L, startDate, endDate, userDetails);
+
+        // Assert - its hour on January 1 is booked, but it started before the range
+        assertThat(result.getTotalBookings()).isZero();
+        assertThat(result.getTotalRevenue()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(result.getBusiestHours()).isEmpty();
+        assertThat(result.getDailyUtilization().get(LocalDate.of(2025, 1, 1))).isGreaterThan(0.0);
+    }
+
+    @Test
+    void aggregateData_ArchivedBookingNotYetDeleted_CountsItOnce() {
+        // Arrange - booking 7 was archived, but its delete has not committed
+        when(studyHallRepository.findReportRowById(1L)).thenReturn(Optional.of(hallRow(1L, null, 1)));
+        List<ReportAggregateRow> rows = List.of(
+                hourRow(14, 1, "150.00"),
+                seatRow(3L, LocalDateTime.of(2025, 1, 10, 14, 0), LocalDateTime.of(2025, 1, 10, 16, 0)));
+        when(bookingRepository.findReportAggregateRows(any(), any(), any(), any())).thenReturn(rows);
+        when(archiveStore.read(1L, YearMonth.of(2025, 1))).thenReturn(List.of(
+                archivedBooking(7L, LocalDateTime.of(2025, 1, 10, 14, 0), "COMPLETED", "150.00")));
+        when(archiveRepository.findFinishedBookingIds(1L, LocalDateTime.of(2025, 1, 1, 0, 0),
+                LocalDateTime.of(2025, 2, 1, 0, 0))).thenReturn(Set.of(7L));
+
+        // Act
+        ReportData result = reportService.aggregateData(1L, startDate, endDate, userDetails);
+
+        // Assert
+        assertThat(result.getTotalRevenue()).isEqualByComparingTo(new BigDecimal("150.00"));
+        assertThat(result.getTotalBookings()).isEqualTo(1L);
+        assertThat(result.getBusiestHours().get(14)).isEqualTo(1L);
+    }
+
+    @Test
+    void verifyOwnership_WithOwner_ReturnsOwnerIdWithoutLoadingEntities() {
+        // Arrange
+        when(studyHallRepository.findOwnerIdById(1L)).thenReturn(Optional.of(1L));
 
-        return bookings;
+        // Act
+        Long ownerId = reportService.verifyOwnership(1L, userDetails);
+
+        // Assert
+        assertThat(ownerId).isEqualTo(1L);
+        verify(studyHallRepository, never()).findById(any());
+        verify(userRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    void verifyOwnership_WithNonOwner_ThrowsForbiddenException() {
+        // Arrange
+        when(studyHallRepository.findOwnerIdById(1L)).thenReturn(Optional.of(2L));
+
+        // Act & Assert
+        assertThatThrownBy(() -> reportService.verifyOwnership(1L, userDetails))
+                .isInstanceOf(ForbiddenException.class);
     }
 
-    private Booking createBooking(LocalDateTime startTime, LocalDateTime endTime) {
-        Booking booking = new Booking();
-        booking.setId(1L);
-        booking.setStartTime(startTime);
-        booking.setEndTime(endTime);
+    // Helper methods
 
-        Seat seat = new Seat();
-        seat.setHall(testHall);
-        booking.setSeat(seat);
+    private static Map<String, DayHoursDTO> openEveryDay(String open, String close) {
+        Map<String, DayHoursDTO> openingHours = new HashMap<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            openingHours.put(day.name().toLowerCase(Locale.ROOT), new DayHoursDTO(open, close, null));
+        }
+        return openingHours;
+    }
+
+    private ReportHallRow hallRow(Long ownerId, Map<String, DayHoursDTO> openingHours, long totalSeats) {
+        return new ReportHallRow() {
+            @Override public Long getOwnerId() { return ownerId; }
+            @Override public String getHallName() { return "Test Hall"; }
+            @Override public Map<String, DayHoursDTO> getOpeningHours() { return openingHours; }
+            @Override public Long getTotalSeats() { return totalSeats; }
+        };
+    }
+
+    private ReportAggregateRow hourRow(int hour, long bookings, String revenue) {
+        return aggregateRow(null, hour, bookings, new BigDecimal(revenue), null, null);
+    }
+
+    private ReportAggregateRow seatRow(Long seatId, LocalDateTime runStart, LocalDateTime runEnd) {
+        return aggregateRow(seatId, null, null, null, runStart, runEnd);
+    }
+
+    private ReportAggregateRow aggregateRow(Long seatId, Integer hour, Long bookings, BigDecimal revenue,
+                                            LocalDateTime runStart, LocalDateTime runEnd) {
+        return new ReportAggregateRow() {
+            @Override public Long getSeatId() { return seatId; }
+            @Override public Integer getHour() { return hour; }
+            @Override public Long getBookings() { return bookings; }
+            @Override public BigDecimal getRevenue() { return revenue; }
+            @Override public LocalDateTime getRunStart() { return runStart; }
+            @Override public LocalDateTime getRunEnd() { return runEnd; }
+        };
+    }
 
-        return booking;
+    private ArchivedBooking archivedBooking(long id, LocalDateTime startTime, String status, String amount) {
+        return new ArchivedBooking(id, 2L, 3L, null, startTime, startTime.plusHours(2),
+                null, null, status, new BigDecimal(amount), null);
     }
 }
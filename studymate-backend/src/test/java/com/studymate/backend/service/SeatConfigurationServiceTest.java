@@ -13,18 +13,25 @@ import com.studymate.backend.model.UserRole;
 import com.studymate.backend.repository.SeatRepository;
 import com.studymate.backend.repository.StudyHallRepository;
 import com.studymate.backend.repository.UserRepository;
+import com.studymate.backend.service.seatmap.SeatMapDelta;
+import com.studymate.backend.service.seatmap.SeatMapVersionLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -45,6 +52,18 @@ class SeatConfigurationServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SeatMapVersionLog versionLog;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private SeatConfigurationService seatConfigurationService;
 
@@ -173,6 +192,47 @@ class SeatConfigurationServiceTest {
         );
     }
 
+    @Test
+    void getSeats_SinceCoveredVersion_ReturnsOnlyChangedSeats() {
+        // Arrange
+        Seat changed = createSeat(2L, hall, "A2", 200, 150, "maintenance", null);
+
+        when(studyHallRepository.findById(1L)).thenReturn(Optional.of(hall));
+        when(versionLog.deltaSince(1L, 41L)).thenReturn(new SeatMapDelta(42L, Set.of(2L)));
+        when(seatRepository.findAllById(Set.of(2L))).thenReturn(List.of(changed));
+
+        // Act
+        SeatConfigResponse response = seatConfigurationService.getSeats(1L, 41L, owner);
+
+        // Assert
+        assertTrue(response.getDelta());
+        assertEquals(42L, response.getVersion());
+        assertEquals(1, response.getSeats().size());
+        assertEquals("A2", response.getSeats().get(0).getSeatNumber());
+        verify(seatRepository, never()).findByHallId(any());
+    }
+
+    @Test
+    void getSeats_WithoutSince_ReturnsAllSeatsWithVersion() {
+        // Arrange
+        List<Seat> seats = Arrays.asList(
+                createSeat(1L, hall, "A1", 100, 150, "available", null),
+                createSeat(2L, hall, "A2", 200, 150, "available", null)
+        );
+
+        when(studyHallRepository.findById(1L)).thenReturn(Optional.of(hall));
+        when(versionLog.currentVersion(1L)).thenReturn(42L);
+        when(seatRepository.findByHallId(1L)).thenReturn(seats);
+
+        // Act
+        SeatConfigResponse response = seatConfigurationService.getSeats(1L, null, owner);
+
+        // Assert
+        assertFalse(response.getDelta());
+        assertEquals(42L, response.getVersion());
+        assertEquals(2, response.getSeatCount());
+    }
+
     @Test
     void getSeatConfiguration_Success() {
         // Arrange
@@ -4,6 +4,7 @@ import com.studymate.backend.dto.BulkUpdateSeatStatusRequest;
 import com.studymate.backend.dto.BulkUpdateStatusResponse;
 import com.studymate.backend.dto.SeatMaintenanceStatusDTO;
 import com.studymate.backend.dto.UpdateSeatStatusRequest;
+import com.studymate.backend.event.SeatMapChangedEvent;
 import com.studymate.backend.exception.ForbiddenException;
 import com.studymate.backend.exception.InvalidRequestException;
 import com.studymate.backend.exception.SeatNotFoundException;
@@ -17,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -38,6 +40,9 @@ class SeatStatusServiceTest {
     @Mock
     private SeatRepository seatRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private SeatStatusService seatStatusService;
 
@@ -88,6 +93,8 @@ class SeatStatusServiceTest {
         assertThat(result.getMaintenanceReason()).isEqualTo("Cleaning");
         assertThat(testSeat.getMaintenanceStarted()).isNotNull();
         verify(seatRepository).save(testSeat);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof SeatMapChangedEvent changed
+            && changed.getHallId().equals(1L) && changed.getSeatIds().equals(List.of(1L))));
     }
 
     @Test
@@ -4,6 +4,7 @@ import com.studymate.backend.dto.DayHoursDTO;
 import com.studymate.backend.dto.ShiftConfigRequest;
 import com.studymate.backend.dto.ShiftConfigResponse;
 import com.studymate.backend.dto.ShiftDTO;
+import com.studymate.backend.event.OpeningHoursChangedEvent;
 import com.studymate.backend.exception.ForbiddenException;
 import com.studymate.backend.exception.InvalidRequestException;
 import com.studymate.backend.exception.ResourceNotFoundException;
@@ -18,6 +19,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.*;
@@ -41,6 +43,9 @@ class ShiftConfigurationServiceTest {
     @Mock
     private UserDetails userDetails;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ShiftConfigurationService shiftConfigurationService;
 
@@ -83,6 +88,7 @@ class ShiftConfigurationServiceTest {
         assertNotNull(response.getOpeningHours());
 
         verify(studyHallRepository).save(hall);
+        verify(eventPublisher).publishEvent(any(OpeningHoursChangedEvent.class));
     }
 
     @Test
@@ -0,0 +1,126 @@
+package com.studymate.backend.service.archive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for BookingArchiveStore.
+ * Verifies the file format round trip, appends across runs and crash safety.
+ */
+class BookingArchiveStoreTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2025, 1);
+
+    @TempDir
+    Path archiveDir;
+
+    private BookingArchiveStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new BookingArchiveStore(archiveDir.toString());
+    }
+
+    @Test
+    void read_WithoutArchive_ReturnsEmptyList() {
+        // Act & Assert
+        assertThat(store.exists(1L, JANUARY)).isFalse();
+        assertThat(store.read(1L, JANUARY)).isEmpty();
+    }
+
+    @Test
+    void commit_RoundTripsEveryColumn() {
+        // Arrange
+        LocalDateTime start = LocalDateTime.of(2025, 1, 15, 9, 0);
+        ArchivedBooking full = new ArchivedBooking(42L, 7L, 3L, 99L, start, start.plusHours(4),
+            start.minusMinutes(5), start.plusHours(4).plusMinutes(10), "COMPLETED",
+            new BigDecimal("250.50"), start.minusDays(3));
+        ArchivedBooking sparse = new ArchivedBooking(43L, 8L, 4L, null, start.plusHours(1), start.plusHours(2),
+            null, null, "CANCELLED", null, null);
+
+        // Act
+        try (BookingArchiveStore.Writer writer = store.open(1L, JANUARY)) {
+            writer.append(List.of(full, sparse));
+            writer.commit();
+        }
+
+        // Assert
+        assertThat(store.read(1L, JANUARY)).containsExactly(full, sparse);
+    }
+
+    @Test
+    void commit_AppendsToEarlierRunsAndKeepsFirstCopyOfEachBooking() {
+        // Arrange
+        List<ArchivedBooking> first = bookings(1, 3);
+        List<ArchivedBooking> second = bookings(3, 6);
+
+        // Act
+        try (BookingArchiveStore.Writer writer = store.open(1L, JANUARY)) {
+            writer.append(first.subList(0, 1));
+            writer.append(first.subList(1, 3));
+            writer.commit();
+        }
+        try (BookingArchiveStore.Writer writer = store.open(1L, JANUARY)) {
+            writer.append(second);
+            writer.commit();
+        }
+
+        // Assert - booking 3 was archived twice but is read once
+        List<ArchivedBooking> read = store.read(1L, JANUARY);
+        assertThat(read).extracting(ArchivedBooking::bookingId).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+    }
+
+    @Test
+    void close_WithoutCommit_LeavesArchiveUnchanged() throws Exception {
+        // Arrange
+        try (BookingArchiveStore.Writer writer = store.open(1L, JANUARY)) {
+            writer.append(bookings(1, 2));
+            writer.commit();
+        }
+
+        // Act
+        try (BookingArchiveStore.Writer writer = store.open(1L, JANUARY)) {
+            writer.append(bookings(3, 4));
+        }
+
+        // Assert
+        assertThat(store.read(1L, JANUARY)).extracting(ArchivedBooking::bookingId).containsExactly(1L, 2L);
+        try (var files = Files.list(store.path(1L, JANUARY).getParent())) {
+            assertThat(files).containsExactly(store.path(1L, JANUARY));
+        }
+    }
+
+    @Test
+    void read_WithForeignFile_Throws() throws Exception {
+        // Arrange
+        Path file = store.path(1L, JANUARY);
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[]{1, 2, 3});
+
+        // Act & Assert
+        assertThatThrownBy(() -> store.read(1L, JANUARY)).isInstanceOf(UncheckedIOException.class);
+    }
+
+    private List<ArchivedBooking> bookings(long fromId, long toId) {
+        List<ArchivedBooking> bookings = new ArrayList<>();
+        for (long id = fromId; id <= toId; id++) {
+            LocalDateTime start = LocalDateTime.of(2025, 1, (int) id, 9, 0);
+            bookings.add(new ArchivedBooking(id, 7L, 3L, null, start, start.plusHours(2),
+                start, null, "COMPLETED", new BigDecimal("100.00"), null));
+        }
+        return bookings;
+    }
+}
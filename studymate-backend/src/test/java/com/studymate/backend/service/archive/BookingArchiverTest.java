@@ -0,0 +1,131 @@
+package com.studymate.backend.service.archive;
+
+import com.studymate.backend.repository.BookingArchiveRepository;
+import com.studymate.backend.repository.projection.BookingArchiveRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BookingArchiver.
+ * Verifies keyset batching, writing before deleting and the disabled default.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingArchiverTest {
+
+    private static final YearMonth JANUARY = YearMonth.of(2025, 1);
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+    @Mock
+    private BookingArchiveRepository archiveRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path archiveDir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookingArchiveStore store;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = new BookingArchiveStore(archiveDir.toString());
+    }
+
+    @Test
+    void run_WhenDisabled_DoesNothing() {
+        // Act
+        long archived = archiver(0, 2).run();
+
+        // Assert
+        assertThat(archived).isZero();
+        verifyNoInteractions(archiveRepository);
+    }
+
+    @Test
+    void archiveMonth_WritesBatchesThenDeletesArchivedBookings() {
+        // Arrange
+        BookingArchiveRow first = row(1L, LocalDateTime.of(2025, 1, 5, 9, 0));
+        BookingArchiveRow second = row(2L, LocalDateTime.of(2025, 1, 6, 9, 0));
+        BookingArchiveRow third = row(3L, LocalDateTime.of(2025, 1, 7, 9, 0));
+        when(archiveRepository.findHallIdsWithFinishedBookings(FROM, TO)).thenReturn(List.of(10L));
+        when(archiveRepository.findFinishedBookings(eq(10L), eq(FROM), eq(TO), any(), anyLong(), eq(2)))
+            .thenReturn(List.of(first, second))
+            .thenReturn(List.of(third));
+        when(archiveRepository.deleteArchivedBookings(eq(10L), eq(LocalDate.of(2025, 1, 1)), any()))
+            .thenReturn(2L, 1L);
+
+        // Act
+        long archived = archiver(12, 2).archiveMonth(JANUARY);
+
+        // Assert
+        assertThat(archived).isEqualTo(3);
+        assertThat(store.read(10L, JANUARY)).extracting(ArchivedBooking::bookingId).containsExactly(1L, 2L, 3L);
+        verify(archiveRepository).findFinishedBookings(10L, FROM, TO, LocalDateTime.of(2025, 1, 6, 9, 0), 2L, 2);
+
+        ArgumentCaptor<Long[]> deleted = ArgumentCaptor.forClass(Long[].class);
+        verify(archiveRepository, times(2)).deleteArchivedBookings(eq(10L), eq(LocalDate.of(2025, 1, 1)),
+            deleted.capture());
+        assertThat(deleted.getAllValues()).containsExactly(new Long[]{1L, 2L}, new Long[]{3L});
+        assertThat(meterRegistry.get("studymate.archive.bookings").counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void archiveMonth_WhenReadFails_DeletesNothing() {
+        // Arrange
+        List<BookingArchiveRow> batch = List.of(
+            row(1L, LocalDateTime.of(2025, 1, 5, 9, 0)),
+            row(2L, LocalDateTime.of(2025, 1, 6, 9, 0)));
+        when(archiveRepository.findHallIdsWithFinishedBookings(FROM, TO)).thenReturn(List.of(10L));
+        when(archiveRepository.findFinishedBookings(eq(10L), eq(FROM), eq(TO), any(), anyLong(), anyInt()))
+            .thenReturn(batch)
+            .thenThrow(new QueryTimeoutException("timeout"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> archiver(12, 2).archiveMonth(JANUARY)).isInstanceOf(QueryTimeoutException.class);
+        assertThat(store.exists(10L, JANUARY)).isFalse();
+        verify(archiveRepository, never()).deleteArchivedBookings(any(), any(), any());
+    }
+
+    private BookingArchiver archiver(int afterMonths, int batchSize) {
+        return new BookingArchiver(archiveRepository, store, transactionManager, meterRegistry,
+            afterMonths, batchSize);
+    }
+
+    private BookingArchiveRow row(long id, LocalDateTime startTime) {
+        BookingArchiveRow row = mock(BookingArchiveRow.class);
+        lenient().when(row.getBookingId()).thenReturn(id);
+        lenient().when(row.getUserId()).thenReturn(7L);
+        lenient().when(row.getSeatId()).thenReturn(3L);
+        lenient().when(row.getStartTime()).thenReturn(startTime);
+        lenient().when(row.getEndTime()).thenReturn(startTime.plusHours(2));
+        lenient().when(row.getStatus()).thenReturn("COMPLETED");
+        lenient().when(row.getAmount()).thenReturn(new BigDecimal("100.00"));
+        return row;
+    }
+}
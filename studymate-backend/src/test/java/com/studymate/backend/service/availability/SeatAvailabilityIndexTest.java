@@ -0,0 +1,292 @@
+package com.studymate.backend.service.availability;
+
+import com.studymate.backend.dto.DayHoursDTO;
+import com.studymate.backend.dto.ShiftDTO;
+import com.studymate.backend.event.BookingChangedEvent;
+import com.studymate.backend.event.SeatHoldChangedEvent;
+import com.studymate.backend.event.SeatMapChangedEvent;
+import com.studymate.backend.model.BookingSnapshot;
+import com.studymate.backend.model.HallStatus;
+import com.studymate.backend.model.StudyHall;
+import com.studymate.backend.repository.BookingRepository;
+import com.studymate.backend.repository.SeatRepository;
+import com.studymate.backend.repository.StudyHallRepository;
+import com.studymate.backend.repository.projection.SeatAvailabilityRow;
+import com.studymate.backend.repository.projection.SeatBookingIntervalRow;
+import com.studymate.backend.service.booking.SeatHoldRegistry;
+import com.studymate.backend.service.occupancy.SeatHallLookup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SeatAvailabilityIndex and the HallDayAvailability bitsets it builds.
+ * Verifies free-seat queries against bookings, maintenance and opening hours,
+ * and following committed booking changes.
+ */
+@ExtendWith(MockitoExtension.class)
+class SeatAvailabilityIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 10, 20); // a Monday
+
+    @Mock
+    private StudyHallRepository studyHallRepository;
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private SeatHallLookup seatHallLookup;
+
+    @Mock
+    private SeatHoldRegistry holdRegistry;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SeatAvailabilityIndex index;
+    private StudyHall hall;
+
+    @BeforeEach
+    void setUp() {
+        index = new SeatAvailabilityIndex(studyHallRepository, seatRepository, bookingRepository,
+            seatHallLookup, holdRegistry, transactionManager, new SimpleMeterRegistry(), 100);
+
+        hall = new StudyHall();
+        hall.setId(1L);
+        hall.setStatus(HallStatus.ACTIVE);
+    }
+
+    @Test
+    void freeSeats_ExcludesSeatsBookedDuringPeriod() {
+        // Arrange
+        givenSeats(seatRow(100L, "A1", "AVAILABLE"), seatRow(101L, "A2", "AVAILABLE"), seatRow(102L, "A3", "AVAILABLE"));
+        givenBookings(bookingRow(100L, DAY.atTime(10, 0), DAY.atTime(11, 0)),
+            bookingRow(101L, DAY.atTime(13, 0), DAY.atTime(15, 0)));
+
+        // Act
+        HallDayAvailability day = index.get(1L, DAY);
+
+        // Assert
+        assertThat(day.freeSeats(LocalTime.of(9, 0), LocalTime.of(13, 0)))
+            .extracting(HallDayAvailability.FreeSeat::seatNumber)
+            .containsExactly("A2", "A3");
+        assertThat(day.countFreeSeats(LocalTime.of(11, 0), LocalTime.of(13, 0))).isEqualTo(3);
+    }
+
+    @Test
+    void freeSeats_BookingFromPreviousDay_BlocksMorning() {
+        // Arrange
+        givenSeats(seatRow(100L, "A1", "AVAILABLE"));
+        givenBookings(bookingRow(100L, DAY.minusDays(1).atTime(20, 0), DAY.atTime(1, 30)));
+
+        // Act
+        HallDayAvailability day = index.get(1L, DAY);
+
+        // Assert
+        assertThat(day.countFreeSeats(LocalTime.of(1, 0), LocalTime.of(2, 0))).isZero();
+        assertThat(day.countFreeSeats(LocalTime.of(1, 30), LocalTime.of(2, 0))).isEqualTo(1);
+    }
+
+    @Test
+    void freeSeats_MaintenanceBlocksUntilMaintenanceEnds() {
+        // Arrange
+        SeatAvailabilityRow repair = seatRow(100L, "A1", "MAINTENANCE");
+        when(repair.getMaintenanceUntil()).thenReturn(DAY.atTime(12, 0));
+        givenSeats(repair, seatRow(101L, "A2", "MAINTENANCE"));
+        givenBookings();
+
+        // Act
+        HallDayAvailability day = index.get(1L, DAY);
+
+        // Assert
+        assertThat(day.countFreeSeats(LocalTime.of(9, 0), LocalTime.of(12, 0))).isZero();
+        assertThat(day.freeSeats(LocalTime.of(12, 0), LocalTime.of(16, 0)))
+            .extracting(HallDayAvailability.FreeSeat::seatNumber)
+            .containsExactly("A1");
+    }
+
+    @Test
+    void freeSeats_OutsideOpeningHours_ReturnsNone() {
+        // Arrange
+        hall.setOpeningHours(Map.of("monday", new DayHoursDTO("08:00", "20:00", List.of(
+            new ShiftDTO("s1", "Morning", "08:00", "12:00")))));
+        givenSeats(seatRow(100L, "A1", "AVAILABLE"));
+        givenBookings();
+
+        // Act
+        HallDayAvailability day = index.get(1L, DAY);
+
+        // Assert
+        assertThat(day.countFreeSeats(LocalTime.of(8, 0), LocalTime.of(20, 0))).isEqualTo(1);
+        assertThat(day.countFreeSeats(LocalTime.of(7, 59), LocalTime.of(9, 0))).isZero();
+        assertThat(day.countFreeSeats(LocalTime.of(19, 0), LocalTime.of(20, 1))).isZero();
+        assertThat(day.getShifts()).extracting(ShiftDTO::getName).containsExactly("Morning");
+    }
+
+    @Test
+    void freeSeats_DayWithoutConfiguredHours_Closed() {
+        // Arrange
+        hall.setOpeningHours(Map.of("tuesday", new DayHoursDTO("08:00", "20:00", List.of())));
+        givenSeats(seatRow(100L, "A1", "AVAILABLE"));
+        givenBookings();
+
+        // Act
+        HallDayAvailability day = index.get(1L, DAY);
+
+        // Assert
+        assertThat(day.countFreeSeats(LocalTime.of(9, 0), LocalTime.of(10, 0))).isZero();
+    }
+
+    @Test
+    void get_CachesHallDay() {
+        // Arrange
+        givenSeats(seatRow(100L, "A1", "AVAILABLE"));
+        givenBookings();
+
+        // Act
+        HallDayAvailability first = index.get(1L, DAY);
+        HallDayAvailability second = index.get(1L, DAY);
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        verify(bookingRepository, times(1)).findOverlappingIntervalsByHallId(eq(1L), any(), any());
+    }
+
+    @Test
+    void onBookingChanged_MovesBookingBits() {
+        // Arrange
+        givenSeats(seatRow(100L, "A1", "AVAILABLE"));
+        givenBookings(bookingRow(100L, DAY.atTime(9, 0), DAY.atTime(10, 0)));
+        HallDayAvailability day = index.get(1L, DAY);
+        BookingChangedEvent moved = new BookingChangedEvent(5L, 100L, 1L,
+            snapshot("CONFIRMED", DAY.atTime(9, 0), DAY.atTime(10, 0)),
+            snapshot("CONFIRMED", DAY.atTime(14, 0), DAY.atTime(15, 0)));
+        when(seatHallLookup.hallIdOf(moved)).thenReturn(1L);
+
+        // Act
+        index.onBookingChanged(moved);
+
+        // Assert
+        assertThat(day.countFreeSeats(LocalTime.of(9, 0), LocalTime.of(10, 0))).isEqualTo(1);
+        assertThat(day.countFreeSeats(LocalTime.of(14, 30), LocalTime.of(16, 0))).isZero();
+    }
+
+    @Test
+    void onBookingChanged_CancelledBooking_FreesSeat() {
+        // Arrange
+        givenSeats(seatRow(100L, "A1", "AVAILABLE"));
+        givenBookings(bookingRow(100L, DAY.atTime(9, 0), DAY.atTime(10, 0)));
+        HallDayAvailability day = index.get(1L, DAY);
+        BookingChangedEvent cancelled = new BookingChangedEvent(5L, 100L, 1L,
+            snapshot("CONFIRMED", DAY.atTime(9, 0), DAY.atTime(10, 0)),
+            snapshot("CANCELLED", DAY.atTime(9, 0), DAY.atTime(10, 0)));
+        when(seatHallLookup.hallIdOf(cancelled)).thenReturn(1L);
+
+        // Act
+        index.onBookingChanged(cancelled);
+
+        // Assert
+        assertThat(day.countFreeSeats(LocalTime.of(9, 0), LocalTime.of(10, 0))).isEqualTo(1);
+    }
+
+    @Test
+    void onSeatHoldChanged_HeldPeriodNotFree() {
+        // Arrange
+        givenSeats(seatRow(100L, "A1", "AVAILABLE"), seatRow(101L, "A2", "AVAILABLE"));
+        givenBookings();
+        HallDayAvailability day = index.get(1L, DAY);
+
+        // Act
+        index.onSeatHoldChanged(new SeatHoldChangedEvent(9L, 100L, 1L, DAY.atTime(9, 0), DAY.atTime(13, 0), true));
+
+        // Assert
+        assertThat(day.freeSeats(LocalTime.of(10, 0), LocalTime.of(11, 0)))
+            .extracting(HallDayAvailability.FreeSeat::seatNumber)
+            .containsExactly("A2");
+
+        index.onSeatHoldChanged(new SeatHoldChangedEvent(9L, 100L, 1L, DAY.atTime(9, 0), DAY.atTime(13, 0), false));
+        assertThat(day.countFreeSeats(LocalTime.of(10, 0), LocalTime.of(11, 0))).isEqualTo(2);
+    }
+
+    @Test
+    void onSeatMapChanged_RebuildsHallDay() {
+        // Arrange
+        givenSeats(seatRow(100L, "A1", "AVAILABLE"));
+        givenBookings();
+        HallDayAvailability first = index.get(1L, DAY);
+
+        // Act
+        index.onSeatMapChanged(SeatMapChangedEvent.layoutChanged(1L));
+        HallDayAvailability rebuilt = index.get(1L, DAY);
+
+        // Assert
+        assertThat(rebuilt).isNotSameAs(first);
+        verify(seatRepository, times(2)).findAvailabilityRowsByHallId(1L);
+    }
+
+    @Test
+    void setRange_SpansWordBoundaries() {
+        // Arrange
+        long[] bits = new long[HallDayAvailability.WORDS];
+
+        // Act
+        HallDayAvailability.setRange(bits, 0, 60, 200);
+        HallDayAvailability.clearRange(bits, 0, 64, 128);
+
+        // Assert
+        assertThat(bits[0]).isEqualTo(0xFL << 60);
+        assertThat(bits[1]).isZero();
+        assertThat(bits[2]).isEqualTo(-1L);
+        assertThat(bits[3]).isEqualTo((1L << 8) - 1);
+    }
+
+    private void givenSeats(SeatAvailabilityRow... seats) {
+        when(studyHallRepository.findById(1L)).thenReturn(Optional.of(hall));
+        when(seatRepository.findAvailabilityRowsByHallId(1L)).thenReturn(List.of(seats));
+    }
+
+    private void givenBookings(SeatBookingIntervalRow... bookings) {
+        when(bookingRepository.findOverlappingIntervalsByHallId(1L, DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay()))
+            .thenReturn(List.of(bookings));
+    }
+
+    private SeatAvailabilityRow seatRow(Long id, String seatNumber, String status) {
+        SeatAvailabilityRow row = mock(SeatAvailabilityRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getSeatNumber()).thenReturn(seatNumber);
+        lenient().when(row.getStatus()).thenReturn(status);
+        return row;
+    }
+
+    private SeatBookingIntervalRow bookingRow(Long seatId, LocalDateTime start, LocalDateTime end) {
+        return new SeatBookingIntervalRow() {
+            @Override public Long getSeatId() { return seatId; }
+            @Override public LocalDateTime getStartTime() { return start; }
+            @Override public LocalDateTime getEndTime() { return end; }
+        };
+    }
+
+    private BookingSnapshot snapshot(String status, LocalDateTime start, LocalDateTime end) {
+        return new BookingSnapshot(status, start, end, new BigDecimal("100.00"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.studymate.backend.service.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studymate.backend.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for BookingImportReader.
+ * Verifies CSV and NDJSON parsing and per-line validation errors.
+ */
+class BookingImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void next_CsvWithHeaderInAnyOrder_ReadsBookings() throws IOException {
+        // Arrange
+        String csv = "\uFEFFstatus,seatNumber,userEmail,startTime,endTime,amount\n"
+            + "completed,A1,a@example.com,2026-01-05T09:00,2026-01-05T12:00,150.00\n"
+            + "\n"
+            + "CONFIRMED,\"B,2\",b@example.com,2026-01-06T09:00,2026-01-06T12:00,\n";
+
+        // Act
+        List<BookingImportReader.Line> lines = readAll(csv, BookingImportReader.Format.CSV);
+
+        // Assert
+        assertThat(lines).hasSize(2);
+        BookingImportReader.Line first = lines.get(0);
+        assertThat(first.number()).isEqualTo(2);
+        assertThat(first.error()).isNull();
+        assertThat(first.booking().seatNumber()).isEqualTo("A1");
+        assertThat(first.booking().status()).isEqualTo("COMPLETED");
+        assertThat(first.booking().startTime()).isEqualTo(LocalDateTime.of(2026, 1, 5, 9, 0));
+        assertThat(first.booking().amount()).isEqualByComparingTo(new BigDecimal("150.00"));
+        BookingImportReader.Line second = lines.get(1);
+        assertThat(second.number()).isEqualTo(4);
+        assertThat(second.booking().seatNumber()).isEqualTo("B,2");
+        assertThat(second.booking().amount()).isNull();
+    }
+
+    @Test
+    void next_CsvHeaderMissingColumn_ThrowsInvalidRequest() {
+        // Arrange
+        String csv = "seatNumber,userEmail,startTime,endTime\nA1,a@example.com,2026-01-05T09:00,2026-01-05T12:00\n";
+
+        // Act & Assert
+        assertThatThrownBy(() -> readAll(csv, BookingImportReader.Format.CSV))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessageContaining("status");
+    }
+
+    @Test
+    void next_InvalidRows_ReturnsErrorsWithLineNumbers() throws IOException {
+        // Arrange
+        String csv = "seatNumber,userEmail,startTime,endTime,status\n"
+            + "A1,a@example.com,2026-01-05T09:00,2026-01-05T08:00,CONFIRMED\n"
+            + "A1,a@example.com,yesterday,2026-01-05T12:00,CONFIRMED\n"
+            + "A1,a@example.com,2026-01-05T09:00,2026-01-05T12:00,PENDING\n"
+            + ",a@example.com,2026-01-05T09:00,2026-01-05T12:00,CONFIRMED\n"
+            + "\"A1,a@example.com,2026-01-05T09:00,2026-01-05T12:00,CONFIRMED\n";
+
+        // Act
+        List<BookingImportReader.Line> lines = readAll(csv, BookingImportReader.Format.CSV);
+
+        // Assert
+        assertThat(lines).extracting(BookingImportReader.Line::number).containsExactly(2L, 3L, 4L, 5L, 6L);
+        assertThat(lines).allMatch(line -> line.booking() == null);
+        assertThat(lines.get(0).error()).isEqualTo("endTime must be after startTime");
+        assertThat(lines.get(1).error()).isEqualTo("Invalid date-time: yesterday");
+        assertThat(lines.get(2).error()).startsWith("status must be one of");
+        assertThat(lines.get(3).error()).isEqualTo("seatNumber is required");
+        assertThat(lines.get(4).error()).isEqualTo("Unterminated quoted field");
+    }
+
+    @Test
+    void next_Ndjson_ReadsBookingsAndReportsBadLines() throws IOException {
+        // Arrange
+        String ndjson = "{\"seatNumber\":\"A1\",\"userEmail\":\"a@example.com\",\"startTime\":\"2026-01-05T09:00\","
+            + "\"endTime\":\"2026-01-05T12:00\",\"status\":\"NO_SHOW\",\"amount\":99.5,\"checkInTime\":null}\n"
+            + "{not json\n"
+            + "[1, 2]\n";
+
+        // Act
+        List<BookingImportReader.Line> lines = readAll(ndjson, BookingImportReader.Format.NDJSON);
+
+        // Assert
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0).booking().status()).isEqualTo("NO_SHOW");
+        assertThat(lines.get(0).booking().amount()).isEqualByComparingTo(new BigDecimal("99.5"));
+        assertThat(lines.get(0).booking().checkInTime()).isNull();
+        assertThat(lines.get(1).error()).isEqualTo("Invalid JSON");
+        assertThat(lines.get(2).error()).isEqualTo("Line is not a JSON object");
+    }
+
+    @Test
+    void fromContentType_AcceptsParametersAndRejectsOtherTypes() {
+        assertThat(BookingImportReader.Format.fromContentType("text/csv; charset=UTF-8"))
+            .isEqualTo(BookingImportReader.Format.CSV);
+        assertThat(BookingImportReader.Format.fromContentType("application/x-ndjson"))
+            .isEqualTo(BookingImportReader.Format.NDJSON);
+        assertThatThrownBy(() -> BookingImportReader.Format.fromContentType("application/json"))
+            .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private List<BookingImportReader.Line> readAll(String content, BookingImportReader.Format format)
+            throws IOException {
+        List<BookingImportReader.Line> lines = new ArrayList<>();
+        try (BookingImportReader reader = new BookingImportReader(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format, objectMapper)) {
+            BookingImportReader.Line line;
+            while ((line = reader.next()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
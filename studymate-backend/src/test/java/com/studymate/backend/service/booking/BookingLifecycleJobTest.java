@@ -0,0 +1,136 @@
+package com.studymate.backend.service.booking;
+
+import com.studymate.backend.event.BookingChangedEvent;
+import com.studymate.backend.repository.BookingRepository;
+import com.studymate.backend.repository.projection.BookingLifecycleRow;
+import com.studymate.backend.service.booking.BookingLifecycleJob.Transition;
+import com.studymate.backend.service.checkin.CheckInWriteBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BookingLifecycleJob.
+ * Verifies keyset batching, published booking changes and per-run metrics.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingLifecycleJobTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private CheckInWriteBuffer checkInWriteBuffer;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookingLifecycleJob job;
+    private LocalDateTime nine;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        job = new BookingLifecycleJob(bookingRepository, checkInWriteBuffer, eventPublisher, transactionManager,
+            meterRegistry, 15, 30, true, 2, 100);
+        nine = LocalDateTime.of(2026, 3, 2, 9, 0);
+        lenient().when(bookingRepository.expirePendingBookings(any(), any(), any(), anyLong(), anyInt()))
+            .thenReturn(List.of());
+        lenient().when(bookingRepository.releaseNoShows(any(), any(), any(), anyLong(), anyInt()))
+            .thenReturn(List.of());
+        lenient().when(bookingRepository.completeEndedBookings(any(), any(), anyLong(), anyInt()))
+            .thenReturn(List.of());
+    }
+
+    @Test
+    void run_FullBatch_ContinuesAfterKeysetCursor() {
+        // Arrange
+        BookingLifecycleRow first = row(7L, nine.plusHours(4));
+        BookingLifecycleRow second = row(8L, nine.plusHours(4));
+        BookingLifecycleRow third = row(5L, nine.plusHours(5));
+        when(bookingRepository.completeEndedBookings(any(), any(), anyLong(), eq(2)))
+            .thenReturn(List.of(second, first))
+            .thenReturn(List.of(third));
+
+        // Act
+        Map<Transition, Integer> moved = job.run();
+
+        // Assert
+        assertThat(moved).containsEntry(Transition.COMPLETED, 3).containsEntry(Transition.NO_SHOW, 0);
+        verify(bookingRepository).completeEndedBookings(any(), eq(LocalDateTime.of(1970, 1, 1, 0, 0)), eq(0L), eq(2));
+        verify(bookingRepository).completeEndedBookings(any(), eq(nine.plusHours(4)), eq(8L), eq(2));
+        assertThat(meterRegistry.get("studymate.lifecycle.transitions").tag("transition", "completed")
+            .summary().totalAmount()).isEqualTo(3.0);
+    }
+
+    @Test
+    void run_PublishesStatusChangeForEachRow() {
+        // Arrange
+        BookingLifecycleRow noShow = row(7L, nine);
+        when(bookingRepository.releaseNoShows(any(), any(), any(), anyLong(), anyInt()))
+            .thenReturn(List.of(noShow));
+
+        // Act
+        job.run();
+
+        // Assert
+        ArgumentCaptor<BookingChangedEvent> events = ArgumentCaptor.forClass(BookingChangedEvent.class);
+        verify(eventPublisher).publishEvent(events.capture());
+        BookingChangedEvent event = events.getValue();
+        assertThat(event.getBookingId()).isEqualTo(7L);
+        assertThat(event.getHallId()).isEqualTo(1L);
+        assertThat(event.wasConfirmed()).isTrue();
+        assertThat(event.isConfirmed()).isFalse();
+        assertThat(event.getCurrent().getStatus()).isEqualTo("NO_SHOW");
+        assertThat(event.isBillable()).isTrue();
+    }
+
+    @Test
+    void run_CheckInFlushFails_SkipsNoShows() {
+        // Arrange
+        when(checkInWriteBuffer.flush()).thenThrow(new QueryTimeoutException("timeout"));
+
+        // Act
+        Map<Transition, Integer> moved = job.run();
+
+        // Assert
+        assertThat(moved).containsEntry(Transition.NO_SHOW, 0);
+        verify(bookingRepository, never()).releaseNoShows(any(), any(), any(), anyLong(), anyInt());
+        verify(bookingRepository).completeEndedBookings(any(), any(), anyLong(), anyInt());
+    }
+
+    private BookingLifecycleRow row(long bookingId, LocalDateTime cursorTime) {
+        BookingLifecycleRow row = mock(BookingLifecycleRow.class);
+        lenient().when(row.getBookingId()).thenReturn(bookingId);
+        lenient().when(row.getSeatId()).thenReturn(100L);
+        lenient().when(row.getHallId()).thenReturn(1L);
+        lenient().when(row.getStartTime()).thenReturn(nine);
+        lenient().when(row.getEndTime()).thenReturn(nine.plusHours(4));
+        lenient().when(row.getAmount()).thenReturn(new BigDecimal("150.00"));
+        lenient().when(row.getCursorTime()).thenReturn(cursorTime);
+        return row;
+    }
+}
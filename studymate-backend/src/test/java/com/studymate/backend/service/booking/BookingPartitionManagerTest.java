@@ -0,0 +1,151 @@
+package com.studymate.backend.service.booking;
+
+import com.studymate.backend.repository.BookingPartitionRepository;
+import com.studymate.backend.service.archive.BookingArchiver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BookingPartitionManager.
+ * Verifies which monthly partitions are created ahead, and that expired ones
+ * are archived before they are dropped.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingPartitionManagerTest {
+
+    @Mock
+    private BookingPartitionRepository partitionRepository;
+
+    @Mock
+    private BookingArchiver bookingArchiver;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private YearMonth current;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        current = YearMonth.now();
+        lenient().when(partitionRepository.createPartition(any(LocalDate.class)))
+            .thenAnswer(invocation -> BookingPartitionManager.partitionName(
+                YearMonth.from(invocation.<LocalDate>getArgument(0))));
+        lenient().when(partitionRepository.retirePartition(anyString())).thenReturn(true);
+    }
+
+    @Test
+    void maintain_CreatesOnlyMissingMonthsAhead() {
+        // Arrange
+        when(partitionRepository.findPartitionNames()).thenReturn(List.of(
+            BookingPartitionManager.partitionName(current),
+            BookingPartitionManager.partitionName(current.plusMonths(1)),
+            "bookings_default"));
+        BookingPartitionManager manager = manager(3, 0);
+
+        // Act
+        List<String> changed = manager.maintain();
+
+        // Assert
+        assertThat(changed).containsExactly(
+            BookingPartitionManager.partitionName(current.plusMonths(2)),
+            BookingPartitionManager.partitionName(current.plusMonths(3)));
+        verify(partitionRepository).createPartition(current.plusMonths(2).atDay(1));
+        verify(partitionRepository).createPartition(current.plusMonths(3).atDay(1));
+        verify(partitionRepository, never()).retirePartition(anyString());
+        verifyNoInteractions(bookingArchiver);
+        assertThat(meterRegistry.get("studymate.partitions.created").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void maintain_ArchivesThenDropsMonthsPastRetention() {
+        // Arrange
+        String expired = BookingPartitionManager.partitionName(current.minusMonths(13));
+        String kept = BookingPartitionManager.partitionName(current.minusMonths(12));
+        when(partitionRepository.findPartitionNames()).thenReturn(List.of(
+            expired, kept,
+            BookingPartitionManager.partitionName(current),
+            "bookings_default"));
+        BookingPartitionManager manager = manager(0, 12);
+
+        // Act
+        List<String> changed = manager.maintain();
+
+        // Assert
+        InOrder inOrder = inOrder(bookingArchiver, partitionRepository);
+        inOrder.verify(bookingArchiver).archiveMonth(current.minusMonths(13));
+        inOrder.verify(partitionRepository).retirePartition(expired);
+        verify(partitionRepository, never()).retirePartition(kept);
+        verify(partitionRepository, never()).retirePartition("bookings_default");
+        verifyNoMoreInteractions(bookingArchiver);
+        assertThat(changed).containsExactly(expired);
+        assertThat(meterRegistry.get("studymate.partitions.detached").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void maintain_PartitionStillHoldingBookings_IsKept() {
+        // Arrange
+        String expired = BookingPartitionManager.partitionName(current.minusMonths(13));
+        when(partitionRepository.findPartitionNames()).thenReturn(List.of(
+            expired, BookingPartitionManager.partitionName(current)));
+        when(partitionRepository.retirePartition(expired)).thenReturn(false);
+        BookingPartitionManager manager = manager(0, 12);
+
+        // Act
+        List<String> changed = manager.maintain();
+
+        // Assert
+        verify(bookingArchiver).archiveMonth(current.minusMonths(13));
+        assertThat(changed).isEmpty();
+        assertThat(meterRegistry.get("studymate.partitions.detached").counter().count()).isZero();
+    }
+
+    @Test
+    void maintain_ArchivingFails_KeepsPartition() {
+        // Arrange
+        String expired = BookingPartitionManager.partitionName(current.minusMonths(13));
+        when(partitionRepository.findPartitionNames()).thenReturn(List.of(
+            expired, BookingPartitionManager.partitionName(current)));
+        when(bookingArchiver.archiveMonth(current.minusMonths(13)))
+            .thenThrow(new UncheckedIOException(new IOException("disk full")));
+        BookingPartitionManager manager = manager(0, 12);
+
+        // Act
+        List<String> changed = manager.maintain();
+
+        // Assert
+        assertThat(changed).isEmpty();
+        verify(partitionRepository, never()).retirePartition(anyString());
+    }
+
+    @Test
+    void monthOf_IgnoresTablesNotNamedByMonth() {
+        // Act & Assert
+        assertThat(BookingPartitionManager.monthOf("bookings_2025_01")).isEqualTo(YearMonth.of(2025, 1));
+        assertThat(BookingPartitionManager.monthOf("bookings_default")).isNull();
+        assertThat(BookingPartitionManager.monthOf("seats")).isNull();
+    }
+
+    private BookingPartitionManager manager(int monthsAhead, int detachAfterMonths) {
+        return new BookingPartitionManager(partitionRepository, bookingArchiver, transactionManager, meterRegistry,
+            monthsAhead, detachAfterMonths);
+    }
+}
@@ -0,0 +1,148 @@
+package com.studymate.backend.service.booking;
+
+import com.studymate.backend.event.SeatHoldChangedEvent;
+import com.studymate.backend.model.SeatHoldRecord;
+import com.studymate.backend.repository.BookingRepository;
+import com.studymate.backend.repository.SeatHoldRecordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SeatHoldRegistry.
+ * Verifies that holds lock their period, end exactly once and expire through the timing wheel.
+ */
+@ExtendWith(MockitoExtension.class)
+class SeatHoldRegistryTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private SeatHoldRecordRepository recordRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SeatIntervalIndex intervalIndex;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        intervalIndex = new SeatIntervalIndex(bookingRepository, meterRegistry);
+        base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        lenient().when(bookingRepository.findUnfinishedIntervalsBySeatId(100L)).thenReturn(List.of());
+    }
+
+    @Test
+    void hold_OverlappingHold_Rejected() {
+        // Arrange
+        SeatHoldRegistry registry = registry(false);
+        registry.hold(100L, 1L, 5L, base.plusHours(9), base.plusHours(13));
+
+        // Act & Assert
+        assertThat(registry.hold(100L, 1L, 6L, base.plusHours(12), base.plusHours(14))).isEmpty();
+        assertThat(registry.hold(100L, 1L, 6L, base.plusHours(13), base.plusHours(14))).isPresent();
+        assertThat(registry.countHoldsOfUser(5L)).isEqualTo(1);
+    }
+
+    @Test
+    void tick_ExpiredHold_ReleasesPeriod() {
+        // Arrange
+        SeatHoldRegistry registry = registry(false);
+        SeatHold hold = registry.hold(100L, 1L, 5L, base.plusHours(9), base.plusHours(13)).orElseThrow();
+        long afterExpiry = System.currentTimeMillis() + Duration.ofMinutes(10).toMillis() + 2_000;
+
+        // Act
+        int released = registry.tick(afterExpiry);
+
+        // Assert
+        assertThat(released).isEqualTo(1);
+        assertThat(registry.find(hold.getId())).isEmpty();
+        assertThat(intervalIndex.reserve(100L, base.plusHours(9), base.plusHours(13))).isPresent();
+        assertThat(meterRegistry.get("studymate.holds.expired").counter().count()).isEqualTo(1.0);
+
+        ArgumentCaptor<SeatHoldChangedEvent> events = ArgumentCaptor.forClass(SeatHoldChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(SeatHoldChangedEvent::isHeld).containsExactly(true, false);
+    }
+
+    @Test
+    void tick_BeforeExpiry_KeepsHold() {
+        // Arrange
+        SeatHoldRegistry registry = registry(false);
+        SeatHold hold = registry.hold(100L, 1L, 5L, base.plusHours(9), base.plusHours(13)).orElseThrow();
+
+        // Act
+        int released = registry.tick(System.currentTimeMillis() + Duration.ofMinutes(5).toMillis());
+
+        // Assert
+        assertThat(released).isZero();
+        assertThat(registry.find(hold.getId())).contains(hold);
+    }
+
+    @Test
+    void claim_EndsHoldOnceAndKeepsReservation() {
+        // Arrange
+        SeatHoldRegistry registry = registry(false);
+        SeatHold hold = registry.hold(100L, 1L, 5L, base.plusHours(9), base.plusHours(13)).orElseThrow();
+
+        // Act
+        boolean claimed = registry.claim(hold);
+
+        // Assert
+        assertThat(claimed).isTrue();
+        assertThat(registry.release(hold)).isFalse();
+        assertThat(registry.tick(System.currentTimeMillis() + Duration.ofMinutes(20).toMillis())).isZero();
+        assertThat(intervalIndex.reserve(100L, base.plusHours(9), base.plusHours(13))).isEmpty();
+    }
+
+    @Test
+    void hold_PersistEnabled_WritesAndDeletesRecord() {
+        // Arrange
+        SeatHoldRegistry registry = registry(true);
+
+        // Act
+        SeatHold hold = registry.hold(100L, 1L, 5L, base.plusHours(9), base.plusHours(13)).orElseThrow();
+        registry.release(hold);
+
+        // Assert
+        ArgumentCaptor<SeatHoldRecord> saved = ArgumentCaptor.forClass(SeatHoldRecord.class);
+        verify(recordRepository).save(saved.capture());
+        assertThat(saved.getValue().getId()).isEqualTo(hold.getId());
+        assertThat(saved.getValue().getExpiresAt()).isEqualTo(hold.getExpiresAt());
+        verify(recordRepository).deleteById(hold.getId());
+    }
+
+    @Test
+    void hold_PersistDisabled_WritesNothing() {
+        // Arrange
+        SeatHoldRegistry registry = registry(false);
+
+        // Act
+        registry.hold(100L, 1L, 5L, base.plusHours(9), base.plusHours(13));
+
+        // Assert
+        verify(recordRepository, never()).save(any());
+    }
+
+    private SeatHoldRegistry registry(boolean persist) {
+        return new SeatHoldRegistry(intervalIndex, recordRepository, eventPublisher, meterRegistry, 10, persist, 1000);
+    }
+}
@@ -0,0 +1,177 @@
+package com.studymate.backend.service.booking;
+
+import com.studymate.backend.event.BookingChangedEvent;
+import com.studymate.backend.model.BookingSnapshot;
+import com.studymate.backend.repository.BookingRepository;
+import com.studymate.backend.repository.projection.BookingIntervalRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SeatIntervalIndex.
+ * Verifies overlap detection, reservations and following committed booking changes.
+ */
+@ExtendWith(MockitoExtension.class)
+class SeatIntervalIndexTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private SeatIntervalIndex index;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        index = new SeatIntervalIndex(bookingRepository, new SimpleMeterRegistry());
+        base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @Test
+    void reserve_OverlappingLoadedBooking_Rejected() {
+        when(bookingRepository.findUnfinishedIntervalsBySeatId(100L))
+            .thenReturn(List.of(intervalRow(1L, base.plusHours(9), base.plusHours(13))));
+
+        assertThat(index.reserve(100L, base.plusHours(12), base.plusHours(14))).isEmpty();
+        assertThat(index.reserve(100L, base.plusHours(8), base.plusHours(10))).isEmpty();
+        assertThat(index.reserve(100L, base.plusHours(10), base.plusHours(11))).isEmpty();
+        assertThat(index.reserve(100L, base.plusHours(8), base.plusHours(14))).isEmpty();
+    }
+
+    @Test
+    void reserve_AdjacentPeriods_Accepted() {
+        when(bookingRepository.findUnfinishedIntervalsBySeatId(100L))
+            .thenReturn(List.of(intervalRow(1L, base.plusHours(9), base.plusHours(13))));
+
+        assertThat(index.reserve(100L, base.plusHours(13), base.plusHours(17))).isPresent();
+        assertThat(index.reserve(100L, base.plusHours(5), base.plusHours(9))).isPresent();
+        assertThat(index.reserve(100L, base.plusHours(7), base.plusHours(8))).isEmpty();
+    }
+
+    @Test
+    void reserve_LoadsSeatOnlyOnce() {
+        when(bookingRepository.findUnfinishedIntervalsBySeatId(100L)).thenReturn(List.of());
+
+        index.reserve(100L, base.plusHours(9), base.plusHours(10));
+        index.reserve(100L, base.plusHours(10), base.plusHours(11));
+
+        verify(bookingRepository, times(1)).findUnfinishedIntervalsBySeatId(100L);
+    }
+
+    @Test
+    void reserve_PendingReservationBlocksConcurrentAttempt() {
+        when(bookingRepository.findUnfinishedIntervalsBySeatId(100L)).thenReturn(List.of());
+
+        Optional<SeatIntervalIndex.Reservation> first = index.reserve(100L, base.plusHours(9), base.plusHours(13));
+
+        assertThat(first).isPresent();
+        assertThat(index.reserve(100L, base.plusHours(10), base.plusHours(11))).isEmpty();
+    }
+
+    @Test
+    void release_FreesPeriod() {
+        when(bookingRepository.findUnfinishedIntervalsBySeatId(100L)).thenReturn(List.of());
+        SeatIntervalIndex.Reservation reservation = index.reserve(100L, base.plusHours(9), base.plusHours(13)).orElseThrow();
+
+        index.release(reservation);
+
+        assertThat(index.reserve(100L, base.plusHours(10), base.plusHours(11))).isPresent();
+    }
+
+    @Test
+    void release_AfterConfirm_RemovesBooking() {
+        when(bookingRepository.findUnfinishedIntervalsBySeatId(100L)).thenReturn(List.of());
+        SeatIntervalIndex.Reservation reservation = index.reserve(100L, base.plusHours(9), base.plusHours(13)).orElseThrow();
+        index.confirm(reservation, 7L);
+
+        index.release(reservation);
+
+        assertThat(index.reserve(100L, base.plusHours(10), base.plusHours(11))).isPresent();
+    }
+
+    @Test
+    void onBookingChanged_ConfirmedOwnBooking_KeepsItIndexed() {
+        when(bookingRepository.findUnfinishedIntervalsBySeatId(100L)).thenReturn(List.of());
+        SeatIntervalIndex.Reservation reservation = index.reserve(100L, base.plusHours(9), base.plusHours(13)).orElseThrow();
+        index.confirm(reservation, 7L);
+
+        index.onBookingChanged(new BookingChangedEvent(7L, 100L, 1L, null,
+            snapshot("CONFIRMED", base.plusHours(9), base.plusHours(13))));
+
+        assertThat(index.reserve(100L, base.plusHours(10), base.plusHours(11))).isEmpty();
+        verify(bookingRepository, times(1)).findUnfinishedIntervalsBySeatId(100L);
+    }
+
+    @Test
+    void onBookingChanged_Cancelled_FreesPeriod() {
+        when(bookingRepository.findUnfinishedIntervalsBySeatId(100L))
+            .thenReturn(List.of(intervalRow(1L, base.plusHours(9), base.plusHours(13))));
+        assertThat(index.reserve(100L, base.plusHours(14), base.plusHours(15))).isPresent();
+
+        index.onBookingChanged(new BookingChangedEvent(1L, 100L, 1L,
+            snapshot("CONFIRMED", base.plusHours(9), base.plusHours(13)),
+            snapshot("CANCELLED", base.plusHours(9), base.plusHours(13))));
+
+        assertThat(index.reserve(100L, base.plusHours(10), base.plusHours(11))).isPresent();
+    }
+
+    @Test
+    void onBookingChanged_UnloadedSeat_Ignored() {
+        index.onBookingChanged(new BookingChangedEvent(1L, 100L, 1L, null,
+            snapshot("CONFIRMED", base.plusHours(9), base.plusHours(13))));
+
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void invalidate_ReloadsSeatOnNextUse() {
+        when(bookingRepository.findUnfinishedIntervalsBySeatId(100L))
+            .thenReturn(List.of())
+            .thenReturn(List.of(intervalRow(1L, base.plusHours(9), base.plusHours(13))));
+        index.reserve(100L, base.plusHours(14), base.plusHours(15));
+
+        index.invalidate(100L);
+
+        assertThat(index.reserve(100L, base.plusHours(10), base.plusHours(11))).isEmpty();
+    }
+
+    @Test
+    void invalidate_KeepsPendingReservationsOfTheSeat() {
+        when(bookingRepository.findUnfinishedIntervalsBySeatId(100L))
+            .thenReturn(List.of())
+            .thenReturn(List.of(intervalRow(1L, base.plusHours(9), base.plusHours(13))));
+        SeatIntervalIndex.Reservation held = index.reserve(100L, base.plusHours(14), base.plusHours(15)).orElseThrow();
+
+        index.invalidate(100L);
+
+        assertThat(index.reserve(100L, base.plusHours(14), base.plusHours(16))).isEmpty();
+        assertThat(index.reserve(100L, base.plusHours(10), base.plusHours(11))).isEmpty();
+        index.release(held);
+        assertThat(index.reserve(100L, base.plusHours(14), base.plusHours(16))).isPresent();
+        verify(bookingRepository, times(2)).findUnfinishedIntervalsBySeatId(100L);
+    }
+
+    private BookingSnapshot snapshot(String status, LocalDateTime start, LocalDateTime end) {
+        return new BookingSnapshot(status, start, end, new BigDecimal("100.00"));
+    }
+
+    private BookingIntervalRow intervalRow(Long bookingId, LocalDateTime start, LocalDateTime end) {
+        return new BookingIntervalRow() {
+            @Override public Long getBookingId() { return bookingId; }
+            @Override public LocalDateTime getStartTime() { return start; }
+            @Override public LocalDateTime getEndTime() { return end; }
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.studymate.backend.service.checkin;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for CheckInPassCodec.
+ * Verifies that passes round-trip and that altered or foreign passes are rejected.
+ */
+class CheckInPassCodecTest {
+
+    private final CheckInPassCodec codec = new CheckInPassCodec("test-secret");
+    private final CheckInPass pass = new CheckInPass(7L, 100L, 1L,
+        LocalDateTime.of(2026, 3, 2, 9, 0), LocalDateTime.of(2026, 3, 2, 13, 0));
+
+    @Test
+    void decode_IssuedPass_ReturnsDetails() {
+        // Act & Assert
+        assertThat(codec.decode(codec.encode(pass))).contains(pass);
+    }
+
+    @Test
+    void decode_AlteredPayload_Rejected() {
+        // Arrange
+        String token = codec.encode(pass);
+        String other = codec.encode(new CheckInPass(8L, 100L, 1L, pass.startTime(), pass.endTime()));
+        String forged = other.substring(0, other.indexOf('.')) + token.substring(token.indexOf('.'));
+
+        // Act & Assert
+        assertThat(codec.decode(forged)).isEmpty();
+    }
+
+    @Test
+    void decode_OtherSecret_Rejected() {
+        // Arrange
+        String token = new CheckInPassCodec("other-secret").encode(pass);
+
+        // Act & Assert
+        assertThat(codec.decode(token)).isEmpty();
+    }
+
+    @Test
+    void decode_Malformed_Rejected() {
+        // Act & Assert
+        assertThat(codec.decode(null)).isEmpty();
+        assertThat(codec.decode("")).isEmpty();
+        assertThat(codec.decode("not-a-pass")).isEmpty();
+        assertThat(codec.decode("a.b.c")).isEmpty();
+        assertThat(codec.decode("!!!.???")).isEmpty();
+    }
+
+    @Test
+    void fingerprint_IsStableHexDigest() {
+        // Arrange
+        String token = codec.encode(pass);
+
+        // Act & Assert
+        assertThat(codec.fingerprint(token))
+            .hasSize(64)
+            .isEqualTo(codec.fingerprint(codec.encode(pass)));
+    }
+}
@@ -0,0 +1,111 @@
+package com.studymate.backend.service.checkin;
+
+import com.studymate.backend.repository.BookingRepository;
+import com.studymate.backend.service.report.ReportCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CheckInWriteBuffer.
+ * Verifies that queued gate writes are grouped per booking, retire cached reports once flushed
+ * and are retried after a failed flush.
+ */
+@ExtendWith(MockitoExtension.class)
+class CheckInWriteBufferTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ReportCache reportCache;
+
+    private CheckInWriteBuffer buffer;
+    private LocalDateTime nine;
+    private CheckInPass seven;
+    private CheckInPass eight;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new CheckInWriteBuffer(bookingRepository, reportCache, transactionManager,
+            new SimpleMeterRegistry(), 250);
+        nine = LocalDateTime.of(2026, 3, 2, 9, 0);
+        seven = new CheckInPass(7L, 3L, 1L, nine, nine.plusHours(4));
+        eight = new CheckInPass(8L, 4L, 1L, nine, nine.plusHours(2));
+    }
+
+    @Test
+    void flush_GroupsWritesPerBooking() {
+        // Arrange
+        buffer.recordCheckIn(seven, nine.plusMinutes(2));
+        buffer.recordCheckIn(seven, nine);
+        buffer.recordCheckIn(eight, nine.plusMinutes(1));
+        buffer.recordCheckOut(seven, nine.plusHours(4));
+        buffer.recordCheckOut(seven, nine.plusHours(3));
+
+        // Act
+        int flushed = buffer.flush();
+
+        // Assert
+        assertThat(flushed).isEqualTo(5);
+        assertThat(buffer.pendingCount()).isZero();
+
+        ArgumentCaptor<Long[]> ids = ArgumentCaptor.forClass(Long[].class);
+        ArgumentCaptor<LocalDateTime[]> times = ArgumentCaptor.forClass(LocalDateTime[].class);
+        verify(bookingRepository).recordCheckIns(ids.capture(), times.capture());
+        assertThat(ids.getValue()).containsExactly(7L, 8L);
+        assertThat(times.getValue()).containsExactly(nine, nine.plusMinutes(1));
+
+        verify(bookingRepository).recordCheckOuts(ids.capture(), times.capture());
+        assertThat(ids.getValue()).containsExactly(7L);
+        assertThat(times.getValue()).containsExactly(nine.plusHours(4));
+
+        verify(reportCache).invalidate(1L, nine.toLocalDate());
+        verifyNoMoreInteractions(reportCache);
+    }
+
+    @Test
+    void flush_Empty_WritesNothing() {
+        // Act
+        int flushed = buffer.flush();
+
+        // Assert
+        assertThat(flushed).isZero();
+        verifyNoInteractions(bookingRepository, transactionManager);
+    }
+
+    @Test
+    void flush_Failure_RequeuesWrites() {
+        // Arrange
+        buffer.recordCheckIn(seven, nine);
+        buffer.recordCheckOut(eight, nine.plusHours(4));
+        when(bookingRepository.recordCheckIns(any(), any()))
+            .thenThrow(new QueryTimeoutException("timeout"))
+            .thenReturn(1);
+
+        // Act & Assert
+        assertThatThrownBy(() -> buffer.flush()).isInstanceOf(QueryTimeoutException.class);
+        assertThat(buffer.pendingCount()).isEqualTo(2);
+        verifyNoInteractions(reportCache);
+
+        assertThat(buffer.flush()).isEqualTo(2);
+        verify(bookingRepository, times(2)).recordCheckIns(any(), any());
+        verify(bookingRepository).recordCheckOuts(any(), any());
+    }
+}
@@ -0,0 +1,158 @@
+package com.studymate.backend.service.occupancy;
+
+import com.studymate.backend.event.BookingChangedEvent;
+import com.studymate.backend.model.BookingSnapshot;
+import com.studymate.backend.repository.projection.ActiveBookingRow;
+import com.studymate.backend.repository.projection.HallRevenueRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for HallOccupancyRegistry.
+ * Verifies counter updates from booking changes, idempotency and end-time pruning.
+ */
+@ExtendWith(MockitoExtension.class)
+class HallOccupancyRegistryTest {
+
+    @Mock
+    private SeatHallLookup seatHallLookup;
+
+    private HallOccupancyRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new HallOccupancyRegistry(seatHallLookup);
+        registry.replaceAll(List.of(), List.of());
+    }
+
+    @Test
+    void find_BeforeSeeding_ReturnsEmpty() {
+        HallOccupancyRegistry unseeded = new HallOccupancyRegistry(seatHallLookup);
+
+        assertThat(unseeded.find(1L)).isEmpty();
+    }
+
+    @Test
+    void apply_ConfirmedBooking_IncrementsActiveAndRevenue() {
+        registry.apply(1L, event(10L, null, confirmed("150.00", 2)));
+
+        HallOccupancy occupancy = registry.find(1L).orElseThrow();
+        assertThat(occupancy.getActiveBookings()).isEqualTo(1);
+        assertThat(occupancy.getRevenue()).isEqualByComparingTo("150.00");
+    }
+
+    @Test
+    void apply_CancelledAfterConfirmed_RemovesActiveAndRevenue() {
+        BookingSnapshot confirmed = confirmed("150.00", 2);
+        registry.apply(1L, event(10L, null, confirmed));
+        registry.apply(1L, event(10L, confirmed, snapshot("CANCELLED", "150.00", 2)));
+
+        HallOccupancy occupancy = registry.find(1L).orElseThrow();
+        assertThat(occupancy.getActiveBookings()).isZero();
+        assertThat(occupancy.getRevenue()).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    void apply_AmountChangedOnConfirmedBooking_AppliesRevenueDelta() {
+        BookingSnapshot original = confirmed("100.00", 2);
+        registry.apply(1L, event(10L, null, original));
+        registry.apply(1L, event(10L, original, confirmed("120.50", 2)));
+
+        HallOccupancy occupancy = registry.find(1L).orElseThrow();
+        assertThat(occupancy.getActiveBookings()).isEqualTo(1);
+        assertThat(occupancy.getRevenue()).isEqualByComparingTo("120.50");
+    }
+
+    @Test
+    void bookingEnded_ThenCancelled_DoesNotGoNegative() {
+        BookingSnapshot confirmed = confirmed("100.00", 2);
+        registry.apply(1L, event(10L, null, confirmed));
+        registry.bookingEnded(1L, 10L);
+        registry.apply(1L, event(10L, confirmed, snapshot("CANCELLED", "100.00", 2)));
+
+        assertThat(registry.find(1L).orElseThrow().getActiveBookings()).isZero();
+    }
+
+    @Test
+    void find_BookingPastEndTime_IsPrunedButKeepsRevenue() {
+        registry.apply(1L, event(10L, null, confirmed("100.00", -1)));
+
+        HallOccupancy occupancy = registry.find(1L).orElseThrow();
+        assertThat(occupancy.getActiveBookings()).isZero();
+        assertThat(occupancy.getRevenue()).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    void onBookingChanged_ResolvesHallThroughLookup() {
+        BookingChangedEvent event = event(10L, null, confirmed("80.00", 2));
+        when(seatHallLookup.hallIdOf(event)).thenReturn(7L);
+
+        registry.onBookingChanged(event);
+
+        assertThat(registry.find(7L).orElseThrow().getActiveBookings()).isEqualTo(1);
+    }
+
+    @Test
+    void apply_CompletedAfterConfirmed_RemovesActiveKeepsRevenue() {
+        BookingSnapshot confirmed = confirmed("150.00", 2);
+        registry.apply(1L, event(10L, null, confirmed));
+        registry.apply(1L, event(10L, confirmed, snapshot("COMPLETED", "150.00", 2)));
+
+        HallOccupancy occupancy = registry.find(1L).orElseThrow();
+        assertThat(occupancy.getActiveBookings()).isZero();
+        assertThat(occupancy.getRevenue()).isEqualByComparingTo("150.00");
+    }
+
+    @Test
+    void replaceAll_SeedsCountersFromDatabaseRows() {
+        registry.replaceAll(
+            List.of(activeRow(1L, 10L), activeRow(1L, 11L), activeRow(2L, 12L)),
+            List.of(revenueRow(1L, "500.00"), revenueRow(3L, "75.25"))
+        );
+
+        assertThat(registry.find(1L).orElseThrow().getActiveBookings()).isEqualTo(2);
+        assertThat(registry.find(1L).orElseThrow().getRevenue()).isEqualByComparingTo("500.00");
+        assertThat(registry.find(2L).orElseThrow().getActiveBookings()).isEqualTo(1);
+        assertThat(registry.find(3L).orElseThrow().getRevenue()).isEqualByComparingTo("75.25");
+        assertThat(registry.find(4L).orElseThrow().getActiveBookings()).isZero();
+    }
+
+    private BookingChangedEvent event(Long bookingId, BookingSnapshot previous, BookingSnapshot current) {
+        return new BookingChangedEvent(bookingId, 100L, null, previous, current);
+    }
+
+    private BookingSnapshot confirmed(String amount, int endsInHours) {
+        return snapshot("CONFIRMED", amount, endsInHours);
+    }
+
+    private BookingSnapshot snapshot(String status, String amount, int endsInHours) {
+        LocalDateTime now = LocalDateTime.now();
+        return new BookingSnapshot(status, now.minusHours(3), now.plusHours(endsInHours), new BigDecimal(amount));
+    }
+
+    private ActiveBookingRow activeRow(Long hallId, Long bookingId) {
+        LocalDateTime endTime = LocalDateTime.now().plusHours(1);
+        return new ActiveBookingRow() {
+            @Override public Long getHallId() { return hallId; }
+            @Override public Long getBookingId() { return bookingId; }
+            @Override public LocalDateTime getEndTime() { return endTime; }
+        };
+    }
+
+    private HallRevenueRow revenueRow(Long hallId, String revenue) {
+        return new HallRevenueRow() {
+            @Override public Long getHallId() { return hallId; }
+            @Override public BigDecimal getRevenue() { return new BigDecimal(revenue); }
+        };
+    }
+}
@@ -0,0 +1,114 @@
+package com.studymate.backend.service.occupancy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for HashedTimingWheel.
+ * Verifies expiry ordering, cancellation, replacement and far-future deadlines.
+ */
+class HashedTimingWheelTest {
+
+    private static final long ORIGIN = 1_000_000L;
+
+    private HashedTimingWheel wheel;
+    private List<long[]> fired;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new HashedTimingWheel(1000, 8, 4, ORIGIN);
+        fired = new ArrayList<>();
+    }
+
+    @Test
+    void advance_FiresOnlyDueTimeouts() {
+        wheel.schedule(1L, ORIGIN + 2_500, 10L, 100L);
+        wheel.schedule(2L, ORIGIN + 5_000, 20L, 200L);
+
+        int first = wheel.advance(ORIGIN + 3_000, this::record);
+        int second = wheel.advance(ORIGIN + 5_000, this::record);
+
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(1);
+        assertThat(fired).extracting(entry -> entry[0]).containsExactly(1L, 2L);
+        assertThat(fired.get(0)).containsExactly(1L, 10L, 100L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancel_PendingTimeout_NeverFires() {
+        wheel.schedule(1L, ORIGIN + 1_000, 0L, 0L);
+
+        boolean cancelled = wheel.cancel(1L);
+        wheel.advance(ORIGIN + 10_000, this::record);
+
+        assertThat(cancelled).isTrue();
+        assertThat(wheel.cancel(1L)).isFalse();
+        assertThat(fired).isEmpty();
+    }
+
+    @Test
+    void schedule_ExistingKey_ReplacesDeadline() {
+        wheel.schedule(1L, ORIGIN + 1_000, 0L, 0L);
+        wheel.schedule(1L, ORIGIN + 4_000, 7L, 0L);
+        assertThat(wheel.size()).isEqualTo(1);
+
+        wheel.advance(ORIGIN + 2_000, this::record);
+        assertThat(fired).isEmpty();
+
+        wheel.advance(ORIGIN + 4_000, this::record);
+        assertThat(fired).hasSize(1);
+        assertThat(fired.get(0)[1]).isEqualTo(7L);
+    }
+
+    @Test
+    void advance_DeadlineBeyondOneRotation_WaitsForItsTick() {
+        // 8 slots of 1s: a 20s deadline shares a slot with 4s and 12s
+        wheel.schedule(1L, ORIGIN + 20_000, 0L, 0L);
+
+        wheel.advance(ORIGIN + 19_000, this::record);
+        assertThat(fired).isEmpty();
+
+        wheel.advance(ORIGIN + 20_000, this::record);
+        assertThat(fired).hasSize(1);
+    }
+
+    @Test
+    void schedule_DeadlineInPast_FiresOnNextAdvance() {
+        wheel.advance(ORIGIN + 5_000, this::record);
+
+        wheel.schedule(1L, ORIGIN, 0L, 0L);
+        wheel.advance(ORIGIN + 6_000, this::record);
+
+        assertThat(fired).hasSize(1);
+    }
+
+    @Test
+    void schedule_ManyTimeouts_GrowsAndFiresAll() {
+        int count = 200_000;
+        for (int i = 0; i < count; i++) {
+            wheel.schedule(i, ORIGIN + (i % 60) * 1_000L, i, 0L);
+        }
+        for (int i = 0; i < count; i += 2) {
+            wheel.cancel(i);
+        }
+
+        int firedCount = wheel.advance(ORIGIN + 60_000, (key, a, b) -> {
+            assertThat(key % 2).isEqualTo(1L);
+            assertThat(a).isEqualTo(key);
+        });
+
+        assertThat(firedCount).isEqualTo(count / 2);
+        assertThat(wheel.size()).isZero();
+        assertThat(wheel.contains(1L)).isFalse();
+    }
+
+    private void record(long key, long attachmentA, long attachmentB) {
+        fired.add(new long[] {key, attachmentA, attachmentB});
+    }
+}
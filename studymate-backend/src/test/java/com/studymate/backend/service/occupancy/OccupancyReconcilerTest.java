@@ -0,0 +1,107 @@
+package com.studymate.backend.service.occupancy;
+
+import com.studymate.backend.event.BookingChangedEvent;
+import com.studymate.backend.model.BookingSnapshot;
+import com.studymate.backend.repository.BookingRepository;
+import com.studymate.backend.repository.projection.HallRevenueRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for OccupancyReconciler.
+ * Verifies seeding, drift reporting when live counters disagree with the database,
+ * and replay of changes delivered during a rebuild.
+ */
+@ExtendWith(MockitoExtension.class)
+class OccupancyReconcilerTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private SeatHallLookup seatHallLookup;
+
+    private HallOccupancyRegistry registry;
+    private SimpleMeterRegistry meterRegistry;
+    private OccupancyReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        registry = new HallOccupancyRegistry(seatHallLookup);
+        meterRegistry = new SimpleMeterRegistry();
+        reconciler = new OccupancyReconciler(bookingRepository, registry, meterRegistry);
+    }
+
+    @Test
+    void seed_LoadsCountersWithoutReportingDrift() {
+        when(bookingRepository.findAllActiveBookings()).thenReturn(List.of());
+        when(bookingRepository.sumRevenueGroupByHall()).thenReturn(List.of(revenueRow(1L, "300.00")));
+
+        reconciler.seed();
+
+        assertThat(registry.find(1L).orElseThrow().getRevenue()).isEqualByComparingTo("300.00");
+        assertThat(meterRegistry.get("studymate.occupancy.drift").tag("counter", "revenue").counter().count())
+            .isZero();
+    }
+
+    @Test
+    void reconcile_LiveCountersDiffer_ReportsDriftAndRepairs() {
+        when(bookingRepository.findAllActiveBookings()).thenReturn(List.of());
+        when(bookingRepository.sumRevenueGroupByHall()).thenReturn(List.of(revenueRow(1L, "300.00")));
+        reconciler.seed();
+
+        // A write that bypassed the entity listener leaves the live counters behind
+        LocalDateTime now = LocalDateTime.now();
+        registry.apply(1L, new BookingChangedEvent(5L, 100L, 1L, null,
+            new BookingSnapshot("CONFIRMED", now, now.plusHours(2), new BigDecimal("50.00"))));
+
+        reconciler.reconcile();
+
+        assertThat(registry.find(1L).orElseThrow().getActiveBookings()).isZero();
+        assertThat(registry.find(1L).orElseThrow().getRevenue()).isEqualByComparingTo("300.00");
+        assertThat(meterRegistry.get("studymate.occupancy.drift").tag("counter", "active_bookings").counter().count())
+            .isEqualTo(1.0);
+        assertThat(meterRegistry.get("studymate.occupancy.drift").tag("counter", "revenue").counter().count())
+            .isEqualTo(50.0);
+        assertThat(meterRegistry.get("studymate.occupancy.drifted.halls").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void reconcile_ChangeDeliveredDuringRebuild_IsReplayedWithoutDrift() {
+        when(bookingRepository.findAllActiveBookings()).thenReturn(List.of());
+        when(bookingRepository.sumRevenueGroupByHall()).thenReturn(List.of(revenueRow(1L, "300.00")));
+        reconciler.seed();
+
+        // A booking commits after the database read but before the rebuilt counters are installed
+        LocalDateTime now = LocalDateTime.now();
+        when(bookingRepository.sumRevenueGroupByHall()).thenAnswer(invocation -> {
+            registry.apply(1L, new BookingChangedEvent(5L, 100L, 1L, null,
+                new BookingSnapshot("CONFIRMED", now, now.plusHours(2), new BigDecimal("50.00"))));
+            return List.of(revenueRow(1L, "300.00"));
+        });
+
+        reconciler.reconcile();
+
+        assertThat(registry.find(1L).orElseThrow().getActiveBookings()).isEqualTo(1);
+        assertThat(registry.find(1L).orElseThrow().getRevenue()).isEqualByComparingTo("350.00");
+        assertThat(meterRegistry.get("studymate.occupancy.drifted.halls").gauge().value()).isZero();
+    }
+
+    private HallRevenueRow revenueRow(Long hallId, String revenue) {
+        return new HallRevenueRow() {
+            @Override public Long getHallId() { return hallId; }
+            @Override public BigDecimal getRevenue() { return new BigDecimal(revenue); }
+        };
+    }
+}
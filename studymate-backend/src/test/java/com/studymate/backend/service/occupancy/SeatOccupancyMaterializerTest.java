@@ -0,0 +1,110 @@
+package com.studymate.backend.service.occupancy;
+
+import com.studymate.backend.event.BookingChangedEvent;
+import com.studymate.backend.event.SeatMapChangedEvent;
+import com.studymate.backend.model.BookingSnapshot;
+import com.studymate.backend.repository.SeatRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SeatOccupancyMaterializer.
+ * Verifies per-booking recomputes and the consistency check against the bookings table.
+ */
+@ExtendWith(MockitoExtension.class)
+class SeatOccupancyMaterializerTest {
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private SeatHallLookup seatHallLookup;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SeatOccupancyMaterializer materializer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        materializer = new SeatOccupancyMaterializer(seatRepository, seatHallLookup, eventPublisher,
+            transactionManager, meterRegistry, 1000);
+    }
+
+    @Test
+    void onBookingChanged_RecomputesBookedSeat() {
+        materializer.onBookingChanged(confirmedBooking(5L, 100L));
+
+        verify(seatRepository).refreshCurrentOccupancy(List.of(100L));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void onBookingChanged_RecomputeFails_LeavesRepairToConsistencyCheck() {
+        when(seatRepository.refreshCurrentOccupancy(List.of(100L))).thenThrow(new QueryTimeoutException("timeout"));
+
+        assertThatCode(() -> materializer.onBookingChanged(confirmedBooking(5L, 100L)))
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    void checkConsistency_NoDrift_WritesNothing() {
+        when(seatRepository.findSeatIdsWithInconsistentOccupancy(1000)).thenReturn(List.of());
+
+        int repaired = materializer.checkConsistency();
+
+        assertThat(repaired).isZero();
+        verify(seatRepository, never()).refreshCurrentOccupancy(any());
+        verifyNoInteractions(eventPublisher);
+        assertThat(meterRegistry.get("studymate.seat.occupancy.drift").counter().count()).isZero();
+    }
+
+    @Test
+    void checkConsistency_DriftedSeats_RepairsAndPublishesPerHall() {
+        when(seatRepository.findSeatIdsWithInconsistentOccupancy(1000)).thenReturn(List.of(100L, 101L, 200L));
+        when(seatHallLookup.hallIdOf(100L)).thenReturn(1L);
+        when(seatHallLookup.hallIdOf(101L)).thenReturn(1L);
+        when(seatHallLookup.hallIdOf(200L)).thenReturn(2L);
+
+        int repaired = materializer.checkConsistency();
+
+        assertThat(repaired).isEqualTo(3);
+        verify(seatRepository).refreshCurrentOccupancy(List.of(100L, 101L, 200L));
+
+        ArgumentCaptor<SeatMapChangedEvent> events = ArgumentCaptor.forClass(SeatMapChangedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues().get(0).getHallId()).isEqualTo(1L);
+        assertThat(events.getAllValues().get(0).getSeatIds()).containsExactly(100L, 101L);
+        assertThat(events.getAllValues().get(1).getSeatIds()).containsExactly(200L);
+
+        assertThat(meterRegistry.get("studymate.seat.occupancy.drift").counter().count()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("studymate.seat.occupancy.drifted.seats").gauge().value()).isEqualTo(3.0);
+    }
+
+    private BookingChangedEvent confirmedBooking(Long bookingId, Long seatId) {
+        LocalDateTime now = LocalDateTime.now();
+        return new BookingChangedEvent(bookingId, seatId, 1L, null,
+            new BookingSnapshot("CONFIRMED", now, now.plusHours(2), new BigDecimal("50.00")));
+    }
+}
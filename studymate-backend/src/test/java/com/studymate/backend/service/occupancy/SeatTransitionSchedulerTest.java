@@ -0,0 +1,129 @@
+package com.studymate.backend.service.occupancy;
+
+import com.studymate.backend.event.BookingChangedEvent;
+import com.studymate.backend.model.BookingSnapshot;
+import com.studymate.backend.repository.BookingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SeatTransitionScheduler.
+ * Verifies that booking changes schedule, reschedule and cancel transitions.
+ */
+@ExtendWith(MockitoExtension.class)
+class SeatTransitionSchedulerTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private SeatHallLookup seatHallLookup;
+
+    @Mock
+    private ObjectProvider<SeatTransitionListener> listenerProvider;
+
+    private final List<SeatTransition> received = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private SeatTransitionScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new SeatTransitionScheduler(bookingRepository, seatHallLookup, listenerProvider,
+            meterRegistry, 6, 1000);
+    }
+
+    @Test
+    void onBookingChanged_ConfirmedBooking_FiresStartThenEnd() {
+        // Arrange
+        LocalDateTime start = LocalDateTime.now().plusMinutes(5);
+        LocalDateTime end = start.plusHours(2);
+        BookingChangedEvent event = confirmed(7L, start, end);
+        when(seatHallLookup.hallIdOf(event)).thenReturn(1L);
+        when(listenerProvider.orderedStream()).thenAnswer(invocation -> Stream.<SeatTransitionListener>of(received::add));
+
+        // Act
+        scheduler.onBookingChanged(event);
+        int beforeStart = scheduler.tick(millis(start.minusSeconds(5)));
+        int atStart = scheduler.tick(millis(start));
+        int atEnd = scheduler.tick(millis(end));
+
+        // Assert
+        assertThat(beforeStart).isZero();
+        assertThat(atStart).isEqualTo(1);
+        assertThat(atEnd).isEqualTo(1);
+        assertThat(received).extracting(SeatTransition::getToStatus)
+            .containsExactly(SeatTransition.OCCUPIED, SeatTransition.AVAILABLE);
+        assertThat(received.get(1).getHallId()).isEqualTo(1L);
+        assertThat(received.get(1).getSeatId()).isEqualTo(100L);
+        assertThat(received.get(1).getBookingId()).isEqualTo(7L);
+        assertThat(meterRegistry.get("studymate.transitions.fired").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void onBookingChanged_Cancelled_RemovesPendingTransitions() {
+        // Arrange
+        LocalDateTime start = LocalDateTime.now().plusMinutes(5);
+        BookingChangedEvent confirmed = confirmed(7L, start, start.plusHours(1));
+        when(seatHallLookup.hallIdOf(confirmed)).thenReturn(1L);
+        scheduler.onBookingChanged(confirmed);
+
+        // Act
+        scheduler.onBookingChanged(new BookingChangedEvent(7L, 100L, 1L, confirmed.getCurrent(),
+            new BookingSnapshot("CANCELLED", start, start.plusHours(1), new BigDecimal("100.00"))));
+
+        // Assert
+        assertThat(scheduler.pendingCount()).isZero();
+        assertThat(scheduler.tick(millis(start.plusHours(2)))).isZero();
+    }
+
+    @Test
+    void onBookingChanged_AlreadyStarted_SchedulesOnlyEnd() {
+        // Arrange
+        LocalDateTime start = LocalDateTime.now().minusMinutes(30);
+        BookingChangedEvent event = confirmed(7L, start, start.plusHours(1));
+        when(seatHallLookup.hallIdOf(event)).thenReturn(1L);
+
+        // Act
+        scheduler.onBookingChanged(event);
+
+        // Assert
+        assertThat(scheduler.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void onBookingChanged_StartsBeyondHorizon_LeavesItToRefresh() {
+        // Arrange
+        LocalDateTime start = LocalDateTime.now().plusDays(3);
+
+        // Act
+        scheduler.onBookingChanged(confirmed(7L, start, start.plusHours(1)));
+
+        // Assert
+        assertThat(scheduler.pendingCount()).isZero();
+    }
+
+    private static BookingChangedEvent confirmed(Long bookingId, LocalDateTime start, LocalDateTime end) {
+        return new BookingChangedEvent(bookingId, 100L, null, null,
+            new BookingSnapshot("CONFIRMED", start, end, new BigDecimal("100.00")));
+    }
+
+    private static long millis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
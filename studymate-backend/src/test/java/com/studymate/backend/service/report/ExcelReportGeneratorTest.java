@@ -1,6 +1,8 @@
 package com.studymate.backend.service.report;
 
 import com.studymate.backend.dto.ReportData;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
@@ -12,11 +14,17 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 
 /**
  * Unit tests for ExcelReportGenerator.
@@ -24,12 +32,14 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
  */
 class ExcelReportGeneratorTest {
 
+    private ReportBookingFeed bookingFeed;
     private ExcelReportGenerator generator;
     private ReportData testReportData;
 
     @BeforeEach
     void setUp() {
-        generator = new ExcelReportGenerator();
+        bookingFeed = mock(ReportBookingFeed.class);
+        generator = new ExcelReportGenerator(bookingFeed, 10);
 
         Map<LocalDate, Double> dailyUtilization = new HashMap<>();
         dailyUtilization.put(LocalDate.of(2025, 1, 1), 75.0);
@@ -265,6 +275,48 @@ class ExcelReportGeneratorTest {
         }
     }
 
+    @Test
+    void generate_WithBookings_ListsEveryBookingBeyondRowWindow() throws IOException {
+        // Arrange
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        doAnswer(invocation -> {
+            Consumer<ReportBooking> action = invocation.getArgument(3);
+            for (int i = 0; i < 25; i++) {
+                action.accept(new ReportBooking(i + 1, "A" + i, "student" + i + "@test.com",
+                    start.plusHours(i), start.plusHours(i + 2), "COMPLETED",
+                    i == 0 ? null : new BigDecimal("150.50"), start.plusHours(i), null));
+            }
+            return 25L;
+        }).when(bookingFeed).forEach(eq(1L), eq(LocalDate.of(2025, 1, 1)), eq(LocalDate.of(2025, 1, 31)), any());
+
+        // Act
+        generator.generate(testReportData, outputStream);
+
+        // Assert
+        try (ByteArrayInputStream inputStream = new ByteArrayInputStream(outputStream.toByteArray());
+             Workbook workbook = WorkbookFactory.create(inputStream)) {
+
+            Sheet bookingsSheet = workbook.getSheet("Bookings");
+            assertThat(bookingsSheet).isNotNull();
+            // 25 data rows + 1 header row, more than the 10-row window kept in memory
+            assertThat(bookingsSheet.getPhysicalNumberOfRows()).isEqualTo(26);
+            assertThat(bookingsSheet.getRow(0).getCell(0).getStringCellValue()).isEqualTo("Booking ID");
+
+            Row first = bookingsSheet.getRow(1);
+            assertThat(first.getCell(0).getNumericCellValue()).isEqualTo(1.0);
+            assertThat(first.getCell(2).getStringCellValue()).isEqualTo("student0@test.com");
+            assertThat(first.getCell(3).getLocalDateTimeCellValue()).isEqualTo(start);
+            assertThat(first.getCell(6)).isNull();
+            assertThat(first.getCell(8)).isNull();
+
+            Row last = bookingsSheet.getRow(25);
+            assertThat(last.getCell(1).getStringCellValue()).isEqualTo("A24");
+            assertThat(last.getCell(6).getCellType()).isEqualTo(CellType.NUMERIC);
+            assertThat(last.getCell(6).getNumericCellValue()).isEqualTo(150.50);
+        }
+    }
+
     @Test
     void getFormat_ReturnsExcel() {
         // Act
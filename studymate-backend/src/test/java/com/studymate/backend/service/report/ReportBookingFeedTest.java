@@ -0,0 +1,152 @@
+package com.studymate.backend.service.report;
+
+import com.studymate.backend.repository.BookingArchiveRepository;
+import com.studymate.backend.repository.BookingRepository;
+import com.studymate.backend.repository.SeatRepository;
+import com.studymate.backend.repository.UserRepository;
+import com.studymate.backend.repository.projection.BookingReportRow;
+import com.studymate.backend.repository.projection.SeatAvailabilityRow;
+import com.studymate.backend.repository.projection.UserEmailRow;
+import com.studymate.backend.service.archive.ArchivedBooking;
+import com.studymate.backend.service.archive.BookingArchiveStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReportBookingFeed.
+ * Verifies that live and archived bookings are handed over in start time order.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReportBookingFeedTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private BookingArchiveStore archiveStore;
+
+    @Mock
+    private BookingArchiveRepository archiveRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReportBookingFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new ReportBookingFeed(bookingRepository, seatRepository, userRepository, archiveStore,
+            archiveRepository, transactionManager);
+        lenient().when(archiveStore.read(anyLong(), any(YearMonth.class))).thenReturn(List.of());
+    }
+
+    @Test
+    void forEach_LiveBookingsOnly_StreamsInOrder() {
+        // Arrange
+        BookingReportRow first = row(1L, LocalDateTime.of(2025, 1, 3, 9, 0));
+        BookingReportRow second = row(2L, LocalDateTime.of(2025, 2, 3, 9, 0));
+        when(bookingRepository.streamReportRowsByHallAndPeriod(1L, LocalDateTime.of(2025, 1, 1, 0, 0),
+            LocalDateTime.of(2025, 3, 1, 0, 0))).thenReturn(Stream.of(first, second));
+        List<ReportBooking> received = new ArrayList<>();
+
+        // Act
+        long count = feed.forEach(1L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 28), received::add);
+
+        // Assert
+        assertThat(count).isEqualTo(2);
+        assertThat(received).extracting(ReportBooking::bookingId).containsExactly(1L, 2L);
+        assertThat(received.get(0).seatNumber()).isEqualTo("A1");
+        verifyNoInteractions(seatRepository, userRepository);
+    }
+
+    @Test
+    void forEach_ArchivedMonth_MergesByStartTimeAndResolvesNames() {
+        // Arrange
+        BookingReportRow live = row(5L, LocalDateTime.of(2025, 1, 10, 9, 0));
+        when(bookingRepository.streamReportRowsByHallAndPeriod(any(), any(), any())).thenReturn(Stream.of(live));
+        when(archiveStore.read(1L, YearMonth.of(2025, 1))).thenReturn(List.of(
+            archived(3L, LocalDateTime.of(2025, 1, 20, 9, 0), "COMPLETED"),
+            archived(2L, LocalDateTime.of(2025, 1, 2, 9, 0), "NO_SHOW"),
+            archived(4L, LocalDateTime.of(2025, 1, 5, 9, 0), "CANCELLED"),
+            archived(6L, LocalDateTime.of(2025, 2, 1, 9, 0), "COMPLETED")));
+        SeatAvailabilityRow seat = mock(SeatAvailabilityRow.class);
+        when(seat.getId()).thenReturn(11L);
+        when(seat.getSeatNumber()).thenReturn("B7");
+        when(seatRepository.findAvailabilityRowsByHallId(1L)).thenReturn(List.of(seat));
+        UserEmailRow user = mock(UserEmailRow.class);
+        when(user.getId()).thenReturn(21L);
+        when(user.getEmail()).thenReturn("archived@test.com");
+        when(userRepository.findEmailsByIds(List.of(21L))).thenReturn(List.of(user));
+        List<ReportBooking> received = new ArrayList<>();
+
+        // Act
+        long count = feed.forEach(1L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), received::add);
+
+        // Assert - cancelled and out-of-range archived bookings are left out
+        assertThat(count).isEqualTo(3);
+        assertThat(received).extracting(ReportBooking::bookingId).containsExactly(2L, 5L, 3L);
+        assertThat(received.get(0).seatNumber()).isEqualTo("B7");
+        assertThat(received.get(0).userEmail()).isEqualTo("archived@test.com");
+        assertThat(received.get(1).userEmail()).isEqualTo("live@test.com");
+    }
+
+    @Test
+    void forEach_ArchivedBookingNotYetDeleted_HandsItOverOnce() {
+        // Arrange - booking 5 was archived, but its delete has not committed
+        BookingReportRow live = row(5L, LocalDateTime.of(2025, 1, 10, 9, 0));
+        when(bookingRepository.streamReportRowsByHallAndPeriod(any(), any(), any())).thenReturn(Stream.of(live));
+        when(archiveStore.read(1L, YearMonth.of(2025, 1))).thenReturn(List.of(
+            archived(5L, LocalDateTime.of(2025, 1, 10, 9, 0), "COMPLETED")));
+        when(archiveRepository.findFinishedBookingIds(1L, LocalDateTime.of(2025, 1, 1, 0, 0),
+            LocalDateTime.of(2025, 2, 1, 0, 0))).thenReturn(Set.of(5L));
+        List<ReportBooking> received = new ArrayList<>();
+
+        // Act
+        long count = feed.forEach(1L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), received::add);
+
+        // Assert
+        assertThat(count).isEqualTo(1);
+        assertThat(received).extracting(ReportBooking::userEmail).containsExactly("live@test.com");
+    }
+
+    private static BookingReportRow row(Long bookingId, LocalDateTime startTime) {
+        BookingReportRow row = mock(BookingReportRow.class);
+        lenient().when(row.getBookingId()).thenReturn(bookingId);
+        lenient().when(row.getSeatNumber()).thenReturn("A1");
+        lenient().when(row.getUserEmail()).thenReturn("live@test.com");
+        lenient().when(row.getStartTime()).thenReturn(startTime);
+        lenient().when(row.getEndTime()).thenReturn(startTime.plusHours(3));
+        lenient().when(row.getStatus()).thenReturn("COMPLETED");
+        lenient().when(row.getAmount()).thenReturn(new BigDecimal("100.00"));
+        return row;
+    }
+
+    private static ArchivedBooking archived(long bookingId, LocalDateTime startTime, String status) {
+        return new ArchivedBooking(bookingId, 21L, 11L, null, startTime, startTime.plusHours(3),
+            null, null, status, new BigDecimal("80.00"), null);
+    }
+}
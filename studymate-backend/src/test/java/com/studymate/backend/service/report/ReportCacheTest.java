@@ -0,0 +1,221 @@
+package com.studymate.backend.service.report;
+
+import com.studymate.backend.event.BookingChangedEvent;
+import com.studymate.backend.event.SeatMapChangedEvent;
+import com.studymate.backend.model.BookingSnapshot;
+import com.studymate.backend.service.occupancy.SeatHallLookup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReportCache.
+ * Verifies that reports are served until a write inside their period, that
+ * reports raced by a write or over the size bounds are not kept, and LRU eviction.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReportCacheTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 3, 1);
+    private static final LocalDate END = LocalDate.of(2026, 3, 31);
+
+    @Mock
+    private SeatHallLookup seatHallLookup;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReportCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ReportCache(seatHallLookup, meterRegistry, 20, 10);
+    }
+
+    @Test
+    void get_AfterPut_ReturnsReportWithEtag() throws IOException {
+        // Arrange
+        render(1L, START, END, "report");
+
+        // Act
+        ReportCache.CachedReport report = cache.get(1L, START, END, "pdf").orElseThrow();
+
+        // Assert
+        assertThat(new String(report.content(), StandardCharsets.UTF_8)).isEqualTo("report");
+        assertThat(report.etag()).startsWith("\"").endsWith("\"").hasSize(66);
+        assertThat(cache.get(1L, START, END, "excel")).isEmpty();
+        assertThat(meterRegistry.counter("studymate.reports.cache", "result", "hit").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("studymate.reports.cache", "result", "miss").count()).isEqualTo(1);
+    }
+
+    @Test
+    void onBookingChanged_InsidePeriod_RetiresReport() throws IOException {
+        // Arrange
+        render(1L, START, END, "march");
+        render(1L, END.plusDays(1), END.plusDays(30), "april");
+        when(seatHallLookup.hallIdOf(any(BookingChangedEvent.class))).thenReturn(1L);
+
+        // Act
+        cache.onBookingChanged(new BookingChangedEvent(5L, 3L, null, null,
+            snapshot(LocalDateTime.of(2026, 3, 10, 9, 0))));
+
+        // Assert
+        assertThat(cache.get(1L, START, END, "pdf")).isEmpty();
+        assertThat(cache.get(1L, END.plusDays(1), END.plusDays(30), "pdf")).isPresent();
+    }
+
+    @Test
+    void onBookingChanged_OvernightBooking_RetiresReportsOfBothDays() throws IOException {
+        // Arrange
+        render(1L, START, END, "march");
+        render(1L, END.plusDays(1), END.plusDays(30), "april");
+        render(1L, END.plusDays(31), END.plusDays(61), "may");
+        when(seatHallLookup.hallIdOf(any(BookingChangedEvent.class))).thenReturn(1L);
+        LocalDateTime lateEvening = LocalDateTime.of(2026, 3, 31, 22, 0);
+
+        // Act: moved from a booking running into April 1 to one ending at midnight
+        cache.onBookingChanged(new BookingChangedEvent(5L, 3L, null,
+            new BookingSnapshot("CONFIRMED", lateEvening, lateEvening.plusHours(4), new BigDecimal("50.00")),
+            new BookingSnapshot("CONFIRMED", lateEvening, lateEvening.plusHours(2), new BigDecimal("50.00"))));
+
+        // Assert
+        assertThat(cache.get(1L, START, END, "pdf")).isEmpty();
+        assertThat(cache.get(1L, END.plusDays(1), END.plusDays(30), "pdf")).isEmpty();
+        assertThat(cache.get(1L, END.plusDays(31), END.plusDays(61), "pdf")).isPresent();
+        assertThat(cache.trackedDates(1L)).isEqualTo(2);
+    }
+
+    @Test
+    void invalidate_OtherHall_KeepsReport() throws IOException {
+        // Arrange
+        render(1L, START, END, "report");
+
+        // Act
+        cache.invalidate(2L, START);
+
+        // Assert
+        assertThat(cache.get(1L, START, END, "pdf")).isPresent();
+    }
+
+    @Test
+    void put_WriteDuringRender_IsNotCached() throws IOException {
+        // Arrange
+        long version = cache.dataVersion(1L, START, END);
+        ReportCache.Capture capture = cache.capture(new ByteArrayOutputStream());
+        capture.write("report".getBytes(StandardCharsets.UTF_8));
+        cache.invalidate(1L, START.plusDays(3));
+
+        // Act
+        cache.put(1L, START, END, "pdf", version, capture);
+
+        // Assert
+        assertThat(cache.get(1L, START, END, "pdf")).isEmpty();
+    }
+
+    @Test
+    void put_ReportOverEntryBound_IsPassedThroughButNotCached() throws IOException {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long version = cache.dataVersion(1L, START, END);
+        ReportCache.Capture capture = cache.capture(out);
+        capture.write("a long report".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        cache.put(1L, START, END, "pdf", version, capture);
+
+        // Assert
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("a long report");
+        assertThat(cache.get(1L, START, END, "pdf")).isEmpty();
+    }
+
+    @Test
+    void put_OverTotalBound_EvictsLeastRecentlyUsed() throws IOException {
+        // Arrange
+        render(1L, START, START, "first-");
+        render(1L, END, END, "second");
+        cache.get(1L, START, START, "pdf");
+
+        // Act
+        render(2L, START, END, "third-");
+        render(3L, START, END, "fourth");
+
+        // Assert
+        assertThat(cache.get(1L, START, START, "pdf")).isPresent();
+        assertThat(cache.get(1L, END, END, "pdf")).isEmpty();
+        assertThat(meterRegistry.counter("studymate.reports.cache.evictions").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("studymate.reports.cache.bytes").gauge().value()).isEqualTo(18);
+    }
+
+    @Test
+    void onSeatMapChanged_LayoutChange_RetiresWholeHall() throws IOException {
+        // Arrange
+        render(1L, START, START, "first");
+        render(1L, END, END, "second");
+
+        // Act
+        cache.onSeatMapChanged(SeatMapChangedEvent.layoutChanged(1L));
+
+        // Assert
+        assertThat(cache.get(1L, START, START, "pdf")).isEmpty();
+        assertThat(cache.get(1L, END, END, "pdf")).isEmpty();
+        assertThat(meterRegistry.get("studymate.reports.cache.bytes").gauge().value()).isZero();
+    }
+
+    @Test
+    void invalidate_ManyDates_PrunesThemWithoutLoweringVersions() throws IOException {
+        // Arrange: a render of March starts, then a year of daily writes lands
+        long version = cache.dataVersion(1L, START, END);
+        ReportCache.Capture capture = cache.capture(new ByteArrayOutputStream());
+        capture.write("stale".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        for (int day = 0; day < 365; day++) {
+            cache.invalidate(1L, START.plusDays(day));
+        }
+        cache.put(1L, START, END, "pdf", version, capture);
+
+        // Assert
+        assertThat(cache.trackedDates(1L)).isLessThanOrEqualTo(64);
+        assertThat(cache.dataVersion(1L, START, END)).isGreaterThan(version);
+        assertThat(cache.get(1L, START, END, "pdf")).isEmpty();
+    }
+
+    @Test
+    void invalidate_ManyDatesOutsideCachedPeriod_KeepsReport() throws IOException {
+        // Arrange
+        render(1L, START, END, "march");
+
+        // Act
+        for (int day = 1; day <= 200; day++) {
+            cache.invalidate(1L, START.minusDays(day));
+        }
+
+        // Assert: the dates written after the report was cached are all still tracked
+        assertThat(cache.get(1L, START, END, "pdf")).isPresent();
+        assertThat(cache.trackedDates(1L)).isEqualTo(200);
+    }
+
+    private void render(Long hallId, LocalDate startDate, LocalDate endDate, String content) throws IOException {
+        long version = cache.dataVersion(hallId, startDate, endDate);
+        ReportCache.Capture capture = cache.capture(new ByteArrayOutputStream());
+        capture.write(content.getBytes(StandardCharsets.UTF_8));
+        cache.put(hallId, startDate, endDate, "pdf", version, capture);
+    }
+
+    private static BookingSnapshot snapshot(LocalDateTime startTime) {
+        return new BookingSnapshot("CONFIRMED", startTime, startTime.plusHours(2), new BigDecimal("50.00"));
+    }
+}
@@ -0,0 +1,133 @@
+package com.studymate.backend.service.report;
+
+import com.studymate.backend.dto.DayHoursDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark of daily utilization over a year of a large hall's bookings.
+ * Builds 1M bookings (2,000 seats, non-overlapping per seat, some spanning
+ * midnight) in memory and compares {@link UtilizationCalculator} with the
+ * whole-hour grouping it replaced.
+ *
+ * <p>Runs only on request:
+ * {@code mvn test -Dtest=UtilizationCalculatorBenchmarkTest -Dstudymate.benchmark=true}.
+ * The booking count can be changed with {@code -Dstudymate.benchmark.bookings=5000000}.</p>
+ */
+@EnabledIfSystemProperty(named = "studymate.benchmark", matches = "true")
+class UtilizationCalculatorBenchmarkTest {
+
+    private static final int SEATS = 2_000;
+    private static final int ROUNDS = 5;
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 12, 31);
+
+    @Test
+    void dailyUtilization_At1MillionBookings() {
+        // Arrange
+        long count = Long.getLong("studymate.benchmark.bookings", 1_000_000L);
+        List<Period> periods = generate(count);
+        Map<String, DayHoursDTO> openingHours = new HashMap<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            openingHours.put(day.name().toLowerCase(Locale.ROOT), new DayHoursDTO("07:00", "23:00", null));
+        }
+
+        // Warm up both
+        Map<LocalDate, Double> sweep = sweep(periods, openingHours);
+        Map<LocalDate, Double> grouped = grouped(periods);
+
+        // Act
+        long[] sweepNanos = new long[ROUNDS];
+        long[] groupedNanos = new long[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long started = System.nanoTime();
+            sweep = sweep(periods, openingHours);
+            sweepNanos[round] = System.nanoTime() - started;
+
+            started = System.nanoTime();
+            grouped = grouped(periods);
+            groupedNanos[round] = System.nanoTime() - started;
+        }
+
+        // Assert
+        System.out.printf("Daily utilization over %,d bookings, %d days (best of %d)%n",
+            periods.size(), sweep.size(), ROUNDS);
+        System.out.printf("  sweep over primitive arrays  %8.1f ms%n", bestMillis(sweepNanos));
+        System.out.printf("  groupingBy whole hours       %8.1f ms%n", bestMillis(groupedNanos));
+        assertThat(sweep).hasSize((int) ChronoUnit.DAYS.between(START, END) + 1);
+        assertThat(sweep.values()).allSatisfy(percent -> assertThat(percent).isBetween(0.0, 100.0));
+        assertThat(grouped).isNotEmpty();
+    }
+
+    private static Map<LocalDate, Double> sweep(List<Period> periods, Map<String, DayHoursDTO> openingHours) {
+        UtilizationCalculator calculator = new UtilizationCalculator(START, END, openingHours, SEATS);
+        for (Period period : periods) {
+            calculator.add(period.seatId(), period.startTime(), period.endTime());
+        }
+        return calculator.dailyUtilization();
+    }
+
+    /**
+     * The calculation UtilizationCalculator replaced: whole hours, a fixed
+     * 12-hour day, and each booking counted on its start date.
+     */
+    private static Map<LocalDate, Double> grouped(List<Period> periods) {
+        Map<LocalDate, Long> dailyBookedHours = periods.stream()
+            .collect(Collectors.groupingBy(
+                period -> period.startTime().toLocalDate(),
+                Collectors.summingLong(period -> ChronoUnit.HOURS.between(period.startTime(), period.endTime()))));
+        Map<LocalDate, Double> utilization = new HashMap<>();
+        dailyBookedHours.forEach((date, hours) ->
+            utilization.put(date, Math.min(hours * 100.0 / (SEATS * 12), 100.0)));
+        return utilization;
+    }
+
+    /**
+     * Bookings of 1-6 hours with gaps of up to 3 hours, laid end to end per
+     * seat and shuffled across seats, as the repository would return them.
+     */
+    private static List<Period> generate(long count) {
+        Random random = new Random(42);
+        LocalDateTime[] next = new LocalDateTime[SEATS];
+        LocalDateTime rangeEnd = END.plusDays(1).atStartOfDay();
+        List<Period> periods = new ArrayList<>((int) count);
+        for (long i = 0; i < count; i++) {
+            int seat = random.nextInt(SEATS);
+            LocalDateTime start = (next[seat] != null ? next[seat] : START.atStartOfDay())
+                .plusMinutes(random.nextInt(180));
+            if (!start.isBefore(rangeEnd)) {
+                start = START.atStartOfDay().plusMinutes(random.nextInt(60));
+                next[seat] = null;
+            }
+            LocalDateTime end = start.plusMinutes(60 + random.nextInt(300));
+            periods.add(new Period(seat + 1L, start, end));
+            next[seat] = end;
+        }
+        return periods;
+    }
+
+    private static double bestMillis(long[] nanos) {
+        long best = Long.MAX_VALUE;
+        for (long value : nanos) {
+            best = Math.min(best, value);
+        }
+        return best / 1_000_000.0;
+    }
+
+    private record Period(long seatId, LocalDateTime startTime, LocalDateTime endTime) {
+    }
+}
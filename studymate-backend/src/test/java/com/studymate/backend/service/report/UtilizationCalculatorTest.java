@@ -0,0 +1,120 @@
+package com.studymate.backend.service.report;
+
+import com.studymate.backend.dto.DayHoursDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for UtilizationCalculator.
+ * Verifies per-seat merging of overlaps, clipping to the range and opening
+ * hours, and the split of bookings across the days they span.
+ */
+class UtilizationCalculatorTest {
+
+    // A Monday
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+
+    @Test
+    void dailyUtilization_OverlappingBookingsOfOneSeat_CountOnce() {
+        // Arrange - open all day, 2 seats
+        UtilizationCalculator calculator = new UtilizationCalculator(MONDAY, MONDAY, null, 2);
+        calculator.add(1L, MONDAY.atTime(8, 0), MONDAY.atTime(12, 0));
+        calculator.add(1L, MONDAY.atTime(10, 0), MONDAY.atTime(14, 0));
+        calculator.add(1L, MONDAY.atTime(14, 0), MONDAY.atTime(15, 0));
+        calculator.add(2L, MONDAY.atTime(10, 0), MONDAY.atTime(14, 0));
+
+        // Act
+        Map<LocalDate, Double> utilization = calculator.dailyUtilization();
+
+        // Assert - seat 1 booked 8:00-15:00, seat 2 10:00-14:00: 11 of 48 seat-hours
+        assertThat(utilization.get(MONDAY)).isCloseTo(11 * 100.0 / 48, org.assertj.core.data.Offset.offset(1e-9));
+    }
+
+    @Test
+    void dailyUtilization_MultiDayBooking_ClippedToEachDaysOpeningHours() {
+        // Arrange - open 09:00-17:00 on Monday and Tuesday, closed on Wednesday
+        Map<String, DayHoursDTO> openingHours = Map.of(
+            "monday", new DayHoursDTO("09:00", "17:00", null),
+            "tuesday", new DayHoursDTO("09:00", "17:00", null));
+        UtilizationCalculator calculator = new UtilizationCalculator(MONDAY, MONDAY.plusDays(2), openingHours, 1);
+        calculator.add(7L, MONDAY.atTime(13, 0), MONDAY.plusDays(2).atTime(11, 0));
+
+        // Act
+        Map<LocalDate, Double> utilization = calculator.dailyUtilization();
+
+        // Assert
+        assertThat(utilization).containsExactly(
+            Map.entry(MONDAY, 50.0),
+            Map.entry(MONDAY.plusDays(1), 100.0),
+            Map.entry(MONDAY.plusDays(2), 0.0));
+    }
+
+    @Test
+    void dailyUtilization_OvernightHours_CountTowardsTheOpeningDay() {
+        // Arrange - open 18:00-02:00 on Monday and Tuesday, 1 seat
+        Map<String, DayHoursDTO> openingHours = Map.of(
+            "monday", new DayHoursDTO("18:00", "02:00", null),
+            "tuesday", new DayHoursDTO("18:00", "02:00", null));
+        UtilizationCalculator calculator = new UtilizationCalculator(MONDAY, MONDAY.plusDays(1), openingHours, 1);
+        calculator.add(1L, MONDAY.atTime(22, 0), MONDAY.plusDays(1).atTime(2, 0));
+        calculator.add(1L, MONDAY.plusDays(1).atTime(20, 0), MONDAY.plusDays(1).atTime(22, 0));
+        calculator.add(1L, MONDAY.plusDays(1).atTime(23, 0), MONDAY.plusDays(2).atTime(1, 0));
+
+        // Act
+        Map<LocalDate, Double> utilization = calculator.dailyUtilization();
+
+        // Assert - Monday's window holds 4 of its 8 hours, Tuesday's, ending on Wednesday, 4 of 8
+        assertThat(utilization).containsExactly(
+            Map.entry(MONDAY, 50.0),
+            Map.entry(MONDAY.plusDays(1), 50.0));
+        assertThat(calculator.getCoveredUntil()).isEqualTo(MONDAY.plusDays(2).atTime(2, 0));
+    }
+
+    @Test
+    void dailyUtilization_BookingPastTheRange_CountsOnlyTheRange() {
+        // Arrange
+        UtilizationCalculator calculator = new UtilizationCalculator(MONDAY, MONDAY, null, 1);
+        calculator.add(1L, MONDAY.atTime(18, 0), MONDAY.plusDays(1).atTime(6, 0));
+        calculator.add(2L, MONDAY.plusDays(1).atTime(8, 0), MONDAY.plusDays(1).atTime(10, 0));
+
+        // Act
+        Map<LocalDate, Double> utilization = calculator.dailyUtilization();
+
+        // Assert
+        assertThat(utilization).containsOnlyKeys(MONDAY);
+        assertThat(utilization.get(MONDAY)).isEqualTo(25.0);
+    }
+
+    @Test
+    void dailyUtilization_NoBookings_ZeroForEveryDay() {
+        // Arrange
+        UtilizationCalculator calculator = new UtilizationCalculator(MONDAY, MONDAY.plusDays(6), null, 10);
+
+        // Act
+        Map<LocalDate, Double> utilization = calculator.dailyUtilization();
+
+        // Assert
+        assertThat(utilization).hasSize(7).allSatisfy((date, percent) -> assertThat(percent).isZero());
+    }
+
+    @Test
+    void add_ManyBookings_GrowsStorage() {
+        // Arrange
+        UtilizationCalculator calculator = new UtilizationCalculator(MONDAY, MONDAY, null, 1000);
+        LocalDateTime nine = MONDAY.atTime(9, 0);
+        for (long seat = 1; seat <= 1000; seat++) {
+            calculator.add(seat, nine, nine.plusHours(6));
+        }
+
+        // Act
+        Map<LocalDate, Double> utilization = calculator.dailyUtilization();
+
+        // Assert
+        assertThat(utilization.get(MONDAY)).isEqualTo(25.0);
+    }
+}
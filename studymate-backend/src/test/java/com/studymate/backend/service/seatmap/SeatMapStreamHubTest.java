@@ -0,0 +1,125 @@
+package com.studymate.backend.service.seatmap;
+
+import com.studymate.backend.exception.ForbiddenException;
+import com.studymate.backend.exception.ResourceNotFoundException;
+import com.studymate.backend.model.User;
+import com.studymate.backend.repository.SeatRepository;
+import com.studymate.backend.repository.StudyHallRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SeatMapStreamHub.
+ * Verifies authorization, subscription bookkeeping and that drains of one
+ * stream never overlap.
+ */
+@ExtendWith(MockitoExtension.class)
+class SeatMapStreamHubTest {
+
+    @Mock
+    private StudyHallRepository studyHallRepository;
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SeatMapStreamHub hub;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hub = new SeatMapStreamHub(studyHallRepository, seatRepository, meterRegistry, 60_000, 16, 1);
+        owner = new User();
+        owner.setId(1L);
+        owner.setEmail("owner@test.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void subscribe_Owner_RegistersStreamAndSendsSnapshot() {
+        // Arrange
+        when(studyHallRepository.findOwnerIdById(1L)).thenReturn(Optional.of(1L));
+        when(seatRepository.findSeatMapByHallId(1L)).thenReturn(List.of());
+
+        // Act
+        SseEmitter emitter = hub.subscribe(1L, owner);
+
+        // Assert
+        assertThat(emitter).isNotNull();
+        assertThat(hub.hasSubscribers(1L)).isTrue();
+        assertThat(hub.hasSubscribers(2L)).isFalse();
+        assertThat(meterRegistry.get("studymate.seatmap.streams").gauge().value()).isEqualTo(1.0);
+        verify(seatRepository, timeout(1000)).findSeatMapByHallId(1L);
+    }
+
+    @Test
+    void publish_WhileSnapshotIsSent_WaitsForItOnTwoDispatchers() throws Exception {
+        // Arrange: two dispatcher threads, the first snapshot blocked mid-send
+        hub.shutdown();
+        hub = new SeatMapStreamHub(studyHallRepository, seatRepository, meterRegistry, 60_000, 16, 2);
+        when(studyHallRepository.findOwnerIdById(1L)).thenReturn(Optional.of(1L));
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(seatRepository.findSeatMapByHallId(1L)).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sending.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            inFlight.decrementAndGet();
+            return List.of();
+        });
+        hub.subscribe(1L, owner);
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act: a newer snapshot is requested while the first is still being sent
+        hub.resync(1L);
+        Thread.sleep(100);
+        release.countDown();
+
+        // Assert: the second snapshot follows the first instead of running beside it
+        verify(seatRepository, timeout(1000).times(2)).findSeatMapByHallId(1L);
+        assertThat(maxInFlight.get()).isEqualTo(1);
+    }
+
+    @Test
+    void subscribe_NotOwner_ThrowsForbidden() {
+        when(studyHallRepository.findOwnerIdById(1L)).thenReturn(Optional.of(2L));
+
+        assertThatThrownBy(() -> hub.subscribe(1L, owner))
+            .isInstanceOf(ForbiddenException.class);
+        assertThat(hub.hasSubscribers(1L)).isFalse();
+    }
+
+    @Test
+    void subscribe_UnknownHall_ThrowsNotFound() {
+        when(studyHallRepository.findOwnerIdById(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> hub.subscribe(99L, owner))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
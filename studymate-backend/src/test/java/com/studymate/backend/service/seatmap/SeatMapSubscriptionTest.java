@@ -0,0 +1,84 @@
+package com.studymate.backend.service.seatmap;
+
+import com.studymate.backend.dto.SeatStatusDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SeatMapSubscription.
+ * Verifies coalescing, overflow to snapshot and drain scheduling.
+ */
+class SeatMapSubscriptionTest {
+
+    private SeatMapSubscription subscription;
+
+    @BeforeEach
+    void setUp() {
+        subscription = new SeatMapSubscription(1L, new SseEmitter(), 2);
+        // Consume the initial snapshot
+        subscription.take();
+        subscription.release();
+    }
+
+    @Test
+    void offer_SameSeatTwice_SendsLatestStatusOnce() {
+        boolean first = subscription.offer(List.of(seat(10L, "OCCUPIED")));
+        boolean second = subscription.offer(List.of(seat(10L, "AVAILABLE")));
+
+        SeatMapSubscription.Batch batch = subscription.take();
+
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(batch.snapshot()).isFalse();
+        assertThat(batch.changes()).extracting(SeatStatusDTO::getStatus).containsExactly("AVAILABLE");
+    }
+
+    @Test
+    void offer_MoreSeatsThanBuffer_FallsBackToSnapshot() {
+        subscription.offer(List.of(seat(10L, "OCCUPIED"), seat(11L, "OCCUPIED"), seat(12L, "OCCUPIED")));
+
+        SeatMapSubscription.Batch batch = subscription.take();
+
+        assertThat(batch.snapshot()).isTrue();
+        assertThat(batch.changes()).isEmpty();
+    }
+
+    @Test
+    void release_NothingBuffered_ReleasesClaimForNextOffer() {
+        subscription.offer(List.of(seat(10L, "OCCUPIED")));
+        subscription.take();
+
+        assertThat(subscription.release()).isFalse();
+        assertThat(subscription.offer(List.of(seat(11L, "OCCUPIED")))).isTrue();
+    }
+
+    @Test
+    void release_OfferedWhileSending_ClaimsNextDrain() {
+        subscription.offer(List.of(seat(10L, "OCCUPIED")));
+        subscription.take();
+
+        // The claim is held until the batch is written
+        boolean offered = subscription.offer(List.of(seat(11L, "OCCUPIED")));
+
+        assertThat(offered).isFalse();
+        assertThat(subscription.release()).isTrue();
+        assertThat(subscription.take().changes()).extracting(SeatStatusDTO::getId).containsExactly(11L);
+    }
+
+    @Test
+    void offer_ClosedSubscription_DoesNotScheduleDrain() {
+        assertThat(subscription.close()).isTrue();
+
+        assertThat(subscription.offer(List.of(seat(10L, "OCCUPIED")))).isFalse();
+        assertThat(subscription.close()).isFalse();
+    }
+
+    private static SeatStatusDTO seat(Long id, String status) {
+        return new SeatStatusDTO(id, "A" + id, 0, 0, status);
+    }
+}
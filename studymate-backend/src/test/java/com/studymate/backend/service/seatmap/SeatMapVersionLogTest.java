@@ -0,0 +1,96 @@
+package com.studymate.backend.service.seatmap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for SeatMapVersionLog.
+ * Verifies version ordering, delta resolution and fallback to full snapshots.
+ */
+class SeatMapVersionLogTest {
+
+    private SeatMapVersionLog versionLog;
+
+    @BeforeEach
+    void setUp() {
+        versionLog = new SeatMapVersionLog(4, 60_000);
+    }
+
+    @Test
+    void deltaSince_ReturnsSeatsChangedAfterVersion() {
+        long initial = versionLog.currentVersion(1L);
+        versionLog.record(1L, List.of(10L));
+        long afterFirst = versionLog.currentVersion(1L);
+        versionLog.record(1L, List.of(11L, 10L));
+
+        SeatMapDelta fromInitial = versionLog.deltaSince(1L, initial);
+        SeatMapDelta fromFirst = versionLog.deltaSince(1L, afterFirst);
+
+        assertThat(afterFirst).isGreaterThan(initial);
+        assertThat(fromInitial.getChangedSeatIds()).containsExactlyInAnyOrder(10L, 11L);
+        assertThat(fromFirst.getChangedSeatIds()).containsExactlyInAnyOrder(10L, 11L);
+        assertThat(fromFirst.getVersion()).isEqualTo(versionLog.currentVersion(1L));
+    }
+
+    @Test
+    void deltaSince_CurrentVersion_ReturnsEmptyDelta() {
+        versionLog.record(1L, List.of(10L));
+        long current = versionLog.currentVersion(1L);
+
+        SeatMapDelta delta = versionLog.deltaSince(1L, current);
+
+        assertThat(delta.isFullSnapshotRequired()).isFalse();
+        assertThat(delta.getChangedSeatIds()).isEmpty();
+    }
+
+    @Test
+    void deltaSince_OverwrittenVersion_RequiresFullSnapshot() {
+        long initial = versionLog.currentVersion(1L);
+        versionLog.record(1L, List.of(10L, 11L, 12L));
+        versionLog.record(1L, List.of(13L, 14L));
+
+        assertThat(versionLog.deltaSince(1L, initial).isFullSnapshotRequired()).isTrue();
+    }
+
+    @Test
+    void deltaSince_UnknownOrFutureVersion_RequiresFullSnapshot() {
+        long current = versionLog.currentVersion(1L);
+
+        assertThat(versionLog.deltaSince(1L, current - 1).isFullSnapshotRequired()).isTrue();
+        assertThat(versionLog.deltaSince(1L, current + 1).isFullSnapshotRequired()).isTrue();
+    }
+
+    @Test
+    void reset_InvalidatesEarlierVersions() {
+        versionLog.record(1L, List.of(10L));
+        long beforeReset = versionLog.currentVersion(1L);
+
+        versionLog.reset(1L);
+
+        assertThat(versionLog.deltaSince(1L, beforeReset).isFullSnapshotRequired()).isTrue();
+        assertThat(versionLog.deltaSince(1L, versionLog.currentVersion(1L)).getChangedSeatIds()).isEmpty();
+    }
+
+    @Test
+    void record_OtherHall_DoesNotAffectDelta() {
+        long initial = versionLog.currentVersion(1L);
+        versionLog.record(2L, List.of(20L));
+
+        assertThat(versionLog.deltaSince(1L, initial).getChangedSeatIds()).isEmpty();
+    }
+
+    @Test
+    void trim_ExpiredEntries_RaiseFloor() {
+        SeatMapVersionLog shortLived = new SeatMapVersionLog(4, -1);
+        long initial = shortLived.currentVersion(1L);
+        shortLived.record(1L, List.of(10L));
+
+        shortLived.trim();
+
+        assertThat(shortLived.deltaSince(1L, initial).isFullSnapshotRequired()).isTrue();
+    }
+}
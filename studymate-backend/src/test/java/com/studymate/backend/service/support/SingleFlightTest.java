@@ -0,0 +1,128 @@
+package com.studymate.backend.service.support;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for SingleFlight.
+ * Verifies that concurrent calls share one execution and its outcome.
+ */
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<Long, String> singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_ConcurrentCallsForSameKey_ShareOneExecution() throws Exception {
+        // Arrange
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        // Act
+        Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            executions.incrementAndGet();
+            leaderStarted.countDown();
+            await(release);
+            return "hall-1";
+        }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<String> follower1 = executor.submit(() -> singleFlight.execute(1L, () -> "unexpected"));
+        Future<String> follower2 = executor.submit(() -> singleFlight.execute(1L, () -> "unexpected"));
+        waitForCoalesced(2);
+        release.countDown();
+
+        // Assert
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("hall-1");
+        assertThat(follower1.get(5, TimeUnit.SECONDS)).isEqualTo("hall-1");
+        assertThat(follower2.get(5, TimeUnit.SECONDS)).isEqualTo("hall-1");
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(counter("executed")).isEqualTo(1.0);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void execute_AfterCompletion_RunsLoaderAgain() {
+        singleFlight.execute(1L, () -> "first");
+
+        String second = singleFlight.execute(1L, () -> "second");
+
+        assertThat(second).isEqualTo("second");
+        assertThat(counter("executed")).isEqualTo(2.0);
+        assertThat(counter("coalesced")).isZero();
+    }
+
+    @Test
+    void execute_LoaderFails_PropagatesSameExceptionToFollowers() throws Exception {
+        // Arrange
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Act
+        Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            leaderStarted.countDown();
+            await(release);
+            throw new IllegalStateException("boom");
+        }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> follower = executor.submit(() -> singleFlight.execute(1L, () -> "unexpected"));
+        waitForCoalesced(1);
+        release.countDown();
+
+        // Assert
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(IllegalStateException.class)
+            .hasRootCauseMessage("boom");
+    }
+
+    private double counter(String outcome) {
+        return meterRegistry.get("studymate.singleflight.calls")
+            .tag("name", "test")
+            .tag("outcome", outcome)
+            .counter()
+            .count();
+    }
+
+    private void waitForCoalesced(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (counter("coalesced") < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(counter("coalesced")).isEqualTo((double) expected);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.studymate.backend.service.support;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for StaleServingPolicy.
+ * Verifies that auto mode follows connection pool pressure with hysteresis.
+ */
+class StaleServingPolicyTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private Timer acquire;
+    private AtomicInteger pending;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        acquire = meterRegistry.timer("hikaricp.connections.acquire", "pool", "HikariPool-1");
+        pending = meterRegistry.gauge("hikaricp.connections.pending", new AtomicInteger());
+    }
+
+    @Test
+    void sample_SlowAcquire_SwitchesOnUntilPoolIsCalm() {
+        StaleServingPolicy policy = new StaleServingPolicy(meterRegistry, "auto", 60_000, 500, 5, 0);
+
+        acquire.record(Duration.ofMillis(2_000));
+        policy.sample();
+        assertThat(policy.shouldServeStale()).isTrue();
+
+        // First calm sample starts the cool-down, the next one ends it
+        acquire.record(Duration.ofMillis(5));
+        policy.sample();
+        assertThat(policy.shouldServeStale()).isTrue();
+        policy.sample();
+        assertThat(policy.shouldServeStale()).isFalse();
+    }
+
+    @Test
+    void sample_ThreadsWaitingForConnections_SwitchesOn() {
+        StaleServingPolicy policy = new StaleServingPolicy(meterRegistry, "auto", 60_000, 500, 5, 0);
+
+        pending.set(8);
+        policy.sample();
+
+        assertThat(policy.shouldServeStale()).isTrue();
+        assertThat(policy.poolHasRoom()).isFalse();
+    }
+
+    @Test
+    void sample_FastAcquire_StaysOff() {
+        StaleServingPolicy policy = new StaleServingPolicy(meterRegistry, "auto", 60_000, 500, 5, 0);
+
+        acquire.record(Duration.ofMillis(3));
+        policy.sample();
+
+        assertThat(policy.shouldServeStale()).isFalse();
+        assertThat(policy.poolHasRoom()).isTrue();
+    }
+
+    @Test
+    void shouldServeStale_FixedModes_IgnorePressure() {
+        StaleServingPolicy off = new StaleServingPolicy(meterRegistry, "off", 60_000, 500, 5, 0);
+        StaleServingPolicy always = new StaleServingPolicy(new SimpleMeterRegistry(), "always", 60_000, 500, 5, 0);
+
+        acquire.record(Duration.ofMillis(2_000));
+        off.sample();
+
+        assertThat(off.shouldServeStale()).isFalse();
+        assertThat(always.shouldServeStale()).isTrue();
+    }
+}